@@ -55,6 +55,7 @@ public abstract class JumpingAlienGame extends Game {
 		}
 
 		createModel();
+		publishSnapshot();
 
 		running = true;
 	}
@@ -0,0 +1,127 @@
+package jumpingalien.common.sprites;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ogp.framework.util.GUIUtils;
+
+/**
+ * A repository of sprites loaded from image files. Every file is decoded once,
+ * into an image compatible with the display, and the sprite for it is shared by
+ * everyone asking for it. Shared sprites and their images must not be modified;
+ * methods like {@link ImageSprite#shiftHue(int)} return new sprites.
+ *
+ * Files can be registered to be loaded before a level starts, so the game loop
+ * doesn't have to decode them the first time they're used.
+ */
+public final class SpriteRepository {
+
+	private static final SpriteRepository instance = new SpriteRepository();
+
+	/**
+	 * Returns the repository shared by the whole game.
+	 */
+	public static SpriteRepository getInstance() {
+		return instance;
+	}
+
+	private final Map<String, ImageSprite> sprites = new ConcurrentHashMap<>();
+
+	private final Set<String> registeredFileNames = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong imageBytes = new AtomicLong();
+
+	/**
+	 * Returns the sprite for the image in the file with the given name, decoding
+	 * the file if no sprite has been loaded from it yet.
+	 */
+	public ImageSprite getSprite(String fileName) {
+		ImageSprite sprite = sprites.get(fileName);
+		if (sprite != null) {
+			hits.incrementAndGet();
+			return sprite;
+		}
+		return sprites.computeIfAbsent(fileName, name -> {
+			misses.incrementAndGet();
+			return load(name);
+		});
+	}
+
+	private ImageSprite load(String fileName) {
+		BufferedImage image = GUIUtils.toCompatibleImage(GUIUtils
+				.loadImage(fileName));
+		imageBytes.addAndGet((long) image.getWidth() * image.getHeight()
+				* image.getColorModel().getPixelSize() / 8);
+		return new ImageSprite(fileName, image);
+	}
+
+	/**
+	 * Registers the files with the given names to be loaded by the next call to
+	 * {@link #preload()}.
+	 */
+	public void register(String... fileNames) {
+		for (String fileName : fileNames) {
+			registeredFileNames.add(fileName);
+		}
+	}
+
+	/**
+	 * Loads the sprites of all registered files that haven't been loaded yet.
+	 * Loading them doesn't count as hits or misses.
+	 */
+	public void preload() {
+		for (String fileName : registeredFileNames) {
+			sprites.computeIfAbsent(fileName, this::load);
+			registeredFileNames.remove(fileName);
+		}
+	}
+
+	/**
+	 * Returns whether a sprite has been loaded from the file with the given name.
+	 */
+	public boolean isLoaded(String fileName) {
+		return sprites.containsKey(fileName);
+	}
+
+	/**
+	 * Returns the number of requests for a sprite that had already been loaded.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of requests for a sprite that had to be loaded.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of sprites loaded.
+	 */
+	public int getNbSprites() {
+		return sprites.size();
+	}
+
+	/**
+	 * Returns the number of bytes taken by the pixels of the loaded sprites.
+	 */
+	public long getImageBytes() {
+		return imageBytes.get();
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"SpriteRepository[sprites=%d, hits=%d, misses=%d, bytes=%d]",
+				getNbSprites(), getHits(), getMisses(), getImageBytes());
+	}
+}
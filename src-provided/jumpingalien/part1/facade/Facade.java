@@ -1,6 +1,7 @@
 package jumpingalien.part1.facade;
 
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.util.Sprite;
 
@@ -10,26 +11,26 @@ public class Facade implements IFacade {
 	public Mazub createMazub(int pixelLeftX, int pixelBottomY, Sprite[] sprites) {
 		double x = pixelLeftX * 0.01;
 		double y = pixelBottomY * 0.01;
-		return new Mazub(new Vector<Double>(x, y), sprites, 1.0, 3.0, 1.0);
+		return new Mazub(new DoubleVec(x, y), sprites, 1.0, 3.0, 1.0);
 	}
 
 	@Override
 	public int[] getLocation(Mazub alien) {
-		Vector<Integer> position = alien.getPositionInPixels();
+		IntVec position = alien.getPositionInPixels();
 		int[] worldPosition = {position.x, position.y};
 		return worldPosition;
 	}
 
 	@Override
 	public double[] getVelocity(Mazub alien) {
-		Vector<Double> speed = alien.getSpeed();
+		DoubleVec speed = alien.getSpeed();
 		double[] speedArray = {speed.x, speed.y};
 		return speedArray;
 	}
 
 	@Override
 	public double[] getAcceleration(Mazub alien) {
-		Vector<Double> acc = alien.getAcceleration();
+		DoubleVec acc = alien.getAcceleration();
 		double[] accArray = {acc.x, acc.y};
 		return accArray;
 	}
@@ -3,15 +3,20 @@ package jumpingalien.part2.facade;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import jumpingalien.common.sprites.SpriteRepository;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
+import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
-import jumpingalien.model.gameobject.Gore;
+import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
 import jumpingalien.model.gameobject.Slime;
+import jumpingalien.model.world.ParticleSystem;
+import jumpingalien.model.world.TileGridView;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
 import jumpingalien.util.ModelException;
@@ -21,7 +26,7 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public Mazub createMazub(int x, int y, Sprite[] sprites) {
-		return new Mazub(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Mazub(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites, Constants.mazubInitialHorizontalSpeed, Constants.mazubMaxHorizontalSpeed,
 				Constants.mazubBeginDirection);
 	}
@@ -121,6 +126,12 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public void startGame(World world) {
+		if (Settings.goreEnabled) {
+			for (GameObject object : world.getGameObjects()) {
+				SpriteRepository.getInstance().register(object.getGoreSpriteFileNames());
+			}
+			SpriteRepository.getInstance().preload();
+		}
 	}
 
 	@Override
@@ -145,20 +156,20 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public int[] getBottomLeftPixelOfTile(World world, int tileX, int tileY) {
-		return Utilities.intVectorToArray(world.getBottomLeftPixelOfTile(new Vector<>(tileX, tileY)));
+		return Utilities.intVectorToArray(world.getBottomLeftPixelOfTile(new IntVec(tileX, tileY)));
 	}
 
 	@Override
 	public int[][] getTilePositionsIn(World world, int pixelLeft,
 			int pixelBottom, int pixelRight, int pixelTop) {
 		
-		ArrayList<Vector<Integer>> positionVectors =
-				world.getTilePositionsInRectangle(new Vector<>(pixelLeft, pixelBottom),
-						new Vector<>(pixelRight, pixelTop));
+		ArrayList<IntVec> positionVectors =
+				world.getTilePositionsInRectangle(new IntVec(pixelLeft, pixelBottom),
+						new IntVec(pixelRight, pixelTop));
 		int[][] positions = new int[positionVectors.size()][2];
 		
 		for (int i = 0; i < positionVectors.size(); i++) {
-			Vector<Integer> vect = positionVectors.get(i);
+			IntVec vect = positionVectors.get(i);
 			positions[i][0] = vect.x;
 			positions[i][1] = vect.y;
 		}
@@ -169,13 +180,20 @@ public class Facade implements IFacadePart2 {
 	@Override
 	public int getGeologicalFeature(World world, int pixelX, int pixelY)
 			throws ModelException {
-		return world.getTileTypeOfTile(new Vector<>(pixelX, pixelY)).getNumber();
+		TileGridView grid = world.getTileGrid();
+		int tileSize = world.getTileSize();
+		int tileX = pixelX / tileSize;
+		int tileY = pixelY / tileSize;
+		if (pixelX % tileSize != 0 || pixelY % tileSize != 0 || !grid.contains(tileX, tileY)) {
+			throw new ModelException("The pixel has to be the bottom left pixel of a tile in the game world.");
+		}
+		return grid.getTileType(tileX, tileY).getNumber();
 	}
 
 	@Override
 	public void setGeologicalFeature(World world, int tileX, int tileY,
 			int tileType) {
-		world.setTileType(new Vector<>(tileX, tileY), TileType.tileTypeForNumber(tileType));
+		world.setTileType(new IntVec(tileX, tileY), TileType.tileTypeForNumber(tileType));
 	}
 
 	@Override
@@ -190,7 +208,7 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public Plant createPlant(int x, int y, Sprite[] sprites) {
-		return new Plant(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Plant(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites);
 	}
 
@@ -216,7 +234,7 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public Shark createShark(int x, int y, Sprite[] sprites) {
-		return new Shark(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Shark(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites);
 	}
 
@@ -247,7 +265,7 @@ public class Facade implements IFacadePart2 {
 
 	@Override
 	public Slime createSlime(int x, int y, Sprite[] sprites, School school) {
-		return new Slime(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Slime(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites, school);
 	}
 
@@ -279,18 +297,8 @@ public class Facade implements IFacadePart2 {
 	
 	//TODO: We added this!
 	@Override
-	public Collection<Gore> getGore(World world) {
-		return world.getGameObjectsWithClass(Gore.class);
-	}
-	
-	@Override
-	public int[] getLocation(Gore blood) {
-		return Utilities.intVectorToArray(blood.getPositionInPixels());
-	}
-	
-	@Override
-	public Sprite getCurrentSprite(Gore blood) {
-		return blood.getCurrentSprite();
+	public ParticleSystem getParticles(World world) {
+		return world.getParticles();
 	}
 	
 }
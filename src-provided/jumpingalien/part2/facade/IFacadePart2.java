@@ -2,12 +2,12 @@ package jumpingalien.part2.facade;
 
 import java.util.Collection;
 
-import jumpingalien.model.gameobject.Gore;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.Shark;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Slime;
 import jumpingalien.model.gameobject.School;
+import jumpingalien.model.world.ParticleSystem;
 import jumpingalien.model.world.World;
 import jumpingalien.part1.facade.IFacade;
 import jumpingalien.util.ModelException;
@@ -523,8 +523,6 @@ public interface IFacadePart2 extends jumpingalien.part1.facade.IFacade {
 	 */
 	School getSchool(Slime slime);
 	
-	Collection<Gore> getGore(World world);
-	int[] getLocation(Gore gore);
-	public Sprite getCurrentSprite(Gore gore);
+	ParticleSystem getParticles(World world);
 
 }
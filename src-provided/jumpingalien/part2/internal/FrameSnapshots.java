@@ -0,0 +1,543 @@
+package jumpingalien.part2.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import jumpingalien.common.sprites.ImageSprite;
+import jumpingalien.model.gameobject.Plant;
+import jumpingalien.model.gameobject.School;
+import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.gameobject.Slime;
+import jumpingalien.part2.internal.tmxfile.data.ImageTile.TileType;
+import jumpingalien.util.Sprite;
+import ogp.framework.util.TripleBuffer;
+
+//TODO: We added this!
+/**
+ * Snapshots of everything the game screen paints, for painting the game on a
+ * render thread while another thread updates it.
+ *
+ * The thread updating the game captures a frame from the live info providers
+ * after every update and publishes it; the render thread acquires the latest
+ * frame before painting and reads it through the snapshot info providers,
+ * which never touch the live world or its objects. Frames are handed over
+ * through a triple buffer, so neither thread waits for the other.
+ *
+ * The tile types only change when a level is loaded, so they aren't captured
+ * every frame: the game hands over the tile types of every level it loads.
+ * Every buffer keeps the frames of the objects it captured, so capturing a
+ * frame doesn't allocate once the buffers have grown to the number of objects.
+ */
+public final class FrameSnapshots {
+
+	private final Part2WorldInfoProvider worldInfoProvider;
+	private final ObjectInfoProvider objectInfoProvider;
+	private final BooleanSupplier captureDescriptions;
+	private final List<AlienInfoProvider2<?>> alienInfoProviders = new ArrayList<>();
+
+	private final TripleBuffer<Frame> frames = new TripleBuffer<>(Frame::new);
+
+	private volatile TileGrid tiles = new TileGrid(0, 0, 0, new TileType[0]);
+
+	private final Part2WorldInfoProvider snapshotWorldInfoProvider = new SnapshotWorldInfoProvider();
+	private final ObjectInfoProvider snapshotObjectInfoProvider = new SnapshotObjectInfoProvider();
+
+	/**
+	 * @param captureDescriptions
+	 *            whether the descriptions of the objects are painted, and
+	 *            therefore captured
+	 */
+	public FrameSnapshots(Part2WorldInfoProvider worldInfoProvider,
+			ObjectInfoProvider objectInfoProvider,
+			BooleanSupplier captureDescriptions) {
+		this.worldInfoProvider = worldInfoProvider;
+		this.objectInfoProvider = objectInfoProvider;
+		this.captureDescriptions = captureDescriptions;
+	}
+
+	/**
+	 * Returns an info provider reading the alien of the given provider from
+	 * the snapshots.
+	 */
+	public synchronized <T> AlienInfoProvider2<T> addAlien(
+			AlienInfoProvider2<T> alienInfoProvider) {
+		alienInfoProviders.add(alienInfoProvider);
+		return new SnapshotAlienInfoProvider<T>(alienInfoProviders.size() - 1);
+	}
+
+	public Part2WorldInfoProvider getWorldInfoProvider() {
+		return snapshotWorldInfoProvider;
+	}
+
+	public ObjectInfoProvider getObjectInfoProvider() {
+		return snapshotObjectInfoProvider;
+	}
+
+	/**
+	 * Sets the tiles of the level being loaded. The given types are stored row
+	 * by row, from the bottom left tile, and must not be modified afterwards.
+	 */
+	public void setTiles(int tileLength, int nbTilesX, int nbTilesY,
+			TileType[] types) {
+		this.tiles = new TileGrid(tileLength, nbTilesX, nbTilesY, types);
+	}
+
+	/**
+	 * Captures a frame from the live info providers and publishes it. Only to
+	 * be called while the model of the game exists.
+	 */
+	public synchronized void publish() {
+		Frame frame = frames.getBackBuffer();
+		boolean descriptions = captureDescriptions.getAsBoolean();
+		captureWorld(frame);
+		captureAliens(frame, descriptions);
+		captureObjects(frame, descriptions);
+		captureParticles(frame);
+		frames.publish();
+	}
+
+	/**
+	 * Makes the latest published frame the one the snapshot info providers
+	 * read. Only to be called by the render thread.
+	 */
+	public void acquire() {
+		frames.acquireLatest();
+	}
+
+	private Frame getFrame() {
+		return frames.getFrontBuffer();
+	}
+
+	private void captureWorld(Frame frame) {
+		frame.visibleWindow = worldInfoProvider.getVisibleWindow().orElse(null);
+		frame.gameOver = worldInfoProvider.isGameOver().orElse(null);
+		frame.playerWon = worldInfoProvider.didPlayerWin().orElse(null);
+	}
+
+	private void captureAliens(Frame frame, boolean descriptions) {
+		while (frame.aliens.size() < alienInfoProviders.size()) {
+			frame.aliens.add(new AlienFrame());
+		}
+		for (int i = 0; i < alienInfoProviders.size(); i++) {
+			AlienInfoProvider2<?> provider = alienInfoProviders.get(i);
+			AlienFrame alien = frame.aliens.get(i);
+			alien.alien = provider.getAlien();
+			if (alien.alien == null) {
+				alien.clear();
+				continue;
+			}
+			alien.xy = provider.getAlienXY().orElse(null);
+			alien.size = provider.getAlienSize().orElse(null);
+			alien.sprite = provider.getPlayerSprite().orElse(null);
+			alien.velocity = provider.getAlienVelocity().orElse(null);
+			alien.acceleration = provider.getAlienAcceleration().orElse(null);
+			alien.health = provider.getAlienHealth().orElse(null);
+			alien.immune = provider.isImmune().orElse(null);
+			alien.description = descriptions ? objectInfoProvider
+					.getDescription(alien.alien).orElse(null) : null;
+		}
+	}
+
+	private void captureObjects(Frame frame, boolean descriptions) {
+		frame.objects.clear();
+		frame.nbObjectFrames = 0;
+		frame.slimes.clear();
+		for (Slime slime : objectInfoProvider.getSlimes()) {
+			frame.slimes.add(slime);
+			ObjectFrame object = frame.captureObject(slime,
+					objectInfoProvider.getLocation(slime),
+					objectInfoProvider.getCurrentSprite(slime));
+			object.school = objectInfoProvider.getSchool(slime).orElse(null);
+			captureDescription(object, slime, descriptions);
+		}
+		frame.sharks.clear();
+		for (Shark shark : objectInfoProvider.getSharks()) {
+			frame.sharks.add(shark);
+			ObjectFrame object = frame.captureObject(shark,
+					objectInfoProvider.getLocation(shark),
+					objectInfoProvider.getCurrentSprite(shark));
+			captureDescription(object, shark, descriptions);
+		}
+		frame.plants.clear();
+		for (Plant plant : objectInfoProvider.getPlants()) {
+			frame.plants.add(plant);
+			ObjectFrame object = frame.captureObject(plant,
+					objectInfoProvider.getLocation(plant),
+					objectInfoProvider.getCurrentSprite(plant));
+			captureDescription(object, plant, descriptions);
+		}
+	}
+
+	private void captureDescription(ObjectFrame frame, Object object,
+			boolean descriptions) {
+		frame.description = descriptions ? objectInfoProvider.getDescription(
+				object).orElse(null) : null;
+	}
+
+	private void captureParticles(Frame frame) {
+		Optional<Particles> particlesOpt = objectInfoProvider.getParticles();
+		frame.particles.present = particlesOpt.isPresent();
+		frame.particles.count = 0;
+		if (!particlesOpt.isPresent()) {
+			return;
+		}
+		Particles particles = particlesOpt.get();
+		ParticleFrame copy = frame.particles;
+		int count = particles.getNbParticles();
+		if (copy.x.length < count) {
+			copy.x = Arrays.copyOf(copy.x, count);
+			copy.y = Arrays.copyOf(copy.y, count);
+			copy.sprites = Arrays.copyOf(copy.sprites, count);
+		}
+		for (int i = 0; i < count; i++) {
+			copy.x[i] = particles.getPixelX(i);
+			copy.y[i] = particles.getPixelY(i);
+			copy.sprites[i] = particles.getSprite(i);
+		}
+		Arrays.fill(copy.sprites, count, copy.sprites.length, null);
+		copy.count = count;
+	}
+
+	private static final class Frame {
+		int[] visibleWindow;
+		Boolean gameOver;
+		Boolean playerWon;
+
+		final List<AlienFrame> aliens = new ArrayList<>();
+
+		final List<Slime> slimes = new ArrayList<>();
+		final List<Shark> sharks = new ArrayList<>();
+		final List<Plant> plants = new ArrayList<>();
+		final Map<Object, ObjectFrame> objects = new IdentityHashMap<>();
+		final List<ObjectFrame> objectFrames = new ArrayList<>();
+		int nbObjectFrames;
+
+		final ParticleFrame particles = new ParticleFrame();
+
+		/**
+		 * Captures the given location and sprite of the given object in the
+		 * next unused object frame of this frame, and returns that frame.
+		 */
+		ObjectFrame captureObject(Object object, Optional<int[]> location,
+				Optional<ImageSprite> sprite) {
+			if (nbObjectFrames == objectFrames.size()) {
+				objectFrames.add(new ObjectFrame());
+			}
+			ObjectFrame frame = objectFrames.get(nbObjectFrames++);
+			frame.hasLocation = location.isPresent();
+			if (frame.hasLocation) {
+				frame.location[0] = location.get()[0];
+				frame.location[1] = location.get()[1];
+			}
+			frame.sprite = sprite.orElse(null);
+			frame.school = null;
+			frame.description = null;
+			objects.put(object, frame);
+			return frame;
+		}
+	}
+
+	private static final class AlienFrame {
+		Object alien;
+		int[] xy;
+		int[] size;
+		Sprite sprite;
+		double[] velocity;
+		double[] acceleration;
+		Integer health;
+		Boolean immune;
+		String description;
+
+		void clear() {
+			xy = size = null;
+			sprite = null;
+			velocity = acceleration = null;
+			health = null;
+			immune = null;
+			description = null;
+		}
+	}
+
+	private static final class ObjectFrame {
+		final int[] location = new int[2];
+		boolean hasLocation;
+		ImageSprite sprite;
+		School school;
+		String description;
+
+		Optional<int[]> getLocation() {
+			return hasLocation ? Optional.of(location.clone()) : Optional
+					.empty();
+		}
+	}
+
+	private static final class ParticleFrame implements Particles {
+		boolean present;
+		int count;
+		int[] x = new int[0];
+		int[] y = new int[0];
+		Sprite[] sprites = new Sprite[0];
+
+		@Override
+		public int getNbParticles() {
+			return count;
+		}
+
+		@Override
+		public int getPixelX(int index) {
+			return x[index];
+		}
+
+		@Override
+		public int getPixelY(int index) {
+			return y[index];
+		}
+
+		@Override
+		public Sprite getSprite(int index) {
+			return sprites[index];
+		}
+	}
+
+	private static final class TileGrid {
+		final int tileLength;
+		final int nbTilesX;
+		final int nbTilesY;
+		final TileType[] types;
+
+		TileGrid(int tileLength, int nbTilesX, int nbTilesY, TileType[] types) {
+			this.tileLength = tileLength;
+			this.nbTilesX = nbTilesX;
+			this.nbTilesY = nbTilesY;
+			this.types = types;
+		}
+
+		int getWidth() {
+			return nbTilesX * tileLength;
+		}
+
+		int getHeight() {
+			return nbTilesY * tileLength;
+		}
+	}
+
+	private final class SnapshotAlienInfoProvider<T> implements
+			AlienInfoProvider2<T> {
+
+		private final int index;
+
+		SnapshotAlienInfoProvider(int index) {
+			this.index = index;
+		}
+
+		private Optional<AlienFrame> getAlienFrame() {
+			List<AlienFrame> aliens = getFrame().aliens;
+			if (index >= aliens.size()) {
+				return Optional.empty();
+			}
+			return Optional.of(aliens.get(index));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getAlien() {
+			return (T) getAlienFrame().map(alien -> alien.alien).orElse(null);
+		}
+
+		@Override
+		public Optional<int[]> getAlienXY() {
+			return getAlienFrame().map(alien -> alien.xy);
+		}
+
+		@Override
+		public Optional<int[]> getAlienSize() {
+			return getAlienFrame().map(alien -> alien.size);
+		}
+
+		@Override
+		public Optional<Sprite> getPlayerSprite() {
+			return getAlienFrame().map(alien -> alien.sprite);
+		}
+
+		@Override
+		public Optional<double[]> getAlienVelocity() {
+			return getAlienFrame().map(alien -> alien.velocity);
+		}
+
+		@Override
+		public Optional<double[]> getAlienAcceleration() {
+			return getAlienFrame().map(alien -> alien.acceleration);
+		}
+
+		@Override
+		public Optional<Integer> getAlienHealth() {
+			return getAlienFrame().map(alien -> alien.health);
+		}
+
+		@Override
+		public Optional<Boolean> isImmune() {
+			return getAlienFrame().map(alien -> alien.immune);
+		}
+	}
+
+	private final class SnapshotWorldInfoProvider implements
+			Part2WorldInfoProvider {
+
+		@Override
+		public Optional<int[]> getWorldSize() {
+			TileGrid grid = tiles;
+			return Optional.of(new int[] { grid.getWidth(), grid.getHeight() });
+		}
+
+		@Override
+		public int getTileLength() {
+			return tiles.tileLength;
+		}
+
+		@Override
+		public Optional<int[]> getVisibleWindow() {
+			return Optional.ofNullable(getFrame().visibleWindow);
+		}
+
+		@Override
+		public Optional<int[][]> getTilesIn(int left, int bottom, int right,
+				int top) {
+			TileGrid grid = tiles;
+			if (grid.types.length == 0) {
+				return Optional.empty();
+			}
+			int firstTileX = left / grid.tileLength;
+			int firstTileY = bottom / grid.tileLength;
+			int lastTileX = Math.max(0, Math.min(grid.getWidth() - 1, right - 1))
+					/ grid.tileLength;
+			int lastTileY = Math.max(0, Math.min(grid.getHeight() - 1, top - 1))
+					/ grid.tileLength;
+
+			List<int[]> positions = new ArrayList<>();
+			for (int x = firstTileX; x <= lastTileX; x++) {
+				for (int y = firstTileY; y <= lastTileY; y++) {
+					positions.add(new int[] { x, y });
+				}
+			}
+			return Optional.of(positions.toArray(new int[positions.size()][]));
+		}
+
+		@Override
+		public Optional<TileType> getGeologicalFeature(int bottomLeftX,
+				int bottomLeftY) {
+			TileGrid grid = tiles;
+			if (grid.types.length == 0 || bottomLeftX < 0 || bottomLeftY < 0
+					|| bottomLeftX % grid.tileLength != 0
+					|| bottomLeftY % grid.tileLength != 0) {
+				return Optional.empty();
+			}
+			int tileX = bottomLeftX / grid.tileLength;
+			int tileY = bottomLeftY / grid.tileLength;
+			if (tileX >= grid.nbTilesX || tileY >= grid.nbTilesY) {
+				return Optional.empty();
+			}
+			return Optional.of(grid.types[tileY * grid.nbTilesX + tileX]);
+		}
+
+		@Override
+		public Optional<int[]> getBottomLeftPixelOfTile(int tileX, int tileY) {
+			int tileLength = tiles.tileLength;
+			return Optional.of(new int[] { tileX * tileLength,
+					tileY * tileLength });
+		}
+
+		@Override
+		public Optional<Boolean> isGameOver() {
+			return Optional.ofNullable(getFrame().gameOver);
+		}
+
+		@Override
+		public Optional<Boolean> didPlayerWin() {
+			return Optional.ofNullable(getFrame().playerWon);
+		}
+	}
+
+	private final class SnapshotObjectInfoProvider implements
+			ObjectInfoProvider {
+
+		private Optional<ObjectFrame> getObjectFrame(Object object) {
+			return Optional.ofNullable(getFrame().objects.get(object));
+		}
+
+		@Override
+		public Collection<Slime> getSlimes() {
+			return getFrame().slimes;
+		}
+
+		@Override
+		public Collection<Shark> getSharks() {
+			return getFrame().sharks;
+		}
+
+		@Override
+		public Collection<Plant> getPlants() {
+			return getFrame().plants;
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Plant plant) {
+			return getObjectFrame(plant).flatMap(ObjectFrame::getLocation);
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Shark shark) {
+			return getObjectFrame(shark).flatMap(ObjectFrame::getLocation);
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Slime slime) {
+			return getObjectFrame(slime).flatMap(ObjectFrame::getLocation);
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Plant plant) {
+			return getObjectFrame(plant).map(object -> object.sprite);
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Shark shark) {
+			return getObjectFrame(shark).map(object -> object.sprite);
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Slime slime) {
+			return getObjectFrame(slime).map(object -> object.sprite);
+		}
+
+		@Override
+		public Optional<School> getSchool(Slime slime) {
+			return getObjectFrame(slime).map(object -> object.school);
+		}
+
+		@Override
+		public Optional<Particles> getParticles() {
+			ParticleFrame particles = getFrame().particles;
+			return particles.present ? Optional.of(particles) : Optional.empty();
+		}
+
+		@Override
+		public Optional<String> getDescription(Object object) {
+			ObjectFrame frame = getFrame().objects.get(object);
+			if (frame != null) {
+				return Optional.ofNullable(frame.description);
+			}
+			for (AlienFrame alien : getFrame().aliens) {
+				if (alien.alien != null && alien.alien == object) {
+					return Optional.ofNullable(alien.description);
+				}
+			}
+			return Optional.empty();
+		}
+	}
+}
@@ -5,12 +5,13 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import jumpingalien.common.gui.AlienGUIUtils;
 import jumpingalien.common.gui.AlienGameScreen;
 import jumpingalien.common.gui.painters.AbstractAlienPainter;
 import jumpingalien.common.sprites.ImageSprite;
-import jumpingalien.model.gameobject.Gore;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
@@ -53,14 +54,21 @@ public final class GameObjectPainter extends
 	
 	//TODO: We added this!
 	protected void paintBlood(Graphics2D g) {
-		for (Gore gore: objectInfoProvider.getGore()) {
-			objectInfoProvider.getLocation(gore).ifPresent(
-					xy -> {
-						objectInfoProvider.getCurrentSprite(gore).ifPresent(
-								sprite -> paintSprite(g, sprite, xy));
-						paintDebugInfo(g, gore, xy);
-					});
-		}
+		boolean showLocationAndSize = getOptions()
+				.getDebugShowObjectLocationAndSize();
+		objectInfoProvider.getParticles().ifPresent(particles -> {
+			for (int i = 0; i < particles.getNbParticles(); i++) {
+				ImageSprite sprite = (ImageSprite) particles.getSprite(i);
+				if (showLocationAndSize) {
+					paintLocationAndSize(g, new int[] { particles.getPixelX(i),
+							particles.getPixelY(i) }, new int[] {
+							sprite.getWidth(), sprite.getHeight() },
+							getOptions().getDebugShowPixels());
+				}
+				AlienGUIUtils.drawImageInWorld(g, sprite.getImage(),
+						particles.getPixelX(i), particles.getPixelY(i), false);
+			}
+		});
 	}
 
 	protected void paintSharks(Graphics2D g) {
@@ -81,6 +89,52 @@ public final class GameObjectPainter extends
 				s -> schoolHueShifts.size());
 	}
 
+	private static final int MAX_HUE_SHIFTED_SPRITES = 64;
+
+	/**
+	 * Hue shifted variants of sprites, keyed by the sprite and the hue shift,
+	 * from least to most recently used.
+	 */
+	private final Map<HueShiftedSprite, ImageSprite> hueShiftedSprites = new LinkedHashMap<HueShiftedSprite, ImageSprite>(
+			16, 0.75F, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<HueShiftedSprite, ImageSprite> eldest) {
+			return size() > MAX_HUE_SHIFTED_SPRITES;
+		}
+	};
+
+	private ImageSprite getHueShiftedSprite(ImageSprite sprite, int hueShift) {
+		return hueShiftedSprites.computeIfAbsent(new HueShiftedSprite(sprite,
+				hueShift), key -> sprite.shiftHue(hueShift));
+	}
+
+	private static final class HueShiftedSprite {
+
+		private final ImageSprite sprite;
+		private final int hueShift;
+
+		public HueShiftedSprite(ImageSprite sprite, int hueShift) {
+			this.sprite = sprite;
+			this.hueShift = hueShift;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof HueShiftedSprite
+					&& ((HueShiftedSprite) other).sprite == sprite
+					&& ((HueShiftedSprite) other).hueShift == hueShift;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(sprite) * 31 + hueShift;
+		}
+	}
+
 	protected void paintSlimes(Graphics2D g) {
 		for (Slime slime : objectInfoProvider.getSlimes()) {
 			objectInfoProvider
@@ -95,7 +149,7 @@ public final class GameObjectPainter extends
 														.ifPresent(
 																school -> paintSprite(
 																		g,
-																		sprite.shiftHue(getHueShift(school)),
+																		getHueShiftedSprite(sprite, getHueShift(school)),
 																		xy)));
 								paintDebugInfo(g, slime, xy);
 							});
@@ -103,15 +157,18 @@ public final class GameObjectPainter extends
 	}
 
 	private void paintDebugInfo(Graphics2D g, Object object, int[] xy) {
-		if (getOptions().getDebugShowObjectString() && object != null) {
-			// need to flip y
-			g.scale(1, -1);
-			g.setColor(Color.BLACK);
-			g.setXORMode(Color.WHITE);
-			g.drawString(object.toString(), xy[0], -xy[1]
-					+ g.getFont().getSize());
-			g.setPaintMode();
-			g.scale(1, -1);
+		if (getOptions().getDebugShowObjectString()) {
+			objectInfoProvider.getDescription(object).ifPresent(
+					description -> {
+						// need to flip y
+						g.scale(1, -1);
+						g.setColor(Color.BLACK);
+						g.setXORMode(Color.WHITE);
+						g.drawString(description, xy[0], -xy[1]
+								+ g.getFont().getSize());
+						g.setPaintMode();
+						g.scale(1, -1);
+					});
 		}
 	}
 
@@ -18,7 +18,6 @@ import jumpingalien.part2.internal.tmxfile.data.Layer;
 import jumpingalien.part2.internal.tmxfile.data.Map;
 import jumpingalien.part2.internal.tmxfile.data.MapObject;
 import jumpingalien.part2.internal.tmxfile.data.ImageTile.TileType;
-import jumpingalien.model.gameobject.Gore;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
@@ -38,11 +37,19 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 
 	private int tileSize;
 	private final ObjectInfoProvider objectInfoProvider;
+	private final FrameSnapshots snapshots;
+	private final AlienInfoProvider2<Mazub> snapshotAlienInfoProvider;
 	private String currentMap;
 
 	public JumpingAlienGamePart2(Part2Options options, IFacadePart2 facade) {
 		super(options, facade);
 		this.objectInfoProvider = createObjectInfoProvider();
+		this.snapshots = new FrameSnapshots(
+				(Part2WorldInfoProvider) super.getWorldInfoProvider(),
+				objectInfoProvider, options::getDebugShowObjectString);
+		this.snapshotAlienInfoProvider = snapshots
+				.addAlien((AlienInfoProvider2<Mazub>) super
+						.getAlienInfoProvider());
 	}
 
 	@Override
@@ -122,19 +129,20 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 
 	private void setTileTypes() {
 		Layer terrainLayer = map.getLayer("Terrain");
+		TileType[] types = new TileType[map.getNbTilesX() * map.getNbTilesY()];
 
 		for (int tileY = 0; tileY < map.getNbTilesY(); tileY++) {
 			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
 				ImageTile tile = terrainLayer.getTile(tileX, tileY);
-				if (tile != null) {
-					getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
-							tile.getType().getValue());
-				} else {
-					getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
-							TileType.AIR.getValue());
-				}
+				TileType type = (tile != null) ? tile.getType() : TileType.AIR;
+				getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
+						type.getValue());
+				types[tileY * map.getNbTilesX() + tileX] = type;
 			}
 		}
+
+		snapshots.setTiles(tileSize, map.getNbTilesX(), map.getNbTilesY(),
+				types);
 	}
 
 	private void addObject(MapObject obj) {
@@ -227,6 +235,9 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 
 	@Override
 	public AlienInfoProvider2<Mazub> getAlienInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshotAlienInfoProvider;
+		}
 		return (AlienInfoProvider2<Mazub>) super.getAlienInfoProvider();
 	}
 
@@ -338,6 +349,9 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 
 	@Override
 	public Part2WorldInfoProvider getWorldInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshots.getWorldInfoProvider();
+		}
 		return (Part2WorldInfoProvider) super.getWorldInfoProvider();
 	}
 
@@ -355,24 +369,15 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 			
 			//TODO: We added this!
 			@Override
-			public Collection<Gore> getGore() {
-				Collection<Gore> result = getFacade().getGore(world);
-				if (result == null) {
-					result = Collections.emptyList();
-				}
-				return result;
-			}
-			
-			//TODO: We added this!
-			@Override
-			public Optional<int[]> getLocation(Gore gore) {
-				return Optional.of(getFacade().getLocation(gore));
+			public Optional<Particles> getParticles() {
+				return Optional.ofNullable(getFacade().getParticles(world)).map(
+						Particles::of);
 			}
-			
+
 			//TODO: We added this!
 			@Override
-			public Optional<ImageSprite> getCurrentSprite(Gore gore) {
-				return Optional.of((ImageSprite) getFacade().getCurrentSprite(gore));
+			public Optional<String> getDescription(Object object) {
+				return Optional.ofNullable(object).map(Object::toString);
 			}
 
 			@Override
@@ -444,9 +449,24 @@ public class JumpingAlienGamePart2 extends JumpingAlienGame {
 	}
 
 	public ObjectInfoProvider getObjectInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshots.getObjectInfoProvider();
+		}
 		return objectInfoProvider;
 	}
 
+	@Override
+	public void publishSnapshot() {
+		if (isUsingSnapshots() && getWorld() != null && getAlien() != null) {
+			snapshots.publish();
+		}
+	}
+
+	@Override
+	public void acquireSnapshot() {
+		snapshots.acquire();
+	}
+
 	public String getMapFile() {
 		return currentMap;
 	}
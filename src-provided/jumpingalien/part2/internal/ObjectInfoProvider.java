@@ -4,7 +4,6 @@ import java.util.Collection;
 import java.util.Optional;
 
 import jumpingalien.common.sprites.ImageSprite;
-import jumpingalien.model.gameobject.Gore;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
@@ -33,8 +32,9 @@ public interface ObjectInfoProvider {
 	public Optional<School> getSchool(Slime slime);
 	
 	//TODO: We added this!
-	public Optional<int[]> getLocation(Gore gore);
-	public Optional<ImageSprite> getCurrentSprite(Gore gore);
-	public Collection<Gore> getGore();
+	public Optional<Particles> getParticles();
+
+	//TODO: We added this!
+	public Optional<String> getDescription(Object object);
 
 }
@@ -71,6 +71,12 @@ public class Part2Options implements JumpingAlienGameOptions,
 	 */
 	private boolean debugShowEntireWorld = false;
 
+	/**
+	 * Paint the game on a separate thread, from snapshots published after
+	 * every update (default: false).
+	 */
+	private boolean renderThreadEnabled = false;
+
 	@Override
 	public double getTargetFPS() {
 		return targetFPS;
@@ -169,6 +175,15 @@ public class Part2Options implements JumpingAlienGameOptions,
 		this.debugShowObjectString = value;
 	}
 
+	@Override
+	public boolean isRenderThreadEnabled() {
+		return renderThreadEnabled;
+	}
+
+	public void setRenderThreadEnabled(boolean renderThreadEnabled) {
+		this.renderThreadEnabled = renderThreadEnabled;
+	}
+
 	public static Part2Options parse(String[] args) {
 		Part2Options options = new Part2Options();
 
@@ -200,6 +215,9 @@ public class Part2Options implements JumpingAlienGameOptions,
 			case "-showtiletypes":
 				options.debugShowTileTypes = Boolean.parseBoolean(args[++i]);
 				break;
+			case "-renderthread":
+				options.renderThreadEnabled = Boolean.parseBoolean(args[++i]);
+				break;
 			}
 		}
 
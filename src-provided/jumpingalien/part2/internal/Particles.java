@@ -0,0 +1,41 @@
+package jumpingalien.part2.internal;
+
+import jumpingalien.model.world.ParticleSystem;
+import jumpingalien.util.Sprite;
+
+//TODO: We added this!
+public interface Particles {
+
+	public int getNbParticles();
+
+	public int getPixelX(int index);
+
+	public int getPixelY(int index);
+
+	public Sprite getSprite(int index);
+
+	public static Particles of(ParticleSystem particles) {
+		return new Particles() {
+
+			@Override
+			public int getNbParticles() {
+				return particles.getNbParticles();
+			}
+
+			@Override
+			public int getPixelX(int index) {
+				return particles.getPixelX(index);
+			}
+
+			@Override
+			public int getPixelY(int index) {
+				return particles.getPixelY(index);
+			}
+
+			@Override
+			public Sprite getSprite(int index) {
+				return particles.getSprite(index);
+			}
+		};
+	}
+}
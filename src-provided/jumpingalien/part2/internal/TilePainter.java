@@ -2,6 +2,8 @@ package jumpingalien.part2.internal;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.util.Optional;
 
 import jumpingalien.common.gui.AlienGUIUtils;
@@ -11,6 +13,7 @@ import jumpingalien.part2.internal.tmxfile.data.ImageTile;
 import jumpingalien.part2.internal.tmxfile.data.ImageTile.TileType;
 import jumpingalien.part2.internal.tmxfile.data.Layer;
 import jumpingalien.part2.internal.tmxfile.data.Map;
+import ogp.framework.util.GUIUtils;
 
 public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 
@@ -20,12 +23,50 @@ public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 	private final int tileSize;
 	private final Map map;
 
+	/**
+	 * The number of tiles in the width and height of a chunk.
+	 */
+	private static final int CHUNK_SIZE = 16;
+
+	/**
+	 * The images of all layers of the map, in chunks of CHUNK_SIZE by
+	 * CHUNK_SIZE tiles, indexed by the x and y position of the chunk. A chunk
+	 * is drawn into its image the first time it's visible; the layers of the
+	 * map don't change afterwards.
+	 */
+	private final BufferedImage[][] chunks;
+
+	/**
+	 * The number of tiles left of and below a chunk whose images can reach
+	 * into the chunk, because they're larger than a tile.
+	 */
+	private final int chunkMarginX;
+	private final int chunkMarginY;
+
 	public TilePainter(AlienGameScreen<?, ?> screen, Map map,
 			Part2WorldInfoProvider worldInfoProvider) {
 		super(screen);
 		this.map = map;
 		this.worldInfoProvider = worldInfoProvider;
 		this.tileSize = worldInfoProvider.getTileLength();
+		this.chunks = new BufferedImage[(map.getNbTilesX() + CHUNK_SIZE - 1)
+				/ CHUNK_SIZE][(map.getNbTilesY() + CHUNK_SIZE - 1) / CHUNK_SIZE];
+
+		int maxWidth = tileSize;
+		int maxHeight = tileSize;
+		for (Layer layer : map.getLayers()) {
+			for (int x = 0; x < map.getNbTilesX(); x++) {
+				for (int y = 0; y < map.getNbTilesY(); y++) {
+					ImageTile tile = layer.getTile(x, y);
+					if (tile != null) {
+						maxWidth = Math.max(maxWidth, tile.getWidth());
+						maxHeight = Math.max(maxHeight, tile.getHeight());
+					}
+				}
+			}
+		}
+		this.chunkMarginX = (maxWidth - 1) / tileSize;
+		this.chunkMarginY = (maxHeight - 1) / tileSize;
 	}
 
 	@Override
@@ -40,10 +81,9 @@ public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 		g.setColor(getBackgroundColor());
 		g.fillRect(0, 0, worldSize[0], worldSize[1]);
 
-		Optional<int[][]> tileCoordinatesToDrawOpt;
+		int[] area;
 		if (getOptions().getDebugShowEntireWorld()) {
-			tileCoordinatesToDrawOpt = worldInfoProvider.getTilesIn(0, 0,
-					worldSize[0], worldSize[1]);
+			area = new int[] { 0, 0, worldSize[0], worldSize[1] };
 		} else {
 			Optional<int[]> visibleWindowOpt = worldInfoProvider
 					.getVisibleWindow();
@@ -51,22 +91,21 @@ public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 			if (!visibleWindowOpt.isPresent()) {
 				return;
 			}
-			int[] visibleWindow = visibleWindowOpt.get();
-
-			tileCoordinatesToDrawOpt = worldInfoProvider.getTilesIn(
-					visibleWindow[0], visibleWindow[1], visibleWindow[2],
-					visibleWindow[3]);
-		}
-		if (!tileCoordinatesToDrawOpt.isPresent()) {
-			return;
+			area = visibleWindowOpt.get();
 		}
-		int[][] tileCoordinatesToDraw = tileCoordinatesToDrawOpt.get();
 
-		for (int[] tileXY : tileCoordinatesToDraw) {
-			int tileX = tileXY[0];
-			int tileY = tileXY[1];
+		paintChunks(g, area[0], area[1], area[2], area[3]);
 
-			paintTile(g, tileX, tileY);
+		if (getOptions().getDebugShowTileTypes()
+				|| getOptions().getDebugShowTileGridlines()) {
+			Optional<int[][]> tileCoordinatesToDrawOpt = worldInfoProvider
+					.getTilesIn(area[0], area[1], area[2], area[3]);
+			if (!tileCoordinatesToDrawOpt.isPresent()) {
+				return;
+			}
+			for (int[] tileXY : tileCoordinatesToDrawOpt.get()) {
+				paintTileDebugInfo(g, tileXY[0], tileXY[1]);
+			}
 		}
 
 		if (getOptions().getDebugShowAlienOverlappingTiles()) {
@@ -107,7 +146,63 @@ public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 		}
 	}
 
-	private void paintTile(Graphics2D g, int tileX, int tileY) {
+	/**
+	 * Paints the chunks overlapping the given area in pixels, so the time taken
+	 * doesn't depend on the number of tiles in the area.
+	 */
+	private void paintChunks(Graphics2D g, int left, int bottom, int right,
+			int top) {
+		int chunkPixels = CHUNK_SIZE * tileSize;
+		int firstChunkX = Math.max(0, left / chunkPixels);
+		int firstChunkY = Math.max(0, bottom / chunkPixels);
+		int lastChunkX = Math.min(chunks.length - 1, right / chunkPixels);
+		int lastChunkY = Math.min(chunks[0].length - 1, top / chunkPixels);
+
+		for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+			for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+				if (chunks[chunkX][chunkY] == null) {
+					chunks[chunkX][chunkY] = createChunk(chunkX, chunkY);
+				}
+				AlienGUIUtils.drawImageInWorld(g, chunks[chunkX][chunkY],
+						chunkX * chunkPixels, chunkY * chunkPixels, false);
+			}
+		}
+	}
+
+	/**
+	 * Returns an image of all layers of the map in the chunk at the given
+	 * position, with the top row of tiles at the top of the image. The tiles
+	 * are drawn in the same order as when drawing the whole map tile by tile,
+	 * including the tiles outside the chunk whose images reach into it.
+	 */
+	private BufferedImage createChunk(int chunkX, int chunkY) {
+		int firstTileX = chunkX * CHUNK_SIZE;
+		int firstTileY = chunkY * CHUNK_SIZE;
+		int nbTilesX = Math.min(CHUNK_SIZE, map.getNbTilesX() - firstTileX);
+		int nbTilesY = Math.min(CHUNK_SIZE, map.getNbTilesY() - firstTileY);
+
+		BufferedImage chunk = GUIUtils.createCompatibleImage(nbTilesX
+				* tileSize, nbTilesY * tileSize);
+		Graphics2D chunkGraphics = chunk.createGraphics();
+		for (int x = -Math.min(chunkMarginX, firstTileX); x < nbTilesX; x++) {
+			for (int y = -Math.min(chunkMarginY, firstTileY); y < nbTilesY; y++) {
+				for (Layer layer : map.getLayers()) {
+					ImageTile tile = layer.getTile(firstTileX + x, firstTileY
+							+ y);
+					if (tile != null) {
+						Image image = tile.getImage();
+						chunkGraphics.drawImage(image, x * tileSize,
+								(nbTilesY - y) * tileSize
+										- image.getHeight(null), null);
+					}
+				}
+			}
+		}
+		chunkGraphics.dispose();
+		return chunk;
+	}
+
+	private void paintTileDebugInfo(Graphics2D g, int tileX, int tileY) {
 		Optional<int[]> bottomLeftOpt = worldInfoProvider
 				.getBottomLeftPixelOfTile(tileX, tileY);
 		if (!bottomLeftOpt.isPresent()) {
@@ -116,18 +211,6 @@ public class TilePainter extends AbstractAlienPainter<AlienGameScreen<?, ?>> {
 		}
 		int[] bottomLeftXY = bottomLeftOpt.get();
 
-		int tileSize = worldInfoProvider.getTileLength();
-
-		for (Layer layer : map.getLayers()) {
-			if (map.isValidTileCoordinate(tileX, tileY)) {
-				ImageTile tile = layer.getTile(tileX, tileY);
-				if (tile != null) {
-					AlienGUIUtils.drawImageInWorld(g, tile.getImage(),
-							bottomLeftXY[0], bottomLeftXY[1], false);
-				}
-			}
-		}
-
 		if (getOptions().getDebugShowTileTypes()) {
 			Optional<TileType> optType = worldInfoProvider
 					.getGeologicalFeature(bottomLeftXY[0], bottomLeftXY[1]);
@@ -1,5 +1,8 @@
 package jumpingalien.part3;
 
+import java.nio.file.Paths;
+
+import jumpingalien.model.program.cache.ProgramCache;
 import jumpingalien.part3.facade.Facade;
 import jumpingalien.part3.internal.JumpingAlienGUIPart3;
 import jumpingalien.part3.internal.JumpingAlienGamePart3;
@@ -10,7 +13,10 @@ public class JumpingAlienPart3 {
 	public static void main(String[] args) {
 		Part3Options options = Part3Options.parse(args);
 
-		JumpingAlienGamePart3 game = new JumpingAlienGamePart3(options, new Facade());
+		ProgramCache programCache = (options.getProgramCacheDirectory() != null)
+				? new ProgramCache(Paths.get(options.getProgramCacheDirectory())) : null;
+		JumpingAlienGamePart3 game = new JumpingAlienGamePart3(options,
+				new Facade(options.getCompilePrograms(), programCache));
 
 		new JumpingAlienGUIPart3(game).start();
 	}
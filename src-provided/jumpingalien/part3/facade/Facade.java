@@ -3,8 +3,9 @@ package jumpingalien.part3.facade;
 import java.util.Optional;
 
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.Buzam;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.gameobject.School;
@@ -12,6 +13,7 @@ import jumpingalien.model.gameobject.Shark;
 import jumpingalien.model.gameobject.Slime;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.program.ProgramFactory;
+import jumpingalien.model.program.cache.ProgramCache;
 import jumpingalien.model.program.statement.Statement;
 import jumpingalien.model.program.expression.Expression;
 import jumpingalien.model.world.World;
@@ -20,10 +22,48 @@ import jumpingalien.part3.programs.ProgramParser;
 import jumpingalien.util.Sprite;
 
 public class Facade extends jumpingalien.part2.facade.Facade implements IFacadePart3 {
+	
+	/**
+	 * Whether the programs this facade parses are compiled.
+	 */
+	private final boolean compilingPrograms;
+	
+	/**
+	 * The cache of parsed programs, or null if programs are always parsed.
+	 */
+	private final ProgramCache programCache;
+	
+	
+	/**
+	 * Creates a facade parsing programs that are interpreted.
+	 */
+	public Facade() {
+		this(false);
+	}
+	
+	
+	/**
+	 * Creates a facade parsing programs that are compiled if compilingPrograms is true,
+	 * and interpreted otherwise.
+	 */
+	public Facade(boolean compilingPrograms) {
+		this(compilingPrograms, null);
+	}
+	
+	
+	/**
+	 * Creates a facade parsing programs that are compiled if compilingPrograms is true,
+	 * and interpreted otherwise. Programs found in the given cache aren't parsed again,
+	 * and programs that are parsed are stored in it.
+	 */
+	public Facade(boolean compilingPrograms, ProgramCache programCache) {
+		this.compilingPrograms = compilingPrograms;
+		this.programCache = programCache;
+	}
 
 	@Override
 	public Buzam createBuzam(int pixelLeftX, int pixelBottomY, Sprite[] sprites) {
-		return new Buzam(Utilities.pixelsVectorToMeters(new Vector<>(pixelLeftX, pixelBottomY)), sprites,
+		return new Buzam(Utilities.pixelsVectorToMeters(new IntVec(pixelLeftX, pixelBottomY)), sprites,
 				Constants.mazubInitialHorizontalSpeed, Constants.mazubMaxHorizontalSpeed,
 				Constants.mazubBeginDirection);
 	}
@@ -31,7 +71,7 @@ public class Facade extends jumpingalien.part2.facade.Facade implements IFacadeP
 	@Override
 	public Buzam createBuzamWithProgram(int pixelLeftX, int pixelBottomY,
 			Sprite[] sprites, LanguageProgram program) {
-		return new Buzam(Utilities.pixelsVectorToMeters(new Vector<>(pixelLeftX, pixelBottomY)), sprites,
+		return new Buzam(Utilities.pixelsVectorToMeters(new IntVec(pixelLeftX, pixelBottomY)), sprites,
 				Constants.mazubInitialHorizontalSpeed, Constants.mazubMaxHorizontalSpeed,
 				Constants.mazubBeginDirection, program);
 	}
@@ -39,31 +79,43 @@ public class Facade extends jumpingalien.part2.facade.Facade implements IFacadeP
 	@Override
 	public Plant createPlantWithProgram(int x, int y, Sprite[] sprites,
 			LanguageProgram program) {
-		return new Plant(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Plant(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites, program);
 	}
 
 	@Override
 	public Shark createSharkWithProgram(int x, int y, Sprite[] sprites,
 			LanguageProgram program) {
-		return new Shark(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Shark(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites, program);
 	}
 
 	@Override
 	public Slime createSlimeWithProgram(int x, int y, Sprite[] sprites,
 			School school, LanguageProgram program) {
-		return new Slime(new Vector<>(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
+		return new Slime(new DoubleVec(Utilities.pixelsToMeters(x), Utilities.pixelsToMeters(y)),
 				sprites, school, program);
 	}
 
 	@Override
 	public ParseOutcome<?> parse(String text) {
 		
-		ProgramFactory factory = new ProgramFactory();
-		ProgramParser<Expression<?>, Statement, Object, LanguageProgram> parser = new ProgramParser<>(factory);
+		if (this.programCache != null) {
+			Optional<LanguageProgram> cached = this.programCache.load(text, new ProgramFactory(this.compilingPrograms));
+			if (cached.isPresent()) {
+				return ParseOutcome.success(cached.get());
+			}
+		}
+		
+		ProgramFactory factory = new ProgramFactory(this.compilingPrograms);
+		ProgramCache.Recording recording = (this.programCache != null) ? this.programCache.record(factory) : null;
+		ProgramParser<Expression<?>, Statement, Object, LanguageProgram> parser =
+				new ProgramParser<>((recording != null) ? recording.getFactory() : factory);
 		
 		Optional<LanguageProgram> parseResult = parser.parseString(text);
+		if (parseResult.isPresent() && recording != null) {
+			this.programCache.store(text, recording);
+		}
 		
 		return parseResult.isPresent() ? ParseOutcome.success(parseResult.get()) : ParseOutcome.failure(parser.getErrors());
 	}
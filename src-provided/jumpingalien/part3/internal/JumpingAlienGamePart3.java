@@ -19,7 +19,6 @@ import jumpingalien.common.game.WorldInfoProvider;
 import jumpingalien.common.sprites.ImageSprite;
 import jumpingalien.common.sprites.JumpingAlienSprites;
 import jumpingalien.model.gameobject.Buzam;
-import jumpingalien.model.gameobject.Gore;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.program.LanguageProgram;
@@ -28,7 +27,9 @@ import jumpingalien.model.gameobject.Shark;
 import jumpingalien.model.gameobject.Slime;
 import jumpingalien.model.world.World;
 import jumpingalien.part2.internal.AlienInfoProvider2;
+import jumpingalien.part2.internal.FrameSnapshots;
 import jumpingalien.part2.internal.ObjectInfoProvider;
+import jumpingalien.part2.internal.Particles;
 import jumpingalien.part2.internal.Part2WorldInfoProvider;
 import jumpingalien.part2.internal.tmxfile.TMXFileReader;
 import jumpingalien.part2.internal.tmxfile.data.ImageTile;
@@ -55,15 +56,32 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 
 	private int tileSize;
 	private final ObjectInfoProvider objectInfoProvider;
+	private final FrameSnapshots snapshots;
+	private final AlienInfoProvider2<Mazub> snapshotAlienInfoProvider;
+	private final AlienInfoProvider2<Buzam> snapshotEvilTwinInfoProvider;
 	private String currentMap;
 
 	private final Random random;
 
+	/**
+	 * The program parsed from every script file. A script is only parsed once; every
+	 * object running it gets a new instance of the parsed program.
+	 */
+	private final HashMap<String, Optional<LanguageProgram>> parsedPrograms = new HashMap<>();
+
 	public JumpingAlienGamePart3(Part3Options options, IFacadePart3 facade) {
 		super(options, facade);
 		this.random = new Random(options.getRandomSeed());
 		this.objectInfoProvider = createObjectInfoProvider();
 		this.evilTwinProvider = createEvilTwinInfoProvider();
+		this.snapshots = new FrameSnapshots(
+				(Part2WorldInfoProvider) super.getWorldInfoProvider(),
+				objectInfoProvider, options::getDebugShowObjectString);
+		this.snapshotAlienInfoProvider = snapshots
+				.addAlien((AlienInfoProvider2<Mazub>) super
+						.getAlienInfoProvider());
+		this.snapshotEvilTwinInfoProvider = snapshots
+				.addAlien(evilTwinProvider);
 	}
 
 	@Override
@@ -157,7 +175,7 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 		}
 		int buzamX = Integer.parseInt(map.getAttribute(ATTR_BUZAM_INITIAL_X));
 		int buzamY = Integer.parseInt(map.getAttribute(ATTR_BUZAM_INITIAL_Y));
-		Optional<LanguageProgram> program = parseProgram(Resources.BUZAM_PROGRAM_FILENAME);
+		Optional<LanguageProgram> program = getProgram(Resources.BUZAM_PROGRAM_FILENAME);
 		if (program.isPresent() && random.nextBoolean()) {
 			buzam = getFacade().createBuzamWithProgram(buzamX, buzamY,
 					Resources.BUZAM_SPRITESET, program.get());
@@ -169,6 +187,10 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 		getFacade().addBuzam(getWorld(), buzam);
 	}
 
+	private Optional<LanguageProgram> getProgram(String filename) {
+		return parsedPrograms.computeIfAbsent(filename, this::parseProgram).map(LanguageProgram::newInstance);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Optional<LanguageProgram> parseProgram(String filename) {
 		try {
@@ -195,19 +217,20 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 
 	private void setTileTypes() {
 		Layer terrainLayer = map.getLayer("Terrain");
+		TileType[] types = new TileType[map.getNbTilesX() * map.getNbTilesY()];
 
 		for (int tileY = 0; tileY < map.getNbTilesY(); tileY++) {
 			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
 				ImageTile tile = terrainLayer.getTile(tileX, tileY);
-				if (tile != null) {
-					getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
-							tile.getType().getValue());
-				} else {
-					getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
-							TileType.AIR.getValue());
-				}
+				TileType type = (tile != null) ? tile.getType() : TileType.AIR;
+				getFacade().setGeologicalFeature(getWorld(), tileX, tileY,
+						type.getValue());
+				types[tileY * map.getNbTilesX() + tileX] = type;
 			}
 		}
+
+		snapshots.setTiles(tileSize, map.getNbTilesX(), map.getNbTilesY(),
+				types);
 	}
 
 	private void addObject(MapObject obj) {
@@ -237,7 +260,7 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 	}
 
 	private void addPlant(MapObject obj) {
-		Optional<LanguageProgram> program = parseProgram(Resources.PLANT_PROGRAM_FILENAME);
+		Optional<LanguageProgram> program = getProgram(Resources.PLANT_PROGRAM_FILENAME);
 		if (program.isPresent() && random.nextBoolean()) {
 			getFacade().addPlant(
 					getWorld(),
@@ -259,7 +282,7 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 	}
 
 	private void addShark(MapObject obj) {
-		Optional<LanguageProgram> program = parseProgram(Resources.SHARK_PROGRAM_FILENAME);
+		Optional<LanguageProgram> program = getProgram(Resources.SHARK_PROGRAM_FILENAME);
 		if (program.isPresent() && random.nextBoolean()) {
 			getFacade().addShark(
 					getWorld(),
@@ -281,7 +304,7 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 	}
 
 	private void addSlime(MapObject obj) {
-		Optional<LanguageProgram> program = parseProgram(Resources.SLIME_PROGRAM_FILENAME);
+		Optional<LanguageProgram> program = getProgram(Resources.SLIME_PROGRAM_FILENAME);
 		int school = obj.getIntAttribute("school").orElse(0);
 		if (program.isPresent() && random.nextBoolean()) {
 			getFacade().addSlime(
@@ -353,6 +376,9 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 
 	@Override
 	public AlienInfoProvider2<Mazub> getAlienInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshotAlienInfoProvider;
+		}
 		return (AlienInfoProvider2<Mazub>) super.getAlienInfoProvider();
 	}
 
@@ -512,6 +538,9 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 
 	@Override
 	public Part2WorldInfoProvider getWorldInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshots.getWorldInfoProvider();
+		}
 		return (Part2WorldInfoProvider) super.getWorldInfoProvider();
 	}
 
@@ -594,38 +623,47 @@ public class JumpingAlienGamePart3 extends JumpingAlienGame {
 
 			// We added this!
 			@Override
-			public Optional<int[]> getLocation(Gore gore) {
-				return Optional.of(getFacade().getLocation(gore));
-			}
-
-			// We added this!
-			@Override
-			public Optional<ImageSprite> getCurrentSprite(Gore gore) {
-				return Optional.of((ImageSprite) getFacade().getCurrentSprite(gore));
+			public Optional<Particles> getParticles() {
+				return Optional.ofNullable(getFacade().getParticles(world)).map(
+						Particles::of);
 			}
 
 			// We added this!
 			@Override
-			public Collection<Gore> getGore() {
-				Collection<Gore> result = getFacade().getGore(world);
-				if (result == null) {
-					result = Collections.emptyList();
-				}
-				return result;
+			public Optional<String> getDescription(Object object) {
+				return Optional.ofNullable(object).map(Object::toString);
 			}
 
 		};
 	}
 
 	public ObjectInfoProvider getObjectInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshots.getObjectInfoProvider();
+		}
 		return objectInfoProvider;
 	}
 
+	@Override
+	public void publishSnapshot() {
+		if (isUsingSnapshots() && getWorld() != null && getAlien() != null) {
+			snapshots.publish();
+		}
+	}
+
+	@Override
+	public void acquireSnapshot() {
+		snapshots.acquire();
+	}
+
 	public String getMapFile() {
 		return currentMap;
 	}
 
 	public AlienInfoProvider2<Buzam> getEvilTwinInfoProvider() {
+		if (isUsingSnapshots()) {
+			return snapshotEvilTwinInfoProvider;
+		}
 		return evilTwinProvider;
 	}
 }
@@ -1,5 +1,7 @@
 package jumpingalien.part3.internal;
 
+import java.nio.file.Paths;
+
 import jumpingalien.part2.internal.Part2Options;
 
 public class Part3Options extends Part2Options {
@@ -13,6 +15,29 @@ public class Part3Options extends Part2Options {
 	public void setRandomSeed(long randomSeed) {
 		this.randomSeed = randomSeed;
 	}
+	
+	private boolean compilePrograms = false;
+	
+	public boolean getCompilePrograms() {
+		return compilePrograms;
+	}
+	
+	public void setCompilePrograms(boolean compilePrograms) {
+		this.compilePrograms = compilePrograms;
+	}
+	
+	private String programCacheDirectory = Paths.get(System.getProperty("user.home"), ".jumpingalien", "programs").toString();
+	
+	/**
+	 * Returns the directory parsed programs are cached in, or null if they aren't cached.
+	 */
+	public String getProgramCacheDirectory() {
+		return programCacheDirectory;
+	}
+	
+	public void setProgramCacheDirectory(String programCacheDirectory) {
+		this.programCacheDirectory = programCacheDirectory;
+	}
 
 	public static Part3Options parse(String[] args) {
 		Part3Options options = new Part3Options();
@@ -23,6 +48,13 @@ public class Part3Options extends Part2Options {
 			case "-seed":
 				options.setRandomSeed(Long.parseLong(args[++i]));
 				break;
+			case "-compileprograms":
+				options.setCompilePrograms(Boolean.parseBoolean(args[++i]));
+				break;
+			case "-programcache":
+				String directory = args[++i];
+				options.setProgramCacheDirectory(directory.equals("none") ? null : directory);
+				break;
 			case "-targetfps":
 				options.setTargetFPS(Integer.parseInt(args[++i]));
 				break;
@@ -48,6 +80,9 @@ public class Part3Options extends Part2Options {
 			case "-showtiletypes":
 				options.setDebugShowTileTypes(Boolean.parseBoolean(args[++i]));
 				break;
+			case "-renderthread":
+				options.setRenderThreadEnabled(Boolean.parseBoolean(args[++i]));
+				break;
 			}
 		}
 
@@ -4,7 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import be.kuleuven.cs.som.annotate.Basic;
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 
 /**
  * A interface for a factory to create a program, which consists of expressions,
@@ -34,14 +34,14 @@ public interface IProgramFactory<E, S, T, P> {
 
 	/** Direction enum */
 	public enum Direction {
-		LEFT(new Vector<>(-1.0, 0.0)),
-		RIGHT(new Vector<>(1.0, 0.0)),
-		UP(new Vector<>(0.0, 1.0)),
-		DOWN(new Vector<>(0.0, -1.0));
+		LEFT(new DoubleVec(-1.0, 0.0)),
+		RIGHT(new DoubleVec(1.0, 0.0)),
+		UP(new DoubleVec(0.0, 1.0)),
+		DOWN(new DoubleVec(0.0, -1.0));
 		
-		private final Vector<Double> vector;
+		private final DoubleVec vector;
 		
-		Direction(Vector<Double> vector) {
+		Direction(DoubleVec vector) {
 			this.vector = vector;
 		}
 		
@@ -49,7 +49,7 @@ public interface IProgramFactory<E, S, T, P> {
 		 * Returns the vector representation of this direction.
 		 */
 		@Basic
-		public Vector<Double> getVectorValue() {
+		public DoubleVec getVectorValue() {
 			return this.vector;
 		}
 	}
@@ -35,6 +35,34 @@ public abstract class Game {
 	
 	protected abstract void doUpdate(double dt);
 
+	private volatile boolean usingSnapshots = false;
+
+	/**
+	 * Whether the GUI reads the state of the game from published snapshots,
+	 * instead of from the live game on the thread updating it.
+	 */
+	public boolean isUsingSnapshots() {
+		return usingSnapshots;
+	}
+
+	public void setUsingSnapshots(boolean value) {
+		this.usingSnapshots = value;
+	}
+
+	/**
+	 * Publishes a snapshot of the current state of the game. Called by the
+	 * thread updating the game, after every update.
+	 */
+	public void publishSnapshot() {
+	}
+
+	/**
+	 * Makes the latest published snapshot the one the GUI reads from. Called
+	 * by the thread painting the game, before every frame.
+	 */
+	public void acquireSnapshot() {
+	}
+
 	protected void addCommand(Command command) {
 		commandQueue.add(command);
 	}
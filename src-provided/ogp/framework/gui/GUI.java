@@ -17,6 +17,7 @@ public abstract class GUI<TGame extends Game> {
 
 	private final ScreenPanel<TGame> screenPanel;
 	private final TimeKeeper fpsCounter;
+	private final TimeKeeper renderCounter;
 
 	private final TGame game;
 
@@ -26,6 +27,7 @@ public abstract class GUI<TGame extends Game> {
 		this.frame = new Frame();
 		this.screenPanel = createScreenPanel();
 		this.fpsCounter = new TimeKeeper(options.getTargetFPS());
+		this.renderCounter = new TimeKeeper(options.getTargetFPS());
 	}
 
 	public GUIOptions getGUIOptions() {
@@ -33,6 +35,13 @@ public abstract class GUI<TGame extends Game> {
 	}
 
 	public PerformanceStats getCurrentStats() {
+		if (options.isRenderThreadEnabled()) {
+			PerformanceStats game = fpsCounter.getStats();
+			PerformanceStats render = renderCounter.getStats();
+			return new PerformanceStats(game.avgGameUpdateTime,
+					render.avgPaintTime, render.avgSleepTime, render.fps,
+					render.targetFPS);
+		}
 		return fpsCounter.getStats();
 	}
 
@@ -49,6 +58,7 @@ public abstract class GUI<TGame extends Game> {
 	protected abstract String getTitle();
 
 	public void start() {
+		game.setUsingSnapshots(options.isRenderThreadEnabled());
 		game.load();
 
 		setupFrame();
@@ -61,7 +71,12 @@ public abstract class GUI<TGame extends Game> {
 			frame.setVisible(true);
 			screenPanel.initialize(game);
 			frame.requestFocus();
-			gameLoop();
+			if (options.isRenderThreadEnabled()) {
+				startRenderThread();
+				updateLoop();
+			} else {
+				gameLoop();
+			}
 		} finally {
 			device.setFullScreenWindow(null);
 		}
@@ -96,6 +111,67 @@ public abstract class GUI<TGame extends Game> {
 		}
 	}
 
+	/**
+	 * Updates the game without painting it, publishing a snapshot after every
+	 * update for the render thread to paint.
+	 */
+	private void updateLoop() {
+
+		fpsCounter.start();
+
+		while (!stopped) {
+
+			double dt = fpsCounter.getTimeToAdvance();
+
+			game.update(dt);
+			game.publishSnapshot();
+
+			fpsCounter.gameUpdated();
+			fpsCounter.framePainted();
+
+			try {
+				Thread.sleep(fpsCounter.getTimeToSleep());
+			} catch (InterruptedException e) {
+			}
+
+			fpsCounter.frameDone();
+		}
+	}
+
+	private void startRenderThread() {
+		Thread renderThread = new Thread(this::renderLoop, "Render thread");
+		renderThread.setDaemon(true);
+		renderThread.start();
+	}
+
+	/**
+	 * Paints the latest snapshot of the game, never touching the live game.
+	 */
+	private void renderLoop() {
+
+		renderCounter.start();
+
+		while (!stopped) {
+
+			double dt = renderCounter.getTimeToAdvance();
+
+			game.acquireSnapshot();
+
+			renderCounter.gameUpdated();
+
+			screenPanel.update(dt);
+
+			renderCounter.framePainted();
+
+			try {
+				Thread.sleep(renderCounter.getTimeToSleep());
+			} catch (InterruptedException e) {
+			}
+
+			renderCounter.frameDone();
+		}
+	}
+
 	public void exit() {
 		stopped = true;
 		frame.setVisible(false);
@@ -5,4 +5,12 @@ public interface GUIOptions {
 	public double getTargetFPS();
 	
 	public boolean isFullScreenEnabled();
+
+	/**
+	 * Whether the screen is painted on a separate thread, from snapshots the
+	 * game publishes after every update.
+	 */
+	public default boolean isRenderThreadEnabled() {
+		return false;
+	}
 }
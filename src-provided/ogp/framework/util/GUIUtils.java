@@ -3,7 +3,10 @@ package ogp.framework.util;
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -14,6 +17,8 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.imageio.ImageIO;
 
@@ -39,18 +44,26 @@ public class GUIUtils {
 	private static final float STEP_SIZE = 7F/10F;
 
 	public static void shiftHue(BufferedImage img, int amount) {
+		int width = img.getWidth();
+		int height = img.getHeight();
+		int[] pixels = img.getRGB(0, 0, width, height, null, 0, width);
+		float shift = STEP_SIZE * amount;
+
+		// sprites use few distinct colors, so every color is only converted once
+		Map<Integer, Integer> shiftedColors = new HashMap<Integer, Integer>();
 		float[] hsb = new float[3];
-		for (int x = 0; x < img.getWidth(); x++) {
-			for (int y = 0; y < img.getHeight(); y++) {
-				Color color = new Color(img.getRGB(x, y), true);
-				Color.RGBtoHSB(color.getRed(), color.getGreen(),
-						color.getBlue(), hsb);
-				hsb[0] = (hsb[0] + (STEP_SIZE * amount)) % 1.0F;
-				img.setRGB(x, y, Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]));
-				img.getAlphaRaster().setPixel(x, y,
-						new int[] { color.getAlpha() });
+		for (int i = 0; i < pixels.length; i++) {
+			int rgb = pixels[i] & 0xFFFFFF;
+			Integer shiftedColor = shiftedColors.get(rgb);
+			if (shiftedColor == null) {
+				Color.RGBtoHSB(rgb >> 16 & 0xFF, rgb >> 8 & 0xFF, rgb & 0xFF, hsb);
+				shiftedColor = Color.HSBtoRGB((hsb[0] + shift) % 1.0F, hsb[1],
+						hsb[2]) & 0xFFFFFF;
+				shiftedColors.put(rgb, shiftedColor);
 			}
+			pixels[i] = (pixels[i] & 0xFF000000) | shiftedColor;
 		}
+		img.setRGB(0, 0, width, height, pixels, 0, width);
 	}
 
 	public static BufferedImage copyImage(BufferedImage source) {
@@ -108,6 +121,43 @@ public class GUIUtils {
 		}
 	}
 
+	/**
+	 * Returns the given image, or a copy of it in the format of the default
+	 * screen if it's in another format, so it can be drawn without converting it.
+	 * Without a screen, the given image is returned.
+	 */
+	public static BufferedImage toCompatibleImage(BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		GraphicsConfiguration configuration = GraphicsEnvironment
+				.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		if (image.getColorModel().equals(
+				configuration.getColorModel(Transparency.TRANSLUCENT))) {
+			return image;
+		}
+		BufferedImage result = createCompatibleImage(image.getWidth(),
+				image.getHeight());
+		Graphics2D g = result.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return result;
+	}
+
+	/**
+	 * Returns a new, fully transparent image with the given size, in the
+	 * format of the default screen if there is one.
+	 */
+	public static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
 	public static BufferedImage hflip(BufferedImage image) {
 		BufferedImage flippedImage = new BufferedImage(image.getWidth(),
 				image.getHeight(), image.getType());
@@ -0,0 +1,79 @@
+package ogp.framework.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Three buffers shared by one writer and one reader thread. The writer fills
+ * the back buffer and publishes it; the reader acquires the latest published
+ * buffer as its front buffer. Neither thread ever waits for the other, and a
+ * buffer is never written while the reader may be reading it.
+ *
+ * Buffers are reused: after publishing, the writer gets a buffer back that
+ * holds older contents and must be filled again completely.
+ */
+public final class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 0b11;
+
+	private static final int FRESH = 0b100;
+
+	private final Object[] buffers = new Object[3];
+
+	/**
+	 * The index of the buffer between the writer and the reader, with the
+	 * FRESH bit set if it was published after the reader last acquired.
+	 */
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	private int back = 2; // only used by the writer
+
+	private int front = 0; // only used by the reader
+
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = factory.get();
+		}
+	}
+
+	/**
+	 * Returns the buffer the writer fills. Only to be called by the writer.
+	 */
+	public T getBackBuffer() {
+		return get(back);
+	}
+
+	/**
+	 * Makes the back buffer the latest published buffer, and gives the writer
+	 * a new back buffer. Only to be called by the writer.
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Makes the latest published buffer the front buffer, if one was published
+	 * since the last call. Only to be called by the reader.
+	 *
+	 * @return whether the front buffer changed
+	 */
+	public boolean acquireLatest() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		front = middle.getAndSet(front) & INDEX_MASK;
+		return true;
+	}
+
+	/**
+	 * Returns the buffer the reader reads. Only to be called by the reader.
+	 */
+	public T getFrontBuffer() {
+		return get(front);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T get(int index) {
+		return (T) buffers[index];
+	}
+}
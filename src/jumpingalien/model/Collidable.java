@@ -17,15 +17,57 @@ public interface Collidable {
 	boolean isPassable();
 	
 	
+	/**
+	 * Returns the x coordinate of the bottom left pixel of the
+	 * bounding box of the collidable.
+	 * 
+	 * @return The x coordinate of the bottom left pixel of the
+	 * 			bounding box of the collidable.
+	 */
+	@Basic
+	int getPixelX();
+	
+	
+	/**
+	 * Returns the y coordinate of the bottom left pixel of the
+	 * bounding box of the collidable.
+	 * 
+	 * @return The y coordinate of the bottom left pixel of the
+	 * 			bounding box of the collidable.
+	 */
+	@Basic
+	int getPixelY();
+	
+	
+	/**
+	 * Returns the width of the bounding box of the collidable in pixels.
+	 * 
+	 * @return The width of the bounding box of the collidable in pixels.
+	 */
+	@Basic
+	int getPixelWidth();
+	
+	
+	/**
+	 * Returns the height of the bounding box of the collidable in pixels.
+	 * 
+	 * @return The height of the bounding box of the collidable in pixels.
+	 */
+	@Basic
+	int getPixelHeight();
+	
+	
 	/**
 	 * Returns the bottom left position of the bounding
 	 * box of the collidable in pixels.
 	 * 
 	 * @return The bottom left positition of the bounding
 	 * 			box of the collidable in pixels.
+	 * 			| new IntVec(getPixelX(), getPixelY())
 	 */
-	@Basic
-	Vector<Integer> getPositionInPixels();
+	default IntVec getPositionInPixels() {
+		return new IntVec(this.getPixelX(), this.getPixelY());
+	}
 	
 	
 	/**
@@ -34,19 +76,21 @@ public interface Collidable {
 	 * 
 	 * @return The size of the bounding box of the collidable
 	 * 			in pixels.
+	 * 			| new IntVec(getPixelWidth(), getPixelHeight())
 	 */
-	@Basic
-	Vector<Integer> getSizeInPixels();
+	default IntVec getSizeInPixels() {
+		return new IntVec(this.getPixelWidth(), this.getPixelHeight());
+	}
 	
 	
 	/**
 	 * Returns the center of the collidable's bounding box in pixels.
 	 * 
 	 * @return The center of the collidable's bounding box in pixels.
-	 * 			| new Vector<>(getPositionInPixels().x + getSizeInPixels().x/2, getPositionInPixels().y + getSizeInPixels().y/2)
+	 * 			| new IntVec(getPixelX() + getPixelWidth()/2, getPixelY() + getPixelHeight()/2)
 	 */
-	default Vector<Integer> getCenterInPixels() {
-		return new Vector<>(getPositionInPixels().x + getSizeInPixels().x/2, getPositionInPixels().y + getSizeInPixels().y/2);
+	default IntVec getCenterInPixels() {
+		return new IntVec(this.getPixelX() + this.getPixelWidth()/2, this.getPixelY() + this.getPixelHeight()/2);
 	}
 
 
@@ -57,14 +101,38 @@ public interface Collidable {
 	 * 			| The collidable to get the kind of overlap with.
 	 * 
 	 * @return A 2D vector representing the kind of overlap.
-	 * 			When collidable is a Tile object:
-	 * 			| this.getKindOfOverlapWith((Tile) collidable)
-	 * 			When collidable is a GameObject object:
-	 * 			| this.getKindOfOverlapWith((GameObject) collidable)
-	 */
-	default Vector<Integer> getKindOfOverlapWith(Collidable collidable) {
-		return this.getKindOfOverlapWithRect(collidable.getPositionInPixels(),
-				collidable.getSizeInPixels());
+	 * 			| new IntVec(this.getKindOfOverlapXWith(collidable), this.getKindOfOverlapYWith(collidable))
+	 */
+	default IntVec getKindOfOverlapWith(Collidable collidable) {
+		return new IntVec(this.getKindOfOverlapXWith(collidable), this.getKindOfOverlapYWith(collidable));
+	}
+	
+	
+	/**
+	 * Returns the x component of the kind of overlap with the given collidable.
+	 * 
+	 * @param collidable
+	 * 			The collidable to get the kind of overlap with.
+	 * 
+	 * @return The x component of the kind of overlap.
+	 * 			| getKindOfOverlapX(collidable.getPixelX(), collidable.getPixelWidth())
+	 */
+	default int getKindOfOverlapXWith(Collidable collidable) {
+		return this.getKindOfOverlapX(collidable.getPixelX(), collidable.getPixelWidth());
+	}
+	
+	
+	/**
+	 * Returns the y component of the kind of overlap with the given collidable.
+	 * 
+	 * @param collidable
+	 * 			The collidable to get the kind of overlap with.
+	 * 
+	 * @return The y component of the kind of overlap.
+	 * 			| getKindOfOverlapY(collidable.getPixelY(), collidable.getPixelHeight())
+	 */
+	default int getKindOfOverlapYWith(Collidable collidable) {
+		return this.getKindOfOverlapY(collidable.getPixelY(), collidable.getPixelHeight());
 	}
 	
 	
@@ -82,26 +150,59 @@ public interface Collidable {
 	 * 			The size of the other object.
 	 * 
 	 * @return A 2D vector representing the kind of overlap.
+	 * 			| new IntVec(getKindOfOverlapX(otherPos.x, otherSize.x), getKindOfOverlapY(otherPos.y, otherSize.y))
 	 */
-	default Vector<Integer> getKindOfOverlapWithRect(Vector<Integer> otherPos, Vector<Integer> otherSize) {
-		Vector<Integer> selfPos = this.getPositionInPixels();
-		Vector<Integer> selfSize = this.getSizeInPixels();
-		
-		Vector<Integer> overlap = new Vector<>(0, 0);
+	default IntVec getKindOfOverlapWithRect(IntVec otherPos, IntVec otherSize) {
+		return new IntVec(this.getKindOfOverlapX(otherPos.x, otherSize.x),
+				this.getKindOfOverlapY(otherPos.y, otherSize.y));
+	}
+	
+	
+	/**
+	 * Returns the x component of the kind of overlap of the given horizontal range
+	 * with this collidable.
+	 * 
+	 * @param otherX
+	 * 			The x coordinate of the left pixel of the other range.
+	 * 
+	 * @param otherWidth
+	 * 			The width of the other range.
+	 * 
+	 * @return The x component of the kind of overlap, positive when the overlap
+	 * 			comes from the left.
+	 */
+	default int getKindOfOverlapX(int otherX, int otherWidth) {
+		int selfX = this.getPixelX();
+		int selfWidth = this.getPixelWidth();
 		
-		if (otherPos.x <= selfPos.x) {
-			overlap = overlap.setX(Math.min(selfSize.x, otherPos.x + otherSize.x - selfPos.x));
-		} else {
-			overlap = overlap.setX(Math.min(selfSize.x, otherPos.x - selfPos.x - selfSize.x));
+		if (otherX <= selfX) {
+			return Math.min(selfWidth, otherX + otherWidth - selfX);
 		}
+		return Math.min(selfWidth, otherX - selfX - selfWidth);
+	}
+	
+	
+	/**
+	 * Returns the y component of the kind of overlap of the given vertical range
+	 * with this collidable.
+	 * 
+	 * @param otherY
+	 * 			The y coordinate of the bottom pixel of the other range.
+	 * 
+	 * @param otherHeight
+	 * 			The height of the other range.
+	 * 
+	 * @return The y component of the kind of overlap, positive when the overlap
+	 * 			comes from the bottom.
+	 */
+	default int getKindOfOverlapY(int otherY, int otherHeight) {
+		int selfY = this.getPixelY();
+		int selfHeight = this.getPixelHeight();
 		
-		if (otherPos.y <= selfPos.y) {
-			overlap = overlap.setY(Math.min(selfSize.y, otherPos.y + otherSize.y - selfPos.y));
-		} else {
-			overlap = overlap.setY(Math.min(selfSize.y, otherPos.y - selfPos.y - selfSize.y));
+		if (otherY <= selfY) {
+			return Math.min(selfHeight, otherY + otherHeight - selfY);
 		}
-		
-		return overlap;
+		return Math.min(selfHeight, otherY - selfY - selfHeight);
 	}
 	
 	
@@ -112,13 +213,12 @@ public interface Collidable {
 	 * 			The collidable to check overlap with.
 	 * 
 	 * @return true if this game object overlaps with the given collidable.
-	 * 			| !(collidable.getPositionInPixels().x + collidable.getSize().x <= self.getPositionInPixels().x
-				|	|| collidable.getPositionInPixels().x >= self.getPositionInPixels().x + self.getSize().x
-				|	|| collidable.getPositionInPixels().y + collidable.getSize().y <= self.getPositionInPixels().y
-				|	|| collidable.getPositionInPixels().y >= self.getPositionInPixels().y + self.getSize().y)
+	 * 			| doesOverlapWithRect(collidable.getPixelX(), collidable.getPixelY(),
+	 * 			|	collidable.getPixelWidth(), collidable.getPixelHeight())
 	 */
 	default boolean doesOverlapWith(Collidable collidable) {
-		return this.doesOverlapWithRect(collidable.getPositionInPixels(), collidable.getSizeInPixels());
+		return this.doesOverlapWithRect(collidable.getPixelX(), collidable.getPixelY(),
+				collidable.getPixelWidth(), collidable.getPixelHeight());
 	}
 	
 	
@@ -132,15 +232,41 @@ public interface Collidable {
 	 * 			The size of the rectangle.
 	 * 
 	 * @return true if this game object and the rectangle overlap.
+	 * 			| doesOverlapWithRect(pos.x, pos.y, size.x, size.y)
 	 */
-	default boolean doesOverlapWithRect(Vector<Integer> pos, Vector<Integer> size) {
-		
-		Vector<Integer> selfPos = this.getPositionInPixels();
-		Vector<Integer> selfSize = this.getSizeInPixels();
+	default boolean doesOverlapWithRect(IntVec pos, IntVec size) {
+		return this.doesOverlapWithRect(pos.x, pos.y, size.x, size.y);
+	}
+	
+	
+	/**
+	 * Returns whether this game object overlaps with the given rectangle.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param width
+	 * 			The width of the rectangle.
+	 * 
+	 * @param height
+	 * 			The height of the rectangle.
+	 * 
+	 * @return true if this game object and the rectangle overlap.
+	 * 			| !(x + width <= self.getPixelX()
+	 * 			|	|| x >= self.getPixelX() + self.getPixelWidth()
+	 * 			|	|| y + height <= self.getPixelY()
+	 * 			|	|| y >= self.getPixelY() + self.getPixelHeight())
+	 */
+	default boolean doesOverlapWithRect(int x, int y, int width, int height) {
+		int selfX = this.getPixelX();
+		int selfY = this.getPixelY();
 		
-		return !(pos.x + size.x <= selfPos.x
-				|| pos.x >= selfPos.x + selfSize.x
-				|| pos.y + size.y <= selfPos.y
-				|| pos.y >= selfPos.y + selfSize.y);
+		return !(x + width <= selfX
+				|| x >= selfX + this.getPixelWidth()
+				|| y + height <= selfY
+				|| y >= selfY + this.getPixelHeight());
 	}
 }
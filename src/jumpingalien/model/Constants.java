@@ -17,10 +17,28 @@ public class Constants {
 	 */
 	public final static double gravityAcceleration = -10.0;
 	
+	/**
+	 * An upper bound on the horizontal speed in m/s a game object can get instantly,
+	 * for example by starting to move.
+	 */
+	public final static double maxHorizontalSpeedImpulse = 4.0;
+	
+	/**
+	 * An upper bound on the vertical speed in m/s a game object can get instantly,
+	 * for example by starting to jump.
+	 */
+	public final static double maxVerticalSpeedImpulse = 8.0;
+	
+	/**
+	 * An upper bound on the absolute value of the acceleration in m/(s^2)
+	 * of a game object along one axis.
+	 */
+	public final static double maxAcceleration = 12.0;
+	
 	/**
 	 * The size of the screen in pixels.
 	 */
-	public final static Vector<Double> screenSize = new Vector<>(1024.0, 768.0);
+	public final static DoubleVec screenSize = new DoubleVec(1024.0, 768.0);
 	
 	/**
 	 * The amount of meters in one pixel.
@@ -80,6 +98,11 @@ public class Constants {
 	 */
 	public final static double mazubAfterMoveStayTime = 1;
 	
+	/**
+	 * The time every frame of Mazub's walking animation is shown.
+	 */
+	public final static double mazubAnimationFrameTime = 0.075;
+	
 	/**
 	 * The initial vertical speed Mazub gets when he starts jumping.
 	 */
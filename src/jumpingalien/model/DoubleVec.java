@@ -0,0 +1,140 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable two dimensional vectors with double coordinates.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+@Value
+public final class DoubleVec {
+	
+	/**
+	 * The vector (0.0, 0.0).
+	 */
+	public static final DoubleVec ZERO = new DoubleVec(0.0, 0.0);
+
+	/**
+	 * The coordinates of this vector.
+	 */
+	public final double x, y;
+	
+	
+	/**
+	 * Creates a new vector with the given coordinates.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the new vector.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the new vector.
+	 */
+	public DoubleVec(double x, double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	
+	/**
+	 * Returns a vector with the given x coordinate and the y coordinate of this vector.
+	 * 
+	 * @param x
+	 * 			The x coordinate to set.
+	 * 
+	 * @return | new DoubleVec(x, this.y)
+	 */
+	public DoubleVec setX(double x) {
+		return new DoubleVec(x, this.y);
+	}
+	
+	
+	/**
+	 * Returns this vector with the given value added to its x coordinate.
+	 * 
+	 * @param x
+	 * 			The value to add.
+	 * 
+	 * @return | new DoubleVec(this.x + x, this.y)
+	 */
+	public DoubleVec addX(double x) {
+		return new DoubleVec(this.x + x, this.y);
+	}
+	
+	
+	/**
+	 * Returns a vector with the x coordinate of this vector and the given y coordinate.
+	 * 
+	 * @param y
+	 * 			The y coordinate to set.
+	 * 
+	 * @return | new DoubleVec(this.x, y)
+	 */
+	public DoubleVec setY(double y) {
+		return new DoubleVec(this.x, y);
+	}
+	
+	
+	/**
+	 * Returns this vector with the given value added to its y coordinate.
+	 * 
+	 * @param y
+	 * 			The value to add.
+	 * 
+	 * @return | new DoubleVec(this.x, this.y + y)
+	 */
+	public DoubleVec addY(double y) {
+		return new DoubleVec(this.x, this.y + y);
+	}
+	
+	
+	/**
+	 * Returns the sum of this vector and the given vector.
+	 * 
+	 * @param other
+	 * 			The vector to add.
+	 * 
+	 * @return | new DoubleVec(this.x + other.x, this.y + other.y)
+	 */
+	public DoubleVec add(DoubleVec other) {
+		return new DoubleVec(this.x + other.x, this.y + other.y);
+	}
+	
+	
+	/**
+	 * Returns this vector scaled with the given scalar.
+	 * 
+	 * @param scalar
+	 * 			The scalar to multiply both coordinates with.
+	 * 
+	 * @return | new DoubleVec(this.x * scalar, this.y * scalar)
+	 */
+	public DoubleVec scale(double scalar) {
+		return new DoubleVec(this.x * scalar, this.y * scalar);
+	}
+	
+	
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof DoubleVec)) {
+			return false;
+		}
+		DoubleVec vector = (DoubleVec) object;
+		return Double.compare(this.x, vector.x) == 0 && Double.compare(this.y, vector.y) == 0;
+	}
+	
+	
+	@Override
+	public int hashCode() {
+		return 31 * Double.hashCode(this.x) + Double.hashCode(this.y);
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "[" + this.x + ", " + this.y + "]";
+	}
+}
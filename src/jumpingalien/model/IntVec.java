@@ -0,0 +1,140 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable two dimensional vectors with integer coordinates.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+@Value
+public final class IntVec {
+	
+	/**
+	 * The vector (0, 0).
+	 */
+	public static final IntVec ZERO = new IntVec(0, 0);
+
+	/**
+	 * The coordinates of this vector.
+	 */
+	public final int x, y;
+	
+	
+	/**
+	 * Creates a new vector with the given coordinates.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the new vector.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the new vector.
+	 */
+	public IntVec(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	
+	/**
+	 * Returns a vector with the given x coordinate and the y coordinate of this vector.
+	 * 
+	 * @param x
+	 * 			The x coordinate to set.
+	 * 
+	 * @return | new IntVec(x, this.y)
+	 */
+	public IntVec setX(int x) {
+		return new IntVec(x, this.y);
+	}
+	
+	
+	/**
+	 * Returns this vector with the given value added to its x coordinate.
+	 * 
+	 * @param x
+	 * 			The value to add.
+	 * 
+	 * @return | new IntVec(this.x + x, this.y)
+	 */
+	public IntVec addX(int x) {
+		return new IntVec(this.x + x, this.y);
+	}
+	
+	
+	/**
+	 * Returns a vector with the x coordinate of this vector and the given y coordinate.
+	 * 
+	 * @param y
+	 * 			The y coordinate to set.
+	 * 
+	 * @return | new IntVec(this.x, y)
+	 */
+	public IntVec setY(int y) {
+		return new IntVec(this.x, y);
+	}
+	
+	
+	/**
+	 * Returns this vector with the given value added to its y coordinate.
+	 * 
+	 * @param y
+	 * 			The value to add.
+	 * 
+	 * @return | new IntVec(this.x, this.y + y)
+	 */
+	public IntVec addY(int y) {
+		return new IntVec(this.x, this.y + y);
+	}
+	
+	
+	/**
+	 * Returns the sum of this vector and the given vector.
+	 * 
+	 * @param other
+	 * 			The vector to add.
+	 * 
+	 * @return | new IntVec(this.x + other.x, this.y + other.y)
+	 */
+	public IntVec add(IntVec other) {
+		return new IntVec(this.x + other.x, this.y + other.y);
+	}
+	
+	
+	/**
+	 * Returns this vector scaled with the given scalar.
+	 * 
+	 * @param scalar
+	 * 			The scalar to multiply both coordinates with.
+	 * 
+	 * @return | new IntVec(this.x * scalar, this.y * scalar)
+	 */
+	public IntVec scale(int scalar) {
+		return new IntVec(this.x * scalar, this.y * scalar);
+	}
+	
+	
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof IntVec)) {
+			return false;
+		}
+		IntVec vector = (IntVec) object;
+		return this.x == vector.x && this.y == vector.y;
+	}
+	
+	
+	@Override
+	public int hashCode() {
+		return 31 * this.x + this.y;
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "[" + this.x + ", " + this.y + "]";
+	}
+}
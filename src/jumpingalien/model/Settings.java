@@ -27,4 +27,15 @@ public class Settings {
 	 * These blood particles are used next to the shark's gore particles.
 	 */
 	public static final int sharkNumberOfBloodParticles = 10;
+	
+	/**
+	 * The time in seconds a particle of blood or gore stays in the world.
+	 */
+	public static final double particleLifetime = 10.0;
+	
+	/**
+	 * The maximum number of particles in a world at the same time.
+	 * No particles are spawned while a world has this many.
+	 */
+	public static final int maxNumberOfParticles = 2048;
 }
@@ -2,9 +2,27 @@ package jumpingalien.model;
 
 public class Utilities {
 
+	/**
+	 * Clips the given integer to the given range.
+	 * 
+	 * @see clipInRange(double, double, double)
+	 */
+	public static int clipInRange(int min, int max, int value) {
+		
+		assert max >= min;
+		
+		if (value <= min) {
+			return min;
+		} else if (value > max) {
+			return max;
+		}
+		
+		return value;
+	}
+	
+	
 	/**
 	 * Clips the value to the given range.
-	 * @param <T>
 	 * 
 	 * @param min
 	 * 			The minimum of the range.
@@ -26,13 +44,13 @@ public class Utilities {
 	 * @pre		Max should be bigger than or equal to min.
 	 * 			| max >= min
 	 */
-	public static <T extends Comparable<T>> T clipInRange(T min, T max, T value) {
+	public static double clipInRange(double min, double max, double value) {
 		
-		assert max.compareTo(min) >= 0;
+		assert max >= min;
 		
-		if (value.compareTo(min) <= 0) {
+		if (value <= min) {
 			return min;
-		} else if (value.compareTo(max) > 0) {
+		} else if (value > max) {
 			return max;
 		}
 		
@@ -54,8 +72,8 @@ public class Utilities {
 	 * 
 	 * @return The vector clipped to the given ranges.
 	 */
-	public static <T extends Comparable<T>> Vector<T> clipVectorInRange(Vector<T> min, Vector<T> max, Vector<T> vector) {
-		return new Vector<T>(clipInRange(min.x, max.x, vector.x), clipInRange(min.y, max.y, vector.y));
+	public static IntVec clipVectorInRange(IntVec min, IntVec max, IntVec vector) {
+		return new IntVec(clipInRange(min.x, max.x, vector.x), clipInRange(min.y, max.y, vector.y));
 	}
 	
 	
@@ -79,8 +97,8 @@ public class Utilities {
 	 * 
 	 * @return m converted to pixels.
 	 */
-	public static Vector<Integer> metersVectorToPixels(Vector<Double> m) {
-		return new Vector<>(metersToPixels(m.x), metersToPixels(m.y));
+	public static IntVec metersVectorToPixels(DoubleVec m) {
+		return new IntVec(metersToPixels(m.x), metersToPixels(m.y));
 	}
 	
 	/**
@@ -103,24 +121,24 @@ public class Utilities {
 	 * 
 	 * @return p converted to meters.
 	 */
-	public static Vector<Double> pixelsVectorToMeters(Vector<Integer> p) {
-		return new Vector<>(pixelsToMeters(p.x), pixelsToMeters(p.y));
+	public static DoubleVec pixelsVectorToMeters(IntVec p) {
+		return new DoubleVec(pixelsToMeters(p.x), pixelsToMeters(p.y));
 	}
 	
 	/**
-	 * @param v The Vector to convert.
+	 * @param v The vector to convert.
 	 * @return An array of 2 elements where the first element is v.x and the second element is v.y.
 	 */
-	public static int[] intVectorToArray(Vector<Integer> v){
+	public static int[] intVectorToArray(IntVec v){
 		int[] vs = {v.x, v.y};
 		return vs;
 	}
 
 	/**
-	 * @param v The Vector to convert.
+	 * @param v The vector to convert.
 	 * @return An array of 2 elements where the first element is v.x and the second element is v.y.
 	 */
-	public static double[] doubleVectorToArray(Vector<Double> v){
+	public static double[] doubleVectorToArray(DoubleVec v){
 		double[] vs = {v.x, v.y};
 		return vs;
 	}
@@ -135,9 +153,148 @@ public class Utilities {
 	 * 			The second vector.
 	 * 
 	 * @return The distance between the two vectors.
-	 * 			| Math.sqrt(Math.pow(a.x.doubleValue() - b.x.doubleValue(), 2.0) + Math.pow(a.y.doubleValue() - b.y.doubleValue(), 2.0))
+	 * 			| Math.sqrt(Math.pow(a.x - b.x, 2.0) + Math.pow(a.y - b.y, 2.0))
+	 */
+	public static double distanceBetween(IntVec a, IntVec b) {
+		return Math.sqrt(Math.pow(a.x - b.x, 2.0) + Math.pow(a.y - b.y, 2.0));
+	}
+	
+	
+	/**
+	 * The distance in meters a moving box is moved past a crossing of pixel
+	 * boundaries, to make sure it lies on the other side of that boundary
+	 * after converting its position to pixels.
 	 */
-	public static double distanceBetween(Vector<Integer> a, Vector<Integer> b) {
-		return Math.sqrt(Math.pow(a.x.doubleValue() - b.x.doubleValue(), 2.0) + Math.pow(a.y.doubleValue() - b.y.doubleValue(), 2.0));
+	private static final double crossingMargin = 1e-6;
+	
+	
+	/**
+	 * Returns the time until a moving box starts or stops overlapping the given rectangle of pixels.
+	 * The box is moving with constant acceleration, the rectangle is standing still.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the bottom left corner of the moving box in meters.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the bottom left corner of the moving box in meters.
+	 * 
+	 * @param width
+	 * 			The width of the moving box in pixels.
+	 * 
+	 * @param height
+	 * 			The height of the moving box in pixels.
+	 * 
+	 * @param otherX
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param otherY
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param otherWidth
+	 * 			The width of the rectangle in pixels.
+	 * 
+	 * @param otherHeight
+	 * 			The height of the rectangle in pixels.
+	 * 
+	 * @param vx
+	 * 			The horizontal speed of the moving box in m/s.
+	 * 
+	 * @param vy
+	 * 			The vertical speed of the moving box in m/s.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration of the moving box in m/(s^2).
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration of the moving box in m/(s^2).
+	 * 
+	 * @param maxTime
+	 * 			The maximum time to look ahead.
+	 * 
+	 * @return The time in seconds until the pixels covered by the box start or stop overlapping
+	 * 			the rectangle, or maxTime when that does not happen before maxTime.
+	 */
+	public static double timeUntilOverlapChange(double x, double y, int width, int height,
+			int otherX, int otherY, int otherWidth, int otherHeight,
+			double vx, double vy, double ax, double ay, double maxTime) {
+		
+		// The box overlaps the rectangle in a dimension as long as its displacement
+		// in that dimension lies in [low, high).
+		double lowX = (otherX - width + 1) * Constants.metersPerPixel - x;
+		double highX = (otherX + otherWidth) * Constants.metersPerPixel - x;
+		double lowY = (otherY - height + 1) * Constants.metersPerPixel - y;
+		double highY = (otherY + otherHeight) * Constants.metersPerPixel - y;
+		
+		double time = maxTime;
+		time = timeOfCrossingWhileOverlapping(lowX, vx, ax, lowY, highY, vy, ay, time);
+		time = timeOfCrossingWhileOverlapping(highX, vx, ax, lowY, highY, vy, ay, time);
+		time = timeOfCrossingWhileOverlapping(lowY, vy, ay, lowX, highX, vx, ax, time);
+		time = timeOfCrossingWhileOverlapping(highY, vy, ay, lowX, highX, vx, ax, time);
+		return time;
+	}
+	
+	
+	/**
+	 * Returns the first time a displacement with the given speed and acceleration crosses
+	 * the given bound while the displacement in the other dimension lies in the given range.
+	 * The returned time lies just past the crossing.
+	 * 
+	 * @return The first time the bound is crossed while the other dimension overlaps,
+	 * 			or maxTime when that does not happen before maxTime.
+	 */
+	private static double timeOfCrossingWhileOverlapping(double bound, double v, double a,
+			double otherLow, double otherHigh, double otherV, double otherA, double maxTime) {
+		
+		// Solve a/2 * t^2 + v * t - bound = 0 in a numerically stable way.
+		double first, second;
+		if (a == 0) {
+			if (v == 0) {
+				return maxTime;
+			}
+			first = second = bound / v;
+		} else {
+			double discriminant = v * v + 2.0 * a * bound;
+			if (discriminant < 0) {
+				return maxTime;
+			}
+			double q = -0.5 * (v + Math.copySign(Math.sqrt(discriminant), v));
+			if (q == 0) {
+				first = second = 0.0;
+			} else {
+				first = Math.min(q / (a / 2.0), -bound / q);
+				second = Math.max(q / (a / 2.0), -bound / q);
+			}
+		}
+		
+		double time = timeAfterCrossingIfOverlapping(first, v, a, otherLow, otherHigh, otherV, otherA, maxTime);
+		if (time == maxTime && second != first) {
+			time = timeAfterCrossingIfOverlapping(second, v, a, otherLow, otherHigh, otherV, otherA, maxTime);
+		}
+		return time;
+	}
+	
+	
+	/**
+	 * Returns the time just past the given crossing time when the displacement in the
+	 * other dimension lies in the given range at that time.
+	 * 
+	 * @return The time just past the given crossing, or maxTime when the crossing does not
+	 * 			lie in [0, maxTime) or the other dimension does not overlap.
+	 */
+	private static double timeAfterCrossingIfOverlapping(double root, double v, double a,
+			double otherLow, double otherHigh, double otherV, double otherA, double maxTime) {
+		
+		if (root < 0 || root >= maxTime) {
+			return maxTime;
+		}
+		
+		double rate = Math.abs(v + a * root);
+		double time = (rate > 0) ? Math.min(maxTime, root + crossingMargin / rate) : root;
+		double other = otherV * time + otherA * time * time / 2.0;
+		
+		if (other >= otherLow - crossingMargin && other <= otherHigh + crossingMargin) {
+			return time;
+		}
+		return maxTime;
 	}
 }
@@ -1,7 +1,7 @@
 package jumpingalien.model.gameobject;
 
 import jumpingalien.model.Constants;
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.util.Sprite;
 
@@ -41,7 +41,7 @@ public class Buzam extends Mazub {
 	 * 			position and/or direction are not valid.
 	 * 			| !isValidPosition(position) || !isValidDirection(direction)
 	 */
-	public Buzam(Vector<Double> position, Sprite[] sprites, double vxInit,
+	public Buzam(DoubleVec position, Sprite[] sprites, double vxInit,
 			double vxMax, double direction) throws NullPointerException,
 			IllegalArgumentException {
 		
@@ -77,7 +77,7 @@ public class Buzam extends Mazub {
 	 * 			position and/or direction are not valid.
 	 * 			| !isValidPosition(position) || !isValidDirection(direction)
 	 */
-	public Buzam(Vector<Double> position, Sprite[] sprites, double vxInit,
+	public Buzam(DoubleVec position, Sprite[] sprites, double vxInit,
 			double vxMax, double direction, LanguageProgram program) throws NullPointerException,
 			IllegalArgumentException {
 		
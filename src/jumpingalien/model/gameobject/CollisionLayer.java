@@ -0,0 +1,90 @@
+package jumpingalien.model.gameobject;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An enum representing the collision layer of a class of game objects.
+ * Every layer has its own bit, so the layers a game object collides with
+ * can be stored in one integer mask and checked with a single AND.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+@Value
+public enum CollisionLayer {
+	MAZUB	(Mazub.class),
+	PLANT	(Plant.class),
+	SLIME	(Slime.class),
+	SHARK	(Shark.class);
+
+	/**
+	 * The class of the game objects in this layer.
+	 */
+	private final Class<? extends GameObject> objectClass;
+
+
+	/**
+	 * Constructs a collision layer for the given class of game objects.
+	 *
+	 * @param objectClass
+	 * 			The class of the game objects in the layer.
+	 */
+	CollisionLayer(Class<? extends GameObject> objectClass) {
+		this.objectClass = objectClass;
+	}
+
+
+	/**
+	 * Returns the class of the game objects in this layer.
+	 */
+	@Basic @Immutable
+	public Class<? extends GameObject> getObjectClass() {
+		return this.objectClass;
+	}
+
+
+	/**
+	 * Returns the bit of this layer.
+	 *
+	 * @return | 1 << this.ordinal()
+	 */
+	@Immutable
+	public int getMask() {
+		return 1 << this.ordinal();
+	}
+
+
+	/**
+	 * Returns the mask holding the bits of all given layers.
+	 *
+	 * @param layers
+	 * 			The layers to combine.
+	 *
+	 * @return The bitwise or of the masks of the given layers.
+	 */
+	public static int maskOf(CollisionLayer... layers) {
+		int mask = 0;
+		for (CollisionLayer layer : layers) {
+			mask |= layer.getMask();
+		}
+		return mask;
+	}
+
+
+	/**
+	 * Returns the layer of the given class of game objects.
+	 *
+	 * @param objectClass
+	 * 			The class of game objects to get the layer of.
+	 *
+	 * @return The layer whose class is the given class or one of its superclasses,
+	 * 			or null if there is no such layer.
+	 */
+	public static CollisionLayer layerOfClass(Class<? extends GameObject> objectClass) {
+		for (CollisionLayer layer : CollisionLayer.values()) {
+			if (layer.objectClass.isAssignableFrom(objectClass)) {
+				return layer;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,228 @@
+package jumpingalien.model.gameobject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jumpingalien.model.Collidable;
+import jumpingalien.model.world.Tile;
+import jumpingalien.model.world.TileType;
+import jumpingalien.model.world.World;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * The contacts of a game object with the tiles and game objects it collides with,
+ * computed with a single query on its world. A manifold belongs to the position and
+ * size the game object had when it was last computed and is only reused while they're
+ * unchanged. Computing it again refills the same lists, so a game object can keep one
+ * manifold for its whole lifetime.
+ * Besides the contacts themselves, a manifold records the types of the tiles in contact
+ * and whether impassable collidables touch the game object from below or from above,
+ * so the predicates on the surroundings of a game object don't query its world again.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+class ContactManifold {
+
+	/**
+	 * The flag of a contact with an impassable collidable below the game object.
+	 */
+	static final int GROUND = 1;
+
+	/**
+	 * The flag of a contact with an impassable collidable above the game object that
+	 * overlaps it by more than a corner, so it would block the game object from growing
+	 * upwards.
+	 */
+	static final int CEILING = 2;
+
+
+	/**
+	 * The bounding box of the game object when this manifold was computed.
+	 */
+	private int x, y, width, height;
+
+	/**
+	 * All collidables the game object collides with, game objects before tiles.
+	 */
+	private final List<Collidable> collidables = new ArrayList<>();
+
+	/**
+	 * The tiles the game object collides with.
+	 */
+	private final List<Tile> tiles = new ArrayList<>();
+
+	/**
+	 * The mask of the types of the tiles the game object collides with,
+	 * as created by TileType.maskOf.
+	 */
+	private int tileTypes = 0;
+
+	/**
+	 * The game objects the game object collides with.
+	 */
+	private final List<GameObject> objects = new ArrayList<>();
+
+	/**
+	 * Unmodifiable views of the lists of this manifold, created once.
+	 */
+	private final List<Collidable> collidablesView = Collections.unmodifiableList(this.collidables);
+	private final List<GameObject> objectsView = Collections.unmodifiableList(this.objects);
+
+	/**
+	 * The contact flags of the game object.
+	 */
+	private int flags = 0;
+
+
+	/**
+	 * Creates a manifold without contacts, which matches no game object until
+	 * it is computed.
+	 */
+	ContactManifold() {
+		this.width = -1;
+		this.height = -1;
+	}
+
+
+	/**
+	 * Computes the contacts of the given game object in its world.
+	 *
+	 * @param object
+	 * 			The game object to compute the contacts of.
+	 *
+	 * @effect | compute(object)
+	 */
+	ContactManifold(GameObject object) {
+		this.compute(object);
+	}
+
+
+	/**
+	 * Replaces the contacts of this manifold by the contacts of the given game object
+	 * in its world.
+	 *
+	 * @param object
+	 * 			The game object to compute the contacts of.
+	 *
+	 * @pre The game object has to be in a world.
+	 * 			| object.getWorld() != null
+	 *
+	 * @post | matchesBoundsOf(object)
+	 */
+	void compute(GameObject object) {
+		this.x = object.getPixelX();
+		this.y = object.getPixelY();
+		this.width = object.getPixelWidth();
+		this.height = object.getPixelHeight();
+		this.collidables.clear();
+		this.tiles.clear();
+		this.objects.clear();
+		this.tileTypes = 0;
+		this.flags = 0;
+
+		World world = object.getWorld();
+		world.collectObjectsCollidingWithObject(object, this.objects);
+		world.collectTilesCollidingWithObject(object, this.tiles);
+		for (int i = 0; i < this.objects.size(); i++) {
+			this.collidables.add(this.objects.get(i));
+		}
+		for (int i = 0; i < this.tiles.size(); i++) {
+			this.collidables.add(this.tiles.get(i));
+			this.tileTypes |= this.tiles.get(i).getType().getMask();
+		}
+
+		for (int i = 0; i < this.collidables.size(); i++) {
+			Collidable collidable = this.collidables.get(i);
+			if (!collidable.isPassable()) {
+				int overlapY = object.getKindOfOverlapYWith(collidable);
+				if (overlapY > 0) {
+					this.flags |= GROUND;
+				} else if (overlapY < 0 && 10 * Math.abs(object.getKindOfOverlapXWith(collidable)) > -overlapY) {
+					this.flags |= CEILING;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Returns whether this manifold was computed for the current position and size
+	 * of the given game object.
+	 *
+	 * @param object
+	 * 			The game object to check.
+	 */
+	boolean matchesBoundsOf(GameObject object) {
+		return object.getPixelX() == this.x && object.getPixelY() == this.y
+				&& object.getPixelWidth() == this.width && object.getPixelHeight() == this.height;
+	}
+
+
+	/**
+	 * Returns all collidables the game object collides with, game objects before tiles.
+	 */
+	@Basic
+	List<Collidable> getCollidables() {
+		return this.collidablesView;
+	}
+
+
+	/**
+	 * Returns whether the game object collides with a tile of the given type.
+	 *
+	 * @param type
+	 * 			The tile type to check.
+	 */
+	boolean hasTileOfType(TileType type) {
+		return (this.tileTypes & type.getMask()) != 0;
+	}
+
+
+	/**
+	 * Returns whether the game object collides with a tile of the given type that
+	 * lies in a row of tiles overlapping the given rows of pixels.
+	 *
+	 * @param type
+	 * 			The tile type to check.
+	 *
+	 * @param y
+	 * 			The bottom row of pixels.
+	 *
+	 * @param height
+	 * 			The number of rows of pixels.
+	 */
+	boolean hasTileOfType(TileType type, int y, int height) {
+		if (!this.hasTileOfType(type)) {
+			return false;
+		}
+		for (int i = 0; i < this.tiles.size(); i++) {
+			Tile tile = this.tiles.get(i);
+			if (tile.getType() == type && tile.getPixelY() < y + height
+					&& y < tile.getPixelY() + tile.getPixelHeight()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Returns the game objects the game object collides with.
+	 */
+	@Basic
+	List<GameObject> getObjects() {
+		return this.objectsView;
+	}
+
+
+	/**
+	 * Returns whether the game object has a contact with the given flag.
+	 *
+	 * @param flag
+	 * 			GROUND or CEILING.
+	 */
+	boolean hasContact(int flag) {
+		return (this.flags & flag) != 0;
+	}
+}
@@ -1,19 +1,20 @@
 package jumpingalien.model.gameobject;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
-import jumpingalien.common.sprites.ImageSprite;
+import jumpingalien.common.sprites.SpriteRepository;
 import jumpingalien.model.Collidable;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.program.Program;
 import jumpingalien.model.reactions.CollisionDamager;
-import jumpingalien.model.world.Tile;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
 import jumpingalien.part3.programs.IProgramFactory;
@@ -94,7 +95,7 @@ public abstract class GameObject implements Collidable {
 	/**
 	 * An array of CollisionDamagers used for common damage reactions to a collision.
 	 */
-	private Set<CollisionDamager> collisionDamagers = new HashSet<CollisionDamager>();
+	private Set<CollisionDamager> collisionDamagers = new LinkedHashSet<CollisionDamager>();
 	
 	
 	/**
@@ -103,6 +104,37 @@ public abstract class GameObject implements Collidable {
 	private Program program;
 	
 	
+	/**
+	 * The source of random numbers of this game object.
+	 */
+	private final Random random = new Random();
+	
+	
+	/**
+	 * The manifold the contacts of this game object are computed into.
+	 */
+	private final ContactManifold contacts = new ContactManifold();
+	
+	
+	/**
+	 * Whether the contacts of this game object were computed in the current step.
+	 */
+	private boolean contactsValid = false;
+	
+	
+	/**
+	 * Whether this game object is in a step, so its contacts can be cached.
+	 */
+	private boolean cachingContacts = false;
+	
+	
+	/**
+	 * Whether the collidables of the manifold of this game object are being handled,
+	 * so the manifold may not be computed again.
+	 */
+	private boolean handlingContacts = false;
+	
+	
 	
 
 	/**
@@ -127,7 +159,7 @@ public abstract class GameObject implements Collidable {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	protected GameObject(int health, int maxHealth, Vector<Double> position, Sprite[] sprites, LanguageProgram program)
+	protected GameObject(int health, int maxHealth, DoubleVec position, Sprite[] sprites, LanguageProgram program)
 			throws IllegalArgumentException {
 		this(health, maxHealth, position, sprites, program, false);
 	}
@@ -172,16 +204,16 @@ public abstract class GameObject implements Collidable {
 	 * 			| new.getPosition() == position
 	 * 
 	 * @post The speed will be set to zero.
-	 * 			| new.getSpeed() == new Vector<Double>(0.0, 0.0)
+	 * 			| new.getSpeed() == new DoubleVec(0.0, 0.0)
 	 * 
 	 * @post The acceleration will be set to zero.
-	 * 			| new.getAcceleration() == new Vector<Double>(0.0, 0.0)
+	 * 			| new.getAcceleration() == new DoubleVec(0.0, 0.0)
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			Throws an IllegalArgumentException when the given position is not valid.
 	 * 			| !isValidPosition(position)
 	 */
-	protected GameObject(int health, int maxHealth, Vector<Double> position, Sprite[] sprites, LanguageProgram program, boolean passable)
+	protected GameObject(int health, int maxHealth, DoubleVec position, Sprite[] sprites, LanguageProgram program, boolean passable)
 				throws IllegalArgumentException {
 		
 		if (!this.isValidPosition(position)){
@@ -205,7 +237,7 @@ public abstract class GameObject implements Collidable {
 		this.setHealth(health);
 		this.sprites = sprites;
 		this.setCurrentSprite(sprites[0]);
-		this.motion = new Motion(this, position, new Vector<Double>(0.0, 0.0), new Vector<Double>(0.0, 0.0));
+		this.motion = new Motion(this, position, DoubleVec.ZERO, DoubleVec.ZERO);
 	}
 	
 	
@@ -450,19 +482,48 @@ public abstract class GameObject implements Collidable {
 	 * @return This GameObject's position as a 2D vector in meters.
 	 */
 	@Basic
-	public Vector<Double> getPositionInMeters() {
+	public DoubleVec getPositionInMeters() {
 		return this.motion.getPosition();
 	}
 
 
 	/**
-	 * Returns the position of this game object in pixels.
-	 * 
-	 * @return This game object's position in pixels.
+	 * Returns the x coordinate of the position of this game object in meters.
+	 */
+	@Basic
+	public double getPositionXInMeters() {
+		return this.motion.getX();
+	}
+	
+	
+	/**
+	 * Returns the y coordinate of the position of this game object in meters.
 	 */
 	@Basic
-	public Vector<Integer> getPositionInPixels() {
-		return Utilities.metersVectorToPixels(this.getPositionInMeters());
+	public double getPositionYInMeters() {
+		return this.motion.getY();
+	}
+
+
+	/**
+	 * Returns the x coordinate of the position of this game object in pixels.
+	 * 
+	 * @return | Utilities.metersToPixels(this.getPositionXInMeters())
+	 */
+	@Override
+	public int getPixelX() {
+		return Utilities.metersToPixels(this.getPositionXInMeters());
+	}
+	
+	
+	/**
+	 * Returns the y coordinate of the position of this game object in pixels.
+	 * 
+	 * @return | Utilities.metersToPixels(this.getPositionYInMeters())
+	 */
+	@Override
+	public int getPixelY() {
+		return Utilities.metersToPixels(this.getPositionYInMeters());
 	}
 
 
@@ -483,14 +544,36 @@ public abstract class GameObject implements Collidable {
 	 * @post The new position will be equal to position
 	 * 			| new.getPositionInMeters() == position
 	 */
-	@Basic
-	public void setPositionInMeters(Vector<Double> position) throws NullPointerException,
+	public void setPositionInMeters(DoubleVec position) throws NullPointerException,
 			IllegalArgumentException {
 		if (position == null) {
 			throw new NullPointerException("The position can not be null.");
-		} else if (!isValidPosition(position)) {
-			if (position.y < 0 && position.x >= 0 &&
-					((this.hasProperWorld() && position.x < this.getWorld().getSizeInMeters().x)
+		}
+		this.setPositionInMeters(position.x, position.y);
+	}
+	
+	
+	/**
+	 * Sets this game object's position to the given position in meters.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the position to set.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the position to set.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			Throws an IllegalArgumentException when the position is not valid. See isValidPosition.
+	 * 			| !isValidPosition(x, y)
+	 * 
+	 * @post The new position will be equal to (x, y)
+	 * 			| new.getPositionXInMeters() == x && new.getPositionYInMeters() == y
+	 */
+	@Basic
+	public void setPositionInMeters(double x, double y) throws IllegalArgumentException {
+		if (!isValidPosition(x, y)) {
+			if (y < 0 && x >= 0 &&
+					((this.hasProperWorld() && x < this.getWorld().getWidthInMeters())
 							|| !this.hasProperWorld())) {
 				this.setHealth(0);
 			} else {
@@ -498,7 +581,8 @@ public abstract class GameObject implements Collidable {
 			}
 		}
 				
-		this.motion.setPosition(position);
+		this.motion.setPosition(x, y);
+		this.updateWorldIndex();
 	}
 	
 	
@@ -516,12 +600,28 @@ public abstract class GameObject implements Collidable {
 	 *			Otherwise the position has to be positive
 	 *			| (pos.x >= 0) && (pos.y >= 0)
 	 */
-	public boolean isValidPosition(Vector<Double> pos) {
+	public boolean isValidPosition(DoubleVec pos) {
+		return this.isValidPosition(pos.x, pos.y);
+	}
+	
+	
+	/**
+	 * Returns whether the given position is a valid position for this game object.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the position to check.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the position to check.
+	 * 
+	 * @return | isValidPosition(new DoubleVec(x, y))
+	 */
+	public boolean isValidPosition(double x, double y) {
 		if (this.hasProperWorld()) {
-			return (pos.x >= 0) && pos.x < this.getWorld().getSizeInMeters().x
-					&& (pos.y >= 0) && pos.y < this.getWorld().getSizeInMeters().y;
+			return (x >= 0) && x < this.getWorld().getWidthInMeters()
+					&& (y >= 0) && y < this.getWorld().getHeightInMeters();
 		}
-		return (pos.x >= 0) && (pos.y >= 0);
+		return (x >= 0) && (y >= 0);
 	}
 	
 	
@@ -529,10 +629,10 @@ public abstract class GameObject implements Collidable {
 	 * Returns the location of the top right pixel of this game object.
 	 * 
 	 * @return The location of the top right pixel of this game object.
-	 * 			| Vector.add(this.getPositionInPixels(), this.getSize())
+	 * 			| this.getPositionInPixels().add(this.getSizeInPixels())
 	 */
-	public Vector<Integer> getTopRightPixel() {
-		return Vector.add(this.getPositionInPixels(), this.getSizeInPixels());
+	public IntVec getTopRightPixel() {
+		return new IntVec(this.getPixelX() + this.getPixelWidth(), this.getPixelY() + this.getPixelHeight());
 	}
 	
 	
@@ -542,13 +642,13 @@ public abstract class GameObject implements Collidable {
 	 * components are floored.
 	 * 
 	 * @return The position of the center of this GameObject.
-	 * 			| size = this.getSize()
-	 * 			| Vector.add(this.getPositionInPixels(),
-	 * 				new Vector<Integer>((int)(size.x * 0.5), (int)(size.y * 0.5)))
+	 * 			| new IntVec(this.getPixelX() + (int)(this.getPixelWidth() * 0.5),
+	 * 			|	this.getPixelY() + (int)(this.getPixelHeight() * 0.5))
 	 */
-	public Vector<Integer> getCenterInPixels(){
-		Vector<Integer> size = this.getSizeInPixels();
-		return Vector.add(this.getPositionInPixels(), new Vector<Integer>((int)(size.x * 0.5), (int)(size.y * 0.5)));
+	@Override
+	public IntVec getCenterInPixels(){
+		return new IntVec(this.getPixelX() + (int)(this.getPixelWidth() * 0.5),
+				this.getPixelY() + (int)(this.getPixelHeight() * 0.5));
 	}
 	
 	
@@ -560,63 +660,107 @@ public abstract class GameObject implements Collidable {
 	 * 			on an impassable game object.
 	 */
 	public boolean onGround() {
-		
-		Set<Tile> collidingTiles = this.getWorld().getTilesCollidingWithObject(this);
-		Set<GameObject> collidingObjects = this.getWorld().getObjectsCollidingWithObject(this);
-		
-		Set<Collidable> collidables  = new HashSet<Collidable>();
-		collidables.addAll(collidingTiles);
-		collidables.addAll(collidingObjects);
-		
-		for (Collidable collidable : collidables) {
-			if (!collidable.isPassable()) {
-				Vector<Integer> overlap = this.getKindOfOverlapWith(collidable);
-				if (overlap.y > 0) {
-					return true;
-				}
-			}
+		return this.getContacts().hasContact(ContactManifold.GROUND);
+	}
+	
+	
+	/**
+	 * Returns the contacts of this game object with the tiles and game objects it
+	 * collides with. While this game object is being stepped, the contacts are computed
+	 * once per step and reused as long as its position and size don't change. They're
+	 * computed into the same manifold every time, except while its collidables are being
+	 * handled, when a new manifold is returned.
+	 * 
+	 * @return The contacts of this game object at its current position and size.
+	 */
+	ContactManifold getContacts() {
+		if (this.contactsValid && this.contacts.matchesBoundsOf(this)) {
+			return this.contacts;
 		}
-		return false;
+		if (this.handlingContacts) {
+			return new ContactManifold(this);
+		}
+		this.contacts.compute(this);
+		this.contactsValid = this.cachingContacts;
+		return this.contacts;
+	}
+	
+	
+	/**
+	 * Starts caching the contacts of this game object for the current step.
+	 * Contacts computed in an earlier step are discarded, since other game
+	 * objects may have moved since.
+	 */
+	private void startCachingContacts() {
+		this.contactsValid = false;
+		this.cachingContacts = true;
 	}
 	
 	
 	/**
-	 * Returns a set of classes with which the game object can collide.
+	 * Stops caching the contacts of this game object at the end of a step.
+	 */
+	private void stopCachingContacts() {
+		this.contactsValid = false;
+		this.cachingContacts = false;
+	}
+	
+	
+	/**
+	 * Returns the collision layer of the class of this game object.
+	 */
+	@Immutable
+	public abstract CollisionLayer getCollisionLayer();
+	
+	
+	/**
+	 * Returns the mask of the collision layers this game object can collide with.
 	 * 
-	 * @return A set of classes with which the game object can collide.
+	 * @return A mask of collision layers, as created by CollisionLayer.maskOf.
 	 */
 	@Immutable
-	protected abstract Set<Class<? extends GameObject>> getCollidableObjectClasses();
+	protected abstract int getCollidableLayers();
+	
+	
+	/**
+	 * Returns whether collisions for this game object should be detected
+	 * with the given game object.
+	 * 
+	 * @param other
+	 * 			The game object to check.
+	 * 
+	 * @return Whether or not this object should collide with the layer of the given object.
+	 * 			| (this.getCollidableLayers() & other.getCollisionLayer().getMask()) != 0
+	 */
+	public boolean collidesWithGameObject(GameObject other) {
+		return (this.getCollidableLayers() & other.getCollisionLayer().getMask()) != 0;
+	}
 	
 	
 	/**
 	 * Returns whether collisions for this game object should be detected
 	 * for the given object class.
 	 * 
-	 * @param object
-	 * 			The object to check.
+	 * @param objectClass
+	 * 			The object class to check.
 	 * 
-	 * @return Whether or not the object should collide with the given object class.
-	 * 			| this.getCollidableObjectClasses().contains(objectClass)
+	 * @return Whether or not the object should collide with the layer of the given object class.
+	 * 			| layer == CollisionLayer.layerOfClass(objectClass)
+	 * 			| layer != null && (this.getCollidableLayers() & layer.getMask()) != 0
 	 */
-	@Basic
 	public boolean collidesWithGameObjectClass(Class<? extends GameObject> objectClass) {
-		for (Class<? extends GameObject> cls : this.getCollidableObjectClasses()) {
-			if (cls.isAssignableFrom(objectClass)) {
-				return true;
-			}
-		}
-		return false;
+		CollisionLayer layer = CollisionLayer.layerOfClass(objectClass);
+		return layer != null && (this.getCollidableLayers() & layer.getMask()) != 0;
 	}
 	
 	
 	/**
-	 * Returns a set of tile types the game object can collide with.
+	 * Returns the mask of the tile types the game object can collide with.
 	 * 
-	 * @return A set of tile types the game object can collide with.
+	 * @return A mask of tile types, as created by TileType.maskOf.
 	 */
 	@Immutable
-	protected abstract Set<TileType> getCollidableTileTypes();
+	protected abstract int getCollidableTileTypes();
 	
 	
 	/**
@@ -627,11 +771,10 @@ public abstract class GameObject implements Collidable {
 	 * 			The tile type to check.
 	 * 
 	 * @return Whether or not the object should collide with the given tile type.
-	 * 			| this.getCollidableTileTypes().contains(type)
+	 * 			| (this.getCollidableTileTypes() & type.getMask()) != 0
 	 */
-	@Basic
 	public boolean collidesWithTileType(TileType type) {
-		return this.getCollidableTileTypes().contains(type);
+		return (this.getCollidableTileTypes() & type.getMask()) != 0;
 	}
 	
 	
@@ -640,24 +783,95 @@ public abstract class GameObject implements Collidable {
 	 * 
 	 * @return The speed of this game object in m/s.
 	 */
-	@Basic
-	public Vector<Double> getSpeed() {
+	public DoubleVec getSpeed() {
 		return this.motion.getSpeed();
 	}
 	
 	
+	/**
+	 * Returns the horizontal speed of this game object in m/s.
+	 */
+	@Basic
+	public double getSpeedX() {
+		return this.motion.getSpeedX();
+	}
+	
+	
+	/**
+	 * Returns the vertical speed of this game object in m/s.
+	 */
+	@Basic
+	public double getSpeedY() {
+		return this.motion.getSpeedY();
+	}
+	
+	
 	/**
 	 * Sets the speed of this game object.
 	 * 
 	 * @param speed
 	 * 			The speed to set.
 	 * 
+	 * @effect | this.setSpeed(speed.x, speed.y)
+	 */
+	public void setSpeed(DoubleVec speed) {
+		this.setSpeed(speed.x, speed.y);
+	}
+	
+	
+	/**
+	 * Sets the speed of this game object.
+	 * 
+	 * @param vx
+	 * 			The horizontal speed to set.
+	 * 
+	 * @param vy
+	 * 			The vertical speed to set.
+	 * 
 	 * @post The speed of this game object will be the given speed.
-	 * 			| new.getSpeed() == speed
+	 * 			| new.getSpeedX() == vx && new.getSpeedY() == vy
 	 */
 	@Basic
-	protected void setSpeed(Vector<Double> speed) {
-		this.motion.setSpeed(speed);
+	protected void setSpeed(double vx, double vy) {
+		this.motion.setSpeed(vx, vy);
+	}
+	
+	
+	/**
+	 * Returns the maximum horizontal speed of this game object in m/s.
+	 * By default a game object has no maximum horizontal speed.
+	 * 
+	 * @return The maximum absolute value of the horizontal speed.
+	 * 			| Double.POSITIVE_INFINITY
+	 */
+	protected double getMaxHorizontalSpeed() {
+		return Double.POSITIVE_INFINITY;
+	}
+	
+	
+	/**
+	 * Sets the horizontal speed of this game object.
+	 * 
+	 * @param vx
+	 * 			The horizontal speed to set.
+	 * 
+	 * @effect | this.setSpeed(vx, this.getSpeedY())
+	 */
+	protected void setSpeedX(double vx) {
+		this.setSpeed(vx, this.getSpeedY());
+	}
+	
+	
+	/**
+	 * Sets the vertical speed of this game object.
+	 * 
+	 * @param vy
+	 * 			The vertical speed to set.
+	 * 
+	 * @effect | this.setSpeed(this.getSpeedX(), vy)
+	 */
+	protected void setSpeedY(double vy) {
+		this.setSpeed(this.getSpeedX(), vy);
 	}
 	
 	
@@ -668,15 +882,15 @@ public abstract class GameObject implements Collidable {
 	 * 			The direction in which to check movement.
 	 * 
 	 * @return true if the game object's speed is not (0, 0)
-	 * 			| Math.signum(this.getSpeed().x) == direction
-	 * 			| || Math.signum(this.getSpeed().y) == direction
+	 * 			| Math.signum(this.getSpeedX()) == direction
+	 * 			| || Math.signum(this.getSpeedY()) == direction
 	 */
 	public boolean isMoving(IProgramFactory.Direction direction) {
 		
-		Vector<Double> dir = direction.getVectorValue();
+		DoubleVec dir = direction.getVectorValue();
 		
-		return Math.signum(this.getSpeed().x) == dir.x
-				|| Math.signum(this.getSpeed().y) == dir.y;
+		return Math.signum(this.getSpeedX()) == dir.x
+				|| Math.signum(this.getSpeedY()) == dir.y;
 	}
 	
 	
@@ -685,26 +899,86 @@ public abstract class GameObject implements Collidable {
 	 * 
 	 * @return The acceleration of this game object in m/(s^2).
 	 */
-	@Basic
-	public Vector<Double> getAcceleration() {
+	public DoubleVec getAcceleration() {
 		
 		return this.motion.getAcceleration();
 	}
 	
 	
+	/**
+	 * Returns the horizontal acceleration of this game object in m/(s^2).
+	 */
+	@Basic
+	public double getAccelerationX() {
+		return this.motion.getAccelerationX();
+	}
+	
+	
+	/**
+	 * Returns the vertical acceleration of this game object in m/(s^2).
+	 */
+	@Basic
+	public double getAccelerationY() {
+		return this.motion.getAccelerationY();
+	}
+	
+	
 	/**
 	 * Sets the acceleration of this game object.
 	 * 
 	 * @param acceleration
 	 * 			The acceleration to set.
 	 * 
+	 * @effect | this.setAcceleration(acceleration.x, acceleration.y)
+	 */
+	public void setAcceleration(DoubleVec acceleration) {
+		
+		this.setAcceleration(acceleration.x, acceleration.y);
+	}
+	
+	
+	/**
+	 * Sets the acceleration of this game object.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration to set.
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration to set.
+	 * 
 	 * @post The acceleration of this game object will be the given acceleration.
-	 * 			| new.getAcceleration() == acceleration
+	 * 			| new.getAccelerationX() == ax && new.getAccelerationY() == ay
 	 */
 	@Basic
-	public void setAcceleration(Vector<Double> acceleration) {
+	public void setAcceleration(double ax, double ay) {
 		
-		this.motion.setAcceleration(acceleration);
+		this.motion.setAcceleration(ax, ay);
+	}
+	
+	
+	/**
+	 * Sets the horizontal acceleration of this game object.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration to set.
+	 * 
+	 * @effect | this.setAcceleration(ax, this.getAccelerationY())
+	 */
+	public void setAccelerationX(double ax) {
+		this.setAcceleration(ax, this.getAccelerationY());
+	}
+	
+	
+	/**
+	 * Sets the vertical acceleration of this game object.
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration to set.
+	 * 
+	 * @effect | this.setAcceleration(this.getAccelerationX(), ay)
+	 */
+	public void setAccelerationY(double ay) {
+		this.setAcceleration(this.getAccelerationX(), ay);
 	}
 
 
@@ -761,6 +1035,34 @@ public abstract class GameObject implements Collidable {
 	protected Sprite[] getSprites(){
 		return this.sprites;
 	}
+	
+	
+	/**
+	 * Returns the largest width in pixels this game object can get by changing its sprite.
+	 * 
+	 * @return The largest width of all sprites of this game object.
+	 */
+	public int getMaxPixelWidth() {
+		int width = 0;
+		for (Sprite sprite : this.getSprites()) {
+			width = Math.max(width, sprite.getWidth());
+		}
+		return width;
+	}
+	
+	
+	/**
+	 * Returns the largest height in pixels this game object can get by changing its sprite.
+	 * 
+	 * @return The largest height of all sprites of this game object.
+	 */
+	public int getMaxPixelHeight() {
+		int height = 0;
+		for (Sprite sprite : this.getSprites()) {
+			height = Math.max(height, sprite.getHeight());
+		}
+		return height;
+	}
 
 
 	/**
@@ -786,6 +1088,21 @@ public abstract class GameObject implements Collidable {
 	@Basic
 	protected void setCurrentSprite(Sprite s){
 		this.currentSprite = s;
+		this.updateWorldIndex();
+	}
+	
+	
+	/**
+	 * Notifies the world of this game object that its position or size changed.
+	 * 
+	 * @effect If this game object has a world, it's index will be updated.
+	 * 			| if (this.getWorld() != null)
+	 * 			|	then this.getWorld().updateGameObjectIndex(this)
+	 */
+	private void updateWorldIndex() {
+		if (this.getWorld() != null) {
+			this.getWorld().updateGameObjectIndex(this);
+		}
 	}
 	
 	
@@ -802,7 +1119,29 @@ public abstract class GameObject implements Collidable {
 	
 	
 	/**
-	 * Returns a list of sprites for the gore objects.
+	 * The names of the files of the sprites for blood particles.
+	 */
+	private static final String[] bloodSpriteFileNames = {
+		"levels/gore/blood/blood_1.png",
+		"levels/gore/blood/blood_2.png",
+		"levels/gore/blood/blood_3.png"
+	};
+	
+	
+	/**
+	 * Returns the names of the files of the sprites for the gore objects, so they
+	 * can be loaded before the game starts.
+	 * 
+	 * @return The names of the files of the sprites for blood particles.
+	 */
+	public String[] getGoreSpriteFileNames() {
+		return bloodSpriteFileNames.clone();
+	}
+	
+	
+	/**
+	 * Returns a list of sprites for the gore objects. The sprites are shared
+	 * with all other game objects.
 	 * 
 	 * @return A list of sprites for the gore objects.
 	 */
@@ -810,21 +1149,33 @@ public abstract class GameObject implements Collidable {
 		Random random = new Random();
 		Sprite[] spriteSet = new Sprite[Settings.gameObjectNumberOfBloodParticles];
 		for (int i = 0; i < Settings.gameObjectNumberOfBloodParticles; i++) {
-			spriteSet[i] = ImageSprite.createSprite("levels/gore/blood/blood_" + (random.nextInt(3) + 1) + ".png");
+			spriteSet[i] = SpriteRepository.getInstance().getSprite(bloodSpriteFileNames[random.nextInt(3)]);
 		}
 		return spriteSet;
 	}
 	
 	
 	/**
-	 * Returns the size of this game object in pixels.
+	 * Returns the width of this game object in pixels.
 	 * 
-	 * @return The size of this game object in pixels.
+	 * @return The width of the current sprite of this game object.
+	 * 			| this.getCurrentSprite().getWidth()
 	 */
-	@Basic
-	public Vector<Integer> getSizeInPixels() {
-		Sprite sprite = this.getCurrentSprite();
-		return new Vector<Integer>(sprite.getWidth(), sprite.getHeight());
+	@Override
+	public int getPixelWidth() {
+		return this.getCurrentSprite().getWidth();
+	}
+	
+	
+	/**
+	 * Returns the height of this game object in pixels.
+	 * 
+	 * @return The height of the current sprite of this game object.
+	 * 			| this.getCurrentSprite().getHeight()
+	 */
+	@Override
+	public int getPixelHeight() {
+		return this.getCurrentSprite().getHeight();
 	}
 	
 	
@@ -834,7 +1185,7 @@ public abstract class GameObject implements Collidable {
 	 * @return The size of this game object in meters.
 	 * 			| Utilities.pixelsVectorToMeters(this.getSizeInPixels())
 	 */
-	public Vector<Double> getSizeInMeters() {
+	public DoubleVec getSizeInMeters() {
 		return Utilities.pixelsVectorToMeters(this.getSizeInPixels());
 	}
 	
@@ -848,6 +1199,52 @@ public abstract class GameObject implements Collidable {
 	}
 	
 	
+	/**
+	 * Returns whether this game object is controlled by a program written in the
+	 * game's programming language. Such a program can read the state of any game
+	 * object in the world.
+	 * 
+	 * @return Whether the program of this game object is a language program.
+	 * 			| this.getProgram() instanceof LanguageProgram
+	 */
+	public boolean hasLanguageProgram() {
+		return this.getProgram() instanceof LanguageProgram;
+	}
+	
+	
+	/**
+	 * Returns the source of random numbers of this game object.
+	 */
+	@Basic
+	public Random getRandom() {
+		return this.random;
+	}
+	
+	
+	/**
+	 * Sets the seed of the source of random numbers of this game object.
+	 * 
+	 * @param seed
+	 * 			The seed to set.
+	 * 
+	 * @effect | this.getRandom().setSeed(seed)
+	 */
+	public void setRandomSeed(long seed) {
+		this.random.setSeed(seed);
+	}
+	
+	
+	/**
+	 * Returns an object shared by all game objects this game object can
+	 * interact with without touching them.
+	 * 
+	 * @return null, a game object only interacts with the objects it touches by default.
+	 */
+	public Object getInteractionGroup() {
+		return null;
+	}
+	
+	
 	/**
 	 * Returns whether this game object is being controlled by a proper program.
 	 * 
@@ -867,22 +1264,60 @@ public abstract class GameObject implements Collidable {
 	 * @param dt
 	 * 			The time to advance.
 	 * 
-	 * @post All properties of this game object will be altered accordingly.
-	 * 
-	 * @post The current sprite will be set to the correct sprite.
-	 * 			| this.getCurrentSprite() == theCorrectSprite
+	 * @effect The game object is prepared, stepped until dt has passed and finished.
+	 * 			| this.startAdvance()
+	 * 			| while (time < dt)
+	 * 			|	time += this.advanceStep(dt - time)
+	 * 			| this.finishAdvance()
 	 */
 	public void advanceTime(double dt) {
 		
 		double time = 0.0;
 		
-		this.handleStep(0.0);
-		this.handleStats(0.0);
+		this.startAdvance();
 		
 		while (time < dt) {
-			
-			double stepTime = this.motion.step(dt - time);
-			time += stepTime;
+			time += this.advanceStep(dt - time);
+		}
+		
+		this.finishAdvance();
+	}
+	
+	
+	/**
+	 * Prepares this game object for advancing its time. This has to be called
+	 * before the first step of every time interval.
+	 */
+	public void startAdvance() {
+		this.startCachingContacts();
+		try {
+			this.handleStep(0.0);
+			this.handleStats(0.0);
+		} finally {
+			this.stopCachingContacts();
+		}
+	}
+	
+	
+	/**
+	 * Performs one step of the time of this game object. In the continuous collision mode,
+	 * a step longer than a pixel step ends at the latest at the next timed event of this
+	 * game object.
+	 * 
+	 * @param maxStep
+	 * 			The maximum time this step may take.
+	 * 
+	 * @return The time this step took.
+	 * 
+	 * @post All properties of this game object will be altered accordingly.
+	 */
+	public double advanceStep(double maxStep) {
+		
+		double stepTime;
+		this.startCachingContacts();
+		try {
+			double eventTime = this.getTimeUntilNextEvent();
+			stepTime = this.motion.step(maxStep, eventTime);
 			
 			this.handleStats(stepTime);
 			
@@ -895,18 +1330,51 @@ public abstract class GameObject implements Collidable {
 			for (CollisionDamager damager : this.collisionDamagers){
 				damager.advanceTime(stepTime);
 			}
-
-			Set<Collidable> collidables = this.getWorld().getCollidablesCollidingWithObject(this);
 			
-			this.handleCollisions(collidables);
-
+			this.handlingContacts = true;
+			this.handleCollisions(this.getContacts().getCollidables());
+			this.handlingContacts = false;
+			
 			this.getWorld().getCommandQueue().execute();
+		} finally {
+			this.handlingContacts = false;
+			this.stopCachingContacts();
 		}
 		
+		return stepTime;
+	}
+	
+	
+	/**
+	 * Finishes advancing the time of this game object. This has to be called
+	 * after the last step of every time interval.
+	 * 
+	 * @post The current sprite will be set to the correct sprite.
+	 * 			| this.getCurrentSprite() == theCorrectSprite
+	 */
+	public void finishAdvance() {
 		this.setCurrentSprite(this.determineCurrentSprite());
 	}
 	
 	
+	/**
+	 * Returns the time until the next timed event of this game object, apart from its motion.
+	 * Game objects with timed behaviour of their own extend this with the time until that
+	 * behaviour changes, so continuous steps don't run past it.
+	 * 
+	 * @return The smallest time until one of the collision damagers of this game object
+	 * 			changes its state on its own.
+	 * 			| result <= min({damager.getTimeUntilNextEvent() for damager in collisionDamagers})
+	 */
+	public double getTimeUntilNextEvent() {
+		double time = Double.POSITIVE_INFINITY;
+		for (CollisionDamager damager : this.collisionDamagers) {
+			time = Math.min(time, damager.getTimeUntilNextEvent());
+		}
+		return time;
+	}
+	
+	
 	/**
 	 * Handles the basic collisions with terrain and impassable game objects.
 	 * 
@@ -916,28 +1384,32 @@ public abstract class GameObject implements Collidable {
 	 * @param collidingTiles
 	 * 			The tiles with which the game object is colliding.
 	 */
-	private void handleBasicMovementCollisions(Set<Collidable> collidables) {
+	private void handleBasicMovementCollisions(List<Collidable> collidables) {
 		
-		for (Collidable collidable: collidables) {
+		for (int i = 0; i < collidables.size(); i++) {
+			Collidable collidable = collidables.get(i);
 			if (!collidable.isPassable()) {
 
-				Vector<Integer> overlap = getKindOfOverlapWith(collidable);
+				int overlapX = this.getKindOfOverlapXWith(collidable);
+				int overlapY = this.getKindOfOverlapYWith(collidable);
 
-				if (overlap.x == 0 || overlap.y == 0 || Math.abs(overlap.x) == Math.abs(overlap.y)) {
+				if (overlapX == 0 || overlapY == 0 || Math.abs(overlapX) == Math.abs(overlapY)) {
 					continue;
 				}
 
-				if ((Math.abs(overlap.x) == 1 || Math.abs(overlap.x) < Math.abs(overlap.y))
-						&& !(Math.abs(overlap.y) == 1 || overlap.y == 2)) {
+				if ((Math.abs(overlapX) == 1 || Math.abs(overlapX) < Math.abs(overlapY))
+						&& !(Math.abs(overlapY) == 1 || overlapY == 2)) {
 					if (collidable instanceof GameObject) {
-						((GameObject) collidable).setSpeed(((GameObject) collidable).getSpeed().setX(0.0));
+						((GameObject) collidable).setSpeedX(0.0);
 					}
-					this.setPositionInMeters(this.getPositionInMeters().addX(overlap.x * Constants.metersPerPixel));
-					this.setSpeed(this.getSpeed().setX(0.0));
+					this.setPositionInMeters(this.getPositionXInMeters() + overlapX * Constants.metersPerPixel,
+							this.getPositionYInMeters());
+					this.setSpeedX(0.0);
 				} else {
-					int correction = (overlap.y > 0) ? -1 : (collidable instanceof GameObject ? -overlap.y : 0);
-					this.setPositionInMeters(this.getPositionInMeters().addY((overlap.y + correction) * Constants.metersPerPixel));
-					this.setSpeed(this.getSpeed().setY(0.0));
+					int correction = (overlapY > 0) ? -1 : (collidable instanceof GameObject ? -overlapY : 0);
+					this.setPositionInMeters(this.getPositionXInMeters(),
+							this.getPositionYInMeters() + (overlapY + correction) * Constants.metersPerPixel);
+					this.setSpeedY(0.0);
 				}
 			}
 		}
@@ -985,11 +1457,12 @@ public abstract class GameObject implements Collidable {
 	 * @param collidingTiles
 	 * 			The tiles this game object collides with.
 	 */
-	private void handleCollisions(Set<Collidable> collidables){
+	private void handleCollisions(List<Collidable> collidables){
 		
 		this.handleBasicMovementCollisions(collidables);
 		
-		for (Collidable collidable : collidables){
+		for (int i = 0; i < collidables.size(); i++){
+			Collidable collidable = collidables.get(i);
 			//Delegate the collision to both parties involved
 			//Each party only has to worry about it's own state changes
 			this.handleCollision(collidable);
@@ -1023,18 +1496,10 @@ public abstract class GameObject implements Collidable {
 	 * 
 	 * @return true if this game object is in contact with a tile of
 	 * 			the given type.
+	 * 			| result == this.getContacts().hasTileOfType(type)
 	 */
 	public boolean inContactWithTileOfType(TileType type) {
-		
-		Set<Tile> collidingTiles = this.getWorld().getTilesCollidingWithObject(this);
-		
-		for (Tile tile : collidingTiles) {
-			if (tile.getType() == type) {
-				return true;
-			}
-		}
-		
-		return false;
+		return this.getContacts().hasTileOfType(type);
 	}
 	
 
@@ -1049,9 +1514,7 @@ public abstract class GameObject implements Collidable {
 	 * 			of class cls.
 	 */
 	public boolean inContactWithGameObjectWithClass(Class<? extends GameObject> cls) {
-		Set<GameObject> collidingObjs = this.getWorld().getObjectsCollidingWithObject(this);
-		
-		for (GameObject obj : collidingObjs) {
+		for (GameObject obj : this.getContacts().getObjects()) {
 			if (obj.getClass() == cls) {
 				return true;
 			}
@@ -1065,12 +1528,14 @@ public abstract class GameObject implements Collidable {
 	/**
 	 * On removal of this GameObject from the world, spawns gore.
 	 * 
-	 * @post Several Gore objects will be added to the world.
-	 * 			| any (world.getGameObjects instanceof Gore)
+	 * @effect A particle is spawned at the center of this game object for every gore sprite.
+	 * 			| for each sprite in getGoreSprites():
+	 * 			|	world.getParticles().spawn(center, sprite, this.getRandom())
 	 */
 	public void onRemove() {
+		DoubleVec center = Utilities.pixelsVectorToMeters(this.getCenterInPixels());
 		for (Sprite sprite : this.getGoreSprites()) {
-			this.getWorld().addGameObject(Gore.create(Utilities.pixelsVectorToMeters(this.getCenterInPixels()), sprite));
+			this.getWorld().getParticles().spawn(center, sprite, this.getRandom());
 		}
 	}
 	
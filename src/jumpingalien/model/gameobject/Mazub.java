@@ -6,10 +6,9 @@ import java.util.Set;
 
 import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.util.Sprite;
-import jumpingalien.model.Collidable;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.programmable.DuckProgrammable;
 import jumpingalien.model.gameobject.programmable.JumpProgrammable;
 import jumpingalien.model.gameobject.programmable.RunProgrammable;
@@ -17,7 +16,6 @@ import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.reactions.GameObjectCollisionDamager;
 import jumpingalien.model.reactions.TerrainCollisionDamager;
 import jumpingalien.model.reactions.TerrainCollisionDamager.TerrainDamageInfo;
-import jumpingalien.model.world.Tile;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
 
@@ -34,6 +32,16 @@ import jumpingalien.model.world.World;
  */
 public class Mazub extends GameObject implements RunProgrammable, JumpProgrammable, DuckProgrammable {
 	
+	/**
+	 * The mask of the collision layers every mazub collides with.
+	 */
+	private static final int collidableLayers = CollisionLayer.maskOf(CollisionLayer.MAZUB, CollisionLayer.PLANT, CollisionLayer.SLIME, CollisionLayer.SHARK);
+	
+	/**
+	 * The mask of the tile types every mazub collides with.
+	 */
+	private static final int collidableTileTypes = TileType.maskOf(TileType.GROUND, TileType.WATER, TileType.MAGMA);
+	
 	/**
 	 * The horizontal speed Mazub gets when he start
 	 * moving.
@@ -112,7 +120,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			Throws an IllegalArgumentException when the position and/or direction are not valid.
-	 * 			| !Mazub.isValidPosition(new Vector<>(x, y)) || !Mazub.isValidDirection(direction)
+	 * 			| !Mazub.isValidPosition(new DoubleVec(x, y)) || !Mazub.isValidDirection(direction)
 	 * 
 	 * @effect 
 	 * 			| setPositionInMeters(position)
@@ -123,7 +131,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @post The currentSprite will be sprite 0.
 	 * 			| new.getCurrentSprite() == sprites[0]
 	 */
-	public Mazub(Vector<Double> position, Sprite[] sprites,
+	public Mazub(DoubleVec position, Sprite[] sprites,
 			double vxInit, double vxMax, double direction)
 			throws NullPointerException, IllegalArgumentException{
 		
@@ -162,7 +170,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * 
 	 * @throws IllegalArgumentException
 	 * 			Throws an IllegalArgumentException when the position and/or direction are not valid.
-	 * 			| !Mazub.isValidPosition(new Vector<>(x, y)) || !Mazub.isValidDirection(direction)
+	 * 			| !Mazub.isValidPosition(new DoubleVec(x, y)) || !Mazub.isValidDirection(direction)
 	 * 
 	 * @effect 
 	 * 			| setPositionInMeters(position)
@@ -173,7 +181,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @post The currentSprite will be sprite 0.
 	 * 			| new.getCurrentSprite() == sprites[0]
 	 */
-	protected Mazub(Vector<Double> position, Sprite[] sprites,
+	protected Mazub(DoubleVec position, Sprite[] sprites,
 			double vxInit, double vxMax, double direction, LanguageProgram program)
 			throws NullPointerException, IllegalArgumentException{
 		
@@ -223,7 +231,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @return Whether speed.x's magnitude doesn't exceed the maximum horizontal speed.
 	 * 			| Math.abs(speed.x) <= this.getMaxHorizontalSpeed()
 	 */
-	public boolean isValidSpeed(Vector<Double> speed) {
+	public boolean isValidSpeed(DoubleVec speed) {
 		return Math.abs(speed.x) <= this.getMaxHorizontalSpeed();
 	}
 	
@@ -233,7 +241,8 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * 
 	 * @return The maximum horizontal speed of this Mazub in m/s.
 	 */
-	private double getMaxHorizontalSpeed(){
+	@Override
+	protected double getMaxHorizontalSpeed(){
 		return this.isDucking ? Constants.mazubMaxSpeedDucking : this.vxMax;
 	}
 	
@@ -242,15 +251,12 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * Overrides the setSpeed method of gameObject to clip the speed within the allowed range.
 	 * 
 	 * @effect Uses the GameObject setter with the x value clipped in the valid range.
-	 * 			| super.setSpeed(new Vector<Double>(Utilities.clipInRange(-this.getMaxHorizontalSpeed(),
-				|							this.getMaxHorizontalSpeed(),
-				|							speed.x), speed.y))
+	 * 			| super.setSpeed(Utilities.clipInRange(-this.getMaxHorizontalSpeed(),
+	 * 			|							this.getMaxHorizontalSpeed(), vx), vy)
 	 */
 	@Override
-	public void setSpeed(Vector<Double> speed) {
-		super.setSpeed(new Vector<Double>(Utilities.clipInRange(-this.getMaxHorizontalSpeed(),
-											this.getMaxHorizontalSpeed(),
-											speed.x), speed.y));
+	public void setSpeed(double vx, double vy) {
+		super.setSpeed(Utilities.clipInRange(-this.getMaxHorizontalSpeed(), this.getMaxHorizontalSpeed(), vx), vy);
 	}
 	
 	
@@ -261,7 +267,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	@Basic
 	public int getHeight(){
-		return this.getSizeInPixels().y;
+		return this.getPixelHeight();
 	}
 
 	/**
@@ -271,32 +277,25 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	@Basic
 	public int getWidth(){
-		return this.getSizeInPixels().x;
+		return this.getPixelWidth();
 	}
 	
 	
 	@Override
-	protected Set<Class<? extends GameObject>> getCollidableObjectClasses() {
-		
-		HashSet<Class<? extends GameObject>> collidables = new HashSet<Class<? extends GameObject>>();
-		collidables.add(Mazub.class);
-		collidables.add(Plant.class);
-		collidables.add(Slime.class);
-		collidables.add(Shark.class);
-		
-		return collidables;
+	public CollisionLayer getCollisionLayer() {
+		return CollisionLayer.MAZUB;
 	}
 	
 	
 	@Override
-	protected Set<TileType> getCollidableTileTypes() {
-		
-		HashSet<TileType> collidables = new HashSet<TileType>();
-		collidables.add(TileType.GROUND);
-		collidables.add(TileType.WATER);
-		collidables.add(TileType.MAGMA);
-		
-		return collidables;
+	protected int getCollidableLayers() {
+		return collidableLayers;
+	}
+	
+	
+	@Override
+	protected int getCollidableTileTypes() {
+		return collidableTileTypes;
 	}
 	
 	
@@ -315,13 +314,42 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 		}
 		
 		if (!this.onGround()) {
-			this.setAcceleration(this.getAcceleration().setY(Constants.gravityAcceleration));
-		} else if (this.getAcceleration().y == Constants.gravityAcceleration) {
-			this.setAcceleration(this.getAcceleration().setY(0.0));
+			this.setAccelerationY(Constants.gravityAcceleration);
+		} else if (this.getAccelerationY() == Constants.gravityAcceleration) {
+			this.setAccelerationY(0.0);
 		}
 	}
 	
 	
+	/**
+	 * Returns the time until the next timed event of this Mazub. This includes the
+	 * next frame of its walking animation while it moves, and the moment it stops
+	 * showing that it moved recently while it doesn't.
+	 * 
+	 * @return | if (isMoving)
+	 * 			| then result == min(super.getTimeUntilNextEvent(), time until the next animation frame)
+	 * 			| else if (timeSinceMoving < Constants.mazubAfterMoveStayTime)
+	 * 			| then result == min(super.getTimeUntilNextEvent(),
+	 * 			|			Constants.mazubAfterMoveStayTime - timeSinceMoving)
+	 * 			| else result == super.getTimeUntilNextEvent()
+	 */
+	@Override
+	public double getTimeUntilNextEvent() {
+		double time = super.getTimeUntilNextEvent();
+		if (isMoving) {
+			double frameTime = Constants.mazubAnimationFrameTime;
+			double nextFrame = frameTime * (Math.floor(this.movingTime/frameTime) + 1);
+			if (nextFrame <= this.movingTime) {
+				nextFrame += frameTime;
+			}
+			time = Math.min(time, nextFrame - this.movingTime);
+		} else if (timeSinceMoving < Constants.mazubAfterMoveStayTime) {
+			time = Math.min(time, Constants.mazubAfterMoveStayTime - timeSinceMoving);
+		}
+		return time;
+	}
+	
+	
 	@Override
 	protected Sprite determineCurrentSprite() {
 		
@@ -350,7 +378,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 								 sprites[6] : sprites[7];
 		}
 		if (!(!this.onGround() || isDucking) && isMoving){
-			int animationIndex = ((int)(this.movingTime/0.075)) % (m+1);
+			int animationIndex = ((int)(this.movingTime/Constants.mazubAnimationFrameTime)) % (m+1);
 			currentSprite = this.getFacing() == 1 ?
 								 sprites[8+animationIndex] : sprites[9+m+animationIndex];
 		}
@@ -382,9 +410,9 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 		assert Mazub.isValidDirection(direction);
 		this.isMoving = true;
 		this.setFacing(direction);
-		this.setSpeed(this.getSpeed().setX(direction * this.vxInit));
+		this.setSpeedX(direction * this.vxInit);
 		if (!this.isDucking) {
-			this.setAcceleration(this.getAcceleration().setX(direction * Constants.mazubHorizontalAcceleration));
+			this.setAccelerationX(direction * Constants.mazubHorizontalAcceleration);
 		}
 		this.movingTime = 0;
 		this.amountOfTimesStartMoveCalled += 1;
@@ -405,8 +433,8 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 		this.amountOfTimesStartMoveCalled -= 1;
 		if (amountOfTimesStartMoveCalled == 0){
 			this.isMoving = false;
-			this.setSpeed(this.getSpeed().setX(0.0));
-			this.setAcceleration(this.getAcceleration().setX(0.0));
+			this.setSpeedX(0.0);
+			this.setAccelerationX(0.0);
 			this.timeSinceMoving = 0;
 		}
 	}
@@ -423,7 +451,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	@Override
 	public void startJump() {
 		if (onGround()){
-			this.setSpeed(this.getSpeed().setY(Constants.mazubInitialJumpSpeed));
+			this.setSpeedY(Constants.mazubInitialJumpSpeed);
 		}
 	}
 	
@@ -432,17 +460,17 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 	 * Ends the jump of this Mazub.
 	 * 
 	 * @post	If the speed of this Mazub is bigger than 0, the vertical speed of this Mazub will be 0.
-	 * 			| if (this.getSpeed().y > 0)
+	 * 			| if (this.getSpeedY() > 0)
 	 * 			|	new.getSpeed().y == 0
 	 * 
 	 * @post	If the speed of this Mazub is not bigger than 0, the vertical speed will remain the same.
-	 * 			| if (this.getSpeed().y <= 0)
-	 * 			|	new.getSpeed().y == this.getSpeed().y
+	 * 			| if (this.getSpeedY() <= 0)
+	 * 			|	new.getSpeed().y == this.getSpeedY()
 	 */
 	@Override
 	public void stopJump() {
-		if (this.getSpeed().y > 0) {
-			this.setSpeed(this.getSpeed().setY(0.0));
+		if (this.getSpeedY() > 0) {
+			this.setSpeedY(0.0);
 		}
 	}
 	
@@ -497,29 +525,7 @@ public class Mazub extends GameObject implements RunProgrammable, JumpProgrammab
 		this.isDucking = false;
 		this.setCurrentSprite(this.determineCurrentSprite());
 		
-		Set<Collidable> collidables = new HashSet<>();
-		collidables.addAll(this.getWorld().getTilesCollidingWithObject(this));
-		collidables.addAll(this.getWorld().getObjectsCollidingWithObject(this));
-		
-		boolean canStand = true;
-		for (Collidable collidable : collidables) {
-			Vector<Integer> overlap = this.getKindOfOverlapWith(collidable);
-			if (overlap.y < 0 && 10*Math.abs(overlap.x) > Math.abs(overlap.y)) {
-				if (collidable instanceof Tile) {
-					Tile tile = (Tile) collidable;
-					if (tile.getType() == TileType.GROUND) {
-						canStand = false;
-						break;
-					}
-				} else {
-					GameObject object = (GameObject) collidable;
-					if (!object.isPassable()) {
-						canStand = false;
-						break;
-					}
-				}
-			}
-		}
+		boolean canStand = !this.getContacts().hasContact(ContactManifold.CEILING);
 		
 		//Cleanup
 		this.isDucking = oldIsDucking;
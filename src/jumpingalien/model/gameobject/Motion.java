@@ -1,6 +1,11 @@
 package jumpingalien.model.gameobject;
 
-import jumpingalien.model.Vector;
+import java.util.List;
+
+import jumpingalien.model.Collidable;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.world.CollisionMode;
+import jumpingalien.model.world.World;
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -11,9 +16,20 @@ import be.kuleuven.cs.som.annotate.*;
  */
 class Motion {
 	
-	private Vector<Double> position;
-	private Vector<Double> speed;
-	private Vector<Double> acceleration;
+	/**
+	 * The position in meters.
+	 */
+	private double x, y;
+	
+	/**
+	 * The speed in m/s.
+	 */
+	private double vx, vy;
+	
+	/**
+	 * The acceleration in m/(s^2).
+	 */
+	private double ax, ay;
 	
 	private GameObject gameObject;
 	
@@ -33,19 +49,19 @@ class Motion {
 	 * 			The acceleration in m/(s^2) to create the motion object with.
 	 * 
 	 * @effect
-	 * 			| setPosition(position)
+	 * 			| setPosition(position.x, position.y)
 	 * 
 	 * @effect
-	 * 			| setSpeed(speed)
+	 * 			| setSpeed(speed.x, speed.y)
 	 * 
 	 * @effect
-	 * 			| setAcceleration(acceleration)
+	 * 			| setAcceleration(acceleration.x, acceleration.y)
 	 */
-	public Motion(@Raw GameObject gameObject, Vector<Double> position, Vector<Double> speed, Vector<Double> acceleration) {
+	public Motion(@Raw GameObject gameObject, DoubleVec position, DoubleVec speed, DoubleVec acceleration) {
 		this.gameObject = gameObject;
-		this.position = position;
-		this.speed = speed;
-		this.acceleration = acceleration;
+		this.setPosition(position.x, position.y);
+		this.setSpeed(speed.x, speed.y);
+		this.setAcceleration(acceleration.x, acceleration.y);
 	}
 	
 	
@@ -53,24 +69,43 @@ class Motion {
 	 * Returns the position of this motion object in meters.
 	 * 
 	 * @return The position of this motion object in meters.
+	 * 			| new DoubleVec(this.getX(), this.getY())
+	 */
+	public DoubleVec getPosition() {
+		return new DoubleVec(this.x, this.y);
+	}
+	
+	/**
+	 * Returns the x coordinate of the position of this motion object in meters.
+	 */
+	@Basic
+	public double getX() {
+		return this.x;
+	}
+	
+	/**
+	 * Returns the y coordinate of the position of this motion object in meters.
 	 */
 	@Basic
-	public Vector<Double> getPosition() {
-		return this.position;
+	public double getY() {
+		return this.y;
 	}
 	
 	/**
 	 * Sets the position of this motion object in meters.
 	 * 
-	 * @param position
-	 * 			The position to set.
+	 * @param x
+	 * 			The x coordinate to set.
+	 * 
+	 * @param y
+	 * 			The y coordinate to set.
 	 * 
 	 * @post The position of this motion object will be the given position.
-	 * 			| new.getPosition() == position
+	 * 			| new.getX() == x && new.getY() == y
 	 */
-	@Basic
-	public void setPosition(Vector<Double> position) {
-		this.position = position;
+	public void setPosition(double x, double y) {
+		this.x = x;
+		this.y = y;
 	}
 	
 	
@@ -78,24 +113,43 @@ class Motion {
 	 * Returns the speed of this motion object in m/s.
 	 * 
 	 * @return The speed of this motion object in m/s.
+	 * 			| new DoubleVec(this.getSpeedX(), this.getSpeedY())
+	 */
+	public DoubleVec getSpeed() {
+		return new DoubleVec(this.vx, this.vy);
+	}
+	
+	/**
+	 * Returns the horizontal speed of this motion object in m/s.
+	 */
+	@Basic
+	public double getSpeedX() {
+		return this.vx;
+	}
+	
+	/**
+	 * Returns the vertical speed of this motion object in m/s.
 	 */
 	@Basic
-	public Vector<Double> getSpeed() {
-		return this.speed;
+	public double getSpeedY() {
+		return this.vy;
 	}
 	
 	/**
 	 * Sets the speed of this motion object in m/s.
 	 * 
-	 * @param speed
-	 * 			The speed to set in m/s.
+	 * @param vx
+	 * 			The horizontal speed to set in m/s.
+	 * 
+	 * @param vy
+	 * 			The vertical speed to set in m/s.
 	 * 
 	 * @post The speed of this motion object will be the given speed.
-	 * 			| new.getSpeed() == speed
+	 * 			| new.getSpeedX() == vx && new.getSpeedY() == vy
 	 */
-	@Basic
-	public void setSpeed(Vector<Double> speed) {
-		this.speed = speed;
+	public void setSpeed(double vx, double vy) {
+		this.vx = vx;
+		this.vy = vy;
 	}
 
 	
@@ -103,73 +157,231 @@ class Motion {
 	 * Returns the acceleration of this motion object in m/(s^2)
 	 * 
 	 * @return The acceleration of this motion object in m/(s^2).
+	 * 			| new DoubleVec(this.getAccelerationX(), this.getAccelerationY())
+	 */
+	public DoubleVec getAcceleration() {
+		return new DoubleVec(this.ax, this.ay);
+	}
+	
+	/**
+	 * Returns the horizontal acceleration of this motion object in m/(s^2).
+	 */
+	@Basic
+	public double getAccelerationX() {
+		return this.ax;
+	}
+	
+	/**
+	 * Returns the vertical acceleration of this motion object in m/(s^2).
 	 */
 	@Basic
-	public Vector<Double> getAcceleration() {
-		return this.acceleration;
+	public double getAccelerationY() {
+		return this.ay;
 	}
 	
 	/**
 	 * Sets the acceleration of this motion object in m/(s^2).
 	 * 
-	 * @param acceleration
-	 * 			The acceleration to set in m/(s^2).
+	 * @param ax
+	 * 			The horizontal acceleration to set in m/(s^2).
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration to set in m/(s^2).
 	 * 
 	 * @post The acceleration of this motion object will be the given acceleration.
-	 * 			| new.getAcceleration() == acceleration
+	 * 			| new.getAccelerationX() == ax && new.getAccelerationY() == ay
 	 */
-	public void setAcceleration(Vector<Double> acceleration) {
-		this.acceleration = acceleration;
+	public void setAcceleration(double ax, double ay) {
+		this.ax = ax;
+		this.ay = ay;
 	}
 	
 	
 	/**
-	 * Lets this motion object make one time step.
+	 * Lets this motion object make one time step. In the pixel stepping collision
+	 * mode the step is limited to a movement of at most one pixel. In the continuous
+	 * collision mode the step runs until the game object starts or stops touching
+	 * something it collides with, until its horizontal speed reaches its maximum or
+	 * until the given event time, but it is never shorter than the pixel stepping step.
 	 * 
 	 * @param maxStep
 	 * 			The maximum amount of time step() may progress.
 	 * 
+	 * @param eventTime
+	 * 			The time until the next timed event of the game object, at which a
+	 * 			continuous step has to end. Zero when an event is due at the end of this step.
+	 * 
 	 * @return The time this motion object stepped.
 	 * 
 	 * @post The position and speed will be altered accordingly.
-	 * 			| dt = time step for movement of max 1 pixel
+	 * 			| dt = time step for movement of max 1 pixel, or until the next contact change or event
 	 * 			| r = this.getPosition()
 	 * 			| v = this.getSpeed()
 	 * 			| a = this.getAcceleration()
 	 * 			| (new r) = (old r) + v*dt + a*(dt^2)/2
 	 * 			| (new v) = (old v) + a*dt
 	 */
-	public Double step(double maxStep) {
+	public double step(double maxStep, double eventTime) {
+		
+		double ax = this.ax, ay = this.ay;
+		double vx = this.vx, vy = this.vy;
+		
+		double dt = this.getPixelStepTime(maxStep);
+		
+		World world = this.gameObject.getWorld();
+		if (world != null && world.getCollisionMode() == CollisionMode.CONTINUOUS) {
+			
+			// A horizontal speed that is already clipped to its maximum can't grow any further.
+			double maxSpeed = this.gameObject.getMaxHorizontalSpeed();
+			if (Math.abs(vx) >= maxSpeed && vx * ax > 0) {
+				ax = 0.0;
+			}
+			
+			double continuousDt = Math.min(Math.min(maxStep, eventTime), this.getTimeUntilMaxSpeed(vx, ax, maxSpeed));
+			continuousDt = Math.min(continuousDt, this.getTimeUntilPixelIntoContact(vx, vy, ax, ay));
+			continuousDt = world.getTimeUntilContactChange(this.gameObject, vx, vy, ax, ay, continuousDt);
+			dt = Math.max(dt, continuousDt);
+		}
+		
+		double halfDtSquared = dt*dt/2.0;
+		
+		this.gameObject.setPositionInMeters(this.x + (vx*dt + ax*halfDtSquared),
+				this.y + (vy*dt + ay*halfDtSquared));
+		this.gameObject.setSpeed(vx + ax*dt, vy + ay*dt);
 		
-		Vector<Double> a = this.getAcceleration();
-		Vector<Double> v = this.getSpeed();
-		Vector<Double> r = this.getPosition();
+		return dt;
+	}
+	
+	
+	/**
+	 * Returns the time step for a movement of at most one pixel.
+	 * 
+	 * @param maxStep
+	 * 			The maximum time step.
+	 * 
+	 * @return The largest time step not bigger than maxStep in which
+	 * 			this motion object moves at most one pixel in each dimension.
+	 */
+	private double getPixelStepTime(double maxStep) {
 		
 		double dt = maxStep;
 		
-		if (v.x != 0) {
-			double candidateDt = Math.abs(0.01 / v.x);
+		if (vx != 0) {
+			double candidateDt = Math.abs(0.01 / vx);
 			dt = Math.min(dt, candidateDt);
 		}
-		if (v.y != 0) {
-			double candidateDt = Math.abs(0.01 / v.y);
+		if (vy != 0) {
+			double candidateDt = Math.abs(0.01 / vy);
 			dt = Math.min(dt, candidateDt);
 		}
-		if (v.x != 0 && a.x != 0) {
-			double candidateDt = (Math.sqrt(Math.pow(v.x, 2) + 0.02*Math.abs(a.x)) - Math.abs(v.x)) / Math.abs(a.x);
+		if (vx != 0 && ax != 0) {
+			double candidateDt = (Math.sqrt(Math.pow(vx, 2) + 0.02*Math.abs(ax)) - Math.abs(vx)) / Math.abs(ax);
 			dt = Math.min(dt, candidateDt);
 		}
-		if (v.y != 0 && a.y != 0) {
-			double candidateDt = (Math.sqrt(Math.pow(v.y, 2) + 0.02*Math.abs(a.y)) - Math.abs(v.y)) / Math.abs(a.y);
+		if (vy != 0 && ay != 0) {
+			double candidateDt = (Math.sqrt(Math.pow(vy, 2) + 0.02*Math.abs(ay)) - Math.abs(vy)) / Math.abs(ay);
 			dt = Math.min(dt, candidateDt);
 		}
 		
-		Vector<Double> newPosition = Vector.add(r, Vector.add(Vector.scale(v, dt), Vector.scale(a, dt*dt/2.0)));
-		Vector<Double> newSpeed = Vector.add(v, Vector.scale(a, dt));
-		
-		this.gameObject.setPositionInMeters(newPosition);
-		this.gameObject.setSpeed(newSpeed);
-		
 		return dt;
 	}
-}
\ No newline at end of file
+	
+	
+	/**
+	 * Returns the time until the game object moves one pixel further into an impassable
+	 * collidable it already touches, like a slime pulled into the ground it stands on.
+	 * Its set of contacts doesn't change while it does, but it has to be pushed back out
+	 * after every pixel, as in the pixel stepping collision mode.
+	 * 
+	 * @param vx
+	 * 			The horizontal speed.
+	 * 
+	 * @param vy
+	 * 			The vertical speed.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration.
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration.
+	 * 
+	 * @return The time until the game object moves one pixel along an axis in which it
+	 * 			moves towards an impassable collidable it overlaps, or positive infinity
+	 * 			when it doesn't move towards any of them.
+	 */
+	private double getTimeUntilPixelIntoContact(double vx, double vy, double ax, double ay) {
+		boolean intoX = false, intoY = false;
+		List<Collidable> collidables = this.gameObject.getContacts().getCollidables();
+		for (int i = 0; i < collidables.size(); i++) {
+			Collidable collidable = collidables.get(i);
+			if (!collidable.isPassable()) {
+				int overlapX = this.gameObject.getKindOfOverlapXWith(collidable);
+				int overlapY = this.gameObject.getKindOfOverlapYWith(collidable);
+				if (Math.abs(overlapX) >= Math.abs(overlapY)) {
+					intoY |= (overlapY > 0) ? (vy < 0 || ay < 0) : (vy > 0 || ay > 0);
+				}
+				if (Math.abs(overlapY) >= Math.abs(overlapX)) {
+					intoX |= (overlapX > 0) ? (vx < 0 || ax < 0) : (vx > 0 || ax > 0);
+				}
+			}
+		}
+		
+		double time = Double.POSITIVE_INFINITY;
+		if (intoX) {
+			time = Math.min(time, getOnePixelTime(vx, ax));
+		}
+		if (intoY) {
+			time = Math.min(time, getOnePixelTime(vy, ay));
+		}
+		return time;
+	}
+	
+	
+	/**
+	 * Returns the time until a movement along one axis with the given speed and
+	 * acceleration covers one pixel.
+	 * 
+	 * @param v
+	 * 			The speed along the axis.
+	 * 
+	 * @param a
+	 * 			The acceleration along the axis.
+	 * 
+	 * @return The smallest positive time in which |v*t + a*t^2/2| reaches one pixel.
+	 */
+	private static double getOnePixelTime(double v, double a) {
+		double time = Double.POSITIVE_INFINITY;
+		if (v != 0) {
+			time = Math.abs(0.01 / v);
+		}
+		if (a != 0) {
+			time = Math.min(time, (Math.sqrt(v*v + 0.02*Math.abs(a)) - Math.abs(v)) / Math.abs(a));
+		}
+		return time;
+	}
+	
+	
+	/**
+	 * Returns the time until the given horizontal speed reaches the given maximum
+	 * when changing with the given acceleration.
+	 * 
+	 * @param vx
+	 * 			The current horizontal speed.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration.
+	 * 
+	 * @param maxSpeed
+	 * 			The maximum horizontal speed.
+	 * 
+	 * @return The time until the absolute value of the speed reaches maxSpeed,
+	 * 			or positive infinity when that never happens.
+	 */
+	private double getTimeUntilMaxSpeed(double vx, double ax, double maxSpeed) {
+		if (ax == 0 || Double.isInfinite(maxSpeed)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double time = (Math.copySign(maxSpeed, ax) - vx) / ax;
+		return (time > 0) ? time : Double.POSITIVE_INFINITY;
+	}
+}
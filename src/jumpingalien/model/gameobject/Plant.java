@@ -1,11 +1,8 @@
 package jumpingalien.model.gameobject;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import jumpingalien.common.sprites.ImageSprite;
+import jumpingalien.common.sprites.SpriteRepository;
 import jumpingalien.model.Constants;
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.programmable.RunProgrammable;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.reactions.PlantMazubCollisionDamager;
@@ -24,6 +21,16 @@ import jumpingalien.util.Sprite;
  */
 public class Plant extends GameObject implements RunProgrammable {
 	
+	/**
+	 * The mask of the collision layers every plant collides with.
+	 */
+	private static final int collidableLayers = 0;
+	
+	/**
+	 * The mask of the tile types every plant collides with.
+	 */
+	private static final int collidableTileTypes = TileType.maskOf(TileType.GROUND);
+	
 	private double directionTime = Constants.plantMoveTime;
 	
 	
@@ -42,7 +49,7 @@ public class Plant extends GameObject implements RunProgrammable {
 	 * @effect The plant will start moving to the right with a speed of Constants.plantSpeed.
 	 * 			| plant.setSpeed(this.getSpeed().setX(Constants.plantSpeed))
 	 */
-	public Plant(Vector<Double> position, Sprite[] sprites){
+	public Plant(DoubleVec position, Sprite[] sprites){
 		
 		this(position, sprites, null);
 	}
@@ -63,26 +70,41 @@ public class Plant extends GameObject implements RunProgrammable {
 	 * @effect The plant will start moving to the right with a speed of Constants.plantSpeed.
 	 * 			| plant.setSpeed(this.getSpeed().setX(Constants.plantSpeed))
 	 */
-	public Plant(Vector<Double> position, Sprite[] sprites, LanguageProgram program){
+	public Plant(DoubleVec position, Sprite[] sprites, LanguageProgram program){
 		
 		super(1, 1, position, sprites, program, true);
 		
 		if (program == null) {
-			this.setSpeed(this.getSpeed().setX(Constants.plantSpeed));
+			this.setSpeedX(Constants.plantSpeed);
 		}
 		
 		this.addCollisionDamager(new PlantMazubCollisionDamager(this, -1, 0));
 	}
 	
 	
+	/**
+	 * The number of gore sprites of every plant.
+	 */
+	private static final int numberOfGoreSprites = 8;
+	
+	
 	@Override
-	protected Sprite[] getGoreSprites() {
+	public String[] getGoreSpriteFileNames() {
+		String[] fileNames = new String[numberOfGoreSprites];
+		for (int i = 1; i <= numberOfGoreSprites; i++) {
+			fileNames[i-1] = "levels/gore/plant/plantGore_" + i + ".png";
+		}
+		return fileNames;
+	}
 	
-		int numberOfGoreSprites = 8;
-		Sprite[] spriteSet = new Sprite[numberOfGoreSprites];
+	
+	@Override
+	protected Sprite[] getGoreSprites() {
+		String[] fileNames = this.getGoreSpriteFileNames();
+		Sprite[] spriteSet = new Sprite[fileNames.length];
 		
-		for (int i = 1; i <= numberOfGoreSprites; i++) {
-			spriteSet[i-1] = ImageSprite.createSprite("levels/gore/plant/plantGore_" + i + ".png");
+		for (int i = 0; i < fileNames.length; i++) {
+			spriteSet[i] = SpriteRepository.getInstance().getSprite(fileNames[i]);
 		}
 		
 		return spriteSet;
@@ -90,19 +112,20 @@ public class Plant extends GameObject implements RunProgrammable {
 	
 	
 	@Override
-	protected Set<Class<? extends GameObject>> getCollidableObjectClasses() {
-		
-		return new HashSet<Class<? extends GameObject>>();
+	public CollisionLayer getCollisionLayer() {
+		return CollisionLayer.PLANT;
 	}
 	
 	
 	@Override
-	protected Set<TileType> getCollidableTileTypes() {
-		
-		HashSet<TileType> collidables = new HashSet<TileType>();
-		collidables.add(TileType.GROUND);
-		
-		return collidables;
+	protected int getCollidableLayers() {
+		return collidableLayers;
+	}
+	
+	
+	@Override
+	protected int getCollidableTileTypes() {
+		return collidableTileTypes;
 	}
 	
 	
@@ -110,23 +133,44 @@ public class Plant extends GameObject implements RunProgrammable {
 	protected void handleStep(double dt) {
 		
 		double timeLeft = Constants.plantMoveTime - directionTime;
-		directionTime = (directionTime + dt) % Constants.plantMoveTime;
 		
-		if (dt > timeLeft){
+		if (dt > 0 && dt >= timeLeft){
+			directionTime = (dt - timeLeft) % Constants.plantMoveTime;
 			this.startRun(this.getFacing() * -1);
+		} else {
+			directionTime = (directionTime + dt) % Constants.plantMoveTime;
+		}
+	}
+	
+	
+	/**
+	 * Returns the time until the next timed event of this plant. Unless it runs a program,
+	 * this includes the moment it turns around, so it turns at the same time in both
+	 * collision modes.
+	 * 
+	 * @return | if (!this.hasLanguageProgram())
+	 * 			| then result == min(super.getTimeUntilNextEvent(), time until the plant turns)
+	 * 			| else result == super.getTimeUntilNextEvent()
+	 */
+	@Override
+	public double getTimeUntilNextEvent() {
+		double time = super.getTimeUntilNextEvent();
+		if (!this.hasLanguageProgram()) {
+			time = Math.min(time, Constants.plantMoveTime - directionTime);
 		}
+		return time;
 	}
 
 
 	@Override
 	public void startRun(double direction) {
 		this.setFacing(direction);
-		this.setSpeed(this.getSpeed().setX(this.getFacing() * Constants.plantSpeed));
+		this.setSpeedX(this.getFacing() * Constants.plantSpeed);
 	}
 
 
 	@Override
 	public void stopRun() {
-		this.setSpeed(this.getSpeed().setX(0.0));
+		this.setSpeedX(0.0);
 	}
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package jumpingalien.model.gameobject;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import be.kuleuven.cs.som.annotate.*;
@@ -19,7 +19,7 @@ public class School {
 	/**
 	 * A set will all slimes this school contains.
 	 */
-	private Set<Slime> slimes = new HashSet<>();
+	private Set<Slime> slimes = new LinkedHashSet<>();
 	
 	
 	/**
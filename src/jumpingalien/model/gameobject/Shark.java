@@ -2,20 +2,18 @@ package jumpingalien.model.gameobject;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Set;
 
-import jumpingalien.common.sprites.ImageSprite;
+import jumpingalien.common.sprites.SpriteRepository;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.programmable.JumpProgrammable;
 import jumpingalien.model.gameobject.programmable.RunProgrammable;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.reactions.GameObjectCollisionDamager;
 import jumpingalien.model.reactions.TerrainCollisionDamager;
 import jumpingalien.model.reactions.TerrainCollisionDamager.TerrainDamageInfo;
-import jumpingalien.model.world.Tile;
 import jumpingalien.model.world.TileType;
 import jumpingalien.util.Sprite;
 
@@ -26,12 +24,22 @@ import jumpingalien.util.Sprite;
  * 
  * @invar The speed of a shark will never be bigger than it's maximum allowed
  * 			horizontal speed.
- * 			| Math.abs(this.getSpeed().x) <= Constants.sharkMaxHorizontalSpeed 
+ * 			| Math.abs(this.getSpeedX()) <= Constants.sharkMaxHorizontalSpeed 
  * 
  * @invar See GameObject.
  */
 public class Shark extends GameObject implements RunProgrammable, JumpProgrammable {
 	
+	/**
+	 * The mask of the collision layers every shark collides with.
+	 */
+	private static final int collidableLayers = CollisionLayer.maskOf(CollisionLayer.MAZUB, CollisionLayer.SLIME, CollisionLayer.SHARK);
+	
+	/**
+	 * The mask of the tile types every shark collides with.
+	 */
+	private static final int collidableTileTypes = TileType.maskOf(TileType.GROUND, TileType.AIR, TileType.WATER, TileType.MAGMA);
+	
 	/**
 	 * How much time there is left in the current movement period.
 	 */
@@ -61,7 +69,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @effect Calling GameObject's constructor.
 	 * 			| super(Constants.sharkBeginHealth, Constants.sharkMaxHealth, position, sprites)
 	 */
-	public Shark(Vector<Double> position, Sprite[] sprites) {
+	public Shark(DoubleVec position, Sprite[] sprites) {
 		
 		this(position, sprites, null);
 	}
@@ -79,7 +87,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @effect Calling GameObject's constructor.
 	 * 			| super(Constants.sharkBeginHealth, Constants.sharkMaxHealth, position, sprites)
 	 */
-	public Shark(Vector<Double> position, Sprite[] sprites, LanguageProgram program) {
+	public Shark(DoubleVec position, Sprite[] sprites, LanguageProgram program) {
 		super(Constants.sharkBeginHealth, Constants.sharkMaxHealth, position, sprites, program);
 		
 		Collection<TerrainDamageInfo> terrainInfos= new HashSet<>();
@@ -94,16 +102,41 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	}
 	
 	
+	/**
+	 * The number of gore sprites of every shark, next to its blood particles.
+	 */
+	private static final int numberOfGoreSprites = 5;
+	
+	
+	/**
+	 * Returns the name of the file of the gore sprite with the given number.
+	 */
+	private static String getGoreSpriteFileName(int number) {
+		return "levels/gore/fish/fishGore_" + number + ".png";
+	}
+	
+	
+	@Override
+	public String[] getGoreSpriteFileNames() {
+		String[] bloodFileNames = super.getGoreSpriteFileNames();
+		String[] fileNames = new String[numberOfGoreSprites + bloodFileNames.length];
+		for (int i = 1; i <= numberOfGoreSprites; i++) {
+			fileNames[i-1] = getGoreSpriteFileName(i);
+		}
+		System.arraycopy(bloodFileNames, 0, fileNames, numberOfGoreSprites, bloodFileNames.length);
+		return fileNames;
+	}
+	
+	
 	@Override
 	protected Sprite[] getGoreSprites() {
 		Sprite[] bloodSprites = super.getGoreSprites();
 		
-		int numberOfGoreSprites = 5;
 		Sprite[] spriteSet = new Sprite[numberOfGoreSprites + Settings.sharkNumberOfBloodParticles];
 		
 		for (int i = 1; i <= numberOfGoreSprites + Settings.sharkNumberOfBloodParticles; i++) {
 			if (i <= numberOfGoreSprites) {
-				spriteSet[i-1] = ImageSprite.createSprite("levels/gore/fish/fishGore_" + i + ".png");
+				spriteSet[i-1] = SpriteRepository.getInstance().getSprite(getGoreSpriteFileName(i));
 			} else {
 				spriteSet[i-1] = bloodSprites[i - numberOfGoreSprites - 1];
 			}
@@ -114,27 +147,32 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	
 	
 	@Override
-	protected Set<Class<? extends GameObject>> getCollidableObjectClasses() {
-		
-		HashSet<Class<? extends GameObject>> collidables = new HashSet<Class<? extends GameObject>>();
-		collidables.add(Mazub.class);
-		collidables.add(Slime.class);
-		collidables.add(Shark.class);
-		
-		return collidables;
+	public CollisionLayer getCollisionLayer() {
+		return CollisionLayer.SHARK;
 	}
 	
 	
 	@Override
-	protected Set<TileType> getCollidableTileTypes() {
-		
-		HashSet<TileType> collidables = new HashSet<TileType>();
-		collidables.add(TileType.GROUND);
-		collidables.add(TileType.AIR);
-		collidables.add(TileType.WATER);
-		collidables.add(TileType.MAGMA);
-		
-		return collidables;
+	protected int getCollidableLayers() {
+		return collidableLayers;
+	}
+	
+	
+	@Override
+	protected int getCollidableTileTypes() {
+		return collidableTileTypes;
+	}
+	
+	
+	/**
+	 * Returns the maximum horizontal speed of this shark in m/s.
+	 * 
+	 * @return The maximum horizontal speed of a shark.
+	 * 			| Constants.sharkMaxHorizontalSpeed
+	 */
+	@Override
+	protected double getMaxHorizontalSpeed() {
+		return Constants.sharkMaxHorizontalSpeed;
 	}
 	
 	
@@ -143,14 +181,11 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 * 
 	 * @post The horizontal speed of this shark (in absolute value) will not be bigger than the
 	 * 			maximum allowed horizontal speed.
-	 * 			| Math.abs(new.getSpeed().x) <= Constants.sharkMaxHorizontalSpeed
+	 * 			| Math.abs(new.getSpeedX()) <= Constants.sharkMaxHorizontalSpeed
 	 */
 	@Override
-	public void setSpeed(Vector<Double> speed) {
-		
-		super.setSpeed(new Vector<Double>(Utilities.clipInRange(-Constants.sharkMaxHorizontalSpeed,
-											Constants.sharkMaxHorizontalSpeed,
-											speed.x), speed.y));
+	public void setSpeed(double vx, double vy) {
+		super.setSpeed(Utilities.clipInRange(-this.getMaxHorizontalSpeed(), this.getMaxHorizontalSpeed(), vx), vy);
 	}
 	
 	
@@ -161,21 +196,17 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	private boolean topInWater() {
 		
-		Set<Tile> collidingTiles = this.getWorld().getTilesCollidingWithObject(this);
+		int bottom = this.getPixelY();
+		int top = bottom + this.getPixelHeight();
+		int tileSize = this.getWorld().getTileSize();
 		
-		for (Tile tile : collidingTiles) {
-			
-			if (tile.getType() == TileType.WATER) {
-				
-				Vector<Integer> overlap = this.getKindOfOverlapWith(tile);
-				
-				if (overlap.y < 0 || overlap.y == this.getSizeInPixels().y) {
-					return true;
-				}
-			}
+		// A row of tiles that only reaches up to part of this shark overlaps its bottom perimeter.
+		int aboveFirstRow = (bottom / tileSize + 1) * tileSize;
+		if (aboveFirstRow < top) {
+			bottom = aboveFirstRow;
 		}
 		
-		return false;
+		return this.getContacts().hasTileOfType(TileType.WATER, bottom, top - bottom);
 	}
 	
 	
@@ -185,32 +216,17 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 * @return true if this shark's bottom perimeter overlaps with water.
 	 */
 	private boolean bottomInWater() {
-		
-		Set<Tile> collidingTiles = this.getWorld().getTilesCollidingWithObject(this);
-		
-		for (Tile tile : collidingTiles) {
-			
-			if (tile.getType() == TileType.WATER) {
-				
-				Vector<Integer> overlap = this.getKindOfOverlapWith(tile);
-				
-				if (overlap.y > 0) {
-					return true;
-				}
-			}
-		}
-		
-		return false;
+		return this.getContacts().hasTileOfType(TileType.WATER, this.getPixelY(), 1);
 	}
 	
 	
 	@Override
 	protected void handleStats(double dt) {
 		if (!(this.onGround() || this.topInWater())) {
-			this.setAcceleration(this.getAcceleration().setY(Constants.gravityAcceleration));
-		} else if (this.getAcceleration().y == Constants.gravityAcceleration) {
-			this.setSpeed(this.getSpeed().setY(0.0));
-			this.setAcceleration(this.getAcceleration().setY(0.0));
+			this.setAccelerationY(Constants.gravityAcceleration);
+		} else if (this.getAccelerationY() == Constants.gravityAcceleration) {
+			this.setSpeedY(0.0);
+			this.setAccelerationY(0.0);
 		}
 	}
 	
@@ -224,14 +240,14 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 			this.stopMoveVertical();
 			this.stopJump();
 			
-			double direction = Math.rint(Math.random()) == 0 ? -1.0 : 1.0;
-			moveTimeLeft = Constants.sharkMinMoveTime + Math.random() *
+			double direction = Math.rint(this.getRandom().nextDouble()) == 0 ? -1.0 : 1.0;
+			moveTimeLeft = Constants.sharkMinMoveTime + this.getRandom().nextDouble() *
 					(Constants.sharkMaxMoveTime - Constants.sharkMinMoveTime);
 			
 			this.startRun(direction);
 			
 			// If there have been 4 move periods, jump 50% of the times
-			if (movePeriodCount > 4 && Math.rint(Math.random()) == 0
+			if (movePeriodCount > 4 && Math.rint(this.getRandom().nextDouble()) == 0
 					&& (this.onGround() || this.bottomInWater())) {
 				
 				movePeriodCount = 0;
@@ -240,7 +256,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 			// Otherwise move up or down
 			} else {
 				
-				double vertAccDir = Math.rint(Math.random()) == 0 ? -1.0 : 1.0;
+				double vertAccDir = Math.rint(this.getRandom().nextDouble()) == 0 ? -1.0 : 1.0;
 				movePeriodCount += 1;
 				this.startMoveVertical(vertAccDir);
 			}
@@ -252,6 +268,26 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	}
 	
 	
+	/**
+	 * Returns the time until the next timed event of this shark. Unless it runs a program,
+	 * this includes the end of its current movement period. Once the period has ended,
+	 * a new one starts at the end of the next step, so that step is kept as short as in
+	 * the pixel stepping collision mode.
+	 * 
+	 * @return | if (!this.hasLanguageProgram())
+	 * 			| then result == min(super.getTimeUntilNextEvent(), max(0, time left in the movement period))
+	 * 			| else result == super.getTimeUntilNextEvent()
+	 */
+	@Override
+	public double getTimeUntilNextEvent() {
+		double time = super.getTimeUntilNextEvent();
+		if (!this.hasLanguageProgram()) {
+			time = Math.min(time, Math.max(0.0, moveTimeLeft));
+		}
+		return time;
+	}
+	
+	
 	/**
 	 * Starts moving in the given direction.
 	 * 
@@ -262,7 +298,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	@Override
 	public void startRun(double direction) {
 		this.setFacing(direction);
-		this.setAcceleration(this.getAcceleration().setX(Constants.sharkHorizontalAcceleration * direction));
+		this.setAccelerationX(Constants.sharkHorizontalAcceleration * direction);
 	}
 	
 	
@@ -271,7 +307,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	@Override
 	public void stopRun() {
-		this.setSpeed(this.getSpeed().setX(0.0));
+		this.setSpeedX(0.0);
 	}
 	
 	
@@ -280,7 +316,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	@Override
 	public void startJump() {
-		this.setSpeed(this.getSpeed().setY(Constants.sharkInitialJumpSpeed));
+		this.setSpeedY(Constants.sharkInitialJumpSpeed);
 		this.jumping = true;
 	}
 	
@@ -292,8 +328,8 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 */
 	@Override
 	public void stopJump() {
-		if (this.getSpeed().y > 0) {
-			this.setSpeed(this.getSpeed().setY(0.0));
+		if (this.getSpeedY() > 0) {
+			this.setSpeedY(0.0);
 		}
 		this.jumping = false;
 	}
@@ -307,7 +343,7 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	 * 			1.0 means up, -1.0 means down.
 	 */
 	private void startMoveVertical(double direction) {
-		this.setAcceleration(this.getAcceleration().setY(Constants.sharkVerticalAcceleration * direction));
+		this.setAccelerationY(Constants.sharkVerticalAcceleration * direction);
 	}
 	
 	
@@ -317,8 +353,8 @@ public class Shark extends GameObject implements RunProgrammable, JumpProgrammab
 	private void stopMoveVertical() {
 		
 		if (!this.jumping) {
-			this.setSpeed(this.getSpeed().setY(0.0));
+			this.setSpeedY(0.0);
 		}
-		this.setAcceleration(this.getAcceleration().setY(0.0));
+		this.setAccelerationY(0.0);
 	}
 }
@@ -2,13 +2,12 @@ package jumpingalien.model.gameobject;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Set;
 
 import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.Collidable;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.programmable.RunProgrammable;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.reactions.GameObjectCollisionDamager;
@@ -29,6 +28,16 @@ import jumpingalien.util.Sprite;
  */
 public class Slime extends GameObject implements RunProgrammable {
 	
+	/**
+	 * The mask of the collision layers every slime collides with.
+	 */
+	private static final int collidableLayers = CollisionLayer.maskOf(CollisionLayer.MAZUB, CollisionLayer.SLIME, CollisionLayer.SHARK);
+	
+	/**
+	 * The mask of the tile types every slime collides with.
+	 */
+	private static final int collidableTileTypes = TileType.maskOf(TileType.GROUND, TileType.WATER, TileType.MAGMA);
+	
 	/**
 	 * The time left in the current movement period of this slime.
 	 */
@@ -59,7 +68,7 @@ public class Slime extends GameObject implements RunProgrammable {
 	 * @effect Calls GameObject's constructor.
 	 * 			| super(Constants.slimeBeginHealth, Constants.slimeMaxHealth, position, sprites)
 	 */ 
-	public Slime(Vector<Double> position, Sprite[] sprites, School school) throws IllegalArgumentException {
+	public Slime(DoubleVec position, Sprite[] sprites, School school) throws IllegalArgumentException {
 		
 		this(position, sprites, school, null);
 	}
@@ -83,7 +92,7 @@ public class Slime extends GameObject implements RunProgrammable {
 	 * @effect Calls GameObject's constructor.
 	 * 			| super(Constants.slimeBeginHealth, Constants.slimeMaxHealth, position, sprites)
 	 */ 
-	public Slime(Vector<Double> position, Sprite[] sprites, School school, LanguageProgram program) throws IllegalArgumentException {
+	public Slime(DoubleVec position, Sprite[] sprites, School school, LanguageProgram program) throws IllegalArgumentException {
 		
 		super(Constants.slimeBeginHealth, Constants.slimeMaxHealth, position, sprites, program);
 		
@@ -175,26 +184,44 @@ public class Slime extends GameObject implements RunProgrammable {
 	
 	
 	@Override
-	protected Set<Class<? extends GameObject>> getCollidableObjectClasses() {
-		
-		HashSet<Class<? extends GameObject>> collidables = new HashSet<Class<? extends GameObject>>();
-		collidables.add(Mazub.class);
-		collidables.add(Slime.class);
-		collidables.add(Shark.class);
-		
-		return collidables;
+	public CollisionLayer getCollisionLayer() {
+		return CollisionLayer.SLIME;
 	}
 	
 	
 	@Override
-	protected Set<TileType> getCollidableTileTypes() {
-		
-		HashSet<TileType> collidables = new HashSet<TileType>();
-		collidables.add(TileType.GROUND);
-		collidables.add(TileType.WATER);
-		collidables.add(TileType.MAGMA);
-		
-		return collidables;
+	protected int getCollidableLayers() {
+		return collidableLayers;
+	}
+	
+	
+	@Override
+	protected int getCollidableTileTypes() {
+		return collidableTileTypes;
+	}
+	
+	
+	/**
+	 * Returns the maximum horizontal speed of this slime in m/s.
+	 * 
+	 * @return The maximum horizontal speed of a slime.
+	 * 			| Constants.slimeMaxHorizontalSpeed
+	 */
+	@Override
+	protected double getMaxHorizontalSpeed() {
+		return Constants.slimeMaxHorizontalSpeed;
+	}
+	
+	
+	/**
+	 * Returns the school of this slime, since a slime interacts with all members of its school.
+	 * 
+	 * @return The school of this slime.
+	 * 			| this.getSchool()
+	 */
+	@Override
+	public Object getInteractionGroup() {
+		return this.getSchool();
 	}
 	
 	
@@ -203,20 +230,18 @@ public class Slime extends GameObject implements RunProgrammable {
 	 * 
 	 * @post The horizontal speed of this slime (in absolute value) will not be bigger than the
 	 * 			maximum allowed horizontal speed.
-	 * 			| Math.abs(new.getSpeed().x) <= Constants.slimeMaxHorizontalSpeed
+	 * 			| Math.abs(new.getSpeedX()) <= Constants.slimeMaxHorizontalSpeed
 	 */
 	@Override
-	public void setSpeed(Vector<Double> speed) {
-		super.setSpeed(new Vector<Double>(Utilities.clipInRange(-Constants.slimeMaxHorizontalSpeed,
-											Constants.slimeMaxHorizontalSpeed,
-											speed.x), speed.y));
+	public void setSpeed(double vx, double vy) {
+		super.setSpeed(Utilities.clipInRange(-this.getMaxHorizontalSpeed(), this.getMaxHorizontalSpeed(), vx), vy);
 	}
 	
 	
 	@Override
 	protected void handleStats(double dt) {
 		if (!this.onGround()) {
-			this.setAcceleration(this.getAcceleration().setY(Constants.gravityAcceleration));
+			this.setAccelerationY(Constants.gravityAcceleration);
 		}
 	}
 	
@@ -228,8 +253,8 @@ public class Slime extends GameObject implements RunProgrammable {
 			
 			this.stopRun();
 			
-			double direction = Math.rint(Math.random()) == 0 ? -1.0 : 1.0;
-			moveTimeLeft = Constants.slimeMinMoveTime + Math.random() *
+			double direction = Math.rint(this.getRandom().nextDouble()) == 0 ? -1.0 : 1.0;
+			moveTimeLeft = Constants.slimeMinMoveTime + this.getRandom().nextDouble() *
 					(Constants.slimeMaxMoveTime - Constants.slimeMinMoveTime);
 			
 			this.startRun(direction);
@@ -241,6 +266,25 @@ public class Slime extends GameObject implements RunProgrammable {
 	}
 	
 	
+	/**
+	 * Returns the time until the next timed event of this slime, which includes the end of
+	 * its movement period when it isn't controlled by a program. This is zero while a new
+	 * period is due, like it is for sharks.
+	 * 
+	 * @return | if (!this.hasLanguageProgram())
+	 * 			| then result == min(super.getTimeUntilNextEvent(), max(0, time left in the movement period))
+	 * 			| else result == super.getTimeUntilNextEvent()
+	 */
+	@Override
+	public double getTimeUntilNextEvent() {
+		double time = super.getTimeUntilNextEvent();
+		if (!this.hasLanguageProgram()) {
+			time = Math.min(time, Math.max(0.0, moveTimeLeft));
+		}
+		return time;
+	}
+	
+	
 	
 	/**
 	 * Causes this Slime to take lose an amount of hitpoints specified by damage.
@@ -272,7 +316,7 @@ public class Slime extends GameObject implements RunProgrammable {
 	@Override
 	public void startRun(double direction) {
 		this.setFacing(direction);
-		this.setAcceleration(this.getAcceleration().setX(Constants.slimeHorizontalAcceleration * direction));
+		this.setAccelerationX(Constants.slimeHorizontalAcceleration * direction);
 	}
 	
 	
@@ -281,7 +325,7 @@ public class Slime extends GameObject implements RunProgrammable {
 	 */
 	@Override
 	public void stopRun() {
-		this.setSpeed(this.getSpeed().setX(0.0));
+		this.setSpeedX(0.0);
 	}
 
 
@@ -0,0 +1,315 @@
+package jumpingalien.model.program;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
+
+/**
+ * A class representing the global variables of a program. Every variable is given a
+ * fixed slot when the program is created, so variables and assignments resolved to a
+ * slot read and write an array element instead of looking up their identifier.
+ * The variables can still be used as a map from identifiers to values.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public class GlobalVariables extends AbstractMap<String, Object> {
+
+	/**
+	 * The identifier of the variable holding the game object the program is controlling.
+	 */
+	public static final String selfIdentifier = "self";
+
+
+	/**
+	 * The identifier of the variable in every slot.
+	 */
+	private final String[] identifiers;
+
+	/**
+	 * The slot of every identifier.
+	 */
+	private final Map<String, Integer> slotOfIdentifier;
+
+	/**
+	 * The value of the variable in every slot that isn't a double slot.
+	 */
+	private final Object[] values;
+
+	/**
+	 * Whether every slot holds a double.
+	 */
+	private final boolean[] doubleSlots;
+
+	/**
+	 * The value of the variable in every double slot.
+	 */
+	private final double[] doubleValues;
+
+
+	/**
+	 * Creates new global variables with the given identifiers and initial values.
+	 * The variable self is always given slot 0, the other variables follow in the
+	 * iteration order of the given map. Variables with a double as initial value
+	 * are given a double slot.
+	 *
+	 * @param initialValues
+	 * 			A map with the initial value of every declared variable.
+	 *
+	 * @post Every given identifier has a slot holding its initial value.
+	 * 			| for each identifier in initialValues.keySet():
+	 * 			|	Objects.equals(new.get(identifier), initialValues.get(identifier))
+	 *
+	 * @post The identifier self has slot 0.
+	 * 			| new.getSlot(selfIdentifier) == 0
+	 */
+	public GlobalVariables(Map<String, ?> initialValues) {
+		Map<String, Integer> slotOfIdentifier = new HashMap<>();
+		slotOfIdentifier.put(selfIdentifier, 0);
+		for (String identifier : initialValues.keySet()) {
+			slotOfIdentifier.putIfAbsent(identifier, slotOfIdentifier.size());
+		}
+
+		this.identifiers = new String[slotOfIdentifier.size()];
+		for (Map.Entry<String, Integer> entry : slotOfIdentifier.entrySet()) {
+			this.identifiers[entry.getValue()] = entry.getKey();
+		}
+		this.slotOfIdentifier = Collections.unmodifiableMap(slotOfIdentifier);
+
+		this.values = new Object[this.identifiers.length];
+		this.doubleSlots = new boolean[this.identifiers.length];
+		this.doubleValues = new double[this.identifiers.length];
+		for (Map.Entry<String, ?> entry : initialValues.entrySet()) {
+			int slot = this.getSlot(entry.getKey());
+			this.doubleSlots[slot] = entry.getValue() instanceof Double;
+			this.set(slot, entry.getValue());
+		}
+	}
+
+
+	/**
+	 * Creates a copy of the given global variables, with the same slots and values.
+	 * 
+	 * @param variables
+	 * 			The variables to copy.
+	 */
+	private GlobalVariables(GlobalVariables variables) {
+		this.identifiers = variables.identifiers;
+		this.slotOfIdentifier = variables.slotOfIdentifier;
+		this.doubleSlots = variables.doubleSlots;
+		this.values = variables.values.clone();
+		this.doubleValues = variables.doubleValues.clone();
+	}
+	
+	
+	/**
+	 * Returns a copy of these variables. The copy has the same slots, so statements and
+	 * expressions resolved to these variables can be used with the copy as well.
+	 * 
+	 * @return | result.equals(this)
+	 */
+	public GlobalVariables copy() {
+		return new GlobalVariables(this);
+	}
+	
+	
+	/**
+	 * Returns the slot of the variable with the given identifier.
+	 *
+	 * @param identifier
+	 * 			The identifier of the variable.
+	 *
+	 * @return The slot of the variable, or -1 if there's no variable with the given identifier.
+	 */
+	public int getSlot(Object identifier) {
+		Integer slot = this.slotOfIdentifier.get(identifier);
+		return (slot != null) ? slot : -1;
+	}
+
+
+	/**
+	 * Returns the value of the variable in the given slot.
+	 *
+	 * @param slot
+	 * 			The slot of the variable.
+	 */
+	@Basic
+	public Object get(int slot) {
+		return this.doubleSlots[slot] ? (Double) this.doubleValues[slot] : this.values[slot];
+	}
+
+
+	/**
+	 * Sets the value of the variable in the given slot.
+	 *
+	 * @param slot
+	 * 			The slot of the variable.
+	 *
+	 * @param value
+	 * 			The new value of the variable.
+	 *
+	 * @post The variable in the given slot will hold the given value.
+	 * 			| new.get(slot).equals(value)
+	 *
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			The given slot is a double slot and the given value isn't a double.
+	 * 			| this.isDoubleSlot(slot) && !(value instanceof Double)
+	 */
+	public void set(int slot, Object value) throws JumpingAlienLanguageRuntimeException {
+		if (this.doubleSlots[slot]) {
+			if (!(value instanceof Double)) {
+				throw new JumpingAlienLanguageRuntimeException("Cannot assign " + value
+						+ " to double variable '" + this.identifiers[slot] + "'.");
+			}
+			this.doubleValues[slot] = (Double) value;
+		} else {
+			this.values[slot] = value;
+		}
+	}
+
+
+	/**
+	 * Returns whether the given slot holds a double.
+	 *
+	 * @param slot
+	 * 			The slot to check.
+	 */
+	@Basic
+	public boolean isDoubleSlot(int slot) {
+		return this.doubleSlots[slot];
+	}
+
+
+	/**
+	 * Returns the value of the variable in the given slot as a double.
+	 *
+	 * @param slot
+	 * 			The slot of the variable.
+	 *
+	 * @return | (Double) this.get(slot)
+	 *
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			The variable in the given slot doesn't hold a double.
+	 * 			| !(this.get(slot) instanceof Double)
+	 */
+	public double getDouble(int slot) throws JumpingAlienLanguageRuntimeException {
+		if (this.doubleSlots[slot]) {
+			return this.doubleValues[slot];
+		}
+		if (!(this.values[slot] instanceof Double)) {
+			throw new JumpingAlienLanguageRuntimeException("Variable '" + this.identifiers[slot] + "' doesn't hold a double.");
+		}
+		return (Double) this.values[slot];
+	}
+
+
+	/**
+	 * Sets the value of the variable in the given slot to the given double.
+	 *
+	 * @param slot
+	 * 			The slot of the variable.
+	 *
+	 * @param value
+	 * 			The new value of the variable.
+	 *
+	 * @post The variable in the given slot will hold the given value.
+	 * 			| new.getDouble(slot) == value
+	 */
+	public void setDouble(int slot, double value) {
+		if (this.doubleSlots[slot]) {
+			this.doubleValues[slot] = value;
+		} else {
+			this.values[slot] = value;
+		}
+	}
+
+
+	@Override
+	public boolean containsKey(Object identifier) {
+		return this.getSlot(identifier) >= 0;
+	}
+
+
+	@Override
+	public Object get(Object identifier) {
+		int slot = this.getSlot(identifier);
+		return (slot >= 0) ? this.get(slot) : null;
+	}
+
+
+	/**
+	 * Sets the value of the variable with the given identifier.
+	 *
+	 * @throws UnsupportedOperationException
+	 * 			There's no variable with the given identifier. Variables can't be added
+	 * 			after the program has been created.
+	 * 			| !this.containsKey(identifier)
+	 */
+	@Override
+	public Object put(String identifier, Object value) throws UnsupportedOperationException {
+		int slot = this.getSlot(identifier);
+		if (slot < 0) {
+			throw new UnsupportedOperationException("Undefined identifier '" + identifier + "'.");
+		}
+		Object previous = this.get(slot);
+		this.set(slot, value);
+		return previous;
+	}
+
+
+	@Override
+	public int size() {
+		return this.values.length;
+	}
+
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new Iterator<Map.Entry<String, Object>>() {
+
+					private int slot = 0;
+
+					@Override
+					public boolean hasNext() {
+						return this.slot < GlobalVariables.this.values.length;
+					}
+
+					@Override
+					public Map.Entry<String, Object> next() {
+						if (!this.hasNext()) {
+							throw new NoSuchElementException();
+						}
+						int slot = this.slot++;
+						return new AbstractMap.SimpleEntry<String, Object>(GlobalVariables.this.identifiers[slot],
+								GlobalVariables.this.get(slot)) {
+
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							public Object setValue(Object value) {
+								GlobalVariables.this.set(slot, value);
+								return super.setValue(value);
+							}
+						};
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return GlobalVariables.this.values.length;
+			}
+		};
+	}
+}
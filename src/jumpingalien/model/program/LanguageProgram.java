@@ -1,11 +1,16 @@
 package jumpingalien.model.program;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import jumpingalien.model.gameobject.GameObject;
+import jumpingalien.model.program.compiler.CompiledProgram;
+import jumpingalien.model.program.compiler.ProgramCompiler;
 import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
 import jumpingalien.model.program.statement.CallStack;
 import jumpingalien.model.program.statement.Statement;
+import jumpingalien.model.program.statement.Wait;
 
 /**
  * A class representing a program.
@@ -36,6 +41,48 @@ public class LanguageProgram implements Program{
 	private double excessTime; 
 	
 	
+	/**
+	 * The call stack handed to every statement and expression this program executes.
+	 */
+	private final CallStack callStack;
+	
+	
+	/**
+	 * The wait the main statement is blocked in, or null if it isn't blocked in a wait.
+	 */
+	private Wait blockingWait = null;
+	
+	
+	/**
+	 * The number of slots for the state of the statements in the call stack.
+	 */
+	private final int nbStateSlots;
+	
+	
+	/**
+	 * The initial values of the variables, shared by every instance of this program.
+	 */
+	private final Map<String, Object> initialVariables;
+	
+	
+	/**
+	 * The compiler the main statement was compiled with, or null if the program is interpreted.
+	 */
+	private final ProgramCompiler compiler;
+	
+	
+	/**
+	 * The compiled main statement of the program, or null if the program is interpreted.
+	 */
+	private final CompiledProgram compiledProgram;
+	
+	
+	/**
+	 * Whether the main statement is well-formed, or null if that hasn't been checked yet.
+	 */
+	private Boolean wellFormed = null;
+	
+	
 	/**
 	 * Rememberers whether a JumpingAlienLanguageRuntimeException has occurred during
 	 * previous excecutions.
@@ -57,15 +104,132 @@ public class LanguageProgram implements Program{
 	 * 			| globalVariables == null
 	 */
 	public LanguageProgram(Statement mainStatement, Map<String, Object> globalVariables) throws NullPointerException {
+		this(mainStatement, globalVariables, null);
+	}
+	
+
+	/**
+	 * Creates a new program with the given parameters, running the main statement compiled by the
+	 * given compiler instead of interpreting it.
+	 * 
+	 * @param mainStatement
+	 * 			The main statement of the program.
+	 * 
+	 * @param globalVariables
+	 * 			The variables of the program.
+	 * 
+	 * @param compiler
+	 * 			The compiler the main statement was compiled with, or null to interpret the main statement.
+	 * 
+	 * @throws NullPointerException
+	 * 			Throws a NullPointerException when globalVariables is null.
+	 * 			| globalVariables == null
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			The program is compiled and its variables weren't resolved to slots.
+	 * 			| compiler != null && !(globalVariables instanceof GlobalVariables)
+	 */
+	public LanguageProgram(Statement mainStatement, Map<String, Object> globalVariables, ProgramCompiler compiler)
+			throws NullPointerException, IllegalArgumentException {
 		
 		if (globalVariables == null) {
 			throw new NullPointerException("The variables map can't be null.");
 		}
 		
+		if (compiler != null && !(globalVariables instanceof GlobalVariables)) {
+			throw new IllegalArgumentException("Only programs with resolved variables can be compiled.");
+		}
+		
 		this.mainStatement = mainStatement;
+		this.nbStateSlots = (mainStatement != null) ? mainStatement.resolveStateSlots(0) : 0;
+		this.initialVariables = copyOf(globalVariables);
 		this.globalVariables = globalVariables;
+		this.compiler = compiler;
+		this.excessTime = 0;
+		this.errorOcurred = false;
+		this.callStack = new CallStack(this);
+		this.compiledProgram = (compiler != null)
+				? compiler.instantiate((GlobalVariables) globalVariables, this.callStack) : null;
+	}
+	
+	
+	/**
+	 * Creates a new instance of the given program. The instance runs the same statements,
+	 * but has its own variables with their initial values and its own call stack.
+	 * 
+	 * @param program
+	 * 			The program to create an instance of.
+	 */
+	private LanguageProgram(LanguageProgram program) {
+		this.mainStatement = program.mainStatement;
+		this.nbStateSlots = program.nbStateSlots;
+		this.initialVariables = program.initialVariables;
+		this.globalVariables = copyOf(program.initialVariables);
+		this.compiler = program.compiler;
+		this.wellFormed = program.wellFormed;
 		this.excessTime = 0;
 		this.errorOcurred = false;
+		this.callStack = new CallStack(this);
+		this.compiledProgram = (this.compiler != null)
+				? this.compiler.instantiate((GlobalVariables) this.globalVariables, this.callStack) : null;
+	}
+	
+	
+	/**
+	 * Returns a copy of the given variables, with the same slots if they have been resolved.
+	 */
+	private static Map<String, Object> copyOf(Map<String, Object> variables) {
+		if (variables instanceof GlobalVariables) {
+			return ((GlobalVariables) variables).copy();
+		}
+		return new HashMap<>(variables);
+	}
+	
+	
+	/**
+	 * Returns a new instance of this program, for another game object to run. The instance
+	 * shares the statements, and the compiled code if any, with this program, but has its
+	 * own variables with their initial values and its own call stack, so parsing a script
+	 * once is enough for every game object running it.
+	 * 
+	 * @return | result.getMainStatement() == this.getMainStatement()
+	 * 			|	&& result.getGameObject() == null
+	 * 			|	&& result.isCompiled() == this.isCompiled()
+	 */
+	public LanguageProgram newInstance() {
+		return new LanguageProgram(this);
+	}
+	
+	
+	/**
+	 * Returns the main statement of this program.
+	 */
+	public Statement getMainStatement() {
+		return this.mainStatement;
+	}
+	
+	
+	/**
+	 * Returns the number of slots for the state of the statements of this program in its call stack.
+	 */
+	public int getNbStateSlots() {
+		return this.nbStateSlots;
+	}
+	
+	
+	/**
+	 * Returns the call stack holding the state of the statements of this program.
+	 */
+	public CallStack getCallStack() {
+		return this.callStack;
+	}
+	
+	
+	/**
+	 * Returns whether the main statement of this program is compiled.
+	 */
+	public boolean isCompiled() {
+		return this.compiledProgram != null;
 	}
 	
 	
@@ -88,12 +252,25 @@ public class LanguageProgram implements Program{
 	 */
 	public void setGameObject(GameObject gameObject) {
 		this.gameObject = gameObject;
-		this.globalVariables.put("self", gameObject);
+		this.globalVariables.put(GlobalVariables.selfIdentifier, gameObject);
+	}
+	
+	
+	/**
+	 * Returns a read-only view of the variables of this program.
+	 */
+	public Map<String, Object> getGlobalVariables() {
+		return Collections.unmodifiableMap(this.globalVariables);
 	}
 	
 	/**
 	 * Advance the main statement.
 	 * 
+	 * While the main statement is blocked in a wait and the time to advance doesn't finish
+	 * that wait, the time is handed to the wait directly instead of walking the statements
+	 * down to it. The statements above a blocked wait don't change when the wait doesn't
+	 * finish, so this has the same effect as advancing the main statement.
+	 * 
 	 * @param dt
 	 * 			The amount of gameworld time that has passed since the last call.
 	 * 
@@ -104,7 +281,18 @@ public class LanguageProgram implements Program{
 	public void advanceTime(double dt) {
 		if (!this.errorOcurred) {
 			try {
-				this.excessTime = this.mainStatement.advanceTime(dt + this.excessTime, this.globalVariables, new CallStack(this));
+				if (this.compiledProgram != null) {
+					this.compiledProgram.advanceTime(dt);
+				} else {
+					double time = dt + this.excessTime;
+					if (this.blockingWait != null && time >= Statement.defaultTime
+							&& this.blockingWait.passTime(time, this.callStack)) {
+						this.excessTime = 0;
+					} else {
+						this.excessTime = this.mainStatement.advanceTime(time, this.globalVariables, this.callStack);
+						this.blockingWait = this.mainStatement.getBlockingWait(this.callStack);
+					}
+				}
 			}
 			catch (JumpingAlienLanguageRuntimeException e) {
 				this.errorOcurred = true;
@@ -119,9 +307,14 @@ public class LanguageProgram implements Program{
 	 * Well-formed means every break statement is embedded in either a While or a ForEach and that
 	 * a ForEach may not contain any Actions.
 	 * 
+	 * The statements of a program never change, so this is only checked once.
+	 * 
 	 * @return whether this program is well-formed.
 	 */
 	public boolean isWellFormed() {
-		return this.mainStatement.isWellFormed(new CallStack(this));
+		if (this.wellFormed == null) {
+			this.wellFormed = this.mainStatement.isWellFormed();
+		}
+		return this.wellFormed;
 	}
 }
@@ -1,13 +1,12 @@
 package jumpingalien.model.program;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 import jumpingalien.model.Collidable;
-import jumpingalien.model.Vector;
-import jumpingalien.model.Utilities;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Plant;
@@ -16,6 +15,8 @@ import jumpingalien.model.gameobject.Slime;
 import jumpingalien.model.gameobject.programmable.DuckProgrammable;
 import jumpingalien.model.gameobject.programmable.JumpProgrammable;
 import jumpingalien.model.gameobject.programmable.RunProgrammable;
+import jumpingalien.model.program.compiler.ProgramCompiler;
+import jumpingalien.model.program.exception.JumpingAlienLanguageParseException;
 import jumpingalien.model.program.expression.*;
 import jumpingalien.model.program.statement.*;
 import jumpingalien.model.world.Tile;
@@ -27,10 +28,61 @@ import jumpingalien.part3.programs.SourceLocation;
 @SuppressWarnings("unchecked")
 public class ProgramFactory implements IProgramFactory<Expression<?>, Statement, Object, LanguageProgram> {
 	
+	/**
+	 * Whether the programs this factory creates are compiled.
+	 */
+	private final boolean compilingPrograms;
+	
+	
+	/**
+	 * Creates a factory creating programs that are interpreted.
+	 */
+	public ProgramFactory() {
+		this(false);
+	}
+	
+	
+	/**
+	 * Creates a factory creating programs that are compiled if compilingPrograms is true,
+	 * and interpreted otherwise.
+	 * 
+	 * @param compilingPrograms
+	 * 			Whether the created programs are compiled.
+	 */
+	public ProgramFactory(boolean compilingPrograms) {
+		this.compilingPrograms = compilingPrograms;
+	}
+	
+	
+	/**
+	 * Returns whether the programs this factory creates are compiled.
+	 */
+	public boolean isCompilingPrograms() {
+		return this.compilingPrograms;
+	}
+	
+	
+	/**
+	 * The variable references created since the last program, with their location in the source code.
+	 * They are resolved to the slots of their variables when the program is created.
+	 */
+	private final Map<VariableReference, SourceLocation> references = new LinkedHashMap<>();
+	
+	
+	/**
+	 * Registers the given variable reference to be resolved when the program is created.
+	 * 
+	 * @return The given reference.
+	 */
+	private <R extends VariableReference> R reference(R reference, SourceLocation sourceLocation) {
+		this.references.put(reference, sourceLocation);
+		return reference;
+	}
+	
 	@Override
 	public Variable<Object> createReadVariable(String variableName, Object variableType,
 			SourceLocation sourceLocation) {
-		return new Variable<Object>(variableName);
+		return this.reference(new Variable<Object>(variableName), sourceLocation);
 	}
 
 	@Override
@@ -55,7 +107,7 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 
 	@Override
 	public Variable<Object> createSelf(SourceLocation sourceLocation) {
-		return new Variable<Object>("self");
+		return this.reference(new Variable<Object>(GlobalVariables.selfIdentifier), sourceLocation);
 	}
 
 	@Override
@@ -66,72 +118,76 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 	}
 
 	@Override
-	public BinaryOperation<Double, Double, Double> createAddition(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Double, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> (Double)a + (Double)b);
+	public ArithmeticOperation.Addition createAddition(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new ArithmeticOperation.Addition((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Double, Double, Double> createSubtraction(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Double, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> (Double)a - (Double)b);
+	public ArithmeticOperation.Subtraction createSubtraction(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new ArithmeticOperation.Subtraction((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Double, Double, Double> createMultiplication(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Double, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> (Double)a * (Double)b);
+	public ArithmeticOperation.Multiplication createMultiplication(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new ArithmeticOperation.Multiplication((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Double, Double, Double> createDivision(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Double, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> (Double)a / (Double)b);
+	public ArithmeticOperation.Division createDivision(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new ArithmeticOperation.Division((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public UnaryOperation<Double, Double> createSqrt(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Double, Double>((Expression<Double>)expr, Math::sqrt);
+	public SquareRoot createSqrt(Expression<?> expr, SourceLocation sourceLocation) {
+		return new SquareRoot((Expression<Double>)expr);
 	}
 
 	@Override
-	public UnaryOperation<Double, Double> createRandom(Expression<?> maxValue, SourceLocation sourceLocation) {
-		return new UnaryOperation<Double, Double>((Expression<Double>)maxValue, (a) -> Math.random() * a);
+	public DoubleExpression createRandom(Expression<?> maxValue, SourceLocation sourceLocation) {
+		return new DoubleExpression() {
+			
+			@Override
+			public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+				double max = maxValue.evaluateDouble(globals, callStack);
+				GameObject gameObject = callStack.getProgram().getGameObject();
+				return ((gameObject != null) ? gameObject.getRandom().nextDouble() : Math.random()) * max;
+			}
+		};
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Boolean, Boolean> createAnd(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Boolean, Boolean>((Expression<Boolean>)left, (Expression<Boolean>)right,
-															  (a, b) -> a && b);
+	public LogicalOperation.And createAnd(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new LogicalOperation.And((Expression<Boolean>)left, (Expression<Boolean>)right);
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Boolean, Boolean> createOr(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Boolean, Boolean>((Expression<Boolean>)left, (Expression<Boolean>)right,
-															  (a, b) -> a || b);
+	public LogicalOperation.Or createOr(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new LogicalOperation.Or((Expression<Boolean>)left, (Expression<Boolean>)right);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Boolean> createNot(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Boolean>((Expression<Boolean>)expr, (a) -> !a);
+	public Negation createNot(Expression<?> expr, SourceLocation sourceLocation) {
+		return new Negation((Expression<Boolean>)expr);
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Double, Double> createLessThan(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> a < b);
+	public Comparison.LessThan createLessThan(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new Comparison.LessThan((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Double, Double> createLessThanOrEqualTo(Expression<?> left, Expression<?> right,
-			SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> a <= b);
+	public Comparison.LessThanOrEqualTo createLessThanOrEqualTo(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new Comparison.LessThanOrEqualTo((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Double, Double> createGreaterThan(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> a > b);
+	public Comparison.GreaterThan createGreaterThan(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new Comparison.GreaterThan((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
-	public BinaryOperation<Boolean, Double, Double> createGreaterThanOrEqualTo(Expression<?> left, Expression<?> right,
-			SourceLocation sourceLocation) {
-		return new BinaryOperation<Boolean, Double, Double>((Expression<Double>)left, (Expression<Double>)right, (a, b) -> a >= b);
+	public Comparison.GreaterThanOrEqualTo createGreaterThanOrEqualTo(Expression<?> left, Expression<?> right, SourceLocation sourceLocation) {
+		return new Comparison.GreaterThanOrEqualTo((Expression<Double>)left, (Expression<Double>)right);
 	}
 
 	@Override
@@ -145,107 +201,67 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 	}
 
 	@Override
-	public UnaryOperation<Double, Collidable> createGetX(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<>((Expression<Collidable>) expr, (a) -> (double) a.getPositionInPixels().x);
+	public CollidableProperty.GetX createGetX(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidableProperty.GetX((Expression<Collidable>) expr);
 	}
 
 	@Override
-	public UnaryOperation<Double, Collidable> createGetY(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<>((Expression<Collidable>) expr, (a) -> (double) a.getPositionInPixels().y);
+	public CollidableProperty.GetY createGetY(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidableProperty.GetY((Expression<Collidable>) expr);
 	}
 
 	@Override
-	public UnaryOperation<Double, Collidable> createGetWidth(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<>((Expression<Collidable>) expr, (a) -> (double) a.getSizeInPixels().x);
+	public CollidableProperty.GetWidth createGetWidth(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidableProperty.GetWidth((Expression<Collidable>) expr);
 	}
 
 	@Override
-	public UnaryOperation<Double, Collidable> createGetHeight(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<>((Expression<Collidable>) expr, (a) -> (double) a.getSizeInPixels().y);
+	public CollidableProperty.GetHeight createGetHeight(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidableProperty.GetHeight((Expression<Collidable>) expr);
 	}
 
 	@Override
-	public UnaryOperation<Double, GameObject> createGetHitPoints(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<>((Expression<GameObject>)expr, (a) -> (double) a.getHealth());
+	public CollidableProperty.GetHitPoints createGetHitPoints(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidableProperty.GetHitPoints((Expression<GameObject>) expr);
 	}
 
 	@Override
 	public Expression<Tile> createGetTile(Expression<?> x, Expression<?> y, SourceLocation sourceLocation) {
 		return (globals, callStack) -> {
 			World world = callStack.getProgram().getGameObject().getWorld();
-			Vector<Integer> pixelPosition = new Vector<>(((Expression<Double>) x).evaluate(globals, callStack).intValue(),
-					((Expression<Double>) y).evaluate(globals, callStack).intValue());
-			return new Tile(world.getTileContainingPixel(pixelPosition), world.getTileSize(), world.getTileTypeOfPixel(pixelPosition));
+			IntVec pixelPosition = new IntVec((int) x.evaluateDouble(globals, callStack),
+					(int) y.evaluateDouble(globals, callStack));
+			return world.getTileAtPixel(pixelPosition);
 		};
 	}
 
 	@Override
 	public Expression<Collidable> createSearchObject(Expression<?> direction, SourceLocation sourceLocation) {
 		return (globals, callStack) -> {
-			
 			GameObject gameObject = callStack.getProgram().getGameObject();
-			World world = gameObject.getWorld();
-			
-			Vector<Integer> bottomLeft = new Vector<>(0, 0);
-			Vector<Integer> size = new Vector<>(0, 0);
-			
-			switch (((Expression<Direction>) direction).evaluate(globals, callStack)) {
-			case LEFT:
-				bottomLeft = new Vector<>(0, gameObject.getPositionInPixels().y);
-				size = new Vector<>(gameObject.getPositionInPixels().x, gameObject.getSizeInPixels().y);
-				break;
-				
-			case RIGHT:
-				bottomLeft = new Vector<>(gameObject.getTopRightPixel().x, gameObject.getPositionInPixels().y);
-				size = new Vector<>(world.getSizeInPixels().x - gameObject.getTopRightPixel().x, gameObject.getSizeInPixels().y);
-				break;
-				
-			case UP:
-				bottomLeft = new Vector<>(gameObject.getPositionInPixels().x, gameObject.getTopRightPixel().y);
-				size = new Vector<>(gameObject.getSizeInPixels().x, world.getSizeInPixels().y - gameObject.getTopRightPixel().y);
-				break;
-				
-			case DOWN:
-				bottomLeft = new Vector<>(gameObject.getPositionInPixels().x, 0);
-				size = new Vector<>(gameObject.getSizeInPixels().x, gameObject.getPositionInPixels().y);
-				break;
-
-			default:
-				break;
-			}
-			
-			Set<Collidable> collidables = world.getCollidablesInRectangle(bottomLeft, size);
-			
-			return collidables.stream().reduce(null, (a, b) -> {
-				if (a == null) return b;
-				if (Utilities.distanceBetween(a.getCenterInPixels(), gameObject.getCenterInPixels()) <
-						Utilities.distanceBetween(b.getCenterInPixels(), gameObject.getCenterInPixels())) {
-					return a;
-				} else {
-					return b;
-				}
-			});
+			return gameObject.getWorld().searchObject(gameObject,
+					((Expression<Direction>) direction).evaluate(globals, callStack));
 		};
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsMazub(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> a.getClass().equals(Mazub.class));
+	public CollidablePredicate.IsGameObjectOfClass createIsMazub(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsGameObjectOfClass(expr, Mazub.class);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsShark(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> a instanceof Shark);
+	public CollidablePredicate.IsGameObjectOfClass createIsShark(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsGameObjectOfClass(expr, Shark.class);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsSlime(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> a instanceof Slime);
+	public CollidablePredicate.IsGameObjectOfClass createIsSlime(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsGameObjectOfClass(expr, Slime.class);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsPlant(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> a instanceof Plant);
+	public CollidablePredicate.IsGameObjectOfClass createIsPlant(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsGameObjectOfClass(expr, Plant.class);
 	}
 
 	@Override
@@ -254,28 +270,28 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsTerrain(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> a instanceof Tile);
+	public CollidablePredicate.IsTerrain createIsTerrain(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsTerrain(expr);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Collidable> createIsPassable(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Collidable>((Expression<Collidable>)expr, (a) -> a.isPassable());
+	public CollidablePredicate.IsPassable createIsPassable(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsPassable((Expression<Collidable>)expr);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsWater(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> (a instanceof Tile) && ((Tile)a).getType() == TileType.WATER);
+	public CollidablePredicate.IsTileOfType createIsWater(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsTileOfType(expr, TileType.WATER);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsMagma(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> (a instanceof Tile) && ((Tile)a).getType() == TileType.MAGMA);
+	public CollidablePredicate.IsTileOfType createIsMagma(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsTileOfType(expr, TileType.MAGMA);
 	}
 
 	@Override
-	public UnaryOperation<Boolean, Object> createIsAir(Expression<?> expr, SourceLocation sourceLocation) {
-		return new UnaryOperation<Boolean, Object>((Expression<Object>)expr, (a) -> (a instanceof Tile) && ((Tile)a).getType() == TileType.AIR);
+	public CollidablePredicate.IsTileOfType createIsAir(Expression<?> expr, SourceLocation sourceLocation) {
+		return new CollidablePredicate.IsTileOfType(expr, TileType.AIR);
 	}
 
 	@Override
@@ -297,7 +313,7 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 	@Override
 	public Assignment createAssignment(String variableName, Object variableType, Expression<?> value,
 			SourceLocation sourceLocation) {
-		return new Assignment(variableName, (Expression<Object>)value);
+		return this.reference(new Assignment(variableName, (Expression<Object>)value), sourceLocation);
 	}
 
 	@Override
@@ -313,7 +329,8 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 			Expression<?> sort,
 			SortDirection sortDirection,
 			Statement body, SourceLocation sourceLocation) {
-		return new ForEachLoop(variableKind, variableName, (Expression<Boolean>) where, (Expression<Double>) sort, sortDirection, body);
+		return this.reference(new ForEachLoop(variableKind, variableName, (Expression<Boolean>) where, (Expression<Double>) sort, sortDirection, body),
+				sourceLocation);
 	}
 
 	@Override
@@ -345,7 +362,7 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 			@Override
 			protected void run(Map<String, Object> globals, CallStack callStack) {
 				RunProgrammable object = (RunProgrammable) callStack.getProgram().getGameObject();
-				object.startRun(((Expression<Direction>) direction).evaluate(globals, this.getOwnCallStack(callStack)).getVectorValue().x);
+				object.startRun(((Expression<Direction>) direction).evaluate(globals, callStack).getVectorValue().x);
 			}
 		};
 	}
@@ -445,9 +462,41 @@ public class ProgramFactory implements IProgramFactory<Expression<?>, Statement,
 		return Direction.DOWN;
 	}
 
-	@Override
-	public LanguageProgram createProgram(Statement mainStatement, Map<String, Object> globalVariables) {
-		return new LanguageProgram(mainStatement, globalVariables);
+	/**
+	 * Creates a program with the given main statement and global variables. Every variable,
+	 * assignment and for each loop created by this factory since the last program is resolved
+	 * to the slot of its variable.
+	 * 
+	 * @param mainStatement
+	 * 			The main statement of the program.
+	 * 
+	 * @param globalVariables
+	 * 			The declared variables with their initial values.
+	 * 
+	 * @throws JumpingAlienLanguageParseException
+	 * 			One of the references refers to a variable that hasn't been declared.
+	 */
+	@Override
+	public LanguageProgram createProgram(Statement mainStatement, Map<String, Object> globalVariables)
+			throws JumpingAlienLanguageParseException {
+		GlobalVariables variables = new GlobalVariables(globalVariables);
+		try {
+			for (Map.Entry<VariableReference, SourceLocation> entry : this.references.entrySet()) {
+				int slot = variables.getSlot(entry.getKey().getIdentifier());
+				if (slot < 0) {
+					throw new JumpingAlienLanguageParseException("Undefined identifier '"
+							+ entry.getKey().getIdentifier() + "'", entry.getValue());
+				}
+				entry.getKey().resolveSlot(slot);
+			}
+		}
+		finally {
+			this.references.clear();
+		}
+		if (this.isCompilingPrograms() && mainStatement != null) {
+			return new LanguageProgram(mainStatement, variables, new ProgramCompiler(mainStatement, variables));
+		}
+		return new LanguageProgram(mainStatement, variables);
 	}
 
 }
@@ -0,0 +1,25 @@
+package jumpingalien.model.program;
+
+/**
+ * An interface for parts of a program referring to a global variable by its identifier.
+ * When the program is created every reference is resolved to the slot of its variable
+ * in the global variables of the program.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public interface VariableReference {
+
+	/**
+	 * Returns the identifier of the variable this reference refers to.
+	 */
+	String getIdentifier();
+
+
+	/**
+	 * Resolves this reference to the given slot.
+	 *
+	 * @param slot
+	 * 			The slot of the variable in the global variables of the program.
+	 */
+	void resolveSlot(int slot);
+}
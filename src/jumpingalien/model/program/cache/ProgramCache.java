@@ -0,0 +1,519 @@
+package jumpingalien.model.program.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.model.program.LanguageProgram;
+import jumpingalien.model.program.ProgramFactory;
+import jumpingalien.model.program.expression.Expression;
+import jumpingalien.model.program.statement.Statement;
+import jumpingalien.part3.programs.IProgramFactory;
+import jumpingalien.part3.programs.SourceLocation;
+import jumpingalien.part3.programs.internal.generated.JumpingAlienProgParser;
+
+/**
+ * A class representing a cache of parsed programs in a directory. A program isn't stored
+ * as a tree of statements and expressions, since many of them are lambdas, but as the
+ * calls the parser made to its program factory. Loading a program replays those calls
+ * on a new factory, which builds the same program without running the parser.
+ *
+ * Every entry is stored in a file named after the SHA-256 hash of the text of the
+ * program and the version of the grammar, so entries of changed programs or of
+ * another version of the grammar are never used.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public class ProgramCache {
+
+	/**
+	 * The version of the format of the entries.
+	 */
+	private static final int formatVersion = 1;
+
+	/**
+	 * The first bytes of every entry.
+	 */
+	private static final int magic = 0x4A415043;
+
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_RESULT = 1;
+	private static final int TAG_DOUBLE = 2;
+	private static final int TAG_STRING = 3;
+	private static final int TAG_ENUM = 4;
+	private static final int TAG_LIST = 5;
+	private static final int TAG_MAP = 6;
+	private static final int TAG_LOCATION = 7;
+
+
+	/**
+	 * The methods of a program factory, in a fixed order. A call is stored as the index
+	 * of its method in this array.
+	 */
+	private static final Method[] factoryMethods;
+
+	/**
+	 * The enumerations arguments of factory methods can have. An argument is stored as the
+	 * index of its enumeration in this array and its ordinal.
+	 */
+	private static final Class<?>[] enumerations = { IProgramFactory.Direction.class,
+			IProgramFactory.Kind.class, IProgramFactory.SortDirection.class };
+
+	/**
+	 * The hash of the grammar, the methods of a program factory and the format of the entries.
+	 */
+	private static final byte[] grammarVersion;
+
+	static {
+		factoryMethods = IProgramFactory.class.getMethods();
+		Arrays.sort(factoryMethods, Comparator.comparing(Method::toGenericString));
+
+		MessageDigest digest = sha256();
+		digest.update(Integer.toString(formatVersion).getBytes(StandardCharsets.UTF_8));
+		digest.update(JumpingAlienProgParser._serializedATN.getBytes(StandardCharsets.UTF_8));
+		for (Method method : factoryMethods) {
+			digest.update(method.toGenericString().getBytes(StandardCharsets.UTF_8));
+		}
+		grammarVersion = digest.digest();
+	}
+
+
+	/**
+	 * The directory the entries are stored in.
+	 */
+	private final Path directory;
+
+
+	/**
+	 * Creates a cache storing its entries in the given directory.
+	 *
+	 * @param directory
+	 * 			The directory to store the entries in. It is created when the first entry is stored.
+	 *
+	 * @throws NullPointerException
+	 * 			| directory == null
+	 */
+	public ProgramCache(Path directory) throws NullPointerException {
+		if (directory == null) {
+			throw new NullPointerException("The cache directory can't be null.");
+		}
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Returns the directory the entries of this cache are stored in.
+	 */
+	@Basic @Immutable
+	public Path getDirectory() {
+		return this.directory;
+	}
+
+
+	/**
+	 * Returns the file of the entry of the program with the given text.
+	 */
+	public Path getEntry(String text) {
+		MessageDigest digest = sha256();
+		digest.update(grammarVersion);
+		digest.update(text.getBytes(StandardCharsets.UTF_8));
+		StringBuilder name = new StringBuilder();
+		for (byte b : digest.digest()) {
+			name.append(String.format("%02x", b));
+		}
+		return this.directory.resolve(name.append(".jap").toString());
+	}
+
+
+	/**
+	 * Loads the program with the given text from this cache.
+	 *
+	 * @param text
+	 * 			The text of the program.
+	 *
+	 * @param factory
+	 * 			The factory to build the program with.
+	 *
+	 * @return The program built by replaying the stored calls on the given factory, or an
+	 * 			empty optional if there's no entry for the program or the entry can't be read.
+	 * 			When the entry can't be read, the factory may have been used already.
+	 */
+	public Optional<LanguageProgram> load(String text, ProgramFactory factory) {
+		Path entry = this.getEntry(text);
+		if (!Files.isRegularFile(entry)) {
+			return Optional.empty();
+		}
+		try {
+			List<Object[]> calls = decode(Files.readAllBytes(entry));
+			List<Object> results = new ArrayList<>(calls.size());
+			Object result = null;
+			for (Object[] call : calls) {
+				Method method = (Method) call[0];
+				Object[] arguments = resolve((Object[]) call[1], results);
+				result = method.invoke(factory, arguments);
+				results.add(result);
+			}
+			return Optional.ofNullable((LanguageProgram) result);
+		} catch (IOException | RuntimeException | IllegalAccessException | InvocationTargetException e) {
+			try {
+				Files.deleteIfExists(entry);
+			} catch (IOException ignored) {
+			}
+			return Optional.empty();
+		}
+	}
+
+
+	/**
+	 * Returns a new recording of the calls made to the given factory.
+	 *
+	 * @param factory
+	 * 			The factory to record the calls to.
+	 */
+	public Recording record(ProgramFactory factory) {
+		return new Recording(factory);
+	}
+
+
+	/**
+	 * Stores the given recording as the entry of the program with the given text. The entry
+	 * isn't stored if the recording can't be stored or the directory can't be written.
+	 *
+	 * @param text
+	 * 			The text of the program.
+	 *
+	 * @param recording
+	 * 			The recording of the calls that built the program.
+	 *
+	 * @return Whether the entry was stored.
+	 */
+	public boolean store(String text, Recording recording) {
+		if (recording.isBroken()) {
+			return false;
+		}
+		Path entry = this.getEntry(text);
+		try {
+			Files.createDirectories(this.directory);
+			Path temporary = Files.createTempFile(this.directory, "entry", ".tmp");
+			try {
+				Files.write(temporary, recording.toByteArray());
+				Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+
+
+	/**
+	 * A class recording the calls made to a program factory through a proxy of it.
+	 */
+	public static class Recording implements InvocationHandler {
+
+		/**
+		 * The factory the calls are made to.
+		 */
+		private final ProgramFactory factory;
+
+		/**
+		 * The proxy recording the calls made to the factory.
+		 */
+		private final IProgramFactory<Expression<?>, Statement, Object, LanguageProgram> proxy;
+
+		/**
+		 * The calls encoded so far.
+		 */
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+		/**
+		 * The number of calls recorded so far.
+		 */
+		private int nbCalls = 0;
+
+		/**
+		 * The index of the call that returned every result.
+		 */
+		private final Map<Object, Integer> resultIndex = new IdentityHashMap<>();
+
+		/**
+		 * Whether a call had an argument that can't be stored.
+		 */
+		private boolean broken = false;
+
+
+		@SuppressWarnings("unchecked")
+		private Recording(ProgramFactory factory) {
+			this.factory = factory;
+			this.proxy = (IProgramFactory<Expression<?>, Statement, Object, LanguageProgram>) Proxy.newProxyInstance(
+					IProgramFactory.class.getClassLoader(), new Class<?>[] { IProgramFactory.class }, this);
+		}
+
+
+		/**
+		 * Returns a factory passing every call to the recorded factory.
+		 */
+		@Basic @Immutable
+		public IProgramFactory<Expression<?>, Statement, Object, LanguageProgram> getFactory() {
+			return this.proxy;
+		}
+
+
+		/**
+		 * Returns whether a call had an argument that can't be stored.
+		 */
+		@Basic
+		public boolean isBroken() {
+			return this.broken;
+		}
+
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result;
+			try {
+				result = method.invoke(this.factory, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			// Only calls to the factory are stored, so only they are counted.
+			if (method.getDeclaringClass() != IProgramFactory.class) {
+				return result;
+			}
+			if (!this.broken) {
+				try {
+					this.out.writeShort(Arrays.asList(factoryMethods).indexOf(method));
+					Object[] arguments = (args != null) ? args : new Object[0];
+					for (Object argument : arguments) {
+						this.write(argument);
+					}
+				} catch (IOException | IllegalArgumentException e) {
+					this.broken = true;
+				}
+			}
+			if (result != null) {
+				this.resultIndex.put(result, this.nbCalls);
+			}
+			this.nbCalls++;
+			return result;
+		}
+
+
+		/**
+		 * Writes the given argument of a call.
+		 *
+		 * @throws IllegalArgumentException
+		 * 			The argument can't be stored.
+		 */
+		private void write(Object argument) throws IOException, IllegalArgumentException {
+			Integer index = (argument != null) ? this.resultIndex.get(argument) : null;
+			if (argument == null) {
+				this.out.writeByte(TAG_NULL);
+			} else if (index != null) {
+				this.out.writeByte(TAG_RESULT);
+				this.out.writeInt(index);
+			} else if (argument instanceof Double) {
+				this.out.writeByte(TAG_DOUBLE);
+				this.out.writeDouble((Double) argument);
+			} else if (argument instanceof String) {
+				this.out.writeByte(TAG_STRING);
+				this.out.writeUTF((String) argument);
+			} else if (argument instanceof Enum && Arrays.asList(enumerations).contains(argument.getClass())) {
+				this.out.writeByte(TAG_ENUM);
+				this.out.writeByte(Arrays.asList(enumerations).indexOf(argument.getClass()));
+				this.out.writeShort(((Enum<?>) argument).ordinal());
+			} else if (argument instanceof List) {
+				this.out.writeByte(TAG_LIST);
+				this.out.writeInt(((List<?>) argument).size());
+				for (Object element : (List<?>) argument) {
+					this.write(element);
+				}
+			} else if (argument instanceof Map) {
+				this.out.writeByte(TAG_MAP);
+				this.out.writeInt(((Map<?, ?>) argument).size());
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+					this.write(entry.getKey());
+					this.write(entry.getValue());
+				}
+			} else if (argument instanceof SourceLocation) {
+				this.out.writeByte(TAG_LOCATION);
+				this.out.writeInt(((SourceLocation) argument).getLine());
+				this.out.writeInt(((SourceLocation) argument).getColumn());
+			} else {
+				throw new IllegalArgumentException("Can't store argument " + argument + ".");
+			}
+		}
+
+
+		/**
+		 * Returns the encoded entry of the recorded calls.
+		 */
+		private byte[] toByteArray() throws IOException {
+			ByteArrayOutputStream entry = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(entry);
+			out.writeInt(magic);
+			out.writeInt(this.nbCalls);
+			this.bytes.writeTo(out);
+			return entry.toByteArray();
+		}
+	}
+
+
+
+	/**
+	 * Returns the calls of the given entry, every call as its method and its arguments.
+	 * Arguments that are results of earlier calls are decoded as result references.
+	 *
+	 * @throws IOException
+	 * 			The entry isn't a valid entry.
+	 */
+	private static List<Object[]> decode(byte[] entry) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+		if (in.readInt() != magic) {
+			throw new IOException("Not a program cache entry.");
+		}
+		int nbCalls = in.readInt();
+		List<Object[]> calls = new ArrayList<>();
+		for (int i = 0; i < nbCalls; i++) {
+			int methodIndex = in.readShort();
+			if (methodIndex < 0 || methodIndex >= factoryMethods.length) {
+				throw new IOException("Unknown factory method " + methodIndex + ".");
+			}
+			Method method = factoryMethods[methodIndex];
+			Object[] arguments = new Object[method.getParameterCount()];
+			for (int j = 0; j < arguments.length; j++) {
+				arguments[j] = read(in, i);
+			}
+			calls.add(new Object[] { method, arguments });
+		}
+		if (in.available() > 0) {
+			throw new IOException("Trailing bytes in program cache entry.");
+		}
+		return calls;
+	}
+
+
+	/**
+	 * A reference to the result of an earlier call.
+	 */
+	private static class ResultReference {
+
+		private final int index;
+
+		private ResultReference(int index) {
+			this.index = index;
+		}
+	}
+
+
+	/**
+	 * Reads an argument of the call with the given index.
+	 */
+	private static Object read(DataInputStream in, int call) throws IOException {
+		int tag = in.readByte();
+		switch (tag) {
+		case TAG_NULL:
+			return null;
+		case TAG_RESULT:
+			int index = in.readInt();
+			if (index < 0 || index >= call) {
+				throw new IOException("Invalid result reference " + index + ".");
+			}
+			return new ResultReference(index);
+		case TAG_DOUBLE:
+			return in.readDouble();
+		case TAG_STRING:
+			return in.readUTF();
+		case TAG_ENUM:
+			Object[] constants = enumerations[in.readByte()].getEnumConstants();
+			return constants[in.readShort()];
+		case TAG_LIST:
+			int size = in.readInt();
+			List<Object> list = new ArrayList<>();
+			for (int i = 0; i < size; i++) {
+				list.add(read(in, call));
+			}
+			return list;
+		case TAG_MAP:
+			int nbEntries = in.readInt();
+			Map<Object, Object> map = new LinkedHashMap<>();
+			for (int i = 0; i < nbEntries; i++) {
+				map.put(read(in, call), read(in, call));
+			}
+			return map;
+		case TAG_LOCATION:
+			return new SourceLocation(in.readInt(), in.readInt());
+		default:
+			throw new IOException("Unknown tag " + tag + ".");
+		}
+	}
+
+
+	/**
+	 * Returns the given arguments with every result reference replaced by the result it refers to.
+	 */
+	private static Object[] resolve(Object[] arguments, List<Object> results) {
+		Object[] resolved = new Object[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			resolved[i] = resolve(arguments[i], results);
+		}
+		return resolved;
+	}
+
+	private static Object resolve(Object argument, List<Object> results) {
+		if (argument instanceof ResultReference) {
+			return results.get(((ResultReference) argument).index);
+		}
+		if (argument instanceof List) {
+			List<Object> list = new ArrayList<>();
+			for (Object element : (List<?>) argument) {
+				list.add(resolve(element, results));
+			}
+			return list;
+		}
+		if (argument instanceof Map) {
+			Map<Object, Object> map = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+				map.put(resolve(entry.getKey(), results), resolve(entry.getValue(), results));
+			}
+			return map;
+		}
+		return argument;
+	}
+
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
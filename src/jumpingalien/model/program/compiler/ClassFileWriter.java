@@ -0,0 +1,552 @@
+package jumpingalien.model.program.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal writer of JVM class files. It only supports what the program compiler needs:
+ * a constant pool, fields, and methods with code but without exception handlers.
+ * The class files have version 49, which is verified by type inference, so no stack map
+ * frames have to be computed.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+class ClassFileWriter {
+
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_PRIVATE = 0x0002;
+	static final int ACC_PROTECTED = 0x0004;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_SUPER = 0x0020;
+
+	static final int ACONST_NULL = 0x01;
+	static final int ICONST_0 = 0x03;
+	static final int ICONST_1 = 0x04;
+	static final int DCONST_0 = 0x0e;
+	static final int BIPUSH = 0x10;
+	static final int SIPUSH = 0x11;
+	static final int LDC_W = 0x13;
+	static final int LDC2_W = 0x14;
+	static final int ILOAD = 0x15;
+	static final int DLOAD = 0x18;
+	static final int ALOAD = 0x19;
+	static final int DSTORE = 0x39;
+	static final int AALOAD = 0x32;
+	static final int POP = 0x57;
+	static final int DUP = 0x59;
+	static final int IADD = 0x60;
+	static final int DADD = 0x63;
+	static final int DSUB = 0x67;
+	static final int DMUL = 0x6b;
+	static final int DDIV = 0x6f;
+	static final int IXOR = 0x82;
+	static final int DCMPL = 0x97;
+	static final int DCMPG = 0x98;
+	static final int IFEQ = 0x99;
+	static final int IFNE = 0x9a;
+	static final int IFLT = 0x9b;
+	static final int IFGE = 0x9c;
+	static final int IFGT = 0x9d;
+	static final int IFLE = 0x9e;
+	static final int IF_ICMPNE = 0xa0;
+	static final int IF_ICMPLT = 0xa1;
+	static final int IF_ICMPGE = 0xa2;
+	static final int GOTO = 0xa7;
+	static final int IRETURN = 0xac;
+	static final int DRETURN = 0xaf;
+	static final int RETURN = 0xb1;
+	static final int GETFIELD = 0xb4;
+	static final int PUTFIELD = 0xb5;
+	static final int INVOKEVIRTUAL = 0xb6;
+	static final int INVOKESPECIAL = 0xb7;
+	static final int INVOKESTATIC = 0xb8;
+	static final int INVOKEINTERFACE = 0xb9;
+	static final int NEW = 0xbb;
+	static final int CHECKCAST = 0xc0;
+	static final int IFNULL = 0xc6;
+	static final int IFNONNULL = 0xc7;
+
+
+	/**
+	 * The internal name of the class being written.
+	 */
+	private final String name;
+
+	/**
+	 * The internal name of the superclass of the class being written.
+	 */
+	private final String superName;
+
+	/**
+	 * The entries of the constant pool, already encoded.
+	 */
+	private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+
+	/**
+	 * The index of every constant pool entry, by a key describing the entry.
+	 */
+	private final Map<String, Integer> poolIndex = new HashMap<>();
+
+	/**
+	 * The number of constant pool slots in use, including the unused slot 0.
+	 */
+	private int poolCount = 1;
+
+	/**
+	 * The encoded fields.
+	 */
+	private final List<byte[]> fields = new ArrayList<>();
+
+	/**
+	 * The encoded methods.
+	 */
+	private final List<byte[]> methods = new ArrayList<>();
+
+
+	/**
+	 * Creates a writer for a public final class with the given name and superclass.
+	 *
+	 * @param name
+	 * 			The internal name of the class, with slashes.
+	 *
+	 * @param superName
+	 * 			The internal name of the superclass, with slashes.
+	 */
+	ClassFileWriter(String name, String superName) {
+		this.name = name;
+		this.superName = superName;
+	}
+
+
+	/**
+	 * Returns the internal name of the class being written.
+	 */
+	String getName() {
+		return this.name;
+	}
+
+
+	/**
+	 * Returns the index of the given constant pool entry, adding it if it isn't in the pool yet.
+	 *
+	 * @param key
+	 * 			A key identifying the entry.
+	 *
+	 * @param size
+	 * 			The number of slots the entry takes.
+	 *
+	 * @param writer
+	 * 			Writes the entry to the pool.
+	 */
+	private int entry(String key, int size, PoolWriter writer) {
+		Integer index = this.poolIndex.get(key);
+		if (index == null) {
+			try {
+				writer.write(new DataOutputStream(this.pool));
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			index = this.poolCount;
+			this.poolCount += size;
+			this.poolIndex.put(key, index);
+		}
+		return index;
+	}
+
+	/**
+	 * A writer of one constant pool entry.
+	 */
+	private interface PoolWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+
+	int utf8(String value) {
+		return this.entry("U" + value, 1, (out) -> { out.writeByte(1); out.writeUTF(value); });
+	}
+
+	int integer(int value) {
+		return this.entry("I" + value, 1, (out) -> { out.writeByte(3); out.writeInt(value); });
+	}
+
+	int doubleConstant(double value) {
+		return this.entry("D" + Double.doubleToRawLongBits(value), 2,
+				(out) -> { out.writeByte(6); out.writeDouble(value); });
+	}
+
+	int classRef(String internalName) {
+		int nameIndex = this.utf8(internalName);
+		return this.entry("C" + internalName, 1, (out) -> { out.writeByte(7); out.writeShort(nameIndex); });
+	}
+
+	int nameAndType(String name, String descriptor) {
+		int nameIndex = this.utf8(name);
+		int descriptorIndex = this.utf8(descriptor);
+		return this.entry("N" + name + ":" + descriptor, 1,
+				(out) -> { out.writeByte(12); out.writeShort(nameIndex); out.writeShort(descriptorIndex); });
+	}
+
+	int memberRef(int tag, String owner, String name, String descriptor) {
+		int classIndex = this.classRef(owner);
+		int nameAndTypeIndex = this.nameAndType(name, descriptor);
+		return this.entry("M" + tag + owner + "." + name + ":" + descriptor, 1,
+				(out) -> { out.writeByte(tag); out.writeShort(classIndex); out.writeShort(nameAndTypeIndex); });
+	}
+
+
+	/**
+	 * Adds a field to the class.
+	 *
+	 * @param access
+	 * 			The access flags of the field.
+	 *
+	 * @param name
+	 * 			The name of the field.
+	 *
+	 * @param descriptor
+	 * 			The type descriptor of the field.
+	 */
+	void addField(int access, String name, String descriptor) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeShort(access);
+			out.writeShort(this.utf8(name));
+			out.writeShort(this.utf8(descriptor));
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		this.fields.add(bytes.toByteArray());
+	}
+
+
+	/**
+	 * Starts a method of the class. The method is added when its code is ended.
+	 *
+	 * @param access
+	 * 			The access flags of the method.
+	 *
+	 * @param name
+	 * 			The name of the method.
+	 *
+	 * @param descriptor
+	 * 			The method descriptor of the method.
+	 *
+	 * @param maxLocals
+	 * 			The number of local variable slots of the method, including its arguments.
+	 */
+	Code addMethod(int access, String name, String descriptor, int maxLocals) {
+		return new Code(access, name, descriptor, maxLocals);
+	}
+
+
+	/**
+	 * Returns the bytes of the class file.
+	 */
+	byte[] toByteArray() {
+		int thisIndex = this.classRef(this.name);
+		int superIndex = this.classRef(this.superName);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(49);
+			out.writeShort(this.poolCount);
+			this.pool.writeTo(out);
+			out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+			out.writeShort(thisIndex);
+			out.writeShort(superIndex);
+			out.writeShort(0);
+			out.writeShort(this.fields.size());
+			for (byte[] field : this.fields) {
+				out.write(field);
+			}
+			out.writeShort(this.methods.size());
+			for (byte[] method : this.methods) {
+				out.write(method);
+			}
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+
+
+	/**
+	 * A position in the code of a method that can be jumped to.
+	 */
+	static class Label {
+
+		/**
+		 * The offset of this label in the code, or -1 if it hasn't been placed yet.
+		 */
+		private int offset = -1;
+
+		/**
+		 * The depth of the operand stack at this label, or -1 if it isn't known yet.
+		 */
+		private int stackDepth = -1;
+
+		/**
+		 * The offsets of the jump instructions to this label still to be patched.
+		 */
+		private final List<Integer> jumps = new ArrayList<>();
+	}
+
+
+
+	/**
+	 * The code of a method being written. It keeps track of the depth of the operand
+	 * stack, so the maximum depth can be written with the code.
+	 */
+	class Code {
+
+		private final int access;
+		private final String name;
+		private final String descriptor;
+		private final int maxLocals;
+		private byte[] code = new byte[64];
+		private int size = 0;
+		private int stackDepth = 0;
+		private int maxStack = 0;
+
+		private Code(int access, String name, String descriptor, int maxLocals) {
+			this.access = access;
+			this.name = name;
+			this.descriptor = descriptor;
+			this.maxLocals = maxLocals;
+		}
+
+
+		/**
+		 * Changes the depth of the operand stack by the given amount.
+		 */
+		private void stack(int delta) {
+			this.stackDepth += delta;
+			this.maxStack = Math.max(this.maxStack, this.stackDepth);
+		}
+
+		private void u1(int value) {
+			if (this.size == this.code.length) {
+				this.code = Arrays.copyOf(this.code, 2 * this.size);
+			}
+			this.code[this.size++] = (byte) value;
+		}
+
+		private void u2(int value) {
+			this.u1(value >> 8);
+			this.u1(value);
+		}
+
+
+		/**
+		 * Writes an instruction without operands that changes the stack depth by the given amount.
+		 */
+		void op(int opcode, int stackDelta) {
+			this.u1(opcode);
+			this.stack(stackDelta);
+		}
+
+
+		void iconst(int value) {
+			if (value >= -1 && value <= 5) {
+				this.op(ICONST_0 + value, 1);
+			} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+				this.u1(BIPUSH);
+				this.u1(value);
+				this.stack(1);
+			} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+				this.u1(SIPUSH);
+				this.u2(value);
+				this.stack(1);
+			} else {
+				this.u1(LDC_W);
+				this.u2(ClassFileWriter.this.integer(value));
+				this.stack(1);
+			}
+		}
+
+		void dconst(double value) {
+			if (Double.doubleToRawLongBits(value) == 0L) {
+				this.op(DCONST_0, 2);
+			} else {
+				this.u1(LDC2_W);
+				this.u2(ClassFileWriter.this.doubleConstant(value));
+				this.stack(2);
+			}
+		}
+
+
+		/**
+		 * Writes a load or store instruction of a local variable.
+		 */
+		void local(int opcode, int index) {
+			this.u1(opcode);
+			this.u1(index);
+			boolean isDouble = (opcode == DLOAD || opcode == DSTORE);
+			boolean isLoad = (opcode == ILOAD || opcode == DLOAD || opcode == ALOAD);
+			this.stack((isLoad ? 1 : -1) * (isDouble ? 2 : 1));
+		}
+
+
+		void field(int opcode, String owner, String name, String descriptor) {
+			this.u1(opcode);
+			this.u2(ClassFileWriter.this.memberRef(9, owner, name, descriptor));
+			int size = typeSize(descriptor);
+			this.stack((opcode == GETFIELD) ? size - 1 : -size - 1);
+		}
+
+
+		void invoke(int opcode, String owner, String name, String descriptor) {
+			int tag = (opcode == INVOKEINTERFACE) ? 11 : 10;
+			this.u1(opcode);
+			this.u2(ClassFileWriter.this.memberRef(tag, owner, name, descriptor));
+			int argumentsSize = argumentsSize(descriptor);
+			if (opcode == INVOKEINTERFACE) {
+				this.u1(argumentsSize + 1);
+				this.u1(0);
+			}
+			int receiver = (opcode == INVOKESTATIC) ? 0 : 1;
+			this.stack(-argumentsSize - receiver + typeSize(descriptor.substring(descriptor.indexOf(')') + 1)));
+		}
+
+
+		void type(int opcode, String internalName) {
+			this.u1(opcode);
+			this.u2(ClassFileWriter.this.classRef(internalName));
+			this.stack((opcode == NEW) ? 1 : 0);
+		}
+
+
+		/**
+		 * Writes a jump to the given label. Conditional jumps pop their operands.
+		 */
+		void jump(int opcode, Label label) {
+			int popped;
+			if (opcode == GOTO) {
+				popped = 0;
+			} else if (opcode >= IF_ICMPNE && opcode <= 0xa6) {
+				popped = 2;
+			} else {
+				popped = 1;
+			}
+			this.stack(-popped);
+			if (label.stackDepth < 0) {
+				label.stackDepth = this.stackDepth;
+			}
+			int offset = this.size;
+			this.u1(opcode);
+			if (label.offset >= 0) {
+				this.u2(label.offset - offset);
+			} else {
+				label.jumps.add(offset);
+				this.u2(0);
+			}
+		}
+
+
+		/**
+		 * Places the given label at the current position and patches the jumps to it.
+		 */
+		void mark(Label label) {
+			label.offset = this.size;
+			for (int jump : label.jumps) {
+				int relative = label.offset - jump;
+				this.code[jump + 1] = (byte) (relative >> 8);
+				this.code[jump + 2] = (byte) relative;
+			}
+			label.jumps.clear();
+			if (label.stackDepth >= 0) {
+				this.stackDepth = label.stackDepth;
+			} else {
+				label.stackDepth = this.stackDepth;
+			}
+		}
+
+
+		/**
+		 * Ends the code and adds the method to the class.
+		 */
+		void end() {
+			byte[] bytes = Arrays.copyOf(this.code, this.size);
+			ByteArrayOutputStream method = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(method);
+			try {
+				out.writeShort(this.access);
+				out.writeShort(ClassFileWriter.this.utf8(this.name));
+				out.writeShort(ClassFileWriter.this.utf8(this.descriptor));
+				out.writeShort(1);
+				out.writeShort(ClassFileWriter.this.utf8("Code"));
+				out.writeInt(12 + bytes.length);
+				out.writeShort(this.maxStack);
+				out.writeShort(this.maxLocals);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				out.writeShort(0);
+				out.writeShort(0);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			ClassFileWriter.this.methods.add(method.toByteArray());
+		}
+	}
+
+
+	/**
+	 * Returns the number of stack slots taken by a value of the given type descriptor.
+	 */
+	static int typeSize(String descriptor) {
+		switch (descriptor.charAt(0)) {
+		case 'V':
+			return 0;
+		case 'D':
+		case 'J':
+			return 2;
+		default:
+			return 1;
+		}
+	}
+
+
+	/**
+	 * Returns the number of stack slots taken by the arguments of the given method descriptor.
+	 */
+	static int argumentsSize(String descriptor) {
+		int size = 0;
+		int i = 1;
+		while (descriptor.charAt(i) != ')') {
+			char c = descriptor.charAt(i);
+			if (c == 'D' || c == 'J') {
+				size += 2;
+				i++;
+			} else if (c == 'L') {
+				size += 1;
+				i = descriptor.indexOf(';', i) + 1;
+			} else if (c == '[') {
+				while (descriptor.charAt(i) == '[') {
+					i++;
+				}
+				if (descriptor.charAt(i) == 'L') {
+					i = descriptor.indexOf(';', i) + 1;
+				} else {
+					i++;
+				}
+				size += 1;
+			} else {
+				size += 1;
+				i++;
+			}
+		}
+		return size;
+	}
+}
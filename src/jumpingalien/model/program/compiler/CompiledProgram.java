@@ -0,0 +1,102 @@
+package jumpingalien.model.program.compiler;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.model.program.GlobalVariables;
+import jumpingalien.model.program.Program;
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing a program compiled to a class of its own by a program compiler.
+ * The generated subclass keeps the state of every statement in fields and advances
+ * them with the same time-slicing rules as the statements of the interpreter.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class CompiledProgram implements Program {
+
+	/**
+	 * The global variables of the program.
+	 */
+	protected final GlobalVariables globals;
+
+	/**
+	 * The call stack handed to the expressions and statements the compiled code calls.
+	 */
+	protected final CallStack callStack;
+
+	/**
+	 * The expressions, statements and values the compiled code refers to.
+	 */
+	protected final Object[] constants;
+
+	/**
+	 * The time not yet consumed by the main statement.
+	 */
+	private double excessTime = 0;
+
+
+	/**
+	 * Creates a new compiled program with the given variables, call stack and constants.
+	 *
+	 * @param globals
+	 * 			The global variables of the program.
+	 *
+	 * @param callStack
+	 * 			The call stack of the program.
+	 *
+	 * @param constants
+	 * 			The expressions, statements and values the compiled code refers to.
+	 */
+	protected CompiledProgram(GlobalVariables globals, CallStack callStack, Object[] constants) {
+		this.globals = globals;
+		this.callStack = callStack;
+		this.constants = constants;
+	}
+
+
+	/**
+	 * Returns the time not yet consumed by the main statement.
+	 */
+	@Basic
+	public double getExcessTime() {
+		return this.excessTime;
+	}
+
+
+	/**
+	 * Advances the main statement by the given time and the time left from the last call.
+	 *
+	 * @effect | this.excessTime = this.advanceMain(dt + this.excessTime)
+	 */
+	@Override
+	public void advanceTime(double dt) {
+		this.excessTime = this.advanceMain(dt + this.excessTime);
+	}
+
+
+	/**
+	 * Advances the main statement of the program.
+	 *
+	 * @param dt
+	 * 			The amount of time to advance.
+	 *
+	 * @return The amount of time not consumed by the main statement.
+	 */
+	protected abstract double advanceMain(double dt);
+
+
+	/**
+	 * Returns the given value as a boolean.
+	 *
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			The given value isn't a boolean.
+	 * 			| !(value instanceof Boolean)
+	 */
+	protected static boolean toBoolean(Object value) throws JumpingAlienLanguageRuntimeException {
+		if (!(value instanceof Boolean)) {
+			throw new JumpingAlienLanguageRuntimeException("Expected a boolean but got " + value + ".");
+		}
+		return (Boolean) value;
+	}
+}
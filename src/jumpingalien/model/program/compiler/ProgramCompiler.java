@@ -0,0 +1,951 @@
+package jumpingalien.model.program.compiler;
+
+import static jumpingalien.model.program.compiler.ClassFileWriter.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jumpingalien.model.program.GlobalVariables;
+import jumpingalien.model.program.compiler.ClassFileWriter.Code;
+import jumpingalien.model.program.compiler.ClassFileWriter.Label;
+import jumpingalien.model.program.expression.*;
+import jumpingalien.model.program.statement.*;
+
+/**
+ * A class compiling the statements of a program to a class of its own. Every statement
+ * gets private methods to advance, reset and force finish it, and fields holding the
+ * state the statement itself would hold, so the compiled program consumes time exactly
+ * like the statements do when they are interpreted. Expressions on doubles and booleans
+ * are compiled to instructions on primitives. Statements and expressions the compiler
+ * doesn't know are called through the constant pool of the compiled program.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public class ProgramCompiler {
+
+	/**
+	 * The number of programs compiled so far, used to give every compiled class a unique name.
+	 */
+	private static final AtomicInteger compiledClasses = new AtomicInteger();
+
+	private static final String compiledProgramName = "jumpingalien/model/program/compiler/CompiledProgram";
+	private static final String globalsName = "jumpingalien/model/program/GlobalVariables";
+	private static final String callStackName = "jumpingalien/model/program/statement/CallStack";
+	private static final String statementName = "jumpingalien/model/program/statement/Statement";
+	private static final String simpleStatementName = "jumpingalien/model/program/statement/SimpleStatement";
+	private static final String forEachLoopName = "jumpingalien/model/program/statement/ForEachLoop";
+	private static final String expressionName = "jumpingalien/model/program/expression/Expression";
+
+	private static final String globalsDescriptor = "L" + globalsName + ";";
+	private static final String callStackDescriptor = "L" + callStackName + ";";
+	private static final String contextDescriptor = "(Ljava/util/Map;" + callStackDescriptor + ")";
+	private static final String constructorDescriptor = "(" + globalsDescriptor + callStackDescriptor + "[Ljava/lang/Object;)V";
+
+
+	/**
+	 * The compiled class.
+	 */
+	private final Constructor<? extends CompiledProgram> constructor;
+
+	/**
+	 * The statements, expressions and values the compiled class refers to.
+	 */
+	private final Object[] constants;
+
+
+	/**
+	 * Compiles the given main statement with the given global variables.
+	 *
+	 * @param mainStatement
+	 * 			The main statement of the program.
+	 *
+	 * @param globals
+	 * 			The global variables the variables of the program are resolved to.
+	 * 			Only the slots and which of them hold doubles are used, so every program
+	 * 			with the same variables can be instantiated from the compiled class.
+	 *
+	 * @throws NullPointerException
+	 * 			The main statement or the global variables are null.
+	 * 			| mainStatement == null || globals == null
+	 */
+	public ProgramCompiler(Statement mainStatement, GlobalVariables globals) throws NullPointerException {
+		if (mainStatement == null || globals == null) {
+			throw new NullPointerException("Can't compile a program without main statement or variables.");
+		}
+
+		Compilation compilation = new Compilation(globals);
+		compilation.compile(mainStatement);
+		this.constants = compilation.constants.toArray();
+
+		byte[] classFile = compilation.writer.toByteArray();
+		String className = compilation.writer.getName().replace('/', '.');
+		Class<? extends CompiledProgram> programClass =
+				new ProgramClassLoader().define(className, classFile).asSubclass(CompiledProgram.class);
+		try {
+			this.constructor = programClass.getConstructor(GlobalVariables.class, CallStack.class, Object[].class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * Returns a new instance of the compiled program.
+	 *
+	 * @param globals
+	 * 			The global variables of the new instance.
+	 *
+	 * @param callStack
+	 * 			The call stack of the new instance.
+	 *
+	 * @return A compiled program with its own statement state, using the given variables and call stack.
+	 */
+	public CompiledProgram instantiate(GlobalVariables globals, CallStack callStack) {
+		try {
+			return this.constructor.newInstance(globals, callStack, this.constants);
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+
+
+	/**
+	 * A class loader defining the classes of compiled programs. Every compiled program
+	 * gets a loader of its own, so the class can be unloaded with the program.
+	 */
+	private static class ProgramClassLoader extends ClassLoader {
+
+		ProgramClassLoader() {
+			super(CompiledProgram.class.getClassLoader());
+		}
+
+		Class<?> define(String name, byte[] classFile) {
+			return this.defineClass(name, classFile, 0, classFile.length);
+		}
+	}
+
+
+
+	/**
+	 * The state of one compilation.
+	 */
+	private static class Compilation {
+
+		private final GlobalVariables globals;
+
+		private final ClassFileWriter writer = new ClassFileWriter(
+				"jumpingalien/model/program/compiler/GeneratedProgram" + compiledClasses.incrementAndGet(),
+				compiledProgramName);
+
+		/**
+		 * The constants of the compiled class, in the order of their index.
+		 */
+		private final List<Object> constants = new ArrayList<>();
+
+		/**
+		 * The index of every constant.
+		 */
+		private final Map<Object, Integer> constantIndex = new IdentityHashMap<>();
+
+		/**
+		 * The id of every compiled statement, used in the names of its methods and fields.
+		 */
+		private final Map<Statement, Integer> ids = new IdentityHashMap<>();
+
+		/**
+		 * The ids of the while loops, whose condition evaluation starts true.
+		 */
+		private final List<Integer> whileLoops = new ArrayList<>();
+
+
+		Compilation(GlobalVariables globals) {
+			this.globals = globals;
+		}
+
+
+		void compile(Statement mainStatement) {
+			int main = this.statement(mainStatement);
+
+			Code code = this.writer.addMethod(ACC_PUBLIC, "<init>", constructorDescriptor, 4);
+			code.local(ALOAD, 0);
+			code.local(ALOAD, 1);
+			code.local(ALOAD, 2);
+			code.local(ALOAD, 3);
+			code.invoke(INVOKESPECIAL, compiledProgramName, "<init>", constructorDescriptor);
+			for (int id : this.whileLoops) {
+				code.local(ALOAD, 0);
+				code.iconst(1);
+				code.field(PUTFIELD, this.writer.getName(), "conditionEvaluation" + id, "Z");
+			}
+			code.op(RETURN, 0);
+			code.end();
+
+			code = this.writer.addMethod(ACC_PROTECTED, "advanceMain", "(D)D", 3);
+			code.local(ALOAD, 0);
+			code.local(DLOAD, 1);
+			this.callAdvance(code, main);
+			code.op(DRETURN, -2);
+			code.end();
+		}
+
+
+		/*
+		 * Helpers
+		 */
+
+		private int constant(Object value) {
+			Integer index = this.constantIndex.get(value);
+			if (index == null) {
+				index = this.constants.size();
+				this.constants.add(value);
+				this.constantIndex.put(value, index);
+			}
+			return index;
+		}
+
+		private void loadConstant(Code code, Object value, String internalName) {
+			code.local(ALOAD, 0);
+			code.field(GETFIELD, compiledProgramName, "constants", "[Ljava/lang/Object;");
+			code.iconst(this.constant(value));
+			code.op(AALOAD, -1);
+			if (internalName != null) {
+				code.type(CHECKCAST, internalName);
+			}
+		}
+
+		private void loadGlobals(Code code) {
+			code.local(ALOAD, 0);
+			code.field(GETFIELD, compiledProgramName, "globals", globalsDescriptor);
+		}
+
+		private void loadCallStack(Code code) {
+			code.local(ALOAD, 0);
+			code.field(GETFIELD, compiledProgramName, "callStack", callStackDescriptor);
+		}
+
+		private void loadContext(Code code) {
+			this.loadGlobals(code);
+			this.loadCallStack(code);
+		}
+
+		private void field(String name, int id, String descriptor) {
+			this.writer.addField(ACC_PRIVATE, name + id, descriptor);
+		}
+
+		private void getField(Code code, String name, int id, String descriptor) {
+			code.local(ALOAD, 0);
+			code.field(GETFIELD, this.writer.getName(), name + id, descriptor);
+		}
+
+		private void putField(Code code, String name, int id, String descriptor) {
+			code.field(PUTFIELD, this.writer.getName(), name + id, descriptor);
+		}
+
+		private void setBoolean(Code code, String name, int id, boolean value) {
+			code.local(ALOAD, 0);
+			code.iconst(value ? 1 : 0);
+			this.putField(code, name, id, "Z");
+		}
+
+		/**
+		 * Calls the advance method of the given statement. The compiled program and the time
+		 * to advance have to be on the stack.
+		 */
+		private void callAdvance(Code code, int id) {
+			code.invoke(INVOKESPECIAL, this.writer.getName(), "advance" + id, "(D)D");
+		}
+
+		private void callFinished(Code code, int id) {
+			code.local(ALOAD, 0);
+			code.invoke(INVOKESPECIAL, this.writer.getName(), "finished" + id, "()Z");
+		}
+
+		private void callReset(Code code, int id) {
+			code.local(ALOAD, 0);
+			code.invoke(INVOKESPECIAL, this.writer.getName(), "reset" + id, "()V");
+		}
+
+		private void callForceFinish(Code code, int id) {
+			code.local(ALOAD, 0);
+			code.invoke(INVOKESPECIAL, this.writer.getName(), "forceFinish" + id, "()V");
+		}
+
+		/**
+		 * Writes a jump to the given label if the time in the given local is less than
+		 * the default time of a statement.
+		 */
+		private void jumpIfNoTimeLeft(Code code, int local, Label label) {
+			code.local(DLOAD, local);
+			code.dconst(Statement.defaultTime);
+			code.op(DCMPL, -3);
+			code.jump(IFLT, label);
+		}
+
+		/**
+		 * Pushes 1 if the jumps to the given label aren't taken, and 0 otherwise.
+		 */
+		private void pushBooleanUnless(Code code, Label falseLabel) {
+			Label end = new Label();
+			code.iconst(1);
+			code.jump(GOTO, end);
+			code.mark(falseLabel);
+			code.iconst(0);
+			code.mark(end);
+		}
+
+		private void returnBoolean(Code code, Label trueLabel, Label falseLabel) {
+			code.mark(trueLabel);
+			code.iconst(1);
+			code.op(IRETURN, -1);
+			code.mark(falseLabel);
+			code.iconst(0);
+			code.op(IRETURN, -1);
+		}
+
+		private Code method(String name, int id, String descriptor, int maxLocals) {
+			return this.writer.addMethod(ACC_PRIVATE, name + id, descriptor, maxLocals);
+		}
+
+
+		/*
+		 * Statements
+		 */
+
+		/**
+		 * Compiles the given statement and returns its id.
+		 */
+		private int statement(Statement statement) {
+			int id = this.ids.size();
+			this.ids.put(statement, id);
+
+			if (statement instanceof Sequence) {
+				this.sequence(id, (Sequence) statement);
+			} else if (statement instanceof WhileLoop) {
+				this.whileLoop(id, (WhileLoop) statement);
+			} else if (statement instanceof If) {
+				this.ifStatement(id, (If) statement);
+			} else if (statement instanceof Wait) {
+				this.waitStatement(id, (Wait) statement);
+			} else if (statement instanceof ForEachLoop && ((ForEachLoop) statement).getSlot() >= 0) {
+				this.forEachLoop(id, (ForEachLoop) statement);
+			} else if (statement instanceof SimpleStatement) {
+				this.simpleStatement(id, (SimpleStatement) statement);
+			} else {
+				this.interpretedStatement(id, statement);
+			}
+			return id;
+		}
+
+
+		private void sequence(int id, Sequence sequence) {
+			List<Statement> statements = sequence.getStatements();
+			int[] children = new int[statements.size()];
+			for (int i = 0; i < children.length; i++) {
+				children[i] = this.statement(statements.get(i));
+			}
+			this.field("index", id, "I");
+			this.field("forceFinished", id, "Z");
+
+			Code code = this.method("advance", id, "(D)D", 5);
+			Label loop = new Label();
+			Label end = new Label();
+			code.local(DLOAD, 1);
+			code.local(DSTORE, 3);
+			code.mark(loop);
+			this.jumpIfNoTimeLeft(code, 3, end);
+			this.callFinished(code, id);
+			code.jump(IFNE, end);
+			for (int i = 0; i < children.length; i++) {
+				Label next = new Label();
+				this.getField(code, "index", id, "I");
+				code.iconst(i);
+				code.jump(IF_ICMPNE, next);
+				code.local(ALOAD, 0);
+				code.local(DLOAD, 3);
+				this.callAdvance(code, children[i]);
+				code.local(DSTORE, 3);
+				this.callFinished(code, children[i]);
+				code.jump(IFEQ, loop);
+				code.local(ALOAD, 0);
+				this.getField(code, "index", id, "I");
+				code.iconst(1);
+				code.op(IADD, -1);
+				this.putField(code, "index", id, "I");
+				code.jump(GOTO, loop);
+				code.mark(next);
+			}
+			code.mark(end);
+			code.local(DLOAD, 3);
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			Label isTrue = new Label();
+			Label isFalse = new Label();
+			this.getField(code, "forceFinished", id, "Z");
+			code.jump(IFNE, isTrue);
+			this.getField(code, "index", id, "I");
+			code.iconst(children.length);
+			code.jump(IF_ICMPNE, isFalse);
+			this.returnBoolean(code, isTrue, isFalse);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			for (int child : children) {
+				this.callReset(code, child);
+			}
+			code.local(ALOAD, 0);
+			code.iconst(0);
+			this.putField(code, "index", id, "I");
+			this.setBoolean(code, "forceFinished", id, false);
+			code.op(RETURN, 0);
+			code.end();
+
+			this.forceFinishFlag(id);
+		}
+
+
+		private void whileLoop(int id, WhileLoop loop) {
+			int body = this.statement(loop.getBody());
+			this.field("conditionEvaluated", id, "Z");
+			this.field("conditionEvaluation", id, "Z");
+			this.field("forceFinished", id, "Z");
+			this.whileLoops.add(id);
+
+			Code code = this.method("advance", id, "(D)D", 5);
+			Label start = new Label();
+			Label evaluated = new Label();
+			Label end = new Label();
+			code.local(DLOAD, 1);
+			code.local(DSTORE, 3);
+			code.mark(start);
+			this.jumpIfNoTimeLeft(code, 3, end);
+			this.callFinished(code, id);
+			code.jump(IFNE, end);
+			this.getField(code, "conditionEvaluated", id, "Z");
+			code.jump(IFNE, evaluated);
+			code.local(ALOAD, 0);
+			this.booleanExpression(code, loop.getCondition());
+			this.putField(code, "conditionEvaluation", id, "Z");
+			this.setBoolean(code, "conditionEvaluated", id, true);
+			code.local(DLOAD, 3);
+			code.dconst(Statement.defaultTime);
+			code.op(DSUB, -2);
+			code.local(DSTORE, 3);
+			code.jump(GOTO, start);
+			code.mark(evaluated);
+			this.getField(code, "conditionEvaluation", id, "Z");
+			code.jump(IFEQ, end);
+			this.callFinished(code, body);
+			code.jump(IFNE, end);
+			code.local(ALOAD, 0);
+			code.local(DLOAD, 3);
+			this.callAdvance(code, body);
+			code.local(DSTORE, 3);
+			this.callFinished(code, body);
+			code.jump(IFEQ, start);
+			this.setBoolean(code, "conditionEvaluated", id, false);
+			this.callReset(code, body);
+			code.jump(GOTO, start);
+			code.mark(end);
+			code.local(DLOAD, 3);
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			Label isTrue = new Label();
+			Label isFalse = new Label();
+			this.getField(code, "forceFinished", id, "Z");
+			code.jump(IFNE, isTrue);
+			this.getField(code, "conditionEvaluated", id, "Z");
+			code.jump(IFEQ, isFalse);
+			this.getField(code, "conditionEvaluation", id, "Z");
+			code.jump(IFNE, isFalse);
+			this.returnBoolean(code, isTrue, isFalse);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			this.setBoolean(code, "conditionEvaluated", id, false);
+			this.setBoolean(code, "conditionEvaluation", id, true);
+			this.setBoolean(code, "forceFinished", id, false);
+			this.callReset(code, body);
+			code.op(RETURN, 0);
+			code.end();
+
+			this.forceFinishFlag(id);
+		}
+
+
+		private void ifStatement(int id, If statement) {
+			int trueBranch = this.statement(statement.getTrueBranch());
+			int falseBranch = (statement.getFalseBranch() != null) ? this.statement(statement.getFalseBranch()) : -1;
+			this.field("conditionEvaluated", id, "Z");
+			this.field("conditionEvaluation", id, "Z");
+			this.field("forceFinished", id, "Z");
+
+			Code code = this.method("advance", id, "(D)D", 3);
+			Label evaluated = new Label();
+			Label otherwise = new Label();
+			this.getField(code, "conditionEvaluated", id, "Z");
+			code.jump(IFNE, evaluated);
+			code.local(ALOAD, 0);
+			this.booleanExpression(code, statement.getCondition());
+			this.putField(code, "conditionEvaluation", id, "Z");
+			this.setBoolean(code, "conditionEvaluated", id, true);
+			code.mark(evaluated);
+			this.getField(code, "conditionEvaluation", id, "Z");
+			code.jump(IFEQ, otherwise);
+			code.local(ALOAD, 0);
+			code.local(DLOAD, 1);
+			this.callAdvance(code, trueBranch);
+			code.op(DRETURN, -2);
+			code.mark(otherwise);
+			if (falseBranch >= 0) {
+				code.local(ALOAD, 0);
+				code.local(DLOAD, 1);
+				this.callAdvance(code, falseBranch);
+			} else {
+				code.local(DLOAD, 1);
+			}
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			Label isTrue = new Label();
+			Label isFalse = new Label();
+			Label falseBranchFinished = new Label();
+			this.getField(code, "forceFinished", id, "Z");
+			code.jump(IFNE, isTrue);
+			this.getField(code, "conditionEvaluated", id, "Z");
+			code.jump(IFEQ, isFalse);
+			this.getField(code, "conditionEvaluation", id, "Z");
+			code.jump(IFEQ, falseBranchFinished);
+			this.callFinished(code, trueBranch);
+			code.op(IRETURN, -1);
+			code.mark(falseBranchFinished);
+			if (falseBranch >= 0) {
+				this.callFinished(code, falseBranch);
+			} else {
+				code.iconst(1);
+			}
+			code.op(IRETURN, -1);
+			this.returnBoolean(code, isTrue, isFalse);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			Label resetFalseBranch = new Label();
+			Label clear = new Label();
+			this.getField(code, "conditionEvaluation", id, "Z");
+			code.jump(IFEQ, resetFalseBranch);
+			this.callReset(code, trueBranch);
+			code.jump(GOTO, clear);
+			code.mark(resetFalseBranch);
+			if (falseBranch >= 0) {
+				this.callReset(code, falseBranch);
+			}
+			code.mark(clear);
+			this.setBoolean(code, "conditionEvaluated", id, false);
+			this.setBoolean(code, "conditionEvaluation", id, false);
+			this.setBoolean(code, "forceFinished", id, false);
+			code.op(RETURN, 0);
+			code.end();
+
+			this.forceFinishFlag(id);
+		}
+
+
+		private void waitStatement(int id, Wait wait) {
+			this.field("waitTime", id, "D");
+			this.field("waitTimeEvaluated", id, "Z");
+			this.field("timeWaited", id, "D");
+
+			Code code = this.method("advance", id, "(D)D", 5);
+			Label evaluated = new Label();
+			Label timeLeft = new Label();
+			this.getField(code, "waitTimeEvaluated", id, "Z");
+			code.jump(IFNE, evaluated);
+			code.local(ALOAD, 0);
+			this.doubleExpression(code, wait.getDuration());
+			this.putField(code, "waitTime", id, "D");
+			this.setBoolean(code, "waitTimeEvaluated", id, true);
+			code.mark(evaluated);
+			this.getField(code, "waitTime", id, "D");
+			this.getField(code, "timeWaited", id, "D");
+			code.op(DSUB, -2);
+			code.local(DSTORE, 3);
+			code.local(ALOAD, 0);
+			this.getField(code, "timeWaited", id, "D");
+			code.local(DLOAD, 1);
+			code.op(DADD, -2);
+			this.putField(code, "timeWaited", id, "D");
+			code.local(DLOAD, 1);
+			code.local(DLOAD, 3);
+			code.op(DCMPG, -3);
+			code.jump(IFGE, timeLeft);
+			code.dconst(0);
+			code.op(DRETURN, -2);
+			code.mark(timeLeft);
+			code.local(DLOAD, 1);
+			code.local(DLOAD, 3);
+			code.op(DSUB, -2);
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			Label isTrue = new Label();
+			Label isFalse = new Label();
+			this.getField(code, "waitTimeEvaluated", id, "Z");
+			code.jump(IFEQ, isFalse);
+			this.getField(code, "timeWaited", id, "D");
+			this.getField(code, "waitTime", id, "D");
+			code.op(DCMPL, -3);
+			code.jump(IFLT, isFalse);
+			this.returnBoolean(code, isTrue, isFalse);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			code.local(ALOAD, 0);
+			code.dconst(0);
+			this.putField(code, "timeWaited", id, "D");
+			this.setBoolean(code, "waitTimeEvaluated", id, false);
+			code.op(RETURN, 0);
+			code.end();
+
+			code = this.method("forceFinish", id, "()V", 1);
+			this.setBoolean(code, "waitTimeEvaluated", id, true);
+			code.local(ALOAD, 0);
+			this.getField(code, "waitTime", id, "D");
+			this.putField(code, "timeWaited", id, "D");
+			code.op(RETURN, 0);
+			code.end();
+		}
+
+
+		private void forEachLoop(int id, ForEachLoop loop) {
+			int body = this.statement(loop.getBody());
+			this.field("objects", id, "Ljava/util/List;");
+			this.field("index", id, "I");
+
+			Code code = this.method("advance", id, "(D)D", 5);
+			Label assign = new Label();
+			Label finished = new Label();
+			Label done = new Label();
+			this.callFinished(code, id);
+			code.jump(IFNE, finished);
+			this.getField(code, "objects", id, "Ljava/util/List;");
+			code.jump(IFNONNULL, assign);
+			code.local(ALOAD, 0);
+			this.loadConstant(code, loop, forEachLoopName);
+			this.loadContext(code);
+			code.invoke(INVOKEVIRTUAL, forEachLoopName, "selectObjects", contextDescriptor + "Ljava/util/List;");
+			this.putField(code, "objects", id, "Ljava/util/List;");
+			code.local(ALOAD, 0);
+			code.iconst(0);
+			this.putField(code, "index", id, "I");
+			this.callFinished(code, id);
+			code.jump(IFEQ, assign);
+			code.mark(finished);
+			code.local(DLOAD, 1);
+			code.op(DRETURN, -2);
+			code.mark(assign);
+			this.loadGlobals(code);
+			code.iconst(loop.getSlot());
+			this.getField(code, "objects", id, "Ljava/util/List;");
+			this.getField(code, "index", id, "I");
+			code.invoke(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;");
+			code.invoke(INVOKEVIRTUAL, globalsName, "set", "(ILjava/lang/Object;)V");
+			code.local(ALOAD, 0);
+			code.local(DLOAD, 1);
+			this.callAdvance(code, body);
+			code.local(DSTORE, 3);
+			this.callFinished(code, body);
+			code.jump(IFEQ, done);
+			code.local(ALOAD, 0);
+			this.getField(code, "index", id, "I");
+			code.iconst(1);
+			code.op(IADD, -1);
+			this.putField(code, "index", id, "I");
+			this.callReset(code, body);
+			code.mark(done);
+			code.local(DLOAD, 3);
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			Label isTrue = new Label();
+			Label isFalse = new Label();
+			this.getField(code, "objects", id, "Ljava/util/List;");
+			code.jump(IFNULL, isFalse);
+			this.getField(code, "index", id, "I");
+			this.getField(code, "objects", id, "Ljava/util/List;");
+			code.invoke(INVOKEINTERFACE, "java/util/List", "size", "()I");
+			code.jump(IF_ICMPLT, isFalse);
+			this.returnBoolean(code, isTrue, isFalse);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			code.local(ALOAD, 0);
+			code.op(ACONST_NULL, 1);
+			this.putField(code, "objects", id, "Ljava/util/List;");
+			code.local(ALOAD, 0);
+			code.iconst(0);
+			this.putField(code, "index", id, "I");
+			code.op(RETURN, 0);
+			code.end();
+
+			code = this.method("forceFinish", id, "()V", 1);
+			code.local(ALOAD, 0);
+			code.invoke(INVOKESTATIC, "java/util/Collections", "emptyList", "()Ljava/util/List;");
+			this.putField(code, "objects", id, "Ljava/util/List;");
+			code.local(ALOAD, 0);
+			code.iconst(0);
+			this.putField(code, "index", id, "I");
+			code.op(RETURN, 0);
+			code.end();
+		}
+
+
+		private void simpleStatement(int id, SimpleStatement statement) {
+			this.field("completed", id, "Z");
+
+			Code code = this.method("advance", id, "(D)D", 3);
+			Label run = new Label();
+			code.local(DLOAD, 1);
+			code.dconst(Statement.defaultTime);
+			code.op(DCMPG, -3);
+			code.jump(IFGE, run);
+			code.local(DLOAD, 1);
+			code.op(DRETURN, -2);
+			code.mark(run);
+			this.run(code, statement);
+			this.setBoolean(code, "completed", id, true);
+			code.local(DLOAD, 1);
+			code.dconst(Statement.defaultTime);
+			code.op(DSUB, -2);
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			this.getField(code, "completed", id, "Z");
+			code.op(IRETURN, -1);
+			code.end();
+
+			code = this.method("reset", id, "()V", 1);
+			this.setBoolean(code, "completed", id, false);
+			code.op(RETURN, 0);
+			code.end();
+
+			code = this.method("forceFinish", id, "()V", 1);
+			this.setBoolean(code, "completed", id, true);
+			code.op(RETURN, 0);
+			code.end();
+		}
+
+		/**
+		 * Writes the body of the given simple statement.
+		 */
+		private void run(Code code, SimpleStatement statement) {
+			if (statement instanceof Assignment && ((Assignment) statement).getSlot() >= 0) {
+				Assignment assignment = (Assignment) statement;
+				this.loadGlobals(code);
+				code.iconst(assignment.getSlot());
+				if (this.globals.isDoubleSlot(assignment.getSlot())) {
+					this.doubleExpression(code, assignment.getValue());
+					code.invoke(INVOKEVIRTUAL, globalsName, "setDouble", "(ID)V");
+				} else {
+					this.expression(code, assignment.getValue());
+					code.invoke(INVOKEVIRTUAL, globalsName, "set", "(ILjava/lang/Object;)V");
+				}
+			} else if (statement instanceof Break) {
+				Statement ancestor = statement.getParent();
+				while (ancestor != null) {
+					this.callForceFinish(code, this.ids.get(ancestor));
+					if (ancestor.isBreakable()) {
+						break;
+					}
+					ancestor = ancestor.getParent();
+				}
+			} else {
+				this.loadConstant(code, statement, simpleStatementName);
+				this.loadContext(code);
+				code.invoke(INVOKEVIRTUAL, simpleStatementName, "execute", contextDescriptor + "V");
+			}
+		}
+
+
+		/**
+		 * Compiles a statement the compiler doesn't know to calls of its own methods.
+		 */
+		private void interpretedStatement(int id, Statement statement) {
+			Code code = this.method("advance", id, "(D)D", 3);
+			this.loadConstant(code, statement, statementName);
+			code.local(DLOAD, 1);
+			this.loadContext(code);
+			code.invoke(INVOKEINTERFACE, statementName, "advanceTime", "(DLjava/util/Map;" + callStackDescriptor + ")D");
+			code.op(DRETURN, -2);
+			code.end();
+
+			code = this.method("finished", id, "()Z", 1);
+			this.loadConstant(code, statement, statementName);
+			this.loadCallStack(code);
+			code.invoke(INVOKEINTERFACE, statementName, "isFinished", "(" + callStackDescriptor + ")Z");
+			code.op(IRETURN, -1);
+			code.end();
+
+			for (String method : new String[] { "reset", "forceFinish" }) {
+				code = this.method(method, id, "()V", 1);
+				this.loadConstant(code, statement, statementName);
+				this.loadCallStack(code);
+				code.invoke(INVOKEINTERFACE, statementName, method, "(" + callStackDescriptor + ")V");
+				code.op(RETURN, 0);
+				code.end();
+			}
+		}
+
+		/**
+		 * Writes the forceFinish method of a statement that only sets its forceFinished field.
+		 */
+		private void forceFinishFlag(int id) {
+			Code code = this.method("forceFinish", id, "()V", 1);
+			this.setBoolean(code, "forceFinished", id, true);
+			code.op(RETURN, 0);
+			code.end();
+		}
+
+
+		/*
+		 * Expressions
+		 */
+
+		/**
+		 * Writes instructions pushing the value of the given expression as an object.
+		 */
+		private void expression(Code code, Expression<?> expression) {
+			if (expression instanceof Variable && ((Variable<?>) expression).getSlot() >= 0) {
+				this.loadGlobals(code);
+				code.iconst(((Variable<?>) expression).getSlot());
+				code.invoke(INVOKEVIRTUAL, globalsName, "get", "(I)Ljava/lang/Object;");
+			} else if (expression instanceof Value) {
+				Object value = ((Value<?>) expression).getValue();
+				if (value == null) {
+					code.op(ACONST_NULL, 1);
+				} else {
+					this.loadConstant(code, value, null);
+				}
+			} else if (expression instanceof DoubleExpression) {
+				this.doubleExpression(code, expression);
+				code.invoke(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;");
+			} else if (expression instanceof BooleanExpression) {
+				this.booleanExpression(code, expression);
+				code.invoke(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;");
+			} else {
+				this.loadConstant(code, expression, expressionName);
+				this.loadContext(code);
+				code.invoke(INVOKEINTERFACE, expressionName, "evaluate", contextDescriptor + "Ljava/lang/Object;");
+			}
+		}
+
+
+		/**
+		 * Writes instructions pushing the value of the given expression as a double.
+		 */
+		private void doubleExpression(Code code, Expression<?> expression) {
+			if (expression instanceof Value && ((Value<?>) expression).getValue() instanceof Double) {
+				code.dconst((Double) ((Value<?>) expression).getValue());
+			} else if (expression instanceof Variable && ((Variable<?>) expression).getSlot() >= 0) {
+				this.loadGlobals(code);
+				code.iconst(((Variable<?>) expression).getSlot());
+				code.invoke(INVOKEVIRTUAL, globalsName, "getDouble", "(I)D");
+			} else if (expression instanceof ArithmeticOperation) {
+				ArithmeticOperation operation = (ArithmeticOperation) expression;
+				this.doubleExpression(code, operation.getLeft());
+				this.doubleExpression(code, operation.getRight());
+				if (operation instanceof ArithmeticOperation.Addition) {
+					code.op(DADD, -2);
+				} else if (operation instanceof ArithmeticOperation.Subtraction) {
+					code.op(DSUB, -2);
+				} else if (operation instanceof ArithmeticOperation.Multiplication) {
+					code.op(DMUL, -2);
+				} else {
+					code.op(DDIV, -2);
+				}
+			} else if (expression instanceof SquareRoot) {
+				this.doubleExpression(code, ((SquareRoot) expression).getOperand());
+				code.invoke(INVOKESTATIC, "java/lang/Math", "sqrt", "(D)D");
+			} else {
+				this.loadConstant(code, expression, expressionName);
+				this.loadContext(code);
+				code.invoke(INVOKEINTERFACE, expressionName, "evaluateDouble", contextDescriptor + "D");
+			}
+		}
+
+
+		/**
+		 * Writes instructions pushing the value of the given expression as a boolean.
+		 */
+		private void booleanExpression(Code code, Expression<?> expression) {
+			if (expression instanceof Value && ((Value<?>) expression).getValue() instanceof Boolean) {
+				code.iconst((Boolean) ((Value<?>) expression).getValue() ? 1 : 0);
+			} else if (expression instanceof Variable && ((Variable<?>) expression).getSlot() >= 0) {
+				this.expression(code, expression);
+				code.invoke(INVOKESTATIC, compiledProgramName, "toBoolean", "(Ljava/lang/Object;)Z");
+			} else if (expression instanceof Comparison) {
+				Comparison comparison = (Comparison) expression;
+				Label isFalse = new Label();
+				this.doubleExpression(code, comparison.getLeft());
+				this.doubleExpression(code, comparison.getRight());
+				if (comparison instanceof Comparison.LessThan) {
+					code.op(DCMPG, -3);
+					code.jump(IFGE, isFalse);
+				} else if (comparison instanceof Comparison.LessThanOrEqualTo) {
+					code.op(DCMPG, -3);
+					code.jump(IFGT, isFalse);
+				} else if (comparison instanceof Comparison.GreaterThan) {
+					code.op(DCMPL, -3);
+					code.jump(IFLE, isFalse);
+				} else {
+					code.op(DCMPL, -3);
+					code.jump(IFLT, isFalse);
+				}
+				this.pushBooleanUnless(code, isFalse);
+			} else if (expression instanceof LogicalOperation.And) {
+				LogicalOperation operation = (LogicalOperation) expression;
+				Label isFalse = new Label();
+				this.booleanExpression(code, operation.getLeft());
+				code.jump(IFEQ, isFalse);
+				this.booleanExpression(code, operation.getRight());
+				code.jump(IFEQ, isFalse);
+				this.pushBooleanUnless(code, isFalse);
+			} else if (expression instanceof LogicalOperation.Or) {
+				LogicalOperation operation = (LogicalOperation) expression;
+				Label isTrue = new Label();
+				Label end = new Label();
+				this.booleanExpression(code, operation.getLeft());
+				code.jump(IFNE, isTrue);
+				this.booleanExpression(code, operation.getRight());
+				code.jump(IFNE, isTrue);
+				code.iconst(0);
+				code.jump(GOTO, end);
+				code.mark(isTrue);
+				code.iconst(1);
+				code.mark(end);
+			} else if (expression instanceof Negation) {
+				this.booleanExpression(code, ((Negation) expression).getOperand());
+				code.iconst(1);
+				code.op(IXOR, -1);
+			} else {
+				this.loadConstant(code, expression, expressionName);
+				this.loadContext(code);
+				code.invoke(INVOKEINTERFACE, expressionName, "evaluateBoolean", contextDescriptor + "Z");
+			}
+		}
+	}
+}
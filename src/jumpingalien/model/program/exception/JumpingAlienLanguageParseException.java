@@ -12,4 +12,8 @@ public class JumpingAlienLanguageParseException extends RuntimeException {
 	public JumpingAlienLanguageParseException(SourceLocation location) {
 		super("Parse error at: " + location.toString() + ".");
 	}
+	
+	public JumpingAlienLanguageParseException(String message, SourceLocation location) {
+		super((location != null) ? message + " at: " + location.toString() + "." : message);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing a binary arithmetic operation on doubles. Every operator is
+ * its own final subclass, so a tree of arithmetic operations can be evaluated without
+ * boxing and without calling through a shared function object.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class ArithmeticOperation extends DoubleExpression {
+	
+	/**
+	 * The left operand of this operation.
+	 */
+	protected final Expression<Double> left;
+	
+	/**
+	 * The right operand of this operation.
+	 */
+	protected final Expression<Double> right;
+	
+	
+	/**
+	 * Constructs a new arithmetic operation with the given operands.
+	 * 
+	 * @param left
+	 * 			The left operand.
+	 * 
+	 * @param right
+	 * 			The right operand.
+	 */
+	protected ArithmeticOperation(Expression<Double> left, Expression<Double> right) {
+		this.left = left;
+		this.right = right;
+	}
+	
+	
+	/**
+	 * Returns the left operand of this operation.
+	 */
+	public Expression<Double> getLeft() {
+		return this.left;
+	}
+	
+	
+	/**
+	 * Returns the right operand of this operation.
+	 */
+	public Expression<Double> getRight() {
+		return this.right;
+	}
+	
+	
+	
+	/**
+	 * A class representing the sum of two doubles.
+	 */
+	public static final class Addition extends ArithmeticOperation {
+		
+		public Addition(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) + this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing the difference of two doubles.
+	 */
+	public static final class Subtraction extends ArithmeticOperation {
+		
+		public Subtraction(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) - this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing the product of two doubles.
+	 */
+	public static final class Multiplication extends ArithmeticOperation {
+		
+		public Multiplication(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) * this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing the quotient of two doubles.
+	 */
+	public static final class Division extends ArithmeticOperation {
+		
+		public Division(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) / this.right.evaluateDouble(globals, callStack);
+		}
+	}
+}
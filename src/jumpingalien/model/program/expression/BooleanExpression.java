@@ -0,0 +1,28 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing an expression of type bool. Its result is computed as a
+ * primitive boolean.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class BooleanExpression implements Expression<Boolean> {
+	
+	@Override
+	public abstract boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack);
+	
+	
+	/**
+	 * Evaluates this expression and boxes its result.
+	 * 
+	 * @return | this.evaluateBoolean(globals, callStack)
+	 */
+	@Override
+	public final Boolean evaluate(Map<String, Object> globals, CallStack callStack) {
+		return this.evaluateBoolean(globals, callStack);
+	}
+}
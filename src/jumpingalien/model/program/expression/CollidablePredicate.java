@@ -0,0 +1,199 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.Collidable;
+import jumpingalien.model.gameobject.GameObject;
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
+import jumpingalien.model.program.statement.CallStack;
+import jumpingalien.model.world.Tile;
+import jumpingalien.model.world.TileType;
+
+/**
+ * A class representing a predicate on the kind of a collidable. Every predicate is its own final
+ * subclass, which also tells for which classes of game objects and types of tiles it can
+ * hold, so a foreach statement can look up its objects in the indexes of the world.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class CollidablePredicate extends BooleanExpression {
+
+	/**
+	 * The expression for the collidable to test.
+	 */
+	private final Expression<?> operand;
+
+
+	/**
+	 * Constructs a new test of the given collidable.
+	 *
+	 * @param operand
+	 * 			The expression for the collidable.
+	 */
+	protected CollidablePredicate(Expression<?> operand) {
+		this.operand = operand;
+	}
+
+
+	/**
+	 * Returns the expression for the collidable to test.
+	 */
+	public Expression<?> getOperand() {
+		return this.operand;
+	}
+
+
+	@Override
+	public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+		return this.test(this.operand.evaluate(globals, callStack));
+	}
+
+
+	/**
+	 * Returns whether the given object passes this test.
+	 *
+	 * @param object
+	 * 			The object to test.
+	 */
+	protected abstract boolean test(Object object);
+
+
+	/**
+	 * Returns whether this test can hold for a game object of the given class.
+	 *
+	 * @param cls
+	 * 			The class of the game object.
+	 */
+	public abstract boolean canHoldFor(Class<? extends GameObject> cls);
+
+
+	/**
+	 * Returns whether this test can hold for a tile of the given type.
+	 *
+	 * @param type
+	 * 			The type of the tile.
+	 */
+	public abstract boolean canHoldFor(TileType type);
+
+
+
+	/**
+	 * A class representing whether an object is a game object of a given class.
+	 * Game objects of subclasses of the class don't pass this test.
+	 */
+	public static final class IsGameObjectOfClass extends CollidablePredicate {
+
+		/**
+		 * The class of the game objects passing this test.
+		 */
+		private final Class<? extends GameObject> cls;
+
+		public IsGameObjectOfClass(Expression<?> operand, Class<? extends GameObject> cls) {
+			super(operand);
+			this.cls = cls;
+		}
+
+		@Override
+		protected boolean test(Object object) {
+			return (object != null) && (object.getClass() == this.cls);
+		}
+
+		@Override
+		public boolean canHoldFor(Class<? extends GameObject> cls) {
+			return cls == this.cls;
+		}
+
+		@Override
+		public boolean canHoldFor(TileType type) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * A class representing whether an object is a tile.
+	 */
+	public static final class IsTerrain extends CollidablePredicate {
+
+		public IsTerrain(Expression<?> operand) {
+			super(operand);
+		}
+
+		@Override
+		protected boolean test(Object object) {
+			return object instanceof Tile;
+		}
+
+		@Override
+		public boolean canHoldFor(Class<? extends GameObject> cls) {
+			return false;
+		}
+
+		@Override
+		public boolean canHoldFor(TileType type) {
+			return true;
+		}
+	}
+
+
+	/**
+	 * A class representing whether an object is a tile of a given type.
+	 */
+	public static final class IsTileOfType extends CollidablePredicate {
+
+		/**
+		 * The type of the tiles passing this test.
+		 */
+		private final TileType type;
+
+		public IsTileOfType(Expression<?> operand, TileType type) {
+			super(operand);
+			this.type = type;
+		}
+
+		@Override
+		protected boolean test(Object object) {
+			return (object instanceof Tile) && ((Tile) object).getType() == this.type;
+		}
+
+		@Override
+		public boolean canHoldFor(Class<? extends GameObject> cls) {
+			return false;
+		}
+
+		@Override
+		public boolean canHoldFor(TileType type) {
+			return type == this.type;
+		}
+	}
+
+
+	/**
+	 * A class representing whether a collidable is passable. Whether a game object is
+	 * passable differs per object, so this test can hold for game objects of every class.
+	 */
+	public static final class IsPassable extends CollidablePredicate {
+
+		public IsPassable(Expression<? extends Collidable> operand) {
+			super(operand);
+		}
+
+		@Override
+		protected boolean test(Object object) {
+			if (object == null) {
+				throw new JumpingAlienLanguageRuntimeException("Cannot get a property of null.");
+			}
+			return ((Collidable) object).isPassable();
+		}
+
+		@Override
+		public boolean canHoldFor(Class<? extends GameObject> cls) {
+			return true;
+		}
+
+		@Override
+		public boolean canHoldFor(TileType type) {
+			return type.isPassable();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.Collidable;
+import jumpingalien.model.gameobject.GameObject;
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing a numeric property of a collidable. Every property is its own
+ * final subclass reading the property directly, without creating vectors or boxing it.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class CollidableProperty extends DoubleExpression {
+	
+	/**
+	 * The expression for the collidable to get the property of.
+	 */
+	private final Expression<? extends Collidable> operand;
+	
+	
+	/**
+	 * Constructs a new property of the given collidable.
+	 * 
+	 * @param operand
+	 * 			The expression for the collidable.
+	 */
+	protected CollidableProperty(Expression<? extends Collidable> operand) {
+		this.operand = operand;
+	}
+	
+	
+	/**
+	 * Returns the expression for the collidable to get the property of.
+	 */
+	public Expression<? extends Collidable> getOperand() {
+		return this.operand;
+	}
+	
+	
+	/**
+	 * Evaluates the operand of this property.
+	 * 
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			The operand evaluates to null.
+	 */
+	protected Collidable evaluateOperand(Map<String, Object> globals, CallStack callStack)
+			throws JumpingAlienLanguageRuntimeException {
+		Collidable collidable = this.operand.evaluate(globals, callStack);
+		if (collidable == null) {
+			throw new JumpingAlienLanguageRuntimeException("Cannot get a property of null.");
+		}
+		return collidable;
+	}
+	
+	
+	
+	/**
+	 * A class representing the x-coordinate in pixels of a collidable.
+	 */
+	public static final class GetX extends CollidableProperty {
+		
+		public GetX(Expression<? extends Collidable> operand) {
+			super(operand);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.evaluateOperand(globals, callStack).getPixelX();
+		}
+	}
+	
+	
+	/**
+	 * A class representing the y-coordinate in pixels of a collidable.
+	 */
+	public static final class GetY extends CollidableProperty {
+		
+		public GetY(Expression<? extends Collidable> operand) {
+			super(operand);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.evaluateOperand(globals, callStack).getPixelY();
+		}
+	}
+	
+	
+	/**
+	 * A class representing the width in pixels of a collidable.
+	 */
+	public static final class GetWidth extends CollidableProperty {
+		
+		public GetWidth(Expression<? extends Collidable> operand) {
+			super(operand);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.evaluateOperand(globals, callStack).getPixelWidth();
+		}
+	}
+	
+	
+	/**
+	 * A class representing the height in pixels of a collidable.
+	 */
+	public static final class GetHeight extends CollidableProperty {
+		
+		public GetHeight(Expression<? extends Collidable> operand) {
+			super(operand);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			return this.evaluateOperand(globals, callStack).getPixelHeight();
+		}
+	}
+	
+	
+	/**
+	 * A class representing the hit points of a game object.
+	 */
+	public static final class GetHitPoints extends CollidableProperty {
+		
+		public GetHitPoints(Expression<? extends GameObject> operand) {
+			super(operand);
+		}
+		
+		@Override
+		public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+			Collidable collidable = this.evaluateOperand(globals, callStack);
+			if (!(collidable instanceof GameObject)) {
+				throw new JumpingAlienLanguageRuntimeException("Cannot get the hit points of a tile.");
+			}
+			return ((GameObject) collidable).getHealth();
+		}
+	}
+}
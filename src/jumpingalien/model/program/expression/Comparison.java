@@ -0,0 +1,120 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing the comparison of two doubles. Every comparison operator is
+ * its own final subclass evaluating to a primitive boolean.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class Comparison extends BooleanExpression {
+	
+	/**
+	 * The left operand of this comparison.
+	 */
+	protected final Expression<Double> left;
+	
+	/**
+	 * The right operand of this comparison.
+	 */
+	protected final Expression<Double> right;
+	
+	
+	/**
+	 * Constructs a new comparison of the given operands.
+	 * 
+	 * @param left
+	 * 			The left operand.
+	 * 
+	 * @param right
+	 * 			The right operand.
+	 */
+	protected Comparison(Expression<Double> left, Expression<Double> right) {
+		this.left = left;
+		this.right = right;
+	}
+	
+	
+	/**
+	 * Returns the left operand of this comparison.
+	 */
+	public Expression<Double> getLeft() {
+		return this.left;
+	}
+	
+	
+	/**
+	 * Returns the right operand of this comparison.
+	 */
+	public Expression<Double> getRight() {
+		return this.right;
+	}
+	
+	
+	
+	/**
+	 * A class representing whether a double is less than another double.
+	 */
+	public static final class LessThan extends Comparison {
+		
+		public LessThan(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) < this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing whether a double is less than or equal to another double.
+	 */
+	public static final class LessThanOrEqualTo extends Comparison {
+		
+		public LessThanOrEqualTo(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) <= this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing whether a double is greater than another double.
+	 */
+	public static final class GreaterThan extends Comparison {
+		
+		public GreaterThan(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) > this.right.evaluateDouble(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing whether a double is greater than or equal to another double.
+	 */
+	public static final class GreaterThanOrEqualTo extends Comparison {
+		
+		public GreaterThanOrEqualTo(Expression<Double> left, Expression<Double> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateDouble(globals, callStack) >= this.right.evaluateDouble(globals, callStack);
+		}
+	}
+}
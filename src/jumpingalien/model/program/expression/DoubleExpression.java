@@ -0,0 +1,28 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing an expression of type double. Its result is computed as a
+ * primitive double and only boxed when it's asked for as an object.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class DoubleExpression implements Expression<Double> {
+	
+	@Override
+	public abstract double evaluateDouble(Map<String, Object> globals, CallStack callStack);
+	
+	
+	/**
+	 * Evaluates this expression and boxes its result.
+	 * 
+	 * @return | this.evaluateDouble(globals, callStack)
+	 */
+	@Override
+	public final Double evaluate(Map<String, Object> globals, CallStack callStack) {
+		return this.evaluateDouble(globals, callStack);
+	}
+}
@@ -2,6 +2,7 @@ package jumpingalien.model.program.expression;
 
 import java.util.Map;
 
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
 import jumpingalien.model.program.statement.CallStack;
 
 /**
@@ -27,4 +28,54 @@ public interface Expression<T> {
 	 * @return The result evaluating this expression.
 	 */
 	T evaluate(Map<String, Object> globals, CallStack callStack);
+	
+	
+	/**
+	 * Recursively evaluates this expression as a double. Expressions of type double
+	 * override this to evaluate without boxing their result.
+	 * 
+	 * @param globals
+	 * 			The global variables to be used in the expression.
+	 * 
+	 * @param callStack
+	 * 			The call stack for this expression.
+	 * 
+	 * @return The result of evaluating this expression.
+	 * 			| (Double) this.evaluate(globals, callStack)
+	 * 
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			This expression doesn't evaluate to a double.
+	 */
+	default double evaluateDouble(Map<String, Object> globals, CallStack callStack) throws JumpingAlienLanguageRuntimeException {
+		Object result = this.evaluate(globals, callStack);
+		if (!(result instanceof Double)) {
+			throw new JumpingAlienLanguageRuntimeException("Expected a double but got " + result + ".");
+		}
+		return (Double) result;
+	}
+	
+	
+	/**
+	 * Recursively evaluates this expression as a boolean. Expressions of type bool
+	 * override this to evaluate without boxing their result.
+	 * 
+	 * @param globals
+	 * 			The global variables to be used in the expression.
+	 * 
+	 * @param callStack
+	 * 			The call stack for this expression.
+	 * 
+	 * @return The result of evaluating this expression.
+	 * 			| (Boolean) this.evaluate(globals, callStack)
+	 * 
+	 * @throws JumpingAlienLanguageRuntimeException
+	 * 			This expression doesn't evaluate to a boolean.
+	 */
+	default boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) throws JumpingAlienLanguageRuntimeException {
+		Object result = this.evaluate(globals, callStack);
+		if (!(result instanceof Boolean)) {
+			throw new JumpingAlienLanguageRuntimeException("Expected a boolean but got " + result + ".");
+		}
+		return (Boolean) result;
+	}
 }
@@ -0,0 +1,88 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing a binary logical operation on booleans. Every operator is its
+ * own final subclass, and the right operand is only evaluated when it decides the result.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class LogicalOperation extends BooleanExpression {
+	
+	/**
+	 * The left operand of this operation.
+	 */
+	protected final Expression<Boolean> left;
+	
+	/**
+	 * The right operand of this operation.
+	 */
+	protected final Expression<Boolean> right;
+	
+	
+	/**
+	 * Constructs a new logical operation with the given operands.
+	 * 
+	 * @param left
+	 * 			The left operand.
+	 * 
+	 * @param right
+	 * 			The right operand.
+	 */
+	protected LogicalOperation(Expression<Boolean> left, Expression<Boolean> right) {
+		this.left = left;
+		this.right = right;
+	}
+	
+	
+	/**
+	 * Returns the left operand of this operation.
+	 */
+	public Expression<Boolean> getLeft() {
+		return this.left;
+	}
+	
+	
+	/**
+	 * Returns the right operand of this operation.
+	 */
+	public Expression<Boolean> getRight() {
+		return this.right;
+	}
+	
+	
+	
+	/**
+	 * A class representing the conjunction of two booleans.
+	 */
+	public static final class And extends LogicalOperation {
+		
+		public And(Expression<Boolean> left, Expression<Boolean> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateBoolean(globals, callStack) && this.right.evaluateBoolean(globals, callStack);
+		}
+	}
+	
+	
+	/**
+	 * A class representing the disjunction of two booleans.
+	 */
+	public static final class Or extends LogicalOperation {
+		
+		public Or(Expression<Boolean> left, Expression<Boolean> right) {
+			super(left, right);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+			return this.left.evaluateBoolean(globals, callStack) || this.right.evaluateBoolean(globals, callStack);
+		}
+	}
+}
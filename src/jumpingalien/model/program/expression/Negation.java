@@ -0,0 +1,43 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing the negation of a boolean.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public final class Negation extends BooleanExpression {
+	
+	/**
+	 * The operand of this negation.
+	 */
+	private final Expression<Boolean> operand;
+	
+	
+	/**
+	 * Constructs a new negation of the given operand.
+	 * 
+	 * @param operand
+	 * 			The expression to negate.
+	 */
+	public Negation(Expression<Boolean> operand) {
+		this.operand = operand;
+	}
+	
+	
+	/**
+	 * Returns the operand of this negation.
+	 */
+	public Expression<Boolean> getOperand() {
+		return this.operand;
+	}
+	
+	
+	@Override
+	public boolean evaluateBoolean(Map<String, Object> globals, CallStack callStack) {
+		return !this.operand.evaluateBoolean(globals, callStack);
+	}
+}
@@ -0,0 +1,43 @@
+package jumpingalien.model.program.expression;
+
+import java.util.Map;
+
+import jumpingalien.model.program.statement.CallStack;
+
+/**
+ * A class representing the square root of a double.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public final class SquareRoot extends DoubleExpression {
+	
+	/**
+	 * The operand of this square root.
+	 */
+	private final Expression<Double> operand;
+	
+	
+	/**
+	 * Constructs a new square root of the given operand.
+	 * 
+	 * @param operand
+	 * 			The expression to take the square root of.
+	 */
+	public SquareRoot(Expression<Double> operand) {
+		this.operand = operand;
+	}
+	
+	
+	/**
+	 * Returns the operand of this square root.
+	 */
+	public Expression<Double> getOperand() {
+		return this.operand;
+	}
+	
+	
+	@Override
+	public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+		return Math.sqrt(this.operand.evaluateDouble(globals, callStack));
+	}
+}
@@ -26,6 +26,13 @@ public class Value<T> implements Expression<T> {
 		this.val = val;
 	}
 
+	/**
+	 * Returns the stored value.
+	 */
+	public T getValue() {
+		return this.val;
+	}
+
 	/**
 	 * Returns the stored value.
 	 * 
@@ -2,16 +2,24 @@ package jumpingalien.model.program.expression;
 
 import java.util.Map;
 
+import jumpingalien.model.program.GlobalVariables;
+import jumpingalien.model.program.VariableReference;
 import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
 import jumpingalien.model.program.statement.CallStack;
 
 /**
  * A class representing the value of a variable.
  */
-public class Variable<R> implements Expression<R> {
+public class Variable<R> implements Expression<R>, VariableReference {
 	
 	private final String identifier;
 	
+	/**
+	 * The slot of this variable in the global variables of its program, or -1 if
+	 * this variable hasn't been resolved.
+	 */
+	private int slot = -1;
+	
 	/**
 	 * Constructs a new Variable.
 	 * 
@@ -21,10 +29,39 @@ public class Variable<R> implements Expression<R> {
 	public Variable(String id) {
 		this.identifier = id;
 	}
+	
+	@Override
+	public String getIdentifier() {
+		return this.identifier;
+	}
+	
+	@Override
+	public void resolveSlot(int slot) {
+		this.slot = slot;
+	}
+	
+	/**
+	 * Returns the slot of this variable, or -1 if this variable hasn't been resolved.
+	 */
+	public int getSlot() {
+		return this.slot;
+	}
+
+	@Override
+	public double evaluateDouble(Map<String, Object> globals, CallStack callStack) {
+		if (this.slot >= 0 && globals instanceof GlobalVariables) {
+			return ((GlobalVariables) globals).getDouble(this.slot);
+		}
+		return Expression.super.evaluateDouble(globals, callStack);
+	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public R evaluate(Map<String, Object> globals, CallStack callStack) {
+		if (this.slot >= 0 && globals instanceof GlobalVariables) {
+			return (R)((GlobalVariables) globals).get(this.slot);
+		}
+		
 		if (!globals.containsKey(this.identifier)) {
 			throw new JumpingAlienLanguageRuntimeException("Undefined identifier '" + this.identifier + "'.");
 		}
@@ -0,0 +1,65 @@
+package jumpingalien.model.program.statement;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class implementing the link from a statement to the statement it is nested in, and
+ * the slot of its state in the call stack of the program executing it.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public abstract class AbstractStatement implements Statement {
+	
+	/**
+	 * The statement this statement is nested in.
+	 */
+	private Statement parent = null;
+	
+	/**
+	 * The slot of the state of this statement in a call stack.
+	 */
+	private int stateSlot = -1;
+	
+	
+	@Override
+	@Basic
+	public Statement getParent() {
+		return this.parent;
+	}
+	
+	
+	@Override
+	public void setParent(Statement parent) {
+		this.parent = parent;
+	}
+	
+	
+	@Override
+	@Basic
+	public int getStateSlot() {
+		return this.stateSlot;
+	}
+	
+	
+	@Override
+	public int resolveStateSlots(int firstSlot) {
+		this.stateSlot = firstSlot;
+		int nextSlot = firstSlot + 1;
+		for (Statement child : this.getChildren()) {
+			nextSlot = child.resolveStateSlots(nextSlot);
+		}
+		return nextSlot;
+	}
+	
+	
+	/**
+	 * Returns the state of this statement in the given call stack.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <S> S getState(CallStack callStack) {
+		return (S) callStack.getState(this.stateSlot);
+	}
+}
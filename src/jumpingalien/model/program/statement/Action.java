@@ -3,12 +3,7 @@ package jumpingalien.model.program.statement;
 public interface Action extends Statement {
 
 	@Override 
-	default boolean isWellFormed(CallStack callStack) {
-		for (Statement statement : callStack) {
-			if (!statement.isActionAllowed()) {
-				return false;
-			}
-		}
-		return true;
+	default boolean isWellFormed() {
+		return !this.hasAncestor((statement) -> !statement.isActionAllowed());
 	}
 }
\ No newline at end of file
@@ -2,17 +2,26 @@ package jumpingalien.model.program.statement;
 
 import java.util.Map;
 
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.model.program.GlobalVariables;
+import jumpingalien.model.program.VariableReference;
 import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
 import jumpingalien.model.program.expression.Expression;
 
 /**
  * A class representing an Assignment Statement.
  */
-public class Assignment extends SimpleStatement {
+public class Assignment extends SimpleStatement implements VariableReference {
 
 	private final String identifier;
 	private final Expression<?> valueExpr;
 	
+	/**
+	 * The slot of the assigned variable in the global variables of the program, or -1
+	 * if this assignment hasn't been resolved.
+	 */
+	private int slot = -1;
+	
 	
 	
 	/**
@@ -29,6 +38,36 @@ public class Assignment extends SimpleStatement {
 		this.identifier = identifier;
 		this.valueExpr = valueExpr;
 	}
+	
+	
+	@Override
+	public String getIdentifier() {
+		return this.identifier;
+	}
+	
+	
+	@Override
+	public void resolveSlot(int slot) {
+		this.slot = slot;
+	}
+	
+	
+	/**
+	 * Returns the slot of the assigned variable, or -1 if this assignment hasn't been resolved.
+	 */
+	@Basic
+	public int getSlot() {
+		return this.slot;
+	}
+	
+	
+	/**
+	 * Returns the expression whose result is assigned.
+	 */
+	@Basic @Immutable
+	public Expression<?> getValue() {
+		return this.valueExpr;
+	}
 
 	
 	
@@ -40,9 +79,19 @@ public class Assignment extends SimpleStatement {
 	 */
 	@Override
 	protected void run(Map<String, Object> globals, CallStack callStack) {
+		if (this.slot >= 0 && globals instanceof GlobalVariables) {
+			GlobalVariables variables = (GlobalVariables) globals;
+			if (variables.isDoubleSlot(this.slot)) {
+				variables.setDouble(this.slot, valueExpr.evaluateDouble(globals, callStack));
+			} else {
+				variables.set(this.slot, valueExpr.evaluate(globals, callStack));
+			}
+			return;
+		}
+		
 		if (! globals.containsKey(this.identifier)) {
 			throw new JumpingAlienLanguageRuntimeException("Undefined identifier '" + this.identifier + "' in assignment.");
 		}
-		globals.put(this.identifier, valueExpr.evaluate(globals, this.getOwnCallStack(callStack)));
+		globals.put(this.identifier, valueExpr.evaluate(globals, callStack));
 	}
-}
\ No newline at end of file
+}
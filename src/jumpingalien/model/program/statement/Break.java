@@ -6,16 +6,11 @@ public class Break extends SimpleStatement {
 	
 	@Override
 	protected void run(Map<String, Object> globals, CallStack callStack) {
-		callStack.pop().executeBreak(callStack);
+		this.getParent().executeBreak(callStack);
 	}
 
 	@Override
-	public boolean isWellFormed(CallStack callStack) {
-		for (Statement statement : callStack) {
-			if (statement.isBreakable()) {
-				return true;
-			}
-		}
-		return false;
+	public boolean isWellFormed() {
+		return this.hasAncestor(Statement::isBreakable);
 	}
 }
\ No newline at end of file
@@ -1,60 +1,84 @@
 package jumpingalien.model.program.statement;
 
-import java.util.Stack;
-
 import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.program.LanguageProgram;
 
 /**
- * A class representing a call stack.
+ * A class representing the execution context of a program. Every program has a single
+ * call stack that is handed to all statements and expressions it executes. The statements
+ * themselves are shared by every program running them and never change while executing,
+ * so the call stack holds the state of every statement of its program, such as the
+ * statement a sequence is executing or the time a wait has waited, in the slot of that
+ * statement. The nesting of the statements is fixed when they're constructed, so breaks
+ * and well-formedness follow the parent links of the statements and the call stack doesn't
+ * record the statements being executed.
  * 
  * @author Rugen Heidbuchel, Menno Vanfrachem
  */
-@SuppressWarnings("serial")
-public class CallStack extends Stack<Statement> {
+public class CallStack {
 	
 	/**
 	 * The program calling this call stack's root statement.
 	 */
 	private final LanguageProgram program;
 	
+	/**
+	 * The state of every statement of the program, in the slot of the statement.
+	 */
+	private final Object[] states;
+	
 	
 	/**
 	 * Creates a new call stack with the given program.
 	 * 
 	 * @param program
 	 * 			The program in which the root statement is being called.
+	 * 
+	 * @pre The statements of the program have been given their slots.
+	 * 
+	 * @post Every statement of the program has its initial state in its slot.
 	 */
 	public CallStack(LanguageProgram program) {
 		this.program = program;
+		Statement mainStatement = program.getMainStatement();
+		if (mainStatement == null) {
+			this.states = new Object[0];
+		} else {
+			this.states = new Object[program.getNbStateSlots()];
+			this.createStates(mainStatement);
+		}
 	}
 	
 	
+	/**
+	 * Creates the initial state of the given statement and of all statements nested in it.
+	 */
+	private void createStates(Statement statement) {
+		this.states[statement.getStateSlot()] = statement.createState();
+		for (Statement child : statement.getChildren()) {
+			this.createStates(child);
+		}
+	}
+	
 	
 	/**
 	 * Returns the root of this call stack. This is the program in which this
 	 * call stack's root statement is being called.
 	 */
-	@Basic
+	@Basic @Immutable
 	public LanguageProgram getProgram() {
 		return this.program;
 	}
 	
 	
 	/**
-	 * Returns a new call stack created by appending the given statement.
-	 * 
-	 * @param child
-	 * 			The statement to append to the stack.
+	 * Returns the state of the statement with the given slot.
 	 * 
-	 * @return A new call stack created by appending the given statement.
-	 * 			| newStack = this.clone()
-	 * 			| newStack.push(child)
-	 * 			| return childStack
+	 * @param slot
+	 * 			The slot of the statement.
 	 */
-	public CallStack append(Statement child) {
-		CallStack childStack = (CallStack)this.clone();
-		childStack.push(child);
-		return childStack;
+	@Basic
+	public Object getState(int slot) {
+		return this.states[slot];
 	}
 }
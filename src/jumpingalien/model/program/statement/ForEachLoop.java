@@ -1,16 +1,18 @@
 package jumpingalien.model.program.statement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.Collidable;
 import jumpingalien.model.gameobject.*;
+import jumpingalien.model.program.GlobalVariables;
+import jumpingalien.model.program.VariableReference;
 import jumpingalien.model.program.expression.Expression;
 import jumpingalien.model.world.World;
 import jumpingalien.part3.programs.IProgramFactory.Kind;
@@ -21,7 +23,7 @@ import jumpingalien.part3.programs.IProgramFactory.SortDirection;
  * 
  * @author Rugen Heidbuchel, Menno Vanfrachem
  */
-public class ForEachLoop extends Loop {
+public class ForEachLoop extends Loop implements VariableReference {
 
 	private static Map<Kind, Class<? extends GameObject>> kindToClass;
 	
@@ -41,8 +43,31 @@ public class ForEachLoop extends Loop {
 	private final SortDirection sortDirection;
 	private final Statement body;
 	
-	private List<? extends Collidable> objects;
-	private int currentObjectIndex;
+	/**
+	 * The query looking up the objects this loop iterates over.
+	 */
+	private final ObjectQuery query;
+	
+	/**
+	 * Whether the body of this loop always breaks the loop in its first iteration, so
+	 * only the first of the sorted objects is needed.
+	 */
+	private final boolean usesFirstObjectOnly;
+	
+	/**
+	 * The slot of the loop variable in the global variables of the program, or -1
+	 * if this loop hasn't been resolved.
+	 */
+	private int slot = -1;
+	
+	
+	/**
+	 * The state of a for each loop in the call stack of a program.
+	 */
+	private static class State {
+		private List<? extends Collidable> objects = null;
+		private int currentObjectIndex = 0;
+	}
 
 	public ForEachLoop(Kind kind, String variable, Expression<Boolean> whereExpression,
 			Expression<Double> sortExpression, SortDirection sortDirection, Statement body) {
@@ -53,34 +78,91 @@ public class ForEachLoop extends Loop {
 		this.sortDirection = sortDirection;
 
 		this.body = body;
-		this.reset();
+		body.setParent(this);
+		
+		this.query = new ObjectQuery(kindToClass.get(kind), kind != Kind.TERRAIN,
+				kind == Kind.ANY || kind == Kind.TERRAIN, variable, whereExpression);
+		this.usesFirstObjectOnly = breaksInFirstIteration(body);
 	}
 	
 	
+	@Override
+	public String getIdentifier() {
+		return this.variable;
+	}
+	
+	
+	@Override
+	public void resolveSlot(int slot) {
+		this.slot = slot;
+	}
+	
+	
+	/**
+	 * Returns the slot of the loop variable, or -1 if this loop hasn't been resolved.
+	 */
+	@Basic
+	public int getSlot() {
+		return this.slot;
+	}
+	
+	
+	/**
+	 * Returns the statement executed for every object.
+	 */
+	@Basic @Immutable
+	public Statement getBody() {
+		return this.body;
+	}
+	
+	
+	
+	@Override
+	@Basic @Immutable
+	public List<Statement> getChildren() {
+		return Collections.singletonList(this.body);
+	}
+	
+	
+	@Override
+	public Object createState() {
+		return new State();
+	}
+	
 	
 	@Override
 	public double advanceTime(double dt, Map<String, Object> globals, CallStack callStack) {
-		if (this.isFinished()) {
+		State state = this.getState(callStack);
+		if (this.isFinished(state)) {
 			return dt;
 		}
 
-		if (this.objects == null) {
-			this.fillInObjects(globals, callStack);
+		if (state.objects == null) {
+			state.objects = this.selectObjects(globals, callStack);
+			state.currentObjectIndex = 0;
+			if (this.isFinished(state)) {
+				return dt;
+			}
 		}
 
-		assignCurrentObject(globals);
-		double timeLeft = this.body.advanceTime(dt, globals, this.getOwnCallStack(callStack));
-		if (this.body.isFinished()) {
-			this.currentObjectIndex += 1;
-			this.body.reset();
+		this.assign(globals, state.objects.get(state.currentObjectIndex));
+		double timeLeft = this.body.advanceTime(dt, globals, callStack);
+		if (this.body.isFinished(callStack)) {
+			state.currentObjectIndex += 1;
+			this.body.reset(callStack);
 		}
 		return timeLeft;
 	}
 
 	
 	/**
-	 * Assigns a list to this.objects using the filter of this.whereExpression and the sorting
-	 * of this.sortExpression and this.sortDirection.
+	 * Returns the objects this loop iterates over, using the filter of this.whereExpression
+	 * and the sorting of this.sortExpression and this.sortDirection. A loop without a where
+	 * expression iterates over all objects of its kind. The objects are looked up by the
+	 * query of this loop, so the where expression is only evaluated for the objects passing
+	 * the conjuncts it starts with that can be looked up in the indexes of the world.
+	 * The sort expression is evaluated once for every object. If the body of this loop
+	 * always breaks in its first iteration, only the first object is selected.
 	 * 
 	 * @param globals
 	 * 			The map of globals variables.
@@ -88,102 +170,184 @@ public class ForEachLoop extends Loop {
 	 * @param callStack
 	 * 			The CallStack passed down by the calling statement.
 	 */
-	private void fillInObjects(Map<String, Object> globals, CallStack callStack) {
-		BiFunction<Double, Double, Double> comparer =
-				this.sortDirection == SortDirection.ASCENDING ?
-						(a, b)-> a - b : (a, b) -> b - a;
-
+	public List<? extends Collidable> selectObjects(Map<String, Object> globals, CallStack callStack) {
 		World world = callStack.getProgram().getGameObject().getWorld();
-		this.objects = new ArrayList<>(this.getObjects(world));
-
-		Stream<? extends Collidable> processed = this.objects.stream()
-		.filter((object)->{
-			globals.put(this.variable, object);
-			return this.whereExpression.evaluate(globals, callStack);
-		});
+		Stream<? extends Collidable> processed = this.query.getCandidates(world, globals, callStack).stream();
 		
-		if (sortExpression != null) {
-			processed = processed.sorted((o1, o2)->{
-
-				globals.put(this.variable, o1);
-				Double left = this.sortExpression.evaluate(globals, callStack);
-	
-				globals.put(this.variable, o2);
-				Double right = this.sortExpression.evaluate(globals, callStack);
-				
-				return (int)Math.signum(comparer.apply(left, right));
+		if (this.whereExpression != null) {
+			processed = processed.filter((object)->{
+				this.assign(globals, object);
+				return this.whereExpression.evaluateBoolean(globals, callStack);
 			});
 		}
-		this.objects = processed.collect(Collectors.toList());
-
-		this.currentObjectIndex = 0;
+		List<? extends Collidable> objects = processed.collect(Collectors.toList());
+		
+		if (this.sortExpression == null || objects.size() < 2) {
+			return objects;
+		}
+		
+		double[] keys = new double[objects.size()];
+		for (int i = 0; i < keys.length; i++) {
+			this.assign(globals, objects.get(i));
+			keys[i] = this.sortExpression.evaluateDouble(globals, callStack);
+		}
+		
+		if (this.usesFirstObjectOnly) {
+			int first = 0;
+			for (int i = 1; i < keys.length; i++) {
+				if (this.compare(keys[i], keys[first]) < 0) {
+					first = i;
+				}
+			}
+			return Collections.singletonList(objects.get(first));
+		}
+		
+		int[] order = new int[keys.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		this.sort(order, keys, 0, order.length, new int[order.length]);
+		
+		List<Collidable> sorted = new ArrayList<>(order.length);
+		for (int index : order) {
+			sorted.add(objects.get(index));
+		}
+		return sorted;
 	}
 	
+	
 	/**
-	 * Assigns the current object to this.variable in globals.
+	 * Compares the given sort keys in the sort direction of this loop.
 	 * 
-	 * @param globals
-	 * 			The map of variables to assign to.
+	 * @return A negative number, zero or a positive number if the first key comes before,
+	 * 			together with or after the second key.
 	 */
-	private void assignCurrentObject(Map<String, Object> globals) {
-		globals.put(this.variable, this.objects.get(this.currentObjectIndex));
+	private int compare(double left, double right) {
+		double difference = (this.sortDirection == SortDirection.ASCENDING) ? left - right : right - left;
+		return (int) Math.signum(difference);
 	}
 	
 	
 	/**
-	 * Returns a set of collidables of Kind this.kind, extracted from world.
+	 * Sorts the given range of indices by their keys with a stable merge sort, so objects
+	 * with the same key keep the order in which they were found.
+	 * 
+	 * @param order
+	 * 			The indices to sort.
 	 * 
-	 * @param world
-	 * 			The world of which to extract the objects.
+	 * @param keys
+	 * 			The sort key of every index.
 	 * 
-	 * @return a set of collidables of Kind this.kind.
+	 * @param from
+	 * 			The first position of the range to sort.
+	 * 
+	 * @param to
+	 * 			The position after the range to sort.
+	 * 
+	 * @param buffer
+	 * 			An array as long as the indices to merge in.
 	 */
-	private Set<? extends Collidable> getObjects(World world) {
-		Set<? extends Collidable> result;
-		switch (this.kind) {
-		case TERRAIN:
-			result = world.getTiles();
-			break;
-		case ANY:
-			result = world.getCollidables();
-			break;
-		default:
-			result = world.getGameObjectsWithClass(ForEachLoop.kindToClass.get(this.kind));
-			break;
+	private void sort(int[] order, double[] keys, int from, int to, int[] buffer) {
+		if (to - from < 8) {
+			for (int i = from + 1; i < to; i++) {
+				int index = order[i];
+				int j = i;
+				while (j > from && this.compare(keys[order[j - 1]], keys[index]) > 0) {
+					order[j] = order[j - 1];
+					j--;
+				}
+				order[j] = index;
+			}
+			return;
 		}
-		if (this.kind != Kind.TERRAIN) {
-			result.remove(this);
+		
+		int middle = (from + to) >>> 1;
+		this.sort(order, keys, from, middle, buffer);
+		this.sort(order, keys, middle, to, buffer);
+		
+		System.arraycopy(order, from, buffer, from, to - from);
+		int left = from, right = middle;
+		for (int i = from; i < to; i++) {
+			if (right >= to || (left < middle && this.compare(keys[buffer[left]], keys[buffer[right]]) <= 0)) {
+				order[i] = buffer[left++];
+			} else {
+				order[i] = buffer[right++];
+			}
 		}
-		return result;
 	}
 	
 	
+	/**
+	 * Returns whether the given statement, executed as the body of a loop, always breaks
+	 * the loop in its first iteration.
+	 */
+	private static boolean breaksInFirstIteration(Statement statement) {
+		if (statement instanceof Break) {
+			return true;
+		}
+		if (statement instanceof Sequence) {
+			for (Statement nested : ((Sequence) statement).getStatements()) {
+				if (breaksInFirstIteration(nested)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Assigns the given object to this.variable in globals.
+	 * 
+	 * @param globals
+	 * 			The map of variables to assign to.
+	 * 
+	 * @param object
+	 * 			The object to assign.
+	 */
+	private void assign(Map<String, Object> globals, Collidable object) {
+		if (this.slot >= 0 && globals instanceof GlobalVariables) {
+			((GlobalVariables) globals).set(this.slot, object);
+		} else {
+			globals.put(this.variable, object);
+		}
+	}
+	
 	
 	@Override
-	public boolean isFinished() {
-		return (this.objects != null)
-			&& (this.currentObjectIndex >= this.objects.size());
+	public boolean isFinished(CallStack callStack) {
+		return this.isFinished(this.<State>getState(callStack));
+	}
+	
+	
+	/**
+	 * Returns whether this loop has finished executing in the given state.
+	 */
+	private boolean isFinished(State state) {
+		return (state.objects != null)
+			&& (state.currentObjectIndex >= state.objects.size());
 	}
 
 	
 	@Override
-	public void reset() {
-		this.objects = null;
-		this.currentObjectIndex = 0;
+	public void reset(CallStack callStack) {
+		State state = this.getState(callStack);
+		state.objects = null;
+		state.currentObjectIndex = 0;
 	}
 
 
 	@Override
-	public void forceFinish() {
-		this.objects = new ArrayList<>();
-		this.currentObjectIndex = this.objects.size();
+	public void forceFinish(CallStack callStack) {
+		State state = this.getState(callStack);
+		state.objects = Collections.emptyList();
+		state.currentObjectIndex = 0;
 	}
 
 
 
 	@Override
-	public boolean isWellFormed(CallStack callStack) {
-		return this.body.isWellFormed(this.getOwnCallStack(callStack));
+	public boolean isWellFormed() {
+		return this.body.isWellFormed();
 	}
 
 	@Override
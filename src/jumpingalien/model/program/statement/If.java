@@ -1,21 +1,31 @@
 package jumpingalien.model.program.statement;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.program.expression.Expression;
 
 /**
  * A class representing an if statement.
  */
-public class If implements Statement {
+public class If extends AbstractStatement {
 	
-	private boolean conditionEvaluated = false;
-	private boolean conditionEvaluation = false;
-	private boolean forceFinished = false;
+	private final Expression<Boolean> condition;
+	private final Statement trueBranch;
+	private final Statement falseBranch;
 	
-	private Expression<Boolean> condition;
-	private Statement trueBranch;
-	private Statement falseBranch;
+	
+	/**
+	 * The state of an if statement in the call stack of a program.
+	 */
+	private static class State {
+		private boolean conditionEvaluated = false;
+		private boolean conditionEvaluation = false;
+		private boolean forceFinished = false;
+	}
 	
 	
 	
@@ -49,55 +59,115 @@ public class If implements Statement {
 		this.condition = condition;
 		this.trueBranch = trueBranch;
 		this.falseBranch = falseBranch;
+		trueBranch.setParent(this);
+		if (falseBranch != null) {
+			falseBranch.setParent(this);
+		}
 	}
 
 	
 	
+	/**
+	 * Returns the condition of this if statement.
+	 */
+	@Basic @Immutable
+	public Expression<Boolean> getCondition() {
+		return this.condition;
+	}
+	
+	
+	/**
+	 * Returns the statement executed when the condition evaluates to true.
+	 */
+	@Basic @Immutable
+	public Statement getTrueBranch() {
+		return this.trueBranch;
+	}
+	
+	
+	/**
+	 * Returns the statement executed when the condition evaluates to false, or null if there is none.
+	 */
+	@Basic @Immutable
+	public Statement getFalseBranch() {
+		return this.falseBranch;
+	}
+	
+	
+	
+	@Override
+	@Basic @Immutable
+	public List<Statement> getChildren() {
+		return (this.falseBranch != null) ? Arrays.asList(this.trueBranch, this.falseBranch)
+				: Collections.singletonList(this.trueBranch);
+	}
+	
+	
+	@Override
+	public Object createState() {
+		return new State();
+	}
+	
+	
 	@Override
 	public double advanceTime(double dt, Map<String, Object> globals, CallStack callStack) {
-		if (! this.conditionEvaluated) {
-			this.conditionEvaluation = condition.evaluate(globals, this.getOwnCallStack(callStack));
-			this.conditionEvaluated = true;
+		State state = this.getState(callStack);
+		if (! state.conditionEvaluated) {
+			state.conditionEvaluation = condition.evaluateBoolean(globals, callStack);
+			state.conditionEvaluated = true;
 		}
-		if (this.currentBranch() == null) {
+		if (this.currentBranch(state) == null) {
 			return dt;
 		}
-		return this.currentBranch().advanceTime(dt, globals, this.getOwnCallStack(callStack));
+		return this.currentBranch(state).advanceTime(dt, globals, callStack);
+	}
+
+	
+	private Statement currentBranch(State state) {
+		return state.conditionEvaluation ? trueBranch : falseBranch;
 	}
 
 	
-	private Statement currentBranch() {
-		return this.conditionEvaluation ? trueBranch : falseBranch;
+	@Override
+	public boolean isFinished(CallStack callStack) {
+		State state = this.getState(callStack);
+		return state.forceFinished || (state.conditionEvaluated
+				&& (this.currentBranch(state) == null || this.currentBranch(state).isFinished(callStack)));
 	}
 
 	
 	@Override
-	public boolean isFinished() {
-		return this.forceFinished || (this.conditionEvaluated && (this.currentBranch() == null || this.currentBranch().isFinished()));
+	public Wait getBlockingWait(CallStack callStack) {
+		State state = this.getState(callStack);
+		if (this.isFinished(callStack) || !state.conditionEvaluated) {
+			return null;
+		}
+		return this.currentBranch(state).getBlockingWait(callStack);
 	}
 
 	
 	@Override
-	public void reset() {
-		if (this.currentBranch() != null) {
-			this.currentBranch().reset();
+	public void reset(CallStack callStack) {
+		State state = this.getState(callStack);
+		if (this.currentBranch(state) != null) {
+			this.currentBranch(state).reset(callStack);
 		}
-		this.conditionEvaluated = false;
-		this.conditionEvaluation = false;
-		this.forceFinished = false;
+		state.conditionEvaluated = false;
+		state.conditionEvaluation = false;
+		state.forceFinished = false;
 	}
 
 	
 	@Override
-	public void forceFinish() {
-		this.forceFinished = true;
+	public void forceFinish(CallStack callStack) {
+		this.<State>getState(callStack).forceFinished = true;
 	}
 
 
 
 	@Override
-	public boolean isWellFormed(CallStack callStack) {
-		return this.trueBranch.isWellFormed(this.getOwnCallStack(callStack))
-			&& (this.falseBranch == null || this.falseBranch.isWellFormed(this.getOwnCallStack(callStack)));
+	public boolean isWellFormed() {
+		return this.trueBranch.isWellFormed()
+			&& (this.falseBranch == null || this.falseBranch.isWellFormed());
 	}
 }
\ No newline at end of file
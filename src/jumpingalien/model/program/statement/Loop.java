@@ -2,7 +2,7 @@ package jumpingalien.model.program.statement;
 
 import be.kuleuven.cs.som.annotate.*;
 
-public abstract class Loop implements Statement {
+public abstract class Loop extends AbstractStatement {
 	@Override
 	@Immutable
 	@Basic
@@ -0,0 +1,302 @@
+package jumpingalien.model.program.statement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jumpingalien.model.Collidable;
+import jumpingalien.model.gameobject.GameObject;
+import jumpingalien.model.program.expression.ArithmeticOperation;
+import jumpingalien.model.program.expression.CollidableProperty;
+import jumpingalien.model.program.expression.CollidablePredicate;
+import jumpingalien.model.program.expression.Comparison;
+import jumpingalien.model.program.expression.Expression;
+import jumpingalien.model.program.expression.LogicalOperation;
+import jumpingalien.model.program.expression.SquareRoot;
+import jumpingalien.model.program.expression.Value;
+import jumpingalien.model.program.expression.Variable;
+import jumpingalien.model.world.TileType;
+import jumpingalien.model.world.World;
+
+/**
+ * A class representing how a foreach statement looks up the objects it iterates over.
+ * The query is planned once from the where expression of the statement. The conjuncts
+ * the where expression starts with that test the kind of the loop variable, or compare
+ * its position with an expression not depending on it, are looked up in the indexes of
+ * the world. The where expression still has to be evaluated for the objects found, but
+ * objects failing one of those conjuncts are never created or evaluated.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+final class ObjectQuery {
+
+	/**
+	 * The class of the game objects the foreach statement iterates over, or null if it
+	 * iterates over game objects of every class.
+	 */
+	private final Class<? extends GameObject> objectClass;
+
+	/**
+	 * Whether the foreach statement iterates over game objects.
+	 */
+	private final boolean includesGameObjects;
+
+	/**
+	 * Whether the foreach statement iterates over tiles.
+	 */
+	private final boolean includesTiles;
+
+	/**
+	 * The identifier of the loop variable.
+	 */
+	private final String variable;
+
+	/**
+	 * The conjuncts the where expression starts with that are looked up in the indexes,
+	 * in the order they are evaluated.
+	 */
+	private final List<Expression<Boolean>> conjuncts = new ArrayList<>();
+
+
+	/**
+	 * Plans a new query for a foreach statement.
+	 *
+	 * @param objectClass
+	 * 			The class of the game objects the statement iterates over, or null for every class.
+	 *
+	 * @param includesGameObjects
+	 * 			Whether the statement iterates over game objects.
+	 *
+	 * @param includesTiles
+	 * 			Whether the statement iterates over tiles.
+	 *
+	 * @param variable
+	 * 			The identifier of the loop variable.
+	 *
+	 * @param whereExpression
+	 * 			The where expression of the statement, or null if it has none.
+	 */
+	ObjectQuery(Class<? extends GameObject> objectClass, boolean includesGameObjects, boolean includesTiles,
+			String variable, Expression<Boolean> whereExpression) {
+		this.objectClass = objectClass;
+		this.includesGameObjects = includesGameObjects;
+		this.includesTiles = includesTiles;
+		this.variable = variable;
+
+		List<Expression<Boolean>> conjuncts = new ArrayList<>();
+		if (whereExpression != null) {
+			this.addConjuncts(whereExpression, conjuncts);
+		}
+		for (Expression<Boolean> conjunct : conjuncts) {
+			if (!this.isKindCondition(conjunct) && !this.isPositionCondition(conjunct)) {
+				break;
+			}
+			this.conjuncts.add(conjunct);
+		}
+	}
+
+
+	/**
+	 * Adds the conjuncts of the given expression to the given list, in the order they are evaluated.
+	 */
+	private void addConjuncts(Expression<Boolean> expression, List<Expression<Boolean>> conjuncts) {
+		if (expression instanceof LogicalOperation.And) {
+			this.addConjuncts(((LogicalOperation.And) expression).getLeft(), conjuncts);
+			this.addConjuncts(((LogicalOperation.And) expression).getRight(), conjuncts);
+		} else {
+			conjuncts.add(expression);
+		}
+	}
+
+
+	/**
+	 * Returns whether the given expression is the loop variable.
+	 */
+	private boolean isLoopVariable(Expression<?> expression) {
+		return (expression instanceof Variable)
+				&& ((Variable<?>) expression).getIdentifier().equals(this.variable);
+	}
+
+
+	/**
+	 * Returns whether the given expression is a test of the kind of the loop variable, or
+	 * a disjunction of such tests.
+	 */
+	private boolean isKindCondition(Expression<?> expression) {
+		if (expression instanceof LogicalOperation.Or) {
+			return this.isKindCondition(((LogicalOperation.Or) expression).getLeft())
+					&& this.isKindCondition(((LogicalOperation.Or) expression).getRight());
+		}
+		return (expression instanceof CollidablePredicate)
+				&& this.isLoopVariable(((CollidablePredicate) expression).getOperand());
+	}
+
+
+	/**
+	 * Returns whether the given expression compares the x or y coordinate of the loop
+	 * variable with an expression not depending on the loop variable.
+	 */
+	private boolean isPositionCondition(Expression<?> expression) {
+		if (!(expression instanceof Comparison)) {
+			return false;
+		}
+		Comparison comparison = (Comparison) expression;
+		return (this.isPositionOfLoopVariable(comparison.getLeft()) && this.isIndependent(comparison.getRight()))
+				|| (this.isPositionOfLoopVariable(comparison.getRight()) && this.isIndependent(comparison.getLeft()));
+	}
+
+
+	/**
+	 * Returns whether the given expression is the x or y coordinate of the loop variable.
+	 */
+	private boolean isPositionOfLoopVariable(Expression<?> expression) {
+		return (expression instanceof CollidableProperty.GetX || expression instanceof CollidableProperty.GetY)
+				&& this.isLoopVariable(((CollidableProperty) expression).getOperand());
+	}
+
+
+	/**
+	 * Returns whether the given expression can be evaluated once for all objects. That's the
+	 * case for expressions without side effects that don't depend on the loop variable.
+	 */
+	private boolean isIndependent(Expression<?> expression) {
+		if (expression instanceof Value) {
+			return true;
+		} else if (expression instanceof Variable) {
+			return !this.isLoopVariable(expression);
+		} else if (expression instanceof CollidableProperty) {
+			return this.isIndependent(((CollidableProperty) expression).getOperand());
+		} else if (expression instanceof ArithmeticOperation) {
+			return this.isIndependent(((ArithmeticOperation) expression).getLeft())
+					&& this.isIndependent(((ArithmeticOperation) expression).getRight());
+		} else if (expression instanceof SquareRoot) {
+			return this.isIndependent(((SquareRoot) expression).getOperand());
+		}
+		return false;
+	}
+
+
+	/**
+	 * Returns whether the given kind condition can hold for a game object of the given class.
+	 */
+	private static boolean canHoldFor(Expression<?> condition, Class<? extends GameObject> cls) {
+		if (condition instanceof LogicalOperation.Or) {
+			return canHoldFor(((LogicalOperation.Or) condition).getLeft(), cls)
+					|| canHoldFor(((LogicalOperation.Or) condition).getRight(), cls);
+		}
+		return ((CollidablePredicate) condition).canHoldFor(cls);
+	}
+
+
+	/**
+	 * Returns whether the given kind condition can hold for a tile of the given type.
+	 */
+	private static boolean canHoldFor(Expression<?> condition, TileType type) {
+		if (condition instanceof LogicalOperation.Or) {
+			return canHoldFor(((LogicalOperation.Or) condition).getLeft(), type)
+					|| canHoldFor(((LogicalOperation.Or) condition).getRight(), type);
+		}
+		return ((CollidablePredicate) condition).canHoldFor(type);
+	}
+
+
+	/**
+	 * Returns the objects of the given world the foreach statement may iterate over: all
+	 * objects it iterates over passing the indexed conjuncts of the where expression.
+	 * The game objects come first, followed by the tiles column by column.
+	 *
+	 * The expressions the positions are compared with are evaluated once. If one of them
+	 * can't be evaluated, it and the conjuncts after it aren't used, so evaluating the
+	 * where expression for the objects found reports the same error.
+	 *
+	 * @param world
+	 * 			The world to look up the objects in.
+	 *
+	 * @param globals
+	 * 			The variables to evaluate the expressions with.
+	 *
+	 * @param callStack
+	 * 			The execution context of the program.
+	 */
+	List<Collidable> getCandidates(World world, Map<String, Object> globals, CallStack callStack) {
+		List<Expression<?>> kindConditions = new ArrayList<>();
+		double minX = Double.NEGATIVE_INFINITY, minY = Double.NEGATIVE_INFINITY;
+		double maxX = Double.POSITIVE_INFINITY, maxY = Double.POSITIVE_INFINITY;
+
+		for (Expression<Boolean> conjunct : this.conjuncts) {
+			if (!(conjunct instanceof Comparison)) {
+				kindConditions.add(conjunct);
+				continue;
+			}
+			Comparison comparison = (Comparison) conjunct;
+			boolean positionLeft = this.isPositionOfLoopVariable(comparison.getLeft());
+			Expression<Double> position = positionLeft ? comparison.getLeft() : comparison.getRight();
+			double limit;
+			try {
+				limit = (positionLeft ? comparison.getRight() : comparison.getLeft()).evaluateDouble(globals, callStack);
+			} catch (RuntimeException e) {
+				break;
+			}
+
+			// The coordinates of objects are integers, so every limit is rounded to the
+			// nearest integer coordinate passing the comparison.
+			double min = Double.NEGATIVE_INFINITY, max = Double.POSITIVE_INFINITY;
+			boolean less = (comparison instanceof Comparison.LessThan
+					|| comparison instanceof Comparison.LessThanOrEqualTo) == positionLeft;
+			boolean strict = comparison instanceof Comparison.LessThan
+					|| comparison instanceof Comparison.GreaterThan;
+			if (Double.isNaN(limit)) {
+				min = Double.POSITIVE_INFINITY;
+				max = Double.NEGATIVE_INFINITY;
+			} else if (less) {
+				max = strict ? Math.ceil(limit) - 1 : Math.floor(limit);
+			} else {
+				min = strict ? Math.floor(limit) + 1 : Math.ceil(limit);
+			}
+			if (position instanceof CollidableProperty.GetX) {
+				minX = Math.max(minX, min);
+				maxX = Math.min(maxX, max);
+			} else {
+				minY = Math.max(minY, min);
+				maxY = Math.min(maxY, max);
+			}
+		}
+
+		List<Collidable> candidates = new ArrayList<>();
+		if (minX > maxX || minY > maxY) {
+			return candidates;
+		}
+		if (this.includesGameObjects) {
+			world.collectGameObjects(cls -> {
+						if (this.objectClass != null && cls != this.objectClass) {
+							return false;
+						}
+						for (Expression<?> condition : kindConditions) {
+							if (!canHoldFor(condition, cls)) {
+								return false;
+							}
+						}
+						return true;
+					}, toPixel(minX), toPixel(minY), toPixel(maxX), toPixel(maxY), candidates);
+		}
+		if (this.includesTiles) {
+			world.collectTiles(type -> {
+						for (Expression<?> condition : kindConditions) {
+							if (!canHoldFor(condition, type)) {
+								return false;
+							}
+						}
+						return true;
+					}, toPixel(minX), toPixel(minY), toPixel(maxX), toPixel(maxY), candidates);
+		}
+		return candidates;
+	}
+
+
+	/**
+	 * Returns the given integer coordinate as a pixel, clipped to the range of integers.
+	 */
+	private static int toPixel(double coordinate) {
+		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, coordinate));
+	}
+}
@@ -1,5 +1,6 @@
 package jumpingalien.model.program.statement;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -9,22 +10,29 @@ import be.kuleuven.cs.som.annotate.*;
 /**
  * A class handling the execution of a list of statements.
  */
-public class Sequence implements Statement {
+public class Sequence extends AbstractStatement {
 	
 	/**
 	 * The list of statements.
 	 */
-	private List<Statement> statements;
+	private final List<Statement> statements;
 	
-	/**
-	 * The index of the current statement.
-	 */
-	private int currentStatementIndex = 0;
 	
 	/**
-	 * A boolean to indicate this statement has been force finished.
+	 * The state of a sequence in the call stack of a program.
 	 */
-	private boolean forceFinished = false;
+	private static class State {
+		
+		/**
+		 * The index of the current statement.
+		 */
+		private int currentStatementIndex = 0;
+		
+		/**
+		 * A boolean to indicate this statement has been force finished.
+		 */
+		private boolean forceFinished = false;
+	}
 	
 	
 	
@@ -44,59 +52,96 @@ public class Sequence implements Statement {
 		}
 		
 		this.statements = statements;
+		for (Statement statement : statements) {
+			statement.setParent(this);
+		}
 	}
 
 	
 	
 	/**
-	 * Returns The statement being executed.
+	 * Returns the statements of this sequence.
 	 */
-	@Basic
-	private Statement currentStatement() {
-		return this.statements.get(this.currentStatementIndex);
+	@Basic @Immutable
+	public List<Statement> getStatements() {
+		return Collections.unmodifiableList(this.statements);
+	}
+	
+	
+	@Override
+	@Basic @Immutable
+	public List<Statement> getChildren() {
+		return this.getStatements();
+	}
+	
+	
+	@Override
+	public Object createState() {
+		return new State();
 	}
 
 	
 	@Override
 	public double advanceTime(double dt, Map<String, Object> globals, CallStack callStack) {
+		State state = this.getState(callStack);
 		double timeLeft = dt;
-		while (timeLeft >= Statement.defaultTime && ! this.isFinished()) {
-			timeLeft = this.currentStatement().advanceTime(timeLeft, globals, this.getOwnCallStack(callStack));
-	        if (this.currentStatement().isFinished()) {
-	                this.currentStatementIndex += 1;
-	        }
+		while (timeLeft >= Statement.defaultTime && ! this.isFinished(state)) {
+			Statement currentStatement = this.statements.get(state.currentStatementIndex);
+			timeLeft = currentStatement.advanceTime(timeLeft, globals, callStack);
+			if (currentStatement.isFinished(callStack)) {
+				state.currentStatementIndex += 1;
+			}
 		}
 		return timeLeft;
 	}
 
 	
 	@Override
-	public boolean isFinished() {
-		return this.forceFinished || (currentStatementIndex == this.statements.size());
+	public boolean isFinished(CallStack callStack) {
+		return this.isFinished(this.<State>getState(callStack));
+	}
+	
+	
+	/**
+	 * Returns whether this sequence has finished executing in the given state.
+	 */
+	private boolean isFinished(State state) {
+		return state.forceFinished || (state.currentStatementIndex == this.statements.size());
+	}
+
+	
+	@Override
+	public Wait getBlockingWait(CallStack callStack) {
+		State state = this.getState(callStack);
+		if (this.isFinished(state)) {
+			return null;
+		}
+		return this.statements.get(state.currentStatementIndex).getBlockingWait(callStack);
 	}
 
 	
 	@Override
-	public void reset() {
+	public void reset(CallStack callStack) {
 		for (Statement statement: this.statements) {
-			statement.reset();
+			statement.reset(callStack);
 		}
-		this.currentStatementIndex = 0;
-		this.forceFinished = false;
+		State state = this.getState(callStack);
+		state.currentStatementIndex = 0;
+		state.forceFinished = false;
 	}
 
 	
 	@Override
-	public void forceFinish() {
-		this.forceFinished = true;
+	public void forceFinish(CallStack callStack) {
+		this.<State>getState(callStack).forceFinished = true;
 	}
 
 
 
 	@Override
-	public boolean isWellFormed(CallStack callStack) {
+	public boolean isWellFormed() {
 		for (Statement statement : this.statements) {
-			if (!statement.isWellFormed(this.getOwnCallStack(callStack))) {
+			if (!statement.isWellFormed()) {
 				return false;
 			}
 		}
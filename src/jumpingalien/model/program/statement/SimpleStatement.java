@@ -8,22 +8,23 @@ import be.kuleuven.cs.som.annotate.Immutable;
  * A class representing a simple Statement. A simple Statement is a 
  * statement which has finished after advancing the time once.
  */
-public abstract class SimpleStatement implements Statement {
+public abstract class SimpleStatement extends AbstractStatement {
 	
 	/**
-	 * A boolean to indicate the statement has been executed.
+	 * The state of a simple statement in the call stack of a program.
 	 */
-	private boolean completed;
+	private static class State {
+		
+		/**
+		 * A boolean to indicate the statement has been executed.
+		 */
+		private boolean completed = false;
+	}
 	
 	
-	/**
-	 * Constructs a new uncompleted SimpleStatement.
-	 * 
-	 * @post This statement won't be finished.
-	 * 			| new.isFinished() == false
-	 */
-	protected SimpleStatement() {
-		this.completed = false;
+	@Override
+	public Object createState() {
+		return new State();
 	}
 
 	
@@ -34,7 +35,7 @@ public abstract class SimpleStatement implements Statement {
 		}
 		
 		this.run(globals, callStack);
-		this.completed = true;
+		this.<State>getState(callStack).completed = true;
 		return (dt - Statement.defaultTime);
 	}
 
@@ -43,28 +44,39 @@ public abstract class SimpleStatement implements Statement {
 	 * Execute the statements 'body'.
 	 */
 	protected abstract void run(Map<String, Object> globals, CallStack callStack);
+	
+	
+	/**
+	 * Executes the body of this statement once, without consuming time or changing
+	 * whether this statement has finished.
+	 * 
+	 * @effect | this.run(globals, callStack)
+	 */
+	public final void execute(Map<String, Object> globals, CallStack callStack) {
+		this.run(globals, callStack);
+	}
 
 	
 	@Override
-	public boolean isFinished() {
-		return completed;
+	public boolean isFinished(CallStack callStack) {
+		return this.<State>getState(callStack).completed;
 	}
 
 	
 	@Override
-	public void reset() {
-		this.completed = false;
+	public void reset(CallStack callStack) {
+		this.<State>getState(callStack).completed = false;
 	}
 	
 	
 	@Override
-	public void forceFinish() {
-		completed = true;
+	public void forceFinish(CallStack callStack) {
+		this.<State>getState(callStack).completed = true;
 	}
 
 	@Override
 	@Immutable
-	public boolean isWellFormed(CallStack callStack) {
+	public boolean isWellFormed() {
 		return true;
 	}
 }
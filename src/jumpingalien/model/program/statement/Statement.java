@@ -1,6 +1,9 @@
 package jumpingalien.model.program.statement;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import be.kuleuven.cs.som.annotate.*;
 
@@ -25,53 +28,153 @@ public interface Statement {
 	 * @param globals
 	 * 			A dictionary containing the global variables available for the execution.
 	 * 
+	 * @param callStack
+	 * 			The execution context of the program being executed.
+	 * 
 	 * @return The amount of time *not* consumed by advancing this statement.
 	 */
 	double advanceTime(double dt, Map<String, Object> globals, CallStack callStack);
 
 	
 	/**
-	 * Returns whether this statement has finished executing.
+	 * Returns whether this statement has finished executing in the given call stack.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
 	 */
 	@Basic
-	boolean isFinished();
+	boolean isFinished(CallStack callStack);
 
 	
 	/**
-	 * Resets the internal state of this statement.
+	 * Resets the state of this statement in the given call stack.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
 	 * 
 	 * @post The statement isn't finished.
-	 * 			| new.isFinished() == false
+	 * 			| new.isFinished(callStack) == false
 	 */
-	void reset();
+	void reset(CallStack callStack);
 	
 	
 	/**
-	 * Forces this statement to finish.
+	 * Forces this statement to finish in the given call stack.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
 	 * 
 	 * @post This statement will be finished.
-	 * 			| new.isFinished()
+	 * 			| new.isFinished(callStack)
 	 */
-	void forceFinish();
+	void forceFinish(CallStack callStack);
 	
 	
 	/**
 	 * Breaks this statement. That means that this statement is forced to finish. If this 
 	 * Statement is not breakable, then the break will be propagated to the parent Statement.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
 	 */
 	default void executeBreak(CallStack callStack) {
-		this.forceFinish();
+		this.forceFinish(callStack);
 		if (!this.isBreakable()) {
-			callStack.pop().executeBreak(callStack);
+			this.getParent().executeBreak(callStack);
 		}
 	}
 	
 	
-	default CallStack getOwnCallStack(CallStack callStack) {
-		return callStack.append(this);
+	/**
+	 * Returns the wait this statement is blocked in in the given call stack, or null if
+	 * it isn't blocked in a wait. A statement is blocked in a wait if advancing it only
+	 * lets time pass in that wait until the wait finishes.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this statement.
+	 */
+	default Wait getBlockingWait(CallStack callStack) {
+		return null;
+	}
+	
+	
+	/**
+	 * Returns the statements directly nested in this statement.
+	 */
+	@Basic @Immutable
+	default List<Statement> getChildren() {
+		return Collections.emptyList();
+	}
+	
+	
+	/**
+	 * Returns the slot of the state of this statement in a call stack, or -1 if this
+	 * statement hasn't been given a slot yet.
+	 */
+	@Basic
+	int getStateSlot();
+	
+	
+	/**
+	 * Gives this statement and all statements nested in it a slot for their state in a
+	 * call stack. The slots are given in pre-order, starting with the given slot. This is
+	 * done once when the statements are first used by a program; every program running
+	 * the same statements afterwards shares the slots and only has a call stack of its own.
+	 * 
+	 * @param firstSlot
+	 * 			The slot of this statement.
+	 * 
+	 * @return The first slot after the slots of this statement and the statements nested in it.
+	 */
+	int resolveStateSlots(int firstSlot);
+	
+	
+	/**
+	 * Returns a new state for this statement, as it is before its first execution.
+	 */
+	Object createState();
+	
+	
+	/**
+	 * Returns the statement this statement is nested in, or null if this is the main statement.
+	 */
+	@Basic
+	Statement getParent();
+	
+	
+	/**
+	 * Sets the statement this statement is nested in. This is done once by the constructor
+	 * of the parent statement, so the nesting of the statements never changes afterwards.
+	 * 
+	 * @param parent
+	 * 			The statement this statement is nested in.
+	 * 
+	 * @post The parent of this statement will be the given statement.
+	 * 			| new.getParent() == parent
+	 */
+	void setParent(Statement parent);
+	
+	
+	/**
+	 * Returns whether one of the statements this statement is nested in satisfies the given condition.
+	 * 
+	 * @param condition
+	 * 			The condition to check.
+	 */
+	default boolean hasAncestor(Predicate<Statement> condition) {
+		for (Statement statement = this.getParent(); statement != null; statement = statement.getParent()) {
+			if (condition.test(statement)) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
-	boolean isWellFormed(CallStack callStack);
+	
+	/**
+	 * Returns whether this statement and all statements nested in it are well-formed.
+	 */
+	boolean isWellFormed();
 	
 
 	/**
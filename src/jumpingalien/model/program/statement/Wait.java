@@ -2,17 +2,25 @@ package jumpingalien.model.program.statement;
 
 import java.util.Map;
 
+import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.program.expression.Expression;
 
 /**
  * A class representing the 'Wait' action.
  */
-public class Wait implements Statement, Action {
+public class Wait extends AbstractStatement implements Action {
 	
-	private double waitTime;
-	private boolean waitTimeEvaluated = false;
 	private final Expression<Double> durationExpression;
-	private double timeWaited;
+	
+	
+	/**
+	 * The state of a wait in the call stack of a program.
+	 */
+	private static class State {
+		private double waitTime;
+		private boolean waitTimeEvaluated = false;
+		private double timeWaited = 0;
+	}
 	
 	
 	
@@ -24,21 +32,36 @@ public class Wait implements Statement, Action {
 	 */
 	public Wait(Expression<Double> duration) {
 		this.durationExpression = duration;
-		reset();
 	}
 
 	
 	
+	/**
+	 * Returns the expression for the duration of this wait.
+	 */
+	@Basic @Immutable
+	public Expression<Double> getDuration() {
+		return this.durationExpression;
+	}
+
+	
+	
+	@Override
+	public Object createState() {
+		return new State();
+	}
+	
+	
 	@Override
 	public double advanceTime(double dt, Map<String, Object> globals, CallStack callStack) {
-		
-		if (!this.waitTimeEvaluated) {
-			this.waitTime = this.durationExpression.evaluate(globals, this.getOwnCallStack(callStack));
-			this.waitTimeEvaluated = true;
+		State state = this.getState(callStack);
+		if (!state.waitTimeEvaluated) {
+			state.waitTime = this.durationExpression.evaluateDouble(globals, callStack);
+			state.waitTimeEvaluated = true;
 		}
-		double timeLeft = this.waitTime - this.timeWaited;
+		double timeLeft = state.waitTime - state.timeWaited;
 
-		this.timeWaited += dt;
+		state.timeWaited += dt;
 
 		if (dt < timeLeft) {
 			return 0;
@@ -48,21 +71,60 @@ public class Wait implements Statement, Action {
 
 	
 	@Override
-	public boolean isFinished() {
-		return this.waitTimeEvaluated && (this.timeWaited >= this.waitTime);
+	public boolean isFinished(CallStack callStack) {
+		State state = this.getState(callStack);
+		return state.waitTimeEvaluated && (state.timeWaited >= state.waitTime);
+	}
+
+	
+	@Override
+	public Wait getBlockingWait(CallStack callStack) {
+		State state = this.getState(callStack);
+		if (!state.waitTimeEvaluated || this.isFinished(callStack)) {
+			return null;
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Lets the given time pass in this wait if that doesn't finish it. The state of the
+	 * wait then changes exactly as if it were advanced by the given time.
+	 * 
+	 * @param dt
+	 * 			The amount of time to pass.
+	 * 
+	 * @param callStack
+	 * 			The execution context holding the state of this wait.
+	 * 
+	 * @return Whether the time has passed. If not, the wait has to be advanced instead.
+	 * 
+	 * @post If the time has passed, this wait isn't finished.
+	 * 			| if (result) then !new.isFinished(callStack)
+	 */
+	public boolean passTime(double dt, CallStack callStack) {
+		State state = this.getState(callStack);
+		double timeLeft = state.waitTime - state.timeWaited;
+		if (!(dt < timeLeft) || !(state.timeWaited + dt < state.waitTime)) {
+			return false;
+		}
+		state.timeWaited += dt;
+		return true;
 	}
 
 	
 	@Override
-	public void reset() {
-		this.timeWaited = 0;
-		this.waitTimeEvaluated = false;
+	public void reset(CallStack callStack) {
+		State state = this.getState(callStack);
+		state.timeWaited = 0;
+		state.waitTimeEvaluated = false;
 	}
 
 	
 	@Override
-	public void forceFinish() {
-		this.waitTimeEvaluated = true;
-		this.timeWaited = this.waitTime;
+	public void forceFinish(CallStack callStack) {
+		State state = this.getState(callStack);
+		state.waitTimeEvaluated = true;
+		state.timeWaited = state.waitTime;
 	}
 }
\ No newline at end of file
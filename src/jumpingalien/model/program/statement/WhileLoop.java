@@ -1,7 +1,10 @@
 package jumpingalien.model.program.statement;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.model.program.expression.Expression;
 
 /**
@@ -21,20 +24,27 @@ public class WhileLoop extends Loop {
 	 */
 	private final Statement body;
 	
-	/**
-	 * Indicates whether the condition has been evaluated.
-	 */
-	private boolean conditionEvaluated = false;
-	
-	/**
-	 * The result of the last condition evaluation.
-	 */
-	private boolean conditionEvaluation = true;
 	
 	/**
-	 * A boolean value to indicate this loop has been force finished.
+	 * The state of a while loop in the call stack of a program.
 	 */
-	private boolean forceFinished = false;
+	private static class State {
+		
+		/**
+		 * Indicates whether the condition has been evaluated.
+		 */
+		private boolean conditionEvaluated = false;
+		
+		/**
+		 * The result of the last condition evaluation.
+		 */
+		private boolean conditionEvaluation = true;
+		
+		/**
+		 * A boolean value to indicate this loop has been force finished.
+		 */
+		private boolean forceFinished = false;
+	}
 	
 	
 	/**
@@ -64,23 +74,57 @@ public class WhileLoop extends Loop {
 		
 		this.condition = condition;
 		this.body = statement;
+		statement.setParent(this);
+	}
+	
+	
+
+	/**
+	 * Returns the condition of this loop.
+	 */
+	@Basic @Immutable
+	public Expression<Boolean> getCondition() {
+		return this.condition;
+	}
+	
+	
+	/**
+	 * Returns the statement evaluated every iteration.
+	 */
+	@Basic @Immutable
+	public Statement getBody() {
+		return this.body;
 	}
 	
 	
 
+	@Override
+	@Basic @Immutable
+	public List<Statement> getChildren() {
+		return Collections.singletonList(this.body);
+	}
+	
+	
+	@Override
+	public Object createState() {
+		return new State();
+	}
+	
+	
 	@Override
 	public double advanceTime(double dt, Map<String, Object> globals, CallStack callStack) {
+		State state = this.getState(callStack);
 		double timeLeft = dt;
-		while (timeLeft >= Statement.defaultTime && ! this.isFinished()) {
-			if (!conditionEvaluated) {
-				this.conditionEvaluation = condition.evaluate(globals, this.getOwnCallStack(callStack));
-				this.conditionEvaluated = true;
+		while (timeLeft >= Statement.defaultTime && ! this.isFinished(state)) {
+			if (!state.conditionEvaluated) {
+				state.conditionEvaluation = condition.evaluateBoolean(globals, callStack);
+				state.conditionEvaluated = true;
 				timeLeft -= Statement.defaultTime;
-			} else if (this.conditionEvaluation && !body.isFinished()) {
-				timeLeft = body.advanceTime(timeLeft, globals, this.getOwnCallStack(callStack));
-				if (body.isFinished()) {
-					this.conditionEvaluated = false;
-					body.reset();
+			} else if (state.conditionEvaluation && !body.isFinished(callStack)) {
+				timeLeft = body.advanceTime(timeLeft, globals, callStack);
+				if (body.isFinished(callStack)) {
+					state.conditionEvaluated = false;
+					body.reset(callStack);
 				}
 			} else {
 				break;
@@ -91,30 +135,49 @@ public class WhileLoop extends Loop {
 
 	
 	@Override
-	public boolean isFinished() {
-		return this.forceFinished || (this.conditionEvaluated && !this.conditionEvaluation);
+	public boolean isFinished(CallStack callStack) {
+		return this.isFinished(this.<State>getState(callStack));
+	}
+	
+	
+	/**
+	 * Returns whether this loop has finished executing in the given state.
+	 */
+	private boolean isFinished(State state) {
+		return state.forceFinished || (state.conditionEvaluated && !state.conditionEvaluation);
+	}
+	
+	
+	@Override
+	public Wait getBlockingWait(CallStack callStack) {
+		State state = this.getState(callStack);
+		if (this.isFinished(state) || !state.conditionEvaluated || body.isFinished(callStack)) {
+			return null;
+		}
+		return body.getBlockingWait(callStack);
 	}
 
 	
 	@Override
-	public void reset() {
-		this.conditionEvaluated = false;
-		this.conditionEvaluation = true;
-		this.forceFinished = false;
-		body.reset();
+	public void reset(CallStack callStack) {
+		State state = this.getState(callStack);
+		state.conditionEvaluated = false;
+		state.conditionEvaluation = true;
+		state.forceFinished = false;
+		body.reset(callStack);
 	}
 
 
 	@Override
-	public void forceFinish() {
-		this.forceFinished = true;
+	public void forceFinish(CallStack callStack) {
+		this.<State>getState(callStack).forceFinished = true;
 	}
 
 
 
 	@Override
-	public boolean isWellFormed(CallStack callStack) {
-		return body.isWellFormed(this.getOwnCallStack(callStack));
+	public boolean isWellFormed() {
+		return body.isWellFormed();
 	}
 
 }
@@ -77,6 +77,23 @@ public abstract class CollisionDamager {
 		return (this.timeSince >= this.timeInterval) && !(owner.isHealthZero());
 	}
 
+	/**
+	 * Returns the time until this damager changes its state on its own, when nothing
+	 * else changes in the mean time.
+	 * 
+	 * @return The time until the owner can take damage again, or positive infinity
+	 * 			when the owner can already take damage.
+	 * 			| if (this.timeSince < this.timeInterval)
+	 * 			| then result == this.timeInterval - this.timeSince
+	 * 			| else result == Double.POSITIVE_INFINITY
+	 */
+	public double getTimeUntilNextEvent() {
+		if (this.timeSince < this.timeInterval) {
+			return this.timeInterval - this.timeSince;
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+	
 	/**
 	 * Advances the internal timers.
 	 * 
@@ -126,6 +126,44 @@ public class TerrainCollisionDamager extends CollisionDamager {
 	}
 
 
+	/**
+	 * Returns the time until this damager changes its state on its own, when nothing
+	 * else changes in the mean time.
+	 * 
+	 * @return The time until the owner can take damage from one of the tile types it is
+	 * 			currently in contact with, the time until the owner can take damage again when
+	 * 			it is not in contact with any of them, or positive infinity when the owner can
+	 * 			already take damage.
+	 */
+	@Override
+	public double getTimeUntilNextEvent() {
+		
+		double intervalTime = Math.max(0.0, this.timeInterval - this.timeSince);
+		double time = Double.POSITIVE_INFINITY;
+		boolean inContact = false;
+		
+		for (TerrainDamageInfo info : this.infos) {
+			if (info.timeIn > 0) {
+				inContact = true;
+				
+				// Both timeSince and timeIn grow until timeIn reaches the delay,
+				// after that only timeSince grows.
+				double needed = info.timeDelay + this.timeInterval - (this.timeSince - info.timeDelay + info.timeIn);
+				double delayLeft = info.timeDelay - info.timeIn;
+				double infoTime = (needed <= 2 * delayLeft) ? needed / 2 : needed - delayLeft;
+				
+				time = Math.min(time, Math.max(intervalTime, infoTime));
+			}
+		}
+		
+		if (!inContact) {
+			time = intervalTime;
+		}
+		
+		return (time > 0) ? time : Double.POSITIVE_INFINITY;
+	}
+	
+	
 	/**
 	 * Advances the internal timers.
 	 * 
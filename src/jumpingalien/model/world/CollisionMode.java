@@ -0,0 +1,26 @@
+package jumpingalien.model.world;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An enum representing the way game objects in a game world are moved
+ * between two collision checks.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+@Value
+public enum CollisionMode {
+
+	/**
+	 * Every sub-step moves a game object at most one pixel. This is the
+	 * reference mode all other modes should behave like.
+	 */
+	PIXEL_STEPPING,
+
+	/**
+	 * Every sub-step moves a game object straight to the next moment it starts
+	 * or stops touching a tile or game object it collides with (or to the end
+	 * of the time step), using a swept bounding box test.
+	 */
+	CONTINUOUS;
+}
@@ -0,0 +1,108 @@
+package jumpingalien.model.world;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+import jumpingalien.model.gameobject.GameObject;
+
+/**
+ * A discrete event scheduler advancing the game objects of a game world over a time interval.
+ * The object that is furthest behind is always stepped first. In continuous stepping a step
+ * ends at the object's next event (a change of contact, a motion boundary, the expiry of a
+ * damage interval or a timer of the object), so an object without any event in the interval
+ * is only stepped once. In pixel stepping a moving object still takes one step per pixel, and
+ * the scheduler only interleaves the steps of all objects in the order of their time.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+class EventScheduler {
+
+	/**
+	 * A scheduled game object together with the time it has been advanced to.
+	 * Entries are reused by later intervals.
+	 */
+	private static class Entry implements Comparable<Entry> {
+
+		private GameObject object;
+		private final int order;
+		private double time = 0.0;
+
+		private Entry(int order) {
+			this.order = order;
+		}
+
+		/**
+		 * Orders entries by time, and entries with the same time in the order they were scheduled.
+		 */
+		@Override
+		public int compareTo(Entry other) {
+			int result = Double.compare(this.time, other.time);
+			return (result != 0) ? result : Integer.compare(this.order, other.order);
+		}
+	}
+
+
+	/**
+	 * The queue of game objects that still have to reach the end of the interval.
+	 */
+	private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+	/**
+	 * The entries created so far, by the order in which they're scheduled.
+	 */
+	private final ArrayList<Entry> entries = new ArrayList<>();
+
+	/**
+	 * The number of game objects scheduled for the current interval.
+	 */
+	private int nbScheduled = 0;
+
+
+	/**
+	 * Schedules the given game object to be advanced in the next call to run.
+	 *
+	 * @param object
+	 * 			The game object to schedule.
+	 *
+	 * @effect The game object is prepared for advancing.
+	 * 			| object.startAdvance()
+	 */
+	void schedule(GameObject object) {
+		object.startAdvance();
+		if (this.nbScheduled == this.entries.size()) {
+			this.entries.add(new Entry(this.nbScheduled));
+		}
+		Entry entry = this.entries.get(this.nbScheduled++);
+		entry.object = object;
+		entry.time = 0.0;
+		this.queue.add(entry);
+	}
+
+
+	/**
+	 * Advances all scheduled game objects over the given time interval and clears the schedule.
+	 *
+	 * @param dt
+	 * 			The length of the time interval.
+	 *
+	 * @effect Every scheduled object is stepped until it reaches the end of the interval,
+	 * 			always stepping the object that is furthest behind first, and is finished afterwards.
+	 * 			| for each scheduled object:
+	 * 			|	while (time of object < dt)
+	 * 			|		time of object += object.advanceStep(dt - time of object)
+	 * 			|	object.finishAdvance()
+	 */
+	void run(double dt) {
+		while (!this.queue.isEmpty()) {
+			Entry entry = this.queue.poll();
+			if (entry.time < dt) {
+				entry.time += entry.object.advanceStep(dt - entry.time);
+				this.queue.add(entry);
+			} else {
+				entry.object.finishAdvance();
+				entry.object = null;
+			}
+		}
+		this.nbScheduled = 0;
+	}
+}
@@ -0,0 +1,267 @@
+package jumpingalien.model.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jumpingalien.model.Constants;
+import jumpingalien.model.Utilities;
+import jumpingalien.model.gameobject.GameObject;
+
+/**
+ * A partition of the game objects of a game world into islands for one time step.
+ * Every game object is given a bounding box grown by the largest distance it can
+ * travel and the largest size it can get during the time step. Game objects whose
+ * grown boxes overlap, or that share an interaction group, end up in the same island.
+ * Game objects in different islands can't interact during the time step, so the
+ * islands can be advanced independently of each other.
+ *
+ * Game objects controlled by a language program can read the state of any other
+ * game object, so when one of them is present all objects form a single island.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+class IslandPartition {
+
+	/**
+	 * The game objects being partitioned, in the order they were given.
+	 */
+	private final List<GameObject> objects;
+
+	/**
+	 * The union-find parent of every game object, by index in the list of objects.
+	 */
+	private final int[] parent;
+
+	/**
+	 * The grown bounding box of every game object, as {x, y, width, height} in pixels.
+	 */
+	private final int[][] boxes;
+
+	/**
+	 * The islands of this partition, ordered by their first game object.
+	 */
+	private final List<List<GameObject>> islands = new ArrayList<>();
+
+	/**
+	 * The smallest box containing the grown bounding boxes of the game objects of every
+	 * island, as {x, y, width, height} in pixels.
+	 */
+	private final List<int[]> islandBoxes = new ArrayList<>();
+
+
+	/**
+	 * Partitions the given game objects of the given world for a time step of the given length.
+	 *
+	 * @param world
+	 * 			The world containing the game objects.
+	 *
+	 * @param objects
+	 * 			The game objects to partition.
+	 *
+	 * @param dt
+	 * 			The length of the time step.
+	 */
+	IslandPartition(World world, List<GameObject> objects, double dt) {
+		this.objects = objects;
+		this.parent = new int[objects.size()];
+		this.boxes = new int[objects.size()][];
+
+		boolean programmed = false;
+		for (int i = 0; i < objects.size(); i++) {
+			this.parent[i] = i;
+			this.boxes[i] = this.getGrownBox(objects.get(i), dt);
+			programmed |= objects.get(i).hasLanguageProgram();
+		}
+
+		if (programmed) {
+			for (int i = 1; i < objects.size(); i++) {
+				this.union(0, i);
+			}
+		} else {
+			this.joinOverlapping(world);
+			this.joinInteractionGroups();
+		}
+		this.collectIslands();
+	}
+
+
+	/**
+	 * Returns the islands of this partition. Islands are ordered by their first game
+	 * object, and the game objects of an island keep the order they were given in.
+	 *
+	 * @return A list of disjoint lists of game objects, together holding every partitioned object.
+	 */
+	List<List<GameObject>> getIslands() {
+		return this.islands;
+	}
+
+
+	/**
+	 * Returns the box containing every game object of the island with the given index
+	 * during the whole time step.
+	 *
+	 * @param island
+	 * 			The index of the island in the list of islands.
+	 *
+	 * @return The smallest box containing the grown bounding boxes of the game objects
+	 * 			of the island, as {x, y, width, height} in pixels.
+	 */
+	int[] getIslandBox(int island) {
+		return this.islandBoxes.get(island);
+	}
+
+
+	/**
+	 * Groups the game objects into islands by the root of their set, and computes the
+	 * box of every island.
+	 */
+	private void collectIslands() {
+		Map<Integer, Integer> islandOfRoot = new HashMap<>();
+		for (int i = 0; i < this.objects.size(); i++) {
+			int[] box = this.boxes[i];
+			Integer island = islandOfRoot.get(this.find(i));
+			if (island == null) {
+				islandOfRoot.put(this.find(i), this.islands.size());
+				this.islands.add(new ArrayList<>());
+				this.islandBoxes.add(box.clone());
+			} else {
+				int[] islandBox = this.islandBoxes.get(island);
+				int right = Math.max(islandBox[0] + islandBox[2], box[0] + box[2]);
+				int top = Math.max(islandBox[1] + islandBox[3], box[1] + box[3]);
+				islandBox[0] = Math.min(islandBox[0], box[0]);
+				islandBox[1] = Math.min(islandBox[1], box[1]);
+				islandBox[2] = right - islandBox[0];
+				islandBox[3] = top - islandBox[1];
+			}
+			this.islands.get(islandOfRoot.get(this.find(i))).add(this.objects.get(i));
+		}
+	}
+
+
+	/**
+	 * Joins every two game objects whose grown bounding boxes overlap.
+	 *
+	 * @param world
+	 * 			The world indexing the game objects.
+	 */
+	private void joinOverlapping(World world) {
+		Map<GameObject, Integer> indexOfObject = new IdentityHashMap<>();
+		int maxReachX = 0, maxReachY = 0;
+		for (int i = 0; i < this.objects.size(); i++) {
+			GameObject object = this.objects.get(i);
+			indexOfObject.put(object, i);
+			maxReachX = Math.max(maxReachX, object.getPixelX() - this.boxes[i][0]);
+			maxReachY = Math.max(maxReachY, object.getPixelY() - this.boxes[i][1]);
+		}
+
+		// A grown box can only overlap the grown box of an object whose actual box
+		// lies within the first box extended by the largest reach.
+		List<GameObject> candidates = new ArrayList<>();
+		for (int i = 0; i < this.objects.size(); i++) {
+			int[] box = this.boxes[i];
+			candidates.clear();
+			world.collectGameObjectsInRectangle(box[0] - maxReachX, box[1] - maxReachY,
+					box[2] + 2 * maxReachX, box[3] + 2 * maxReachY, candidates);
+			for (GameObject candidate : candidates) {
+				Integer j = indexOfObject.get(candidate);
+				if (j != null && j > i && this.boxesOverlap(box, this.boxes[j])) {
+					this.union(i, j);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Joins every two game objects sharing the same interaction group.
+	 */
+	private void joinInteractionGroups() {
+		Map<Object, Integer> firstOfGroup = new IdentityHashMap<>();
+		for (int i = 0; i < this.objects.size(); i++) {
+			Object group = this.objects.get(i).getInteractionGroup();
+			if (group != null) {
+				Integer first = firstOfGroup.putIfAbsent(group, i);
+				if (first != null) {
+					this.union(first, i);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the bounding box of the given game object grown by the largest distance
+	 * it can travel, and the largest size it can get, during a time step of the given length.
+	 *
+	 * @param object
+	 * 			The game object to get the grown bounding box of.
+	 *
+	 * @param dt
+	 * 			The length of the time step.
+	 *
+	 * @return The grown bounding box as {x, y, width, height} in pixels.
+	 */
+	private int[] getGrownBox(GameObject object, double dt) {
+		int reachX = getReach(object.getSpeedX(), Constants.maxHorizontalSpeedImpulse, dt);
+		int reachY = getReach(object.getSpeedY(), Constants.maxVerticalSpeedImpulse, dt);
+		int width = Math.max(object.getPixelWidth(), object.getMaxPixelWidth());
+		int height = Math.max(object.getPixelHeight(), object.getMaxPixelHeight());
+		return new int[] {object.getPixelX() - reachX, object.getPixelY() - reachY,
+				width + 2 * reachX, height + 2 * reachY};
+	}
+
+
+	/**
+	 * Returns the largest distance in pixels a game object with the given speed can
+	 * travel along one axis during a time step of the given length.
+	 *
+	 * @param speed
+	 * 			The current speed of the game object along the axis.
+	 *
+	 * @param speedImpulse
+	 * 			The largest speed the game object can get instantly along the axis.
+	 *
+	 * @param dt
+	 * 			The length of the time step.
+	 */
+	private static int getReach(double speed, double speedImpulse, double dt) {
+		double reach = (Math.abs(speed) + speedImpulse) * dt
+				+ Constants.maxAcceleration * dt * dt / 2.0;
+		return Utilities.metersToPixels(reach) + 2;
+	}
+
+
+	/**
+	 * Returns whether the two given boxes overlap or touch.
+	 */
+	private boolean boxesOverlap(int[] a, int[] b) {
+		return a[0] <= b[0] + b[2] && b[0] <= a[0] + a[2]
+				&& a[1] <= b[1] + b[3] && b[1] <= a[1] + a[3];
+	}
+
+
+	/**
+	 * Returns the root of the set containing the game object with the given index.
+	 */
+	private int find(int i) {
+		while (this.parent[i] != i) {
+			this.parent[i] = this.parent[this.parent[i]];
+			i = this.parent[i];
+		}
+		return i;
+	}
+
+
+	/**
+	 * Joins the sets containing the game objects with the given indices.
+	 */
+	private void union(int i, int j) {
+		int rootI = this.find(i), rootJ = this.find(j);
+		if (rootI != rootJ) {
+			this.parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+		}
+	}
+}
@@ -0,0 +1,406 @@
+package jumpingalien.model.world;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import jumpingalien.model.gameobject.GameObject;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A uniform grid used as a broadphase for collision queries in a game world.
+ * Every game object is stored in the cell containing its bottom left pixel.
+ * Rectangle queries only look at the cells that can hold objects overlapping
+ * the rectangle, instead of at every object in the world.
+ * The objects of a cell are kept in the order they were added to the grid,
+ * so the result of a query doesn't depend on the order in which objects moved.
+ *
+ * @invar Every indexed game object is stored in exactly one cell.
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+class ObjectGrid {
+
+	/**
+	 * The size of one (square) cell in pixels.
+	 */
+	private final int cellSize;
+
+	/**
+	 * The column and row of the first cell of this grid.
+	 */
+	private final int firstCellX, firstCellY;
+
+	/**
+	 * The number of cells in the x dimension.
+	 */
+	private final int nbCellsX;
+
+	/**
+	 * The number of cells in the y dimension.
+	 */
+	private final int nbCellsY;
+
+	/**
+	 * The cells of this grid in row-major order, each holding the game objects
+	 * whose bottom left pixel lies in that cell.
+	 */
+	private final ArrayList<ArrayList<GameObject>> cells;
+
+	/**
+	 * The index of the cell every indexed game object is stored in and the order in which
+	 * it was added, held in a two-element array that is updated in place when the object
+	 * changes cells.
+	 */
+	private final Map<GameObject, int[]> cellOfObject = new HashMap<>();
+
+	/**
+	 * The order to give to the next game object added to this grid.
+	 */
+	private int nextOrder = 0;
+
+	/**
+	 * The largest width and height in pixels any indexed game object has had.
+	 * Queries are extended to the left and to the bottom by this size, because
+	 * an object is only stored in the cell of its bottom left pixel.
+	 */
+	private int maxObjectWidth = 0, maxObjectHeight = 0;
+
+
+	/**
+	 * Creates a new empty grid with the given dimensions.
+	 *
+	 * @param cellSize
+	 * 			The size of one cell in pixels.
+	 *
+	 * @param nbCellsX
+	 * 			The number of cells in the x dimension.
+	 *
+	 * @param nbCellsY
+	 * 			The number of cells in the y dimension.
+	 *
+	 * @pre The cell size and the number of cells have to be bigger than zero.
+	 * 			| cellSize > 0 && nbCellsX > 0 && nbCellsY > 0
+	 */
+	ObjectGrid(int cellSize, int nbCellsX, int nbCellsY) {
+		assert cellSize > 0 && nbCellsX > 0 && nbCellsY > 0;
+
+		this.cellSize = cellSize;
+		this.firstCellX = 0;
+		this.firstCellY = 0;
+		this.nbCellsX = nbCellsX;
+		this.nbCellsY = nbCellsY;
+		this.cells = new ArrayList<>(nbCellsX * nbCellsY);
+		for (int i = 0; i < nbCellsX * nbCellsY; i++) {
+			this.cells.add(new ArrayList<>());
+		}
+	}
+
+
+	/**
+	 * Creates a new grid covering the cells of the given grid that hold a pixel of the given
+	 * rectangle, and indexes the given game objects of that grid in it. The objects keep the
+	 * order they have in the given grid, so as long as they stay in the rectangle, queries
+	 * return them in the same order as queries on the given grid would.
+	 *
+	 * @param grid
+	 * 			The grid to take the cells and the game objects from.
+	 *
+	 * @param x
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 *
+	 * @param y
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 *
+	 * @param width
+	 * 			The width of the rectangle in pixels.
+	 *
+	 * @param height
+	 * 			The height of the rectangle in pixels.
+	 *
+	 * @param objects
+	 * 			The game objects to index.
+	 *
+	 * @pre Every given game object is indexed by the given grid.
+	 * 			| for each object in objects:
+	 * 			|	grid.contains(object)
+	 */
+	ObjectGrid(ObjectGrid grid, int x, int y, int width, int height, Collection<GameObject> objects) {
+		this.cellSize = grid.cellSize;
+		this.firstCellX = grid.clipCellX(x / grid.cellSize);
+		this.firstCellY = grid.clipCellY(y / grid.cellSize);
+		this.nbCellsX = grid.clipCellX((x + width) / grid.cellSize) - this.firstCellX + 1;
+		this.nbCellsY = grid.clipCellY((y + height) / grid.cellSize) - this.firstCellY + 1;
+		this.cells = new ArrayList<>(this.nbCellsX * this.nbCellsY);
+		for (int i = 0; i < this.nbCellsX * this.nbCellsY; i++) {
+			this.cells.add(new ArrayList<>());
+		}
+		this.maxObjectWidth = grid.maxObjectWidth;
+		this.maxObjectHeight = grid.maxObjectHeight;
+
+		for (GameObject object : objects) {
+			assert grid.contains(object);
+			this.insert(object, new int[] { this.cellOf(object), grid.cellOfObject.get(object)[1] });
+		}
+	}
+
+
+	/**
+	 * Returns whether this grid contains the given game object.
+	 *
+	 * @param object
+	 * 			The game object to check.
+	 */
+	@Basic
+	boolean contains(GameObject object) {
+		return this.cellOfObject.containsKey(object);
+	}
+
+
+	/**
+	 * Adds the given game object to this grid. Nothing happens when the object
+	 * is already indexed.
+	 *
+	 * @param object
+	 * 			The game object to add.
+	 *
+	 * @post The grid will contain the given object.
+	 * 			| new.contains(object)
+	 */
+	void add(GameObject object) {
+		if (this.contains(object)) {
+			return;
+		}
+		this.insert(object, new int[] { this.cellOf(object), this.nextOrder++ });
+	}
+
+
+	/**
+	 * Removes the given game object from this grid if it's indexed.
+	 *
+	 * @param object
+	 * 			The game object to remove.
+	 *
+	 * @post The grid will no longer contain the given object.
+	 * 			| !new.contains(object)
+	 */
+	void remove(GameObject object) {
+		int[] cell = this.cellOfObject.remove(object);
+		if (cell != null) {
+			this.cells.get(cell[0]).remove(object);
+		}
+	}
+
+
+	/**
+	 * Moves the given game object to the cell matching its current position and size.
+	 * Nothing happens when the object is not indexed by this grid.
+	 *
+	 * @param object
+	 * 			The game object that moved or changed size.
+	 */
+	void update(GameObject object) {
+		int[] cell = this.cellOfObject.get(object);
+		if (cell == null) {
+			return;
+		}
+		int newCell = this.cellOf(object);
+		if (newCell != cell[0]) {
+			this.cells.get(cell[0]).remove(object);
+			cell[0] = newCell;
+			this.insert(object, cell);
+		}
+	}
+
+
+	/**
+	 * Stores the given game object in the cell it belongs in, after the objects of that
+	 * cell that were added to this grid before it.
+	 *
+	 * @param object
+	 * 			The game object to store.
+	 *
+	 * @param cell
+	 * 			The index of the cell and the order of the game object.
+	 */
+	private void insert(GameObject object, int[] cell) {
+		this.cellOfObject.put(object, cell);
+		ArrayList<GameObject> objects = this.cells.get(cell[0]);
+		int index = objects.size();
+		while (index > 0 && this.cellOfObject.get(objects.get(index - 1))[1] > cell[1]) {
+			index--;
+		}
+		objects.add(index, object);
+	}
+
+
+	/**
+	 * Adds all indexed game objects overlapping the given rectangle to the given collection.
+	 *
+	 * @param x
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 *
+	 * @param y
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 *
+	 * @param width
+	 * 			The width of the rectangle in pixels.
+	 *
+	 * @param height
+	 * 			The height of the rectangle in pixels.
+	 *
+	 * @param result
+	 * 			The collection to add the overlapping objects to.
+	 *
+	 * @post Every indexed object overlapping the rectangle will be in the result.
+	 * 			| for each object in this:
+	 * 			|	if object.doesOverlapWithRect(x, y, width, height)
+	 * 			|	then result.contains(object)
+	 */
+	void collectOverlapping(int x, int y, int width, int height, Collection<? super GameObject> result) {
+		this.collectOverlapping(x, y, width, height, null, result);
+	}
+
+
+	/**
+	 * Adds all indexed game objects the given game object collides with to the given collection.
+	 *
+	 * @param collider
+	 * 			The game object to collect the colliding objects of.
+	 *
+	 * @param result
+	 * 			The collection to add the colliding objects to.
+	 *
+	 * @post Every other indexed object overlapping the given object that it collides
+	 * 			with will be in the result.
+	 * 			| for each object in this:
+	 * 			|	if (object != collider && collider.doesOverlapWith(object)
+	 * 			|			&& collider.collidesWithGameObject(object))
+	 * 			|	then result.contains(object)
+	 */
+	void collectCollidingWith(GameObject collider, Collection<? super GameObject> result) {
+		this.collectOverlapping(collider.getPixelX(), collider.getPixelY(),
+				collider.getPixelWidth(), collider.getPixelHeight(), collider, result);
+	}
+
+
+	/**
+	 * Adds all indexed game objects overlapping the given rectangle to the given collection,
+	 * leaving out the given game object and the objects it doesn't collide with.
+	 * The cells are walked by index, so no iterators are created.
+	 *
+	 * @param collider
+	 * 			The game object whose collisions are collected, or null to collect
+	 * 			every overlapping object.
+	 */
+	private void collectOverlapping(int x, int y, int width, int height, GameObject collider,
+			Collection<? super GameObject> result) {
+
+		int minCellX = this.clipCellX((x - this.maxObjectWidth) / this.cellSize);
+		int minCellY = this.clipCellY((y - this.maxObjectHeight) / this.cellSize);
+		int maxCellX = this.clipCellX((x + width) / this.cellSize);
+		int maxCellY = this.clipCellY((y + height) / this.cellSize);
+
+		for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				ArrayList<GameObject> cell = this.getCell(cellX, cellY);
+				for (int i = 0; i < cell.size(); i++) {
+					GameObject object = cell.get(i);
+					if (object.doesOverlapWithRect(x, y, width, height) && (collider == null
+							|| (object != collider && collider.collidesWithGameObject(object)))) {
+						result.add(object);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Adds all indexed game objects whose bottom left pixel lies in the given range to
+	 * the given collection. Unlike rectangle queries, this only looks at the cells of
+	 * the range itself.
+	 *
+	 * @param minX
+	 * 			The smallest x coordinate of the range in pixels.
+	 *
+	 * @param minY
+	 * 			The smallest y coordinate of the range in pixels.
+	 *
+	 * @param maxX
+	 * 			The largest x coordinate of the range in pixels.
+	 *
+	 * @param maxY
+	 * 			The largest y coordinate of the range in pixels.
+	 *
+	 * @param result
+	 * 			The collection to add the game objects to.
+	 */
+	void collectWithPositionIn(int minX, int minY, int maxX, int maxY,
+			Collection<? super GameObject> result) {
+		if (minX > maxX || minY > maxY) {
+			return;
+		}
+
+		int minCellX = this.clipCellX(Math.floorDiv(minX, this.cellSize));
+		int minCellY = this.clipCellY(Math.floorDiv(minY, this.cellSize));
+		int maxCellX = this.clipCellX(Math.floorDiv(maxX, this.cellSize));
+		int maxCellY = this.clipCellY(Math.floorDiv(maxY, this.cellSize));
+
+		for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				for (GameObject object : this.getCell(cellX, cellY)) {
+					int x = object.getPixelX();
+					int y = object.getPixelY();
+					if (minX <= x && x <= maxX && minY <= y && y <= maxY) {
+						result.add(object);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the index of the cell the given game object belongs in and
+	 * registers its size.
+	 *
+	 * @param object
+	 * 			The object to get the cell of.
+	 *
+	 * @return The index of the cell containing the bottom left pixel of the
+	 * 			given object, clipped to the grid.
+	 */
+	private int cellOf(GameObject object) {
+		this.maxObjectWidth = Math.max(this.maxObjectWidth, object.getPixelWidth());
+		this.maxObjectHeight = Math.max(this.maxObjectHeight, object.getPixelHeight());
+
+		return (this.clipCellY(object.getPixelY() / this.cellSize) - this.firstCellY) * this.nbCellsX
+				+ this.clipCellX(object.getPixelX() / this.cellSize) - this.firstCellX;
+	}
+
+
+	/**
+	 * Returns the cell of this grid at the given column and row.
+	 */
+	private ArrayList<GameObject> getCell(int cellX, int cellY) {
+		return this.cells.get((cellY - this.firstCellY) * this.nbCellsX + cellX - this.firstCellX);
+	}
+
+
+	/**
+	 * Clips the given cell column in the range of this grid.
+	 */
+	private int clipCellX(int cellX) {
+		return Math.max(this.firstCellX, Math.min(this.firstCellX + this.nbCellsX - 1, cellX));
+	}
+
+
+	/**
+	 * Clips the given cell row in the range of this grid.
+	 */
+	private int clipCellY(int cellY) {
+		return Math.max(this.firstCellY, Math.min(this.firstCellY + this.nbCellsY - 1, cellY));
+	}
+}
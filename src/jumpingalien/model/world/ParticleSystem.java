@@ -0,0 +1,271 @@
+package jumpingalien.model.world;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.Settings;
+import jumpingalien.model.Utilities;
+import jumpingalien.util.Sprite;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of particles, like the blood and gore spawned when a game object dies.
+ * Particles aren't game objects: they fall with gravity, only collide with ground
+ * tiles and disappear after a while. The properties of all particles are stored in
+ * parallel arrays, which are reused when particles disappear and new ones are spawned.
+ *
+ * @invar The number of particles is at most the maximum number of particles.
+ * 			| getNbParticles() <= Settings.maxNumberOfParticles
+ *
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public final class ParticleSystem {
+
+	/**
+	 * The number of particles there's room for before the arrays have to grow.
+	 */
+	private static final int initialCapacity = 64;
+
+	/**
+	 * The x coordinate of the bottom left corner of every particle in meters.
+	 */
+	private float[] x = new float[initialCapacity];
+
+	/**
+	 * The y coordinate of the bottom left corner of every particle in meters.
+	 */
+	private float[] y = new float[initialCapacity];
+
+	/**
+	 * The horizontal speed of every particle in meters per second.
+	 */
+	private float[] vx = new float[initialCapacity];
+
+	/**
+	 * The vertical speed of every particle in meters per second.
+	 */
+	private float[] vy = new float[initialCapacity];
+
+	/**
+	 * The time every particle has left before it disappears, in seconds.
+	 */
+	private float[] life = new float[initialCapacity];
+
+	/**
+	 * The sprite of every particle.
+	 */
+	private Sprite[] sprites = new Sprite[initialCapacity];
+
+	/**
+	 * The number of particles. The particles are stored at the first indices of the arrays.
+	 */
+	private int count = 0;
+
+
+	/**
+	 * Returns the number of particles.
+	 */
+	@Basic
+	public int getNbParticles() {
+		return this.count;
+	}
+
+
+	/**
+	 * Returns the x coordinate of the bottom left pixel of the particle with the given index.
+	 *
+	 * @param index
+	 * 			The index of the particle, between 0 and the number of particles.
+	 */
+	public int getPixelX(int index) {
+		return Utilities.metersToPixels(this.x[index]);
+	}
+
+
+	/**
+	 * Returns the y coordinate of the bottom left pixel of the particle with the given index.
+	 *
+	 * @param index
+	 * 			The index of the particle, between 0 and the number of particles.
+	 */
+	public int getPixelY(int index) {
+		return Utilities.metersToPixels(this.y[index]);
+	}
+
+
+	/**
+	 * Returns the sprite of the particle with the given index.
+	 *
+	 * @param index
+	 * 			The index of the particle, between 0 and the number of particles.
+	 */
+	public Sprite getSprite(int index) {
+		return this.sprites[index];
+	}
+
+
+	/**
+	 * Spawns a particle at the given position with a random speed. If there already
+	 * are as many particles as allowed, no particle is spawned.
+	 *
+	 * @param position
+	 * 			The position of the bottom left corner of the particle in meters.
+	 *
+	 * @param sprite
+	 * 			The sprite of the particle.
+	 *
+	 * @param random
+	 * 			The random generator to choose the speed of the particle with.
+	 *
+	 * @post If there was room for another particle, a particle with the given position
+	 * 			and sprite is added, with a horizontal speed between -2.5 and 2.5 m/s and a
+	 * 			vertical speed between 0 and 5 m/s.
+	 * 			| if (getNbParticles() < Settings.maxNumberOfParticles)
+	 * 			|	then new.getNbParticles() == getNbParticles() + 1
+	 */
+	public void spawn(DoubleVec position, Sprite sprite, Random random) {
+		if (this.count == Settings.maxNumberOfParticles) {
+			return;
+		}
+		if (this.count == this.x.length) {
+			this.grow();
+		}
+		int i = this.count++;
+		this.x[i] = (float) position.x;
+		this.y[i] = (float) position.y;
+		this.vx[i] = (float) ((random.nextDouble() - 0.5) * 5.0);
+		this.vy[i] = (float) (random.nextDouble() * 5.0);
+		this.life[i] = (float) Settings.particleLifetime;
+		this.sprites[i] = sprite;
+	}
+
+
+	/**
+	 * Doubles the number of particles there's room for, up to the maximum number of particles.
+	 */
+	private void grow() {
+		int capacity = Math.min(this.x.length * 2, Settings.maxNumberOfParticles);
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.vx = Arrays.copyOf(this.vx, capacity);
+		this.vy = Arrays.copyOf(this.vy, capacity);
+		this.life = Arrays.copyOf(this.life, capacity);
+		this.sprites = Arrays.copyOf(this.sprites, capacity);
+	}
+
+
+	/**
+	 * Removes all particles.
+	 *
+	 * @post | new.getNbParticles() == 0
+	 */
+	public void clear() {
+		Arrays.fill(this.sprites, 0, this.count, null);
+		this.count = 0;
+	}
+
+
+	/**
+	 * Advances all particles over the given time interval.
+	 *
+	 * Every particle accelerates with gravity and moves first horizontally, then vertically,
+	 * in steps of less than a tile. A move that would take the bottom left pixel of the
+	 * particle into a ground tile is undone and stops the particle in that direction, a
+	 * particle landing on a ground tile is put on top of it. Particles whose time ran out
+	 * or that left the world are removed, by moving the last particle into their place.
+	 *
+	 * @param dt
+	 * 			The time interval in seconds.
+	 *
+	 * @param tiles
+	 * 			The tiles of the world of the particles.
+	 *
+	 * @param tileSize
+	 * 			The size of a tile in pixels.
+	 */
+	void advanceTime(double dt, TileGridView tiles, int tileSize) {
+		float step = (float) dt;
+		float gravity = (float) Constants.gravityAcceleration;
+		float tileSizeInMeters = (float) Utilities.pixelsToMeters(tileSize);
+		int widthInPixels = tiles.getWidth() * tileSize;
+		int heightInPixels = tiles.getHeight() * tileSize;
+
+		int i = 0;
+		while (i < this.count) {
+			this.life[i] -= step;
+
+			// particles can't move through a tile without entering it
+			float distance = (Math.max(Math.abs(this.vx[i]), Math.abs(this.vy[i])) - gravity * step) * step;
+			int nbSteps = 1 + (int) (distance / tileSizeInMeters);
+			for (int j = 0; j < nbSteps; j++) {
+				this.move(i, step / nbSteps, gravity, tiles, tileSize);
+			}
+
+			if (this.life[i] <= 0 || this.x[i] < 0 || this.y[i] < 0
+					|| Utilities.metersToPixels(this.x[i]) >= widthInPixels
+					|| Utilities.metersToPixels(this.y[i]) >= heightInPixels) {
+				this.remove(i);
+			} else {
+				i++;
+			}
+		}
+	}
+
+
+	/**
+	 * Moves the particle with the given index over the given time interval.
+	 */
+	private void move(int i, float step, float gravity, TileGridView tiles, int tileSize) {
+		float newX = this.x[i] + this.vx[i] * step;
+		if (isGround(tiles, tileSize, newX, this.y[i])) {
+			this.vx[i] = 0;
+		} else {
+			this.x[i] = newX;
+		}
+
+		this.vy[i] += gravity * step;
+		float newY = this.y[i] + this.vy[i] * step;
+		if (isGround(tiles, tileSize, this.x[i], newY)) {
+			if (this.vy[i] < 0) {
+				// half a pixel above the tile, so rounding errors can't put it back in
+				int tileY = Utilities.metersToPixels(newY) / tileSize;
+				this.y[i] = (float) (Utilities.pixelsToMeters((tileY + 1) * tileSize) + Constants.metersPerPixel / 2);
+				this.vx[i] = 0;
+			}
+			this.vy[i] = 0;
+		} else {
+			this.y[i] = newY;
+		}
+	}
+
+
+	/**
+	 * Returns whether the pixel at the given position in meters lies in a ground tile.
+	 * Positions outside the grid aren't in a ground tile.
+	 */
+	private static boolean isGround(TileGridView tiles, int tileSize, float x, float y) {
+		if (x < 0 || y < 0) {
+			return false;
+		}
+		int tileX = Utilities.metersToPixels(x) / tileSize;
+		int tileY = Utilities.metersToPixels(y) / tileSize;
+		return tiles.contains(tileX, tileY) && tiles.getTileType(tileX, tileY) == TileType.GROUND;
+	}
+
+
+	/**
+	 * Removes the particle with the given index by moving the last particle into its place.
+	 */
+	private void remove(int index) {
+		int last = --this.count;
+		this.x[index] = this.x[last];
+		this.y[index] = this.y[last];
+		this.vx[index] = this.vx[last];
+		this.vy[index] = this.vy[last];
+		this.life[index] = this.life[last];
+		this.sprites[index] = this.sprites[last];
+		this.sprites[last] = null;
+	}
+}
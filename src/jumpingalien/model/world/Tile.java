@@ -1,8 +1,9 @@
 package jumpingalien.model.world;
 
 import jumpingalien.model.Collidable;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -24,7 +25,7 @@ public class Tile implements Collidable {
 	/**
 	 * The position of the tile in tiles (so not meters, nor pixels).
 	 */
-	private final Vector<Integer> position;
+	private final IntVec position;
 	
 	/**
 	 * The size of the tile in pixels.
@@ -57,7 +58,7 @@ public class Tile implements Collidable {
 	 * @post The tile will have type as it's type.
 	 * 			| new.getType() == type.
 	 */
-	public Tile(Vector<Integer> position, int size, TileType type) throws IllegalArgumentException {
+	public Tile(IntVec position, int size, TileType type) throws IllegalArgumentException {
 		
 		if (position.x < 0 || position.y < 0) {
 			throw new IllegalArgumentException("The position has to be positive.");
@@ -79,20 +80,32 @@ public class Tile implements Collidable {
 	 * @return The position of this tile in tiles.
 	 */
 	@Basic @Immutable
-	public Vector<Integer> getPositionInTiles() {
+	public IntVec getPositionInTiles() {
 		return this.position;
 	}
 	
 	
 	/**
-	 * Returns the position of this tile in pixels.
+	 * Returns the x coordinate of the position of this tile in pixels.
 	 * 
-	 * @return The position of this tile in pixels.
-	 * 			| Vector.scale(this.getPosition(), this.getSize())
+	 * @return | this.getPositionInTiles().x * this.getSideSizeInPixels()
 	 */
+	@Override
+	@Immutable
+	public int getPixelX() {
+		return this.position.x * this.size;
+	}
+	
+	
+	/**
+	 * Returns the y coordinate of the position of this tile in pixels.
+	 * 
+	 * @return | this.getPositionInTiles().y * this.getSideSizeInPixels()
+	 */
+	@Override
 	@Immutable
-	public Vector<Integer> getPositionInPixels() {
-		return Vector.scale(this.getPositionInTiles(), this.getSideSizeInPixels());
+	public int getPixelY() {
+		return this.position.y * this.size;
 	}
 	
 	
@@ -103,7 +116,7 @@ public class Tile implements Collidable {
 	 * 			| Utilities.pixelsVectorToMeters(this.getPositionInPixels())
 	 */
 	@Immutable
-	public Vector<Double> getPositionInMeters() {
+	public DoubleVec getPositionInMeters() {
 		return Utilities.pixelsVectorToMeters(this.getPositionInPixels());
 	}
 	
@@ -112,11 +125,11 @@ public class Tile implements Collidable {
 	 * Returns the position of the top right pixel of this tile in pixels.
 	 * 
 	 * @return The position of the top right pixel of this tile in pixels.
-	 * 			| Vector.add(this.getPositionInPixels(), new Vector<>(this.getSize(), this.getSize()))
+	 * 			| this.getPositionInPixels().add(this.getSizeInPixels())
 	 */
 	@Immutable
-	public Vector<Integer> getTopRightPixel() {
-		return Vector.add(this.getPositionInPixels(), this.getSizeInPixels());
+	public IntVec getTopRightPixel() {
+		return new IntVec(this.getPixelX() + this.size, this.getPixelY() + this.size);
 	}
 	
 	
@@ -132,14 +145,26 @@ public class Tile implements Collidable {
 	
 	
 	/**
-	 * Returns the size of this tile in pixels.
+	 * Returns the width of this tile in pixels.
+	 * 
+	 * @return | this.getSideSizeInPixels()
+	 */
+	@Override
+	@Immutable
+	public int getPixelWidth() {
+		return this.size;
+	}
+	
+	
+	/**
+	 * Returns the height of this tile in pixels.
 	 * 
-	 * @return A 2D vector representing the size of this tile in pixels.
-	 * 			| new Vector<>(this.getSizeInPixels(), this.getSizeInPixels())
+	 * @return | this.getSideSizeInPixels()
 	 */
+	@Override
 	@Immutable
-	public Vector<Integer> getSizeInPixels() {
-		return new Vector<>(this.getSideSizeInPixels(), this.getSideSizeInPixels());
+	public int getPixelHeight() {
+		return this.size;
 	}
 	
 	
@@ -165,4 +190,31 @@ public class Tile implements Collidable {
 	public boolean isPassable() {
 		return this.getType().isPassable();
 	}
+	
+	
+	/**
+	 * Returns whether this tile equals the given object.
+	 * 
+	 * @return true if the given object is a tile with the same position, size and type.
+	 * 			| object instanceof Tile && this.getPositionInTiles().equals(object.getPositionInTiles())
+	 * 			|	&& this.getSideSizeInPixels() == object.getSideSizeInPixels()
+	 * 			|	&& this.getType() == object.getType()
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof Tile)) {
+			return false;
+		}
+		Tile tile = (Tile) object;
+		return this.position.equals(tile.position) && this.size == tile.size && this.type == tile.type;
+	}
+	
+	
+	@Override
+	public int hashCode() {
+		return 31 * (31 * this.position.hashCode() + this.size) + this.type.ordinal();
+	}
 }
@@ -0,0 +1,192 @@
+package jumpingalien.model.world;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A grid of tile types stored as a single row-major array of type ordinals.
+ * 
+ * @invar Every stored value is the ordinal of a tile type.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+final class TileGrid implements TileGridView {
+	
+	/**
+	 * All tile types, indexed by their ordinal.
+	 */
+	private static final TileType[] TYPES = TileType.values();
+
+	/**
+	 * The number of tiles in the x dimension.
+	 */
+	private final int width;
+	
+	/**
+	 * The number of tiles in the y dimension.
+	 */
+	private final int height;
+	
+	/**
+	 * The ordinals of the tile types, row by row starting at the bottom row.
+	 */
+	private final byte[] types;
+	
+	/**
+	 * The summed-area table of every tile type, or null when it has to be rebuilt.
+	 * The entry of a type at column x and row y of a (width + 1) x (height + 1) table
+	 * is the number of tiles of that type left of column x and below row y.
+	 */
+	private int[][] countTables = null;
+	
+	
+	/**
+	 * Creates a new grid with the given dimensions, filled with the given tile type.
+	 * 
+	 * @param width
+	 * 			The number of tiles in the x dimension.
+	 * 
+	 * @param height
+	 * 			The number of tiles in the y dimension.
+	 * 
+	 * @param type
+	 * 			The type to fill the grid with.
+	 * 
+	 * @pre The dimensions have to be bigger than zero.
+	 * 			| width > 0 && height > 0
+	 * 
+	 * @post Every tile of the new grid will have the given type.
+	 * 			| for each x, y in new:
+	 * 			|	new.getTileType(x, y) == type
+	 */
+	TileGrid(int width, int height, TileType type) {
+		assert width > 0 && height > 0;
+		
+		this.width = width;
+		this.height = height;
+		this.types = new byte[width * height];
+		Arrays.fill(this.types, (byte) type.ordinal());
+	}
+	
+	
+	@Override
+	@Basic @Immutable
+	public int getWidth() {
+		return this.width;
+	}
+	
+	
+	@Override
+	@Basic @Immutable
+	public int getHeight() {
+		return this.height;
+	}
+	
+	
+	@Override
+	public TileType getTileType(int x, int y) {
+		assert this.contains(x, y);
+		return TYPES[this.types[y * this.width + x]];
+	}
+	
+	
+	/**
+	 * Sets the type of the tile at the given tile position.
+	 * 
+	 * @param x
+	 * 			The x position of the tile in tiles.
+	 * 
+	 * @param y
+	 * 			The y position of the tile in tiles.
+	 * 
+	 * @param type
+	 * 			The type to set.
+	 * 
+	 * @pre The given position has to lie in this grid.
+	 * 			| contains(x, y)
+	 * 
+	 * @post The tile at the given position will have the given type.
+	 * 			| new.getTileType(x, y) == type
+	 */
+	void setTileType(int x, int y, TileType type) {
+		assert this.contains(x, y);
+		this.types[y * this.width + x] = (byte) type.ordinal();
+		this.countTables = null;
+	}
+	
+	
+	@Override
+	public int countTilesOfType(TileType type, int firstX, int firstY, int lastX, int lastY) {
+		firstX = Math.max(0, firstX);
+		firstY = Math.max(0, firstY);
+		lastX = Math.min(this.width - 1, lastX);
+		lastY = Math.min(this.height - 1, lastY);
+		if (firstX > lastX || firstY > lastY) {
+			return 0;
+		}
+		
+		int[][] tables = this.countTables;
+		if (tables == null) {
+			tables = this.buildCountTables();
+		}
+		int[] table = tables[type.ordinal()];
+		int stride = this.width + 1;
+		return table[(lastY + 1) * stride + lastX + 1] - table[firstY * stride + lastX + 1]
+				- table[(lastY + 1) * stride + firstX] + table[firstY * stride + firstX];
+	}
+	
+	
+	/**
+	 * Returns whether the given range of tiles holds a tile of one of the given types.
+	 * 
+	 * @param typeMask
+	 * 			The mask of the tile types to look for, as created by TileType.maskOf.
+	 * 
+	 * @return Whether a tile of one of the types of the mask lies in the range.
+	 * 			| result == (for some type in TileType.values():
+	 * 			|	(typeMask & type.getMask()) != 0
+	 * 			|		&& this.countTilesOfType(type, firstX, firstY, lastX, lastY) > 0)
+	 */
+	boolean containsTileOfTypes(int typeMask, int firstX, int firstY, int lastX, int lastY) {
+		for (TileType type : TYPES) {
+			if ((typeMask & type.getMask()) != 0 && this.countTilesOfType(type, firstX, firstY, lastX, lastY) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	
+	/**
+	 * Builds the summed-area tables of all tile types from the current tile types, unless
+	 * they're still up to date. Changing a single tile throws all tables away, and they're
+	 * rebuilt as a whole on the next count instead of being updated in place: a change can
+	 * touch every entry above and to the right of it, while levels set all their tiles at once.
+	 * This grid isn't thread-safe, so the tables have to be built before several threads count
+	 * tiles at the same time.
+	 * 
+	 * @return The summed-area tables, indexed by tile type ordinal.
+	 */
+	int[][] buildCountTables() {
+		int[][] tables = this.countTables;
+		if (tables != null) {
+			return tables;
+		}
+		
+		int stride = this.width + 1;
+		tables = new int[TYPES.length][stride * (this.height + 1)];
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				int ordinal = this.types[y * this.width + x];
+				for (int t = 0; t < TYPES.length; t++) {
+					int[] table = tables[t];
+					table[(y + 1) * stride + x + 1] = table[y * stride + x + 1] + table[(y + 1) * stride + x]
+							- table[y * stride + x] + (ordinal == t ? 1 : 0);
+				}
+			}
+		}
+		this.countTables = tables;
+		return tables;
+	}
+}
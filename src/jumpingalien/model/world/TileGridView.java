@@ -0,0 +1,85 @@
+package jumpingalien.model.world;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A read-only view on the tile types of a game world. Lookups go straight to
+ * the world's own storage, so nothing is copied or allocated.
+ * 
+ * @author Rugen Heidbuchel, Menno Vanfrachem
+ */
+public interface TileGridView {
+
+	/**
+	 * Returns the number of tiles in the x dimension.
+	 */
+	@Basic @Immutable
+	int getWidth();
+	
+	
+	/**
+	 * Returns the number of tiles in the y dimension.
+	 */
+	@Basic @Immutable
+	int getHeight();
+	
+	
+	/**
+	 * Returns whether the given tile position lies in this grid.
+	 * 
+	 * @param x
+	 * 			The x position of the tile in tiles.
+	 * 
+	 * @param y
+	 * 			The y position of the tile in tiles.
+	 * 
+	 * @return true if the given tile position lies in this grid.
+	 * 			| x >= 0 && x < getWidth() && y >= 0 && y < getHeight()
+	 */
+	default boolean contains(int x, int y) {
+		return x >= 0 && x < this.getWidth() && y >= 0 && y < this.getHeight();
+	}
+	
+	
+	/**
+	 * Returns the type of the tile at the given tile position.
+	 * 
+	 * @param x
+	 * 			The x position of the tile in tiles.
+	 * 
+	 * @param y
+	 * 			The y position of the tile in tiles.
+	 * 
+	 * @pre The given position has to lie in this grid.
+	 * 			| contains(x, y)
+	 * 
+	 * @return The type of the tile at the given position.
+	 */
+	TileType getTileType(int x, int y);
+	
+	
+	/**
+	 * Returns the number of tiles of the given type in the given rectangle of tile
+	 * positions. The rectangle is clipped to this grid.
+	 * 
+	 * @param type
+	 * 			The tile type to count.
+	 * 
+	 * @param firstX
+	 * 			The x position of the leftmost column of the rectangle in tiles.
+	 * 
+	 * @param firstY
+	 * 			The y position of the bottom row of the rectangle in tiles.
+	 * 
+	 * @param lastX
+	 * 			The x position of the rightmost column of the rectangle in tiles.
+	 * 
+	 * @param lastY
+	 * 			The y position of the top row of the rectangle in tiles.
+	 * 
+	 * @return The number of positions (x, y) in the rectangle and in this grid with the given type.
+	 * 			| count of x in firstX..lastX, y in firstY..lastY:
+	 * 			|	contains(x, y) && getTileType(x, y) == type
+	 */
+	int countTilesOfType(TileType type, int firstX, int firstY, int lastX, int lastY);
+}
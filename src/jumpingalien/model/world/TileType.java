@@ -87,4 +87,32 @@ public enum TileType {
 	public boolean isPassable() {
 		return this.passable;
 	}
+	
+	
+	/**
+	 * Returns the bit of this tile type in a mask of tile types.
+	 * 
+	 * @return | 1 << this.ordinal()
+	 */
+	@Immutable
+	public int getMask() {
+		return 1 << this.ordinal();
+	}
+	
+	
+	/**
+	 * Returns the mask holding the bits of all given tile types.
+	 * 
+	 * @param types
+	 * 			The tile types to combine.
+	 * 
+	 * @return The bitwise or of the masks of the given tile types.
+	 */
+	public static int maskOf(TileType... types) {
+		int mask = 0;
+		for (TileType type : types) {
+			mask |= type.getMask();
+		}
+		return mask;
+	}
 }
@@ -1,17 +1,34 @@
 package jumpingalien.model.world;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 import jumpingalien.model.Collidable;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.command.CommandQueue;
 import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.gameobject.Mazub;
+import jumpingalien.part3.programs.IProgramFactory.Direction;
 import jumpingalien.util.ModelException;
 import be.kuleuven.cs.som.annotate.*;
 
@@ -30,22 +47,129 @@ public class World {
 	/**
 	 * The position of the bottom left pixel of the visible window in pixels.
 	 */
-	private Vector<Integer> visibleWindowBottomLeft;
+	private IntVec visibleWindowBottomLeft;
 	
 	/**
 	 * The position of the top right pixel of the visible window in pixels.
 	 */
-	private Vector<Integer> visibleWindowTopRight;
+	private IntVec visibleWindowTopRight;
 	
 	/**
 	 * The position of the target tile in tiles.
 	 */
-	private final Vector<Integer> targetTilePosition;
+	private final IntVec targetTilePosition;
 	
 	/**
-	 * A 2 dimensional array containing the types of tiles in the game world.
+	 * All tile types, in the order of their ordinals.
 	 */
-	private TileType[][] tiles;
+	private static final TileType[] TILE_TYPES = TileType.values();
+	
+	/**
+	 * A grid containing the types of tiles in the game world.
+	 */
+	private final TileGrid tiles;
+	
+	/**
+	 * The canonical tile of every cell in row-major order. A tile is created when it's
+	 * first needed and discarded when the type of its cell changes.
+	 */
+	private final Tile[] tileInstances;
+	
+	/**
+	 * An unmodifiable view of all tiles of this world.
+	 */
+	private final Set<Tile> tileView = new AbstractSet<Tile>() {
+		
+		@Override
+		public Iterator<Tile> iterator() {
+			return new Iterator<Tile>() {
+				
+				private int index = 0;
+				
+				@Override
+				public boolean hasNext() {
+					return this.index < tileInstances.length;
+				}
+				
+				@Override
+				public Tile next() {
+					if (!this.hasNext()) {
+						throw new NoSuchElementException();
+					}
+					int tileX = this.index / tiles.getHeight();
+					int tileY = this.index % tiles.getHeight();
+					this.index++;
+					return getTile(tileX, tileY);
+				}
+			};
+		}
+		
+		@Override
+		public int size() {
+			return tileInstances.length;
+		}
+		
+		@Override
+		public boolean contains(Object object) {
+			if (!(object instanceof Tile)) {
+				return false;
+			}
+			Tile tile = (Tile) object;
+			IntVec position = tile.getPositionInTiles();
+			return tilePositionInWorld(position) && tile.equals(getTile(position.x, position.y));
+		}
+	};
+	
+	/**
+	 * An unmodifiable view of all tiles, game objects and Mazub of this world.
+	 */
+	private final Set<Collidable> collidableView = new AbstractSet<Collidable>() {
+		
+		@Override
+		public Iterator<Collidable> iterator() {
+			return new Iterator<Collidable>() {
+				
+				private final Iterator<Tile> tileIterator = tileView.iterator();
+				
+				private final Iterator<GameObject> objectIterator = objects.iterator();
+				
+				private boolean mazubReturned = !hasProperMazub();
+				
+				@Override
+				public boolean hasNext() {
+					return this.tileIterator.hasNext() || this.objectIterator.hasNext() || !this.mazubReturned;
+				}
+				
+				@Override
+				public Collidable next() {
+					if (this.tileIterator.hasNext()) {
+						return this.tileIterator.next();
+					}
+					if (this.objectIterator.hasNext()) {
+						return this.objectIterator.next();
+					}
+					if (!this.mazubReturned) {
+						this.mazubReturned = true;
+						return getMazub();
+					}
+					throw new NoSuchElementException();
+				}
+			};
+		}
+		
+		@Override
+		public int size() {
+			return tileView.size() + objects.size() + (hasProperMazub() ? 1 : 0);
+		}
+		
+		@Override
+		public boolean contains(Object object) {
+			if (object instanceof Tile) {
+				return tileView.contains(object);
+			}
+			return objects.contains(object) || (hasProperMazub() && object == getMazub());
+		}
+	};
 	
 	
 	/**
@@ -54,15 +178,77 @@ public class World {
 	private Mazub mazub;
 	
 	/**
-	 * A set of game objects of this game world.
+	 * A set of game objects of this game world, in the order they were added.
+	 */
+	private Set<GameObject> objects = new LinkedHashSet<>();
+	
+	/**
+	 * A grid indexing all game objects of this world, including Mazub, by position.
+	 */
+	private final ObjectGrid objectGrid;
+	
+	/**
+	 * The game objects of this world, including Mazub, per class.
 	 */
-	private Set<GameObject> objects = new HashSet<>();
+	private final Map<Class<? extends GameObject>, Set<GameObject>> objectsByClass = new HashMap<>();
 	
 	/**
 	 * A command queue holding command to execute after warning each object of a collision.
 	 */
 	private CommandQueue commandQueue = new CommandQueue();
 	
+	/**
+	 * The command queue of the island being advanced by the current thread, if any.
+	 */
+	private final ThreadLocal<CommandQueue> islandCommandQueue = new ThreadLocal<>();
+	
+	/**
+	 * The grid indexing the game objects of the island being advanced by the current
+	 * thread, if any.
+	 */
+	private final ThreadLocal<ObjectGrid> islandObjectGrid = new ThreadLocal<>();
+	
+	/**
+	 * The scheduler advancing the game objects of this world in the order of their events.
+	 */
+	private final EventScheduler scheduler = new EventScheduler();
+	
+	/**
+	 * The way game objects in this world are moved between two collision checks.
+	 */
+	private CollisionMode collisionMode = CollisionMode.CONTINUOUS;
+	
+	/**
+	 * A list per thread reused by the swept collision queries to collect nearby game objects.
+	 */
+	private final ThreadLocal<ArrayList<GameObject>> sweptObjects = ThreadLocal.withInitial(ArrayList::new);
+	
+	/**
+	 * Whether independent islands of game objects are advanced in parallel.
+	 */
+	private boolean parallelStepping = false;
+	
+	/**
+	 * A list reused by every time step to hold Mazub and the game objects to advance.
+	 */
+	private final ArrayList<GameObject> scheduledObjects = new ArrayList<>();
+	
+	/**
+	 * A list reused by every time step to collect the game objects that died in it.
+	 */
+	private final ArrayList<GameObject> deadObjects = new ArrayList<>();
+	
+	/**
+	 * The particles of blood and gore in this world.
+	 */
+	private final ParticleSystem particles = new ParticleSystem();
+	
+	/**
+	 * The generator of the seeds of the game objects added to this world,
+	 * or null if no seed has been set.
+	 */
+	private Random seedGenerator = null;
+	
 	/**
 	 * Creates a new world with the given parameters.
 	 * 
@@ -92,7 +278,7 @@ public class World {
 	 * 
 	 * @post The number of tiles will be nbTilesX in the x
 	 * 			dimension and nbTilesY in the y dimension.
-	 * 			| new.getNumberOfTiles() == new Vector<>(nbTilesX, nbTilesY)
+	 * 			| new.getNumberOfTiles() == new IntVec(nbTilesX, nbTilesY)
 	 * 
 	 * @post The position of the bottom left pixel of the
 	 * 			visible window will be set to [0, 0].
@@ -123,16 +309,12 @@ public class World {
 		}
 		
 		this.tileSize = tileSize;
-		this.visibleWindowBottomLeft = new Vector<>(0, 0);
-		this.visibleWindowTopRight = new Vector<>(visibleWindowWidth, visibleWindowHeight);
-		this.targetTilePosition = new Vector<>(targetTileX, targetTileY);
-		this.tiles = new TileType[nbTilesX][nbTilesY];
-		
-		for (int x = 0; x < nbTilesX; x++) {
-			for (int y = 0; y < nbTilesY; y++) {
-				this.tiles[x][y] = TileType.AIR;
-			}
-		}
+		this.visibleWindowBottomLeft = IntVec.ZERO;
+		this.visibleWindowTopRight = new IntVec(visibleWindowWidth, visibleWindowHeight);
+		this.targetTilePosition = new IntVec(targetTileX, targetTileY);
+		this.tiles = new TileGrid(nbTilesX, nbTilesY, TileType.AIR);
+		this.tileInstances = new Tile[nbTilesX * nbTilesY];
+		this.objectGrid = new ObjectGrid(Math.max(1, tileSize), nbTilesX, nbTilesY);
 	}
 	
 	
@@ -163,11 +345,11 @@ public class World {
 	 * Returns the number of tiles in this game world in the x and y dimensions.
 	 * 
 	 * @return A 2D vector containing the number of tiles in the x, respectively y dimensions.
-	 * 			| new Vector<>(this.getTileTypes().length, this.getTileTypes()[0].length)
+	 * 			| new IntVec(this.getTileGrid().getWidth(), this.getTileGrid().getHeight())
 	 */
 	@Immutable
-	public Vector<Integer> getNumberOfTiles() {
-		return new Vector<>(this.getTileTypes().length, this.getTileTypes()[0].length);
+	public IntVec getNumberOfTiles() {
+		return new IntVec(this.tiles.getWidth(), this.tiles.getHeight());
 	}
 	
 	
@@ -175,12 +357,33 @@ public class World {
 	 * Returns the total size of the world in pixels.
 	 * 
 	 * @return A 2D vector representing the size of the game world in pixels.
-	 * 			| new Vector<>(this.getNumberOfTiles().x * this.getTileSize(),
-	 * 			|	this.getNumberOfTiles().y * this.getTileSize())
+	 * 			| new IntVec(this.getWidthInPixels(), this.getHeightInPixels())
 	 */
 	@Immutable
-	public Vector<Integer> getSizeInPixels() {
-		return new Vector<>(this.getNumberOfTiles().x * this.getTileSize(), this.getNumberOfTiles().y * this.getTileSize());
+	public IntVec getSizeInPixels() {
+		return new IntVec(this.getWidthInPixels(), this.getHeightInPixels());
+	}
+	
+	
+	/**
+	 * Returns the width of the world in pixels.
+	 * 
+	 * @return | this.getTileGrid().getWidth() * this.getTileSize()
+	 */
+	@Immutable
+	public int getWidthInPixels() {
+		return this.tiles.getWidth() * this.getTileSize();
+	}
+	
+	
+	/**
+	 * Returns the height of the world in pixels.
+	 * 
+	 * @return | this.getTileGrid().getHeight() * this.getTileSize()
+	 */
+	@Immutable
+	public int getHeightInPixels() {
+		return this.tiles.getHeight() * this.getTileSize();
 	}
 	
 	
@@ -191,11 +394,33 @@ public class World {
 	 * 			| Utilities.pixelsVectorToMeters(this.getSizeInPixels())
 	 */
 	@Immutable
-	public Vector<Double> getSizeInMeters() {
+	public DoubleVec getSizeInMeters() {
 		return Utilities.pixelsVectorToMeters(this.getSizeInPixels());
 	}
 	
 	
+	/**
+	 * Returns the width of the world in meters.
+	 * 
+	 * @return | Utilities.pixelsToMeters(this.getWidthInPixels())
+	 */
+	@Immutable
+	public double getWidthInMeters() {
+		return Utilities.pixelsToMeters(this.getWidthInPixels());
+	}
+	
+	
+	/**
+	 * Returns the height of the world in meters.
+	 * 
+	 * @return | Utilities.pixelsToMeters(this.getHeightInPixels())
+	 */
+	@Immutable
+	public double getHeightInMeters() {
+		return Utilities.pixelsToMeters(this.getHeightInPixels());
+	}
+	
+	
 	/**
 	 * Returns whether the given pixel's position lies
 	 * inside the game world.
@@ -208,10 +433,26 @@ public class World {
 	 * 			| pixel.x >= 0 && pixel.x < worldSize.x
 	 * 			|	&& pixel.y >= 0 && pixel.y < worldSize.y
 	 */
-	public boolean pixelInWorld(Vector<Integer> pixel) {
-		Vector<Integer> worldSize = this.getSizeInPixels();
-		return pixel.x >= 0 && pixel.x < worldSize.x
-				&& pixel.y >= 0 && pixel.y < worldSize.y;
+	public boolean pixelInWorld(IntVec pixel) {
+		return this.pixelInWorld(pixel.x, pixel.y);
+	}
+	
+	
+	/**
+	 * Returns whether the given pixel's position lies
+	 * inside the game world.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the pixel to check.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the pixel to check.
+	 * 
+	 * @return | this.pixelInWorld(new IntVec(x, y))
+	 */
+	public boolean pixelInWorld(int x, int y) {
+		return x >= 0 && x < this.getWidthInPixels()
+				&& y >= 0 && y < this.getHeightInPixels();
 	}
 	
 	
@@ -226,10 +467,8 @@ public class World {
 	 * 			| tile.x >= 0 && tile.x < numberOfTiles.x
 	 * 			|	&& tile.y >= 0 && tile.y < numberOfTiles.y
 	 */
-	public boolean tilePositionInWorld(Vector<Integer> tile) {
-		Vector<Integer> numberOfTiles = this.getNumberOfTiles();
-		return tile.x >= 0 && tile.x < numberOfTiles.x
-				&& tile.y >= 0 && tile.y < numberOfTiles.y;
+	public boolean tilePositionInWorld(IntVec tile) {
+		return this.tiles.contains(tile.x, tile.y);
 	}
 	
 	
@@ -240,14 +479,14 @@ public class World {
 	 * 			The position of the tile to check in tiles.
 	 * 
 	 * @return A 2D vector representing the bottom left pixel position of the specified tile.
-	 * 			| new Vector<>(tile.x * this.getTileSize(), tile.y * this.getTileSize())
+	 * 			| new IntVec(tile.x * this.getTileSize(), tile.y * this.getTileSize())
 	 * 
 	 * @pre The given tile must lie in the game world.
 	 * 			| this.tileInWorld(tile)
 	 */
-	public Vector<Integer> getBottomLeftPixelOfTile(Vector<Integer> tile) {
+	public IntVec getBottomLeftPixelOfTile(IntVec tile) {
 		assert this.tilePositionInWorld(tile);
-		return new Vector<>(tile.x * this.getTileSize(), tile.y * this.getTileSize());
+		return new IntVec(tile.x * this.getTileSize(), tile.y * this.getTileSize());
 	}
 	
 	
@@ -259,14 +498,14 @@ public class World {
 	 * 			The pixel to get the containing tile of.
 	 * 
 	 * @return A 2D vector representing the position of the tile containing the given pixel.
-	 * 			| new Vector<>(pixel.x / this.getTileSize(), pixel.y / this.getTileSize())
+	 * 			| new IntVec(pixel.x / this.getTileSize(), pixel.y / this.getTileSize())
 	 * 
 	 * @pre The given pixel must lie in the game world.
 	 * 			| this.pixelInWorld(pixel)
 	 */
-	public Vector<Integer> getTileContainingPixel(Vector<Integer> pixel) {
+	public IntVec getTileContainingPixel(IntVec pixel) {
 		assert this.pixelInWorld(pixel);
-		return new Vector<>(pixel.x / this.getTileSize(), pixel.y / this.getTileSize());
+		return new IntVec(pixel.x / this.getTileSize(), pixel.y / this.getTileSize());
 	}
 	
 	
@@ -286,25 +525,23 @@ public class World {
 	 * @pre The bottom left pixel must lie inside the game world.
 	 * 			| this.pixelInWorld(bottomLeftPixel)
 	 */
-	public ArrayList<Vector<Integer>> getTilePositionsInRectangle(Vector<Integer> bottomLeftPixel, Vector<Integer> topRightPixel) {
+	public ArrayList<IntVec> getTilePositionsInRectangle(IntVec bottomLeftPixel, IntVec topRightPixel) {
 		assert this.pixelInWorld(bottomLeftPixel);
 		
-		Vector<Integer> topRightRectPixel = Vector.add(topRightPixel, new Vector<>(-1, -1));
+		int firstTileX = this.getFirstTileX(bottomLeftPixel.x);
+		int firstTileY = this.getFirstTileY(bottomLeftPixel.y);
+		int lastTileX = this.getLastTileX(topRightPixel.x);
+		int lastTileY = this.getLastTileY(topRightPixel.y);
 		
-		Vector<Integer> bottomLeftTile = this.getTileContainingPixel(bottomLeftPixel);
-		Vector<Integer> topRightTile = this.pixelInWorld(topRightRectPixel) ?
-				this.getTileContainingPixel(topRightRectPixel) :
-				this.getTileContainingPixel(Utilities.clipVectorInRange(new Vector<>(0, 0), Vector.add(this.getSizeInPixels(), new Vector<>(-1, -1)), topRightRectPixel));
-		
-		int blockWidth = topRightTile.x - bottomLeftTile.x + 1;
-		int blockHeight = topRightTile.y - bottomLeftTile.y + 1;
+		int blockWidth = lastTileX - firstTileX + 1;
+		int blockHeight = lastTileY - firstTileY + 1;
 		int numberOfTiles = blockWidth * blockHeight;
 		
-		ArrayList<Vector<Integer>> positions = new ArrayList<Vector<Integer>>(numberOfTiles);
+		ArrayList<IntVec> positions = new ArrayList<IntVec>(numberOfTiles);
 		
-		for (int x = bottomLeftTile.x; x <= topRightTile.x; x++) {
-			for (int y = bottomLeftTile.y; y <= topRightTile.y; y++) {
-				positions.add(new Vector<Integer>(x, y));
+		for (int x = firstTileX; x <= lastTileX; x++) {
+			for (int y = firstTileY; y <= lastTileY; y++) {
+				positions.add(new IntVec(x, y));
 			}
 		}
 		
@@ -312,6 +549,52 @@ public class World {
 	}
 	
 	
+	/**
+	 * Returns the column of the tile containing the given x coordinate of the left pixel of a rectangle.
+	 * 
+	 * @param leftPixel
+	 * 			The x coordinate of the left pixel of the rectangle.
+	 */
+	private int getFirstTileX(int leftPixel) {
+		return leftPixel / this.getTileSize();
+	}
+	
+	
+	/**
+	 * Returns the row of the tile containing the given y coordinate of the bottom pixel of a rectangle.
+	 * 
+	 * @param bottomPixel
+	 * 			The y coordinate of the bottom pixel of the rectangle.
+	 */
+	private int getFirstTileY(int bottomPixel) {
+		return bottomPixel / this.getTileSize();
+	}
+	
+	
+	/**
+	 * Returns the last column of tiles a rectangle with the given right edge lies in,
+	 * clipped to the game world.
+	 * 
+	 * @param rightPixel
+	 * 			The x coordinate of the first pixel right of the rectangle.
+	 */
+	private int getLastTileX(int rightPixel) {
+		return Utilities.clipInRange(0, this.getWidthInPixels() - 1, rightPixel - 1) / this.getTileSize();
+	}
+	
+	
+	/**
+	 * Returns the last row of tiles a rectangle with the given top edge lies in,
+	 * clipped to the game world.
+	 * 
+	 * @param topPixel
+	 * 			The y coordinate of the first pixel above the rectangle.
+	 */
+	private int getLastTileY(int topPixel) {
+		return Utilities.clipInRange(0, this.getHeightInPixels() - 1, topPixel - 1) / this.getTileSize();
+	}
+	
+	
 	/**
 	 * Returns the rectangle of the visible window.
 	 * 
@@ -321,14 +604,14 @@ public class World {
 	@Basic
 	@Immutable
 	public int[] getVisibleWindow() {
-		Vector<Integer> size = new Vector<>(visibleWindowTopRight.x - visibleWindowBottomLeft.x,
+		IntVec size = new IntVec(visibleWindowTopRight.x - visibleWindowBottomLeft.x,
 											visibleWindowTopRight.y - visibleWindowBottomLeft.y);
-		Vector<Integer> pos = new Vector<>(mazub.getCenterInPixels().x - size.x / 2,
+		IntVec pos = new IntVec(mazub.getCenterInPixels().x - size.x / 2,
 										   mazub.getCenterInPixels().y - size.y / 2);
 		//Correction for the edges of the map
-		pos = Utilities.clipVectorInRange(new Vector<>(0, 0), Vector.add(Vector.add(this.getSizeInPixels(), Vector.scale(size, -1)), new Vector<>(-1, -1)), pos);
+		pos = Utilities.clipVectorInRange(IntVec.ZERO, this.getSizeInPixels().add(size.scale(-1)).add(new IntVec(-1, -1)), pos);
 		
-		Vector<Integer> topRight = Vector.add(pos, size);
+		IntVec topRight = pos.add(size);
 		int[] windowArray = {pos.x, pos.y, topRight.x, topRight.y};
 		return windowArray;
 	}
@@ -341,7 +624,7 @@ public class World {
 	 */
 	@Basic
 	@Immutable
-	public Vector<Integer> getTargetTilePosition() {
+	public IntVec getTargetTilePosition() {
 		return this.targetTilePosition;
 	}
 	
@@ -366,27 +649,42 @@ public class World {
 		if (mazub.isHealthZero()) {
 			return false;
 		}
-		ArrayList<Vector<Integer>> tilePositions = this.getTilePositionsInRectangle(
-				mazub.getPositionInPixels(), mazub.getTopRightPixel());
-		Vector<Integer> targetTilePos = this.getTargetTilePosition();
-		for (Vector<Integer> pos : tilePositions) {
-			if ((pos.x == targetTilePos.x) && (pos.y == targetTilePosition.y)) {
-				return true;
-			}
-		}
-		return false;
+		IntVec targetTilePos = this.getTargetTilePosition();
+		return targetTilePos.x >= this.getFirstTileX(mazub.getPixelX())
+				&& targetTilePos.x <= this.getLastTileX(mazub.getPixelX() + mazub.getPixelWidth())
+				&& targetTilePos.y >= this.getFirstTileY(mazub.getPixelY())
+				&& targetTilePos.y <= this.getLastTileY(mazub.getPixelY() + mazub.getPixelHeight());
 	}
 	
 	
 	/**
-	 * Returns a grid representing the tile types of the tiles in 
-	 * the game world.
+	 * Returns a read-only view on the tile types of this game world.
+	 * The view reflects later changes to the tiles of this world.
+	 * 
+	 * @return A view on the tile types of this game world.
+	 */
+	@Basic @Immutable
+	public TileGridView getTileGrid() {
+		return this.tiles;
+	}
+	
+	
+	/**
+	 * Returns a copy of the grid representing the tile types of the tiles in 
+	 * the game world. Use getTileGrid to look up tile types without copying.
 	 * 
 	 * @return A 2D array representing the game world's tiles' types.
+	 * 			| for each x, y in this.getTileGrid():
+	 * 			|	result[x][y] == this.getTileGrid().getTileType(x, y)
 	 */
-	@Basic
 	public TileType[][] getTileTypes() {
-		return this.tiles.clone();
+		TileType[][] types = new TileType[this.tiles.getWidth()][this.tiles.getHeight()];
+		for (int x = 0; x < types.length; x++) {
+			for (int y = 0; y < types[x].length; y++) {
+				types[x][y] = this.tiles.getTileType(x, y);
+			}
+		}
+		return types;
 	}
 	
 	
@@ -398,18 +696,18 @@ public class World {
 	 * 
 	 * @return The type of the tile that contains the given pixel.
 	 * 			| tilePosition = this.getTileContainingPixel(pixel)
-	 * 			| this.getTileTypes()[tilePosition.x][tilePosition.y]
+	 * 			| this.getTileGrid().getTileType(tilePosition.x, tilePosition.y)
 	 * 
 	 * @throws ModelException
 	 * 			Throws a ModelException when the given pixel does not lie in the game world.
 	 * 			| !this.pixelInWorld(pixel)
 	 */
-	public TileType getTileTypeOfPixel(Vector<Integer> pixel) throws ModelException {
+	public TileType getTileTypeOfPixel(IntVec pixel) throws ModelException {
 		if (!this.pixelInWorld(pixel)) {
 			throw new ModelException("The pixel has to lie in the game world.");
 		}
-		Vector<Integer> tilePosition = this.getTileContainingPixel(pixel);
-		return this.getTileTypes()[tilePosition.x][tilePosition.y];
+		IntVec tilePosition = this.getTileContainingPixel(pixel);
+		return this.tiles.getTileType(tilePosition.x, tilePosition.y);
 	}
 	
 	
@@ -420,18 +718,18 @@ public class World {
 	 * 			The position of the tile.
 	 * 
 	 * @return The type of the tile at the given tile position.
-	 * 			| this.getTileTypes()[position.x][position.y]
+	 * 			| this.getTileGrid().getTileType(position.x, position.y)
 	 * 
 	 * @throws ModelException
 	 * 			Throws a model exception when the given tile position
 	 * 			does not lie in the game world.
 	 * 			| !this.tilePositionInWorld(position)
 	 */
-	public TileType getTileTypeOfTile(Vector<Integer> position) throws ModelException {
+	public TileType getTileTypeOfTile(IntVec position) throws ModelException {
 		if (!this.tilePositionInWorld(position)) {
 			throw new ModelException("The tile position has to lie in the game world.");
 		}
-		return this.getTileTypes()[position.x][position.y];
+		return this.tiles.getTileType(position.x, position.y);
 	}
 	
 	
@@ -451,9 +749,61 @@ public class World {
 	 * 			| new.getTile(new.getBottomLeftPixelOfTile(position)) == tile
 	 */
 	@Basic
-	public void setTileType(Vector<Integer> position, TileType type) {
+	public void setTileType(IntVec position, TileType type) {
 		assert this.tilePositionInWorld(position);
-		this.tiles[position.x][position.y] = type;
+		this.tiles.setTileType(position.x, position.y, type);
+		this.tileInstances[position.y * this.tiles.getWidth() + position.x] = null;
+	}
+	
+	
+	/**
+	 * Returns the tile at the given tile position. The same tile is returned
+	 * until the type of that position changes.
+	 * 
+	 * @param tileX
+	 * 			The x coordinate of the tile position.
+	 * 
+	 * @param tileY
+	 * 			The y coordinate of the tile position.
+	 * 
+	 * @pre The given tile position must lie in the game world.
+	 * 			| this.tilePositionInWorld(new IntVec(tileX, tileY))
+	 * 
+	 * @return The tile at the given position with the size of the tiles of this world
+	 * 			and the type of the given position.
+	 * 			| result.equals(new Tile(new IntVec(tileX, tileY), this.getTileSize(),
+	 * 			|	this.getTileGrid().getTileType(tileX, tileY)))
+	 */
+	public Tile getTile(int tileX, int tileY) {
+		int index = tileY * this.tiles.getWidth() + tileX;
+		Tile tile = this.tileInstances[index];
+		if (tile == null) {
+			tile = new Tile(new IntVec(tileX, tileY), this.getTileSize(), this.tiles.getTileType(tileX, tileY));
+			this.tileInstances[index] = tile;
+		}
+		return tile;
+	}
+	
+	
+	/**
+	 * Returns the tile containing the given pixel.
+	 * 
+	 * @param pixel
+	 * 			The pixel to get the tile of.
+	 * 
+	 * @return The tile containing the given pixel.
+	 * 			| tilePosition == this.getTileContainingPixel(pixel)
+	 * 			| result == this.getTile(tilePosition.x, tilePosition.y)
+	 * 
+	 * @throws ModelException
+	 * 			Throws a ModelException when the given pixel doesn't lie in the game world.
+	 * 			| !this.pixelInWorld(pixel)
+	 */
+	public Tile getTileAtPixel(IntVec pixel) throws ModelException {
+		if (!this.pixelInWorld(pixel)) {
+			throw new ModelException("The pixel has to lie in the game world.");
+		}
+		return this.getTile(pixel.x / this.getTileSize(), pixel.y / this.getTileSize());
 	}
 	
 	
@@ -486,6 +836,7 @@ public class World {
 		} else if (this.objects.contains(gameObject)) {
 			this.objects.remove(gameObject);
 		}
+		this.updateIndexMembership(gameObject);
 	}
 	
 	
@@ -510,11 +861,59 @@ public class World {
 			throw new IllegalArgumentException("The GameObject can't be null or terminated.");
 		}
 		
-		this.objects.add(object);
+		if (this.objects.add(object) && this.seedGenerator != null) {
+			object.setRandomSeed(this.seedGenerator.nextLong());
+		}
+		this.updateIndexMembership(object);
 		object.setWorld(this);
 	}
 	
 	
+	/**
+	 * Updates the position of the given game object in the index of this world.
+	 * This method has to be called whenever the position or size of a game object
+	 * in this world changes.
+	 * 
+	 * @param object
+	 * 			The game object that moved or changed size.
+	 */
+	public void updateGameObjectIndex(GameObject object) {
+		this.getObjectGrid().update(object);
+	}
+	
+	
+	/**
+	 * Returns the grid queries on the game objects of this world are answered with.
+	 * While an island of game objects is being advanced, this is the grid of that island,
+	 * so islands advanced in parallel never read or change each other's game objects.
+	 */
+	private ObjectGrid getObjectGrid() {
+		ObjectGrid grid = this.islandObjectGrid.get();
+		return (grid != null) ? grid : this.objectGrid;
+	}
+	
+	
+	/**
+	 * Adds the given game object to, or removes it from, the index of this world,
+	 * depending on whether it's still one of this world's game objects.
+	 * 
+	 * @param object
+	 * 			The game object to update the membership of.
+	 */
+	private void updateIndexMembership(GameObject object) {
+		if (object == this.mazub || this.objects.contains(object)) {
+			this.objectGrid.add(object);
+			this.objectsByClass.computeIfAbsent(object.getClass(), cls -> new LinkedHashSet<>()).add(object);
+		} else {
+			this.objectGrid.remove(object);
+			Set<GameObject> objectsOfClass = this.objectsByClass.get(object.getClass());
+			if (objectsOfClass != null) {
+				objectsOfClass.remove(object);
+			}
+		}
+	}
+	
+	
 	/**
 	 * Returns the mazub of this game world.
 	 * 
@@ -546,7 +945,15 @@ public class World {
 		if (!this.canHaveAsMazub(mazub)) {
 			throw new IllegalArgumentException("This game world can not have the given mazub as it's mazub");
 		}
+		Mazub oldMazub = this.mazub;
 		this.mazub = mazub;
+		if (oldMazub != null) {
+			this.updateIndexMembership(oldMazub);
+		}
+		this.updateIndexMembership(mazub);
+		if (mazub != oldMazub && this.seedGenerator != null) {
+			mazub.setRandomSeed(this.seedGenerator.nextLong());
+		}
 		mazub.setWorld(this);
 	}
 	
@@ -604,8 +1011,8 @@ public class World {
 	@Basic
 	public <T extends GameObject> Set<T> getGameObjectsWithClass(Class<T> cls) {
 		Set<T> objects = new HashSet<T>();
-		for (GameObject obj : this.getGameObjects()){
-			if (obj.getClass() == cls){
+		for (GameObject obj : this.objectsByClass.getOrDefault(cls, Collections.emptySet())) {
+			if (obj != this.mazub || this.hasProperMazub()) {
 				objects.add(cls.cast(obj));
 			}
 		}
@@ -614,34 +1021,210 @@ public class World {
 	
 	
 	/**
-	 * Returns a set of all game objects colliding with the given game object.
+	 * Adds the game objects of this world, including Mazub, of a class satisfying the given
+	 * condition and with their bottom left pixel in the given range to the given collection.
+	 * The objects are looked up per class when the range is unbounded and in the grid of
+	 * this world otherwise.
 	 * 
-	 * @param object
-	 * 			The object to get colliding objects with.
+	 * @param classCondition
+	 * 			The condition the class of the game objects has to satisfy.
 	 * 
-	 * @return A set containing all objects the given object collides with.
+	 * @param minX
+	 * 			The smallest x coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param minY
+	 * 			The smallest y coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param maxX
+	 * 			The largest x coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param maxY
+	 * 			The largest y coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param result
+	 * 			The collection to add the game objects to.
+	 * 
+	 * @post | for each obj in this.getGameObjects():
+	 * 			|	if (classCondition.test(obj.getClass())
+	 * 			|			&& minX <= obj.getPixelX() && obj.getPixelX() <= maxX
+	 * 			|			&& minY <= obj.getPixelY() && obj.getPixelY() <= maxY)
+	 * 			|	then result.contains(obj)
 	 */
-	public Set<GameObject> getObjectsCollidingWithObject(GameObject object) {
+	public void collectGameObjects(Predicate<? super Class<? extends GameObject>> classCondition,
+			int minX, int minY, int maxX, int maxY, Collection<? super GameObject> result) {
 		
-		HashSet<GameObject> collidingObjects = new HashSet<GameObject>();
+		boolean unbounded = (minX == Integer.MIN_VALUE) && (minY == Integer.MIN_VALUE)
+				&& (maxX == Integer.MAX_VALUE) && (maxY == Integer.MAX_VALUE);
+		boolean properMazub = this.hasProperMazub();
 		
-		if (object == null) {
-			return collidingObjects;
+		if (unbounded) {
+			for (Map.Entry<Class<? extends GameObject>, Set<GameObject>> entry : this.objectsByClass.entrySet()) {
+				if (classCondition.test(entry.getKey())) {
+					for (GameObject object : entry.getValue()) {
+						if (object != this.mazub || properMazub) {
+							result.add(object);
+						}
+					}
+				}
+			}
+		} else {
+			ArrayList<GameObject> objectsInRange = new ArrayList<>();
+			this.getObjectGrid().collectWithPositionIn(minX, minY, maxX, maxY, objectsInRange);
+			for (GameObject object : objectsInRange) {
+				if (classCondition.test(object.getClass()) && (object != this.mazub || properMazub)) {
+					result.add(object);
+				}
+			}
 		}
+	}
+	
+	
+	/**
+	 * Adds the tiles of this world of a type satisfying the given condition and with their
+	 * bottom left pixel in the given range to the given collection, column by column.
+	 * Only the tiles that are added are created.
+	 * 
+	 * @param typeCondition
+	 * 			The condition the type of the tiles has to satisfy.
+	 * 
+	 * @param minX
+	 * 			The smallest x coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param minY
+	 * 			The smallest y coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param maxX
+	 * 			The largest x coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param maxY
+	 * 			The largest y coordinate of the bottom left pixel in pixels.
+	 * 
+	 * @param result
+	 * 			The collection to add the tiles to.
+	 * 
+	 * @post | for each tile in this.getTiles():
+	 * 			|	if (typeCondition.test(tile.getType())
+	 * 			|			&& minX <= tile.getPixelX() && tile.getPixelX() <= maxX
+	 * 			|			&& minY <= tile.getPixelY() && tile.getPixelY() <= maxY)
+	 * 			|	then result.contains(tile)
+	 */
+	public void collectTiles(Predicate<? super TileType> typeCondition,
+			int minX, int minY, int maxX, int maxY, Collection<? super Tile> result) {
 		
-		for (GameObject obj : this.getGameObjects()) {
-			
-			if (obj != object && object.collidesWithGameObjectClass(obj.getClass())
-					&& object.doesOverlapWith(obj)) {
-				
-				collidingObjects.add(obj);
+		int firstTileX = (int) Math.max(0, -Math.floorDiv(-(long) minX, (long) this.tileSize));
+		int firstTileY = (int) Math.max(0, -Math.floorDiv(-(long) minY, (long) this.tileSize));
+		int lastTileX = (int) Math.min(this.tiles.getWidth() - 1, Math.floorDiv((long) maxX, (long) this.tileSize));
+		int lastTileY = (int) Math.min(this.tiles.getHeight() - 1, Math.floorDiv((long) maxY, (long) this.tileSize));
+		
+		for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+			for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+				if (typeCondition.test(this.tiles.getTileType(tileX, tileY))) {
+					result.add(this.getTile(tileX, tileY));
+				}
 			}
 		}
+	}
+	
+	
+	/**
+	 * Returns a set of all game objects colliding with the given game object.
+	 * 
+	 * @param object
+	 * 			The object to get colliding objects with.
+	 * 
+	 * @return A set containing all objects the given object collides with.
+	 */
+	public Set<GameObject> getObjectsCollidingWithObject(GameObject object) {
 		
+		Set<GameObject> collidingObjects = new LinkedHashSet<GameObject>();
+		this.collectObjectsCollidingWithObject(object, collidingObjects);
 		return collidingObjects;
 	}
 	
 	
+	/**
+	 * Adds all game objects colliding with the given game object to the given collection.
+	 * Nothing is allocated, so this can be used on every step of a game object. The order
+	 * of the game objects only depends on their positions and the order they were added in,
+	 * not on the order in which they moved.
+	 * 
+	 * @param object
+	 * 			The object to get colliding objects with.
+	 * 
+	 * @param result
+	 * 			The collection to add the game objects to.
+	 * 
+	 * @post Every other game object overlapping the given object that it collides with
+	 * 			is added to the result exactly once.
+	 * 			| for each obj in this.getGameObjects():
+	 * 			|	if (obj != object && object.doesOverlapWith(obj) && object.collidesWithGameObject(obj))
+	 * 			|	then result.contains(obj)
+	 */
+	public void collectObjectsCollidingWithObject(GameObject object, Collection<? super GameObject> result) {
+		if (object != null) {
+			this.getObjectGrid().collectCollidingWith(object, result);
+		}
+	}
+	
+	
+	/**
+	 * Adds all game objects of this world overlapping the given rectangle to the given collection.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param width
+	 * 			The width of the rectangle in pixels.
+	 * 
+	 * @param height
+	 * 			The height of the rectangle in pixels.
+	 * 
+	 * @param result
+	 * 			The collection to add the game objects to.
+	 * 
+	 * @post All game objects overlapping the rectangle will be added to the result.
+	 * 			| for each obj in this.getGameObjects():
+	 * 			|	if obj.doesOverlapWithRect(x, y, width, height)
+	 * 			|	then result.contains(obj)
+	 */
+	void collectGameObjectsInRectangle(int x, int y, int width, int height,
+			Collection<? super GameObject> result) {
+		this.getObjectGrid().collectOverlapping(x, y, width, height, result);
+	}
+	
+	
+	/**
+	 * Returns whether the given rectangle overlaps a tile of the given type. The tiles
+	 * taken into account are the ones getTilesCollidingWithObject looks at for an object
+	 * with the same bounding box. This takes constant time, whatever the size of the rectangle.
+	 * 
+	 * @param type
+	 * 			The tile type to look for.
+	 * 
+	 * @param x
+	 * 			The x coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param y
+	 * 			The y coordinate of the bottom left pixel of the rectangle.
+	 * 
+	 * @param width
+	 * 			The width of the rectangle in pixels.
+	 * 
+	 * @param height
+	 * 			The height of the rectangle in pixels.
+	 * 
+	 * @return Whether a tile of the given type lies in the tile range of the rectangle.
+	 * 			| this.getTileGrid().countTilesOfType(type, firstTileX, firstTileY, lastTileX, lastTileY) > 0
+	 */
+	public boolean overlapsTileOfType(TileType type, int x, int y, int width, int height) {
+		return this.tiles.countTilesOfType(type, this.getFirstTileX(x), this.getFirstTileY(y),
+				this.getLastTileX(x + width), this.getLastTileY(y + height)) > 0;
+	}
+	
+	
 	/**
 	 * Returns a set of all tiles colliding with the given game object.
 	 * 
@@ -649,27 +1232,53 @@ public class World {
 	 * 			The object to get colliding tiles with.
 	 * 
 	 * @return A set containing all tiles the given object collides with.
+	 * 			| result == { tile added by this.collectTilesCollidingWithObject(object, result) }
 	 */
 	public Set<Tile> getTilesCollidingWithObject(GameObject object) {
 		
-		Set<Tile> collidingTiles = new HashSet<Tile>();
+		Set<Tile> collidingTiles = new LinkedHashSet<Tile>();
+		this.collectTilesCollidingWithObject(object, collidingTiles);
+		return collidingTiles;
+	}
+	
+	
+	/**
+	 * Adds all tiles colliding with the given game object to the given collection, column by
+	 * column. Nothing is allocated, so this can be used on every step of a game object.
+	 * 
+	 * @param object
+	 * 			The object to get colliding tiles with.
+	 * 
+	 * @param result
+	 * 			The collection to add the tiles to.
+	 * 
+	 * @post Every tile overlapping the given object with a type the object collides with
+	 * 			is added to the result exactly once.
+	 * 			| for each tile in this.getTiles():
+	 * 			|	if (object.doesOverlapWith(tile) && object.collidesWithTileType(tile.getType()))
+	 * 			|	then result.contains(tile)
+	 */
+	public void collectTilesCollidingWithObject(GameObject object, Collection<? super Tile> result) {
 		
 		if (object == null) {
-			return collidingTiles;
+			return;
 		}
 		
-		ArrayList<Vector<Integer>> positions = this.getTilePositionsInRectangle(object.getPositionInPixels(),
-				Vector.add(object.getPositionInPixels(), object.getSizeInPixels()));
+		int pixelX = object.getPixelX();
+		int pixelY = object.getPixelY();
+		assert this.pixelInWorld(pixelX, pixelY);
 		
-		for (Vector<Integer> position : positions) {
-			TileType type = this.getTileTypeOfTile(position);
-			if (object.collidesWithTileType(type)) {
-				Tile tile = new Tile(position, this.getTileSize(), type);
-				collidingTiles.add(tile);
+		int lastTileX = this.getLastTileX(pixelX + object.getPixelWidth());
+		int lastTileY = this.getLastTileY(pixelY + object.getPixelHeight());
+		
+		for (int x = this.getFirstTileX(pixelX); x <= lastTileX; x++) {
+			for (int y = this.getFirstTileY(pixelY); y <= lastTileY; y++) {
+				TileType type = this.tiles.getTileType(x, y);
+				if (object.collidesWithTileType(type)) {
+					result.add(this.getTile(x, y));
+				}
 			}
 		}
-		
-		return collidingTiles;
 	}
 	
 	
@@ -683,9 +1292,9 @@ public class World {
 	 */
 	public Set<Collidable> getCollidablesCollidingWithObject(GameObject object) {
 		
-		Set<Collidable> collidables = new HashSet<Collidable>();
-		collidables.addAll(this.getObjectsCollidingWithObject(object));
-		collidables.addAll(this.getTilesCollidingWithObject(object));
+		Set<Collidable> collidables = new LinkedHashSet<Collidable>();
+		this.collectObjectsCollidingWithObject(object, collidables);
+		this.collectTilesCollidingWithObject(object, collidables);
 		return collidables;
 	}
 	
@@ -705,30 +1314,21 @@ public class World {
 	 * 			Throws a NullPointerException when either of the paramaters is null.
 	 * 			| bottomLeft == null || size == null
 	 */
-	public Set<Collidable> getCollidablesInRectangle(Vector<Integer> bottomLeft, Vector<Integer> size) throws NullPointerException {
+	public Set<Collidable> getCollidablesInRectangle(IntVec bottomLeft, IntVec size) throws NullPointerException {
 		
 		if (bottomLeft == null || size == null) {
 			throw new NullPointerException("The rectangle's parameters can not be null.");
 		}
 		
-		Set<Collidable> collidables = new HashSet<Collidable>();
+		Set<Collidable> collidables = new LinkedHashSet<Collidable>();
+		this.collectGameObjectsInRectangle(bottomLeft.x, bottomLeft.y, size.x, size.y, collidables);
 		
-		for (GameObject obj : this.getGameObjects()) {
-			
-			if (obj.doesOverlapWithRect(bottomLeft, size)) {
-				
-				collidables.add(obj);
-			}
-		}
+		ArrayList<IntVec> positions = this.getTilePositionsInRectangle(bottomLeft, bottomLeft.add(size));
 		
-		ArrayList<Vector<Integer>> positions = this.getTilePositionsInRectangle(bottomLeft,
-				Vector.add(bottomLeft, size));
-		
-		for (Vector<Integer> position : positions) {
+		for (IntVec position : positions) {
 			TileType type = this.getTileTypeOfTile(position);
 			if (!type.isPassable()) {
-				Tile tile = new Tile(position, this.getTileSize(), type);
-				collidables.add(tile);
+				collidables.add(this.getTile(position.x, position.y));
 			}
 		}
 		
@@ -736,6 +1336,229 @@ public class World {
 	}
 	
 	
+	/**
+	 * Returns the collidable nearest to the given game object in the given direction. That's
+	 * the game object or impassable tile closest to the center of the given object, of the
+	 * ones in the strip from the side of the object in the given direction to the edge of
+	 * this world. The strip is as wide as the object. When several collidables are equally
+	 * close, tiles are preferred over game objects, and the tile or game object found last
+	 * when looking through the strip from its bottom left is returned.
+	 * 
+	 * The tiles are walked from the object outwards, until the tiles left are further away
+	 * than the nearest impassable tile found. Only game objects that can be closer than that
+	 * tile are looked up, so the time taken depends on the distance to the nearest collidable
+	 * instead of on the size of this world.
+	 * 
+	 * @param object
+	 * 			The game object to search from.
+	 * 
+	 * @param direction
+	 * 			The direction to search in.
+	 * 
+	 * @return The nearest collidable in the strip, or null if there is none.
+	 */
+	public Collidable searchObject(GameObject object, Direction direction) {
+		int x = 0, y = 0, width = 0, height = 0;
+		switch (direction) {
+		case LEFT:
+			y = object.getPixelY();
+			width = object.getPixelX();
+			height = object.getPixelHeight();
+			break;
+		case RIGHT:
+			x = object.getPixelX() + object.getPixelWidth();
+			y = object.getPixelY();
+			width = this.getWidthInPixels() - x;
+			height = object.getPixelHeight();
+			break;
+		case UP:
+			x = object.getPixelX();
+			y = object.getPixelY() + object.getPixelHeight();
+			width = object.getPixelWidth();
+			height = this.getHeightInPixels() - y;
+			break;
+		case DOWN:
+			x = object.getPixelX();
+			width = object.getPixelWidth();
+			height = object.getPixelY();
+			break;
+		}
+		
+		IntVec center = object.getCenterInPixels();
+		boolean horizontal = (direction == Direction.LEFT || direction == Direction.RIGHT);
+		boolean forward = (direction == Direction.RIGHT || direction == Direction.UP);
+		
+		int firstTileX = Math.max(0, this.getFirstTileX(x));
+		int firstTileY = Math.max(0, this.getFirstTileY(y));
+		int lastTileX = this.getLastTileX(x + width);
+		int lastTileY = this.getLastTileY(y + height);
+		
+		int firstLayer = horizontal ? firstTileX : firstTileY;
+		int lastLayer = horizontal ? lastTileX : lastTileY;
+		int centerAlong = horizontal ? center.x : center.y;
+		int halfTile = this.tileSize / 2;
+		
+		long tileDistance = Long.MAX_VALUE;
+		int tileX = -1, tileY = -1;
+		for (int i = 0; i <= lastLayer - firstLayer; i++) {
+			int layer = forward ? firstLayer + i : lastLayer - i;
+			long along = (long) (layer * this.tileSize + halfTile - centerAlong) * (forward ? 1 : -1);
+			if (along > 0 && along * along > tileDistance) {
+				break;
+			}
+			int firstCross = horizontal ? firstTileY : firstTileX;
+			int lastCross = horizontal ? lastTileY : lastTileX;
+			for (int cross = firstCross; cross <= lastCross; cross++) {
+				int candidateX = horizontal ? layer : cross;
+				int candidateY = horizontal ? cross : layer;
+				if (!this.tiles.getTileType(candidateX, candidateY).isPassable()) {
+					long distance = squaredDistance(center, candidateX * this.tileSize + halfTile,
+							candidateY * this.tileSize + halfTile);
+					if (distance < tileDistance || (distance == tileDistance
+							&& (candidateX > tileX || (candidateX == tileX && candidateY > tileY)))) {
+						tileDistance = distance;
+						tileX = candidateX;
+						tileY = candidateY;
+					}
+				}
+			}
+		}
+		
+		// Game objects further from the center than the nearest tile can't be nearer,
+		// so the strip is cut off a little beyond that distance. At least one row or
+		// column of the strip is kept, for the objects reaching into it from the side
+		// of the searching object.
+		if (tileDistance != Long.MAX_VALUE) {
+			long reach = (long) Math.sqrt(tileDistance) + 2;
+			if (direction == Direction.RIGHT) {
+				width = (int) Math.max(Math.min(width, 1), Math.min(width, center.x + reach - x));
+			} else if (direction == Direction.UP) {
+				height = (int) Math.max(Math.min(height, 1), Math.min(height, center.y + reach - y));
+			} else if (direction == Direction.LEFT) {
+				int left = (int) Math.min(Math.max(x, center.x - reach), Math.max(x, x + width - 1));
+				width -= left - x;
+				x = left;
+			} else {
+				int bottom = (int) Math.min(Math.max(y, center.y - reach), Math.max(y, y + height - 1));
+				height -= bottom - y;
+				y = bottom;
+			}
+		}
+		
+		GameObject nearestObject = null;
+		long objectDistance = Long.MAX_VALUE;
+		ArrayList<GameObject> objects = new ArrayList<>();
+		this.collectGameObjectsInRectangle(x, y, width, height, objects);
+		for (GameObject candidate : objects) {
+			long distance = squaredDistance(center, candidate.getCenterInPixels().x, candidate.getCenterInPixels().y);
+			if (distance <= objectDistance) {
+				objectDistance = distance;
+				nearestObject = candidate;
+			}
+		}
+		
+		if (tileDistance != Long.MAX_VALUE && tileDistance <= objectDistance) {
+			return this.getTile(tileX, tileY);
+		}
+		return nearestObject;
+	}
+	
+	
+	/**
+	 * Returns the square of the distance between the given pixel and the pixel with the given coordinates.
+	 */
+	private static long squaredDistance(IntVec pixel, int x, int y) {
+		long dx = x - pixel.x;
+		long dy = y - pixel.y;
+		return dx * dx + dy * dy;
+	}
+	
+	
+	/**
+	 * Returns the time until the given game object, moving with the given speed and
+	 * acceleration, starts or stops overlapping a tile or game object it collides with.
+	 * Only impassable tiles, tiles of a type the object collides with and game objects of
+	 * a class the object collides with are taken into account. Other game objects are
+	 * considered to be standing still.
+	 * 
+	 * @param object
+	 * 			The moving game object.
+	 * 
+	 * @param vx
+	 * 			The horizontal speed of the object in m/s.
+	 * 
+	 * @param vy
+	 * 			The vertical speed of the object in m/s.
+	 * 
+	 * @param ax
+	 * 			The horizontal acceleration of the object in m/(s^2).
+	 * 
+	 * @param ay
+	 * 			The vertical acceleration of the object in m/(s^2).
+	 * 
+	 * @param maxTime
+	 * 			The maximum time to look ahead.
+	 * 
+	 * @return The time in seconds until the first change of contact, or maxTime when
+	 * 			there is no change of contact within that time.
+	 */
+	public double getTimeUntilContactChange(GameObject object, double vx, double vy,
+			double ax, double ay, double maxTime) {
+		
+		double x = object.getPositionXInMeters();
+		double y = object.getPositionYInMeters();
+		int width = object.getPixelWidth();
+		int height = object.getPixelHeight();
+		
+		int reachX = Utilities.metersToPixels(Math.abs(vx) * maxTime + Math.abs(ax) * maxTime * maxTime / 2.0) + 1;
+		int reachY = Utilities.metersToPixels(Math.abs(vy) * maxTime + Math.abs(ay) * maxTime * maxTime / 2.0) + 1;
+		int left = Math.max(0, object.getPixelX() - reachX);
+		int bottom = Math.max(0, object.getPixelY() - reachY);
+		int right = object.getPixelX() + width + reachX;
+		int top = object.getPixelY() + height + reachY;
+		
+		double time = maxTime;
+		int tileSize = this.getTileSize();
+		
+		int typeMask = 0;
+		for (TileType type : TILE_TYPES) {
+			if (!type.isPassable() || object.collidesWithTileType(type)) {
+				typeMask |= type.getMask();
+			}
+		}
+		
+		// The tile counts tell in constant time whether any tile in the range matters.
+		int firstTileX = this.getFirstTileX(left);
+		int firstTileY = this.getFirstTileY(bottom);
+		int lastTileX = this.getLastTileX(right);
+		int lastTileY = this.getLastTileY(top);
+		if (this.tiles.containsTileOfTypes(typeMask, firstTileX, firstTileY, lastTileX, lastTileY)) {
+			for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+				for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+					if ((typeMask & this.tiles.getTileType(tileX, tileY).getMask()) != 0) {
+						time = Math.min(time, Utilities.timeUntilOverlapChange(x, y, width, height,
+								tileX * tileSize, tileY * tileSize, tileSize, tileSize, vx, vy, ax, ay, time));
+					}
+				}
+			}
+		}
+		
+		ArrayList<GameObject> sweptObjects = this.sweptObjects.get();
+		sweptObjects.clear();
+		this.collectGameObjectsInRectangle(left, bottom, right - left, top - bottom, sweptObjects);
+		for (GameObject other : sweptObjects) {
+			if (other != object && object.collidesWithGameObject(other)) {
+				time = Math.min(time, Utilities.timeUntilOverlapChange(x, y, width, height,
+						other.getPixelX(), other.getPixelY(), other.getPixelWidth(), other.getPixelHeight(),
+						vx, vy, ax, ay, time));
+			}
+		}
+		sweptObjects.clear();
+		
+		return time;
+	}
+	
+	
 	/**
 	 * Advances the time in this game world with the given time interval and updates
 	 * position, speed and acceleration of all game objects in this game world.
@@ -744,7 +1567,10 @@ public class World {
 	 * 			The time that has passed in the game world since last calling this method.
 	 * 
 	 * @post All properties of this world and the game objects in this world
-	 * 			will be updated accordingly.
+	 * 			will be updated accordingly. Mazub and the game objects are stepped
+	 * 			interleaved, always stepping the object that is furthest behind in time.
+	 * 			When parallel stepping is enabled, islands of game objects that can't
+	 * 			interact during the time step are advanced in parallel, with the same result.
 	 * 
 	 * @throws	IllegalArgumentException
 	 * 			| (dt < 0) || (dt > Constants.maxTimeInterval) || dt.isNan()
@@ -762,13 +1588,30 @@ public class World {
 			throw new IllegalArgumentException("Delta time has to be non-negative.");
 		}
 		
-		this.getMazub().advanceTime(dt);
+		ArrayList<GameObject> scheduled = this.scheduledObjects;
+		scheduled.clear();
+		scheduled.add(this.getMazub());
 		for (GameObject object : this.objects) {
-			object.advanceTime(dt);
+			scheduled.add(object);
+		}
+		
+		IslandPartition partition = null;
+		if (this.isParallelStepping()) {
+			partition = new IslandPartition(this, scheduled, dt);
 		}
 		
-		//Remove dead objects from the world
-		Set<GameObject> deaths = new HashSet<>();
+		if (partition == null || partition.getIslands().size() <= 1) {
+			for (int i = 0; i < scheduled.size(); i++) {
+				this.scheduler.schedule(scheduled.get(i));
+			}
+			this.scheduler.run(dt);
+		} else {
+			this.advanceIslands(partition, dt);
+		}
+		scheduled.clear();
+		
+		//Remove dead objects from the world, in the order they were added
+		ArrayList<GameObject> deaths = this.deadObjects;
 		for (GameObject object : this.objects) {
 			if (!object.isAlive()){
 				deaths.add(object);
@@ -776,44 +1619,215 @@ public class World {
 		}
 		
 		if (Settings.goreEnabled) {
-			for (GameObject object : deaths) {
-				object.onRemove();
+			for (int i = 0; i < deaths.size(); i++) {
+				deaths.get(i).onRemove();
 			}
 		}
 		
-		this.objects.removeAll(deaths);
+		for (int i = 0; i < deaths.size(); i++) {
+			this.objects.remove(deaths.get(i));
+			this.updateIndexMembership(deaths.get(i));
+		}
+		deaths.clear();
+		
+		this.particles.advanceTime(dt, this.tiles, this.tileSize);
 	}
 
-	@Basic
+	/**
+	 * Advances each island of the given partition over the given time interval on its
+	 * own thread, with its own scheduler, command queue and object grid. Commands still
+	 * left in the queue of an island afterwards are executed in the order of the islands.
+	 * The tiles and the tile counts are created up front, so the islands only share state
+	 * that doesn't change while they're advanced.
+	 * 
+	 * @param partition
+	 * 			The partition of the game objects into islands that can't interact during
+	 * 			the time interval.
+	 * 
+	 * @param dt
+	 * 			The length of the time interval.
+	 */
+	private void advanceIslands(IslandPartition partition, double dt) {
+		this.createTileInstances();
+		this.tiles.buildCountTables();
+		
+		List<List<GameObject>> islands = partition.getIslands();
+		List<CommandQueue> queues = new ArrayList<>(islands.size());
+		List<Callable<Void>> tasks = new ArrayList<>(islands.size());
+		for (int i = 0; i < islands.size(); i++) {
+			List<GameObject> island = islands.get(i);
+			int[] box = partition.getIslandBox(i);
+			CommandQueue queue = new CommandQueue();
+			queues.add(queue);
+			tasks.add(() -> {
+				this.islandCommandQueue.set(queue);
+				this.islandObjectGrid.set(new ObjectGrid(this.objectGrid, box[0], box[1], box[2], box[3], island));
+				try {
+					EventScheduler scheduler = new EventScheduler();
+					for (GameObject object : island) {
+						scheduler.schedule(object);
+					}
+					scheduler.run(dt);
+				} finally {
+					this.islandCommandQueue.remove();
+					this.islandObjectGrid.remove();
+				}
+				return null;
+			});
+		}
+		
+		for (Future<Void> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+			try {
+				result.get();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException exc) {
+				if (exc.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) exc.getCause();
+				}
+				if (exc.getCause() instanceof Error) {
+					throw (Error) exc.getCause();
+				}
+				throw new IllegalStateException(exc.getCause());
+			}
+		}
+		
+		for (List<GameObject> island : islands) {
+			for (GameObject object : island) {
+				this.objectGrid.update(object);
+			}
+		}
+		for (CommandQueue queue : queues) {
+			queue.execute();
+		}
+	}
+	
+	
+	/**
+	 * Creates every tile of this world that hasn't been created yet.
+	 * 
+	 * @post | for each tileX, tileY in this world:
+	 * 			|	this.tileInstances[tileY * width + tileX] != null
+	 */
+	private void createTileInstances() {
+		for (int tileY = 0; tileY < this.tiles.getHeight(); tileY++) {
+			for (int tileX = 0; tileX < this.tiles.getWidth(); tileX++) {
+				this.getTile(tileX, tileY);
+			}
+		}
+	}
+
+	/**
+	 * Returns the command queue collision reactions should be added to. While an island
+	 * of game objects is being advanced, this is the command queue of that island.
+	 */
 	public CommandQueue getCommandQueue() {
-		return this.commandQueue;
+		CommandQueue queue = this.islandCommandQueue.get();
+		return (queue != null) ? queue : this.commandQueue;
+	}
+	
+	
+	/**
+	 * Returns whether independent islands of game objects in this world are advanced in parallel.
+	 */
+	@Basic
+	public boolean isParallelStepping() {
+		return this.parallelStepping;
+	}
+	
+	
+	/**
+	 * Sets whether independent islands of game objects in this world are advanced in parallel.
+	 * 
+	 * @param parallelStepping
+	 * 			Whether to advance islands in parallel.
+	 * 
+	 * @post | new.isParallelStepping() == parallelStepping
+	 */
+	public void setParallelStepping(boolean parallelStepping) {
+		this.parallelStepping = parallelStepping;
+	}
+	
+	
+	/**
+	 * Seeds the random behaviour of all game objects in this world, making it
+	 * reproducible. Mazub and the game objects are seeded in the order they were
+	 * added, game objects added later are seeded when they're added.
+	 * 
+	 * @param seed
+	 * 			The seed to set.
+	 * 
+	 * @effect Every game object is given a seed generated from the given seed.
+	 * 			| for each object in {this.getMazub()} + this.objects in order:
+	 * 			|	object.setRandomSeed(seedGenerator.nextLong())
+	 */
+	public void setRandomSeed(long seed) {
+		this.seedGenerator = new Random(seed);
+		if (this.getMazub() != null) {
+			this.getMazub().setRandomSeed(this.seedGenerator.nextLong());
+		}
+		for (GameObject object : this.objects) {
+			object.setRandomSeed(this.seedGenerator.nextLong());
+		}
+	}
+	
+	
+	/**
+	 * Returns the particles of blood and gore in this world.
+	 */
+	@Basic
+	public ParticleSystem getParticles() {
+		return this.particles;
+	}
+	
+	
+	/**
+	 * Returns the way game objects in this world are moved between two collision checks.
+	 */
+	@Basic
+	public CollisionMode getCollisionMode() {
+		return this.collisionMode;
+	}
+	
+	
+	/**
+	 * Sets the way game objects in this world are moved between two collision checks.
+	 * 
+	 * @param collisionMode
+	 * 			The collision mode to set.
+	 * 
+	 * @post The collision mode of this world will be the given mode.
+	 * 			| new.getCollisionMode() == collisionMode
+	 * 
+	 * @throws NullPointerException
+	 * 			Throws a NullPointerException when the given mode is null.
+	 * 			| collisionMode == null
+	 */
+	public void setCollisionMode(CollisionMode collisionMode) throws NullPointerException {
+		if (collisionMode == null) {
+			throw new NullPointerException("The collision mode can not be null.");
+		}
+		this.collisionMode = collisionMode;
 	}
 	
 	
 	/**
 	 * Return a set of Tiles in this world.
 	 * 
-	 * @return A set of tiles in this world.
+	 * @return An unmodifiable view of all tiles in this world, column by column,
+	 * 			which reflects later changes of tile types.
 	 */
 	public Set<Tile> getTiles() {
-		HashSet<Tile> tiles = new HashSet<>();
-		for (int x = 0; x < this.tiles.length; ++x) {
-			for (int y = 0; y < this.tiles[x].length; ++y) {
-				tiles.add(new Tile(new Vector<Integer>(x, y), this.getTileSize(), this.tiles[x][y]));
-			}
-		}
-		return tiles;
+		return this.tileView;
 	}
 	
 	
 	/**
 	 * Returns a set of all the Collidables in this world. This means either a GameObject or a Tile.
-	 * @return a set of all the Collidables in this world.
+	 * @return An unmodifiable view of all the Collidables in this world: its tiles, followed by
+	 * 			its game objects and Mazub, which reflects later changes of this world.
 	 */
 	public Set<? extends Collidable> getCollidables() {
-		Set<Collidable> result = new HashSet<>();
-		result.addAll(this.getTiles());
-		result.addAll(this.getGameObjects());
-		return result;
+		return this.collidableView;
 	}
 }
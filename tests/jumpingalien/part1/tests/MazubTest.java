@@ -21,7 +21,7 @@ public class MazubTest {
 	
 	private final double testAccuracy = 1e-7;
 	
-	private final Vector<Double> testStartPosition = Utilities.pixelsVectorToMeters(new Vector<>(70, 69));
+	private final DoubleVec testStartPosition = Utilities.pixelsVectorToMeters(new IntVec(70, 69));
 	private final double testVxInit = 1.0;
 	private final double testVxMax = 3.0;
 	private final double testStartDirection = 1.0;
@@ -41,14 +41,14 @@ public class MazubTest {
 	@Before
 	public void setUp() throws Exception {
 		world = TestUtilities.world();
-		world.setTileType(new Vector<>(0, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(1, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(2, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(3, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 1), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 2), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 3), TileType.GROUND);
-		mazub = new Mazub(new Vector<>(testStartPosition.x, testStartPosition.y), sprites, testVxInit, testVxMax, testStartDirection);
+		world.setTileType(new IntVec(0, 0), TileType.GROUND);
+		world.setTileType(new IntVec(1, 0), TileType.GROUND);
+		world.setTileType(new IntVec(2, 0), TileType.GROUND);
+		world.setTileType(new IntVec(3, 0), TileType.GROUND);
+		world.setTileType(new IntVec(0, 1), TileType.GROUND);
+		world.setTileType(new IntVec(0, 2), TileType.GROUND);
+		world.setTileType(new IntVec(0, 3), TileType.GROUND);
+		mazub = new Mazub(new DoubleVec(testStartPosition.x, testStartPosition.y), sprites, testVxInit, testVxMax, testStartDirection);
 		world.setMazub(mazub);
 	}
 
@@ -89,44 +89,44 @@ public class MazubTest {
 	
 	@Test
 	public void isValidSpeed_validNotDucking() {
-		assertTrue(mazub.isValidSpeed(new Vector<Double>(testVxMax, 0.0)));
+		assertTrue(mazub.isValidSpeed(new DoubleVec(testVxMax, 0.0)));
 	}
 	
 	@Test
 	public void isValidSpeed_validDucking() {
 		mazub.startDuck();
-		assertTrue(mazub.isValidSpeed(new Vector<Double>(Constants.mazubMaxSpeedDucking, 0.0)));
+		assertTrue(mazub.isValidSpeed(new DoubleVec(Constants.mazubMaxSpeedDucking, 0.0)));
 	}
 	
 	@Test
 	public void isValidSpeed_xTooSmall() {
-		assertFalse(mazub.isValidSpeed(new Vector<Double>(-(testVxMax+1), 0.0)));
+		assertFalse(mazub.isValidSpeed(new DoubleVec(-(testVxMax+1), 0.0)));
 	}
 	
 	@Test
 	public void isValidSpeed_xTooBig() {
-		assertFalse(mazub.isValidSpeed(new Vector<Double>(testVxMax+1, 0.0)));
+		assertFalse(mazub.isValidSpeed(new DoubleVec(testVxMax+1, 0.0)));
 	}
 	
 	
 	
 	@Test
 	public void setSpeed_ok() {
-		Vector<Double> testSpeed = new Vector<>(testVxMax, 10.0);
+		DoubleVec testSpeed = new DoubleVec(testVxMax, 10.0);
 		mazub.setSpeed(testSpeed);
 		assertEquals(testSpeed, mazub.getSpeed());
 	}
 	
 	@Test
 	public void setSpeed_xTooSmall() {
-		Vector<Double> testSpeed = new Vector<>(-(testVxMax + 1.0), 10.0);
+		DoubleVec testSpeed = new DoubleVec(-(testVxMax + 1.0), 10.0);
 		mazub.setSpeed(testSpeed);
 		assertEquals(testSpeed.setX(-testVxMax), mazub.getSpeed());
 	}
 	
 	@Test
 	public void setSpeed_xTooBig() {
-		Vector<Double> testSpeed = new Vector<>(testVxMax + 1.0, 10.0);
+		DoubleVec testSpeed = new DoubleVec(testVxMax + 1.0, 10.0);
 		mazub.setSpeed(testSpeed);
 		assertEquals(testSpeed.setX(testVxMax), mazub.getSpeed());
 	}
@@ -324,7 +324,7 @@ public class MazubTest {
 	@Test
 	public void duck_underTerrain(){
 		
-		Vector<Integer> tilePos = new Vector<>(1, 2);
+		IntVec tilePos = new IntVec(1, 2);
 
 		int height = mazub.getHeight();
 		mazub.startDuck();
@@ -350,7 +350,7 @@ public class MazubTest {
 	@Test
 	public void duck_underObject(){
 		
-		Vector<Double> objPos = Utilities.pixelsVectorToMeters(new Vector<>(70, 145));
+		DoubleVec objPos = Utilities.pixelsVectorToMeters(new IntVec(70, 145));
 		Shark shark = TestUtilities.shark(objPos);
 		world.addGameObject(shark);
 		world.setMazub(mazub);
@@ -496,8 +496,8 @@ public class MazubTest {
 	
 	@Test 
 	public void waterDamage(){
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(70, 70)));
-		world.setTileType(new Vector<>(1, 1), TileType.WATER);
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(70, 70)));
+		world.setTileType(new IntVec(1, 1), TileType.WATER);
 		
 		double eps = 1e-5;
 		world.advanceTime(0.2 - eps);
@@ -515,9 +515,9 @@ public class MazubTest {
 	
 	@Test
 	public void magmaDamage(){
-		mazub.setPositionInMeters(new Vector<>(0.0, 70.0 * Constants.metersPerPixel));
-		world.setTileType(new Vector<>(0, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 1), TileType.MAGMA);
+		mazub.setPositionInMeters(new DoubleVec(0.0, 70.0 * Constants.metersPerPixel));
+		world.setTileType(new IntVec(0, 0), TileType.GROUND);
+		world.setTileType(new IntVec(0, 1), TileType.MAGMA);
 		
 		double eps = 1e-5;
 		world.advanceTime(eps);
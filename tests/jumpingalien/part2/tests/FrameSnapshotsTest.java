@@ -0,0 +1,265 @@
+package jumpingalien.part2.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import jumpingalien.common.sprites.ImageSprite;
+import jumpingalien.model.gameobject.Mazub;
+import jumpingalien.model.gameobject.Plant;
+import jumpingalien.model.gameobject.School;
+import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.gameobject.Slime;
+import jumpingalien.model.world.World;
+import jumpingalien.part2.facade.Facade;
+import jumpingalien.part2.internal.AlienInfoProvider2;
+import jumpingalien.part2.internal.FrameSnapshots;
+import jumpingalien.part2.internal.ObjectInfoProvider;
+import jumpingalien.part2.internal.Part2WorldInfoProvider;
+import jumpingalien.part2.internal.Particles;
+import jumpingalien.part2.internal.Resources;
+import jumpingalien.part2.internal.tmxfile.data.ImageTile.TileType;
+import jumpingalien.util.Sprite;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FrameSnapshotsTest {
+
+	private Facade facade;
+	private World world;
+	private Mazub alien;
+	private Shark shark;
+
+	private FrameSnapshots snapshots;
+	private AlienInfoProvider2<Mazub> snapshotAlien;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		facade = new Facade();
+		world = facade.createWorld(70, 20, 12, 1024, 751, 18, 9);
+		for (int x = 0; x < 20; x++) {
+			facade.setGeologicalFeature(world, x, 0, 1);
+		}
+		alien = facade.createMazub(70, 69, Resources.ALIEN_SPRITESET);
+		facade.setMazub(world, alien);
+		shark = facade.createShark(700, 500,
+				new Sprite[] { Resources.SHARK_SPRITE_LEFT, Resources.SHARK_SPRITE_RIGHT });
+		facade.addShark(world, shark);
+		facade.startGame(world);
+
+		snapshots = new FrameSnapshots(new LiveWorldInfoProvider(), new LiveObjectInfoProvider(), () -> true);
+		snapshotAlien = snapshots.addAlien(new LiveAlienInfoProvider());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+	}
+
+
+
+	@Test
+	public void acquire_frameUnchangedWhileWorldAdvances() {
+		facade.startMoveRight(alien);
+		snapshots.publish();
+		snapshots.acquire();
+
+		int[] alienXY = snapshotAlien.getAlienXY().get();
+		double[] alienVelocity = snapshotAlien.getAlienVelocity().get();
+		int[] sharkLocation = snapshots.getObjectInfoProvider().getLocation(shark).get();
+		int[] visibleWindow = snapshots.getWorldInfoProvider().getVisibleWindow().get();
+		String sharkDescription = snapshots.getObjectInfoProvider().getDescription(shark).get();
+
+		// The game keeps publishing while the render thread still paints the acquired frame.
+		for (int i = 0; i < 10; i++) {
+			facade.advanceTime(world, 0.15);
+			snapshots.publish();
+
+			assertArrayEquals(alienXY, snapshotAlien.getAlienXY().get());
+			assertArrayEquals(alienVelocity, snapshotAlien.getAlienVelocity().get(), 0.0);
+			assertArrayEquals(sharkLocation, snapshots.getObjectInfoProvider().getLocation(shark).get());
+			assertArrayEquals(visibleWindow, snapshots.getWorldInfoProvider().getVisibleWindow().get());
+			assertEquals(sharkDescription, snapshots.getObjectInfoProvider().getDescription(shark).get());
+		}
+		assertFalse(alienXY[0] == facade.getLocation(alien)[0]);
+		assertFalse(sharkLocation[1] == facade.getLocation(shark)[1]);
+
+		snapshots.acquire();
+		assertArrayEquals(facade.getLocation(alien), snapshotAlien.getAlienXY().get());
+		assertArrayEquals(facade.getLocation(shark), snapshots.getObjectInfoProvider().getLocation(shark).get());
+	}
+
+	@Test
+	public void acquire_locationCopiedOnRead() {
+		snapshots.publish();
+		snapshots.acquire();
+
+		int[] location = snapshots.getObjectInfoProvider().getLocation(shark).get();
+		location[0] += 100;
+		assertArrayEquals(facade.getLocation(shark), snapshots.getObjectInfoProvider().getLocation(shark).get());
+	}
+
+	/**
+	 * Reads the world through the facade, like the game does.
+	 */
+	private class LiveWorldInfoProvider implements Part2WorldInfoProvider {
+
+		@Override
+		public Optional<int[]> getWorldSize() {
+			return Optional.of(facade.getWorldSizeInPixels(world));
+		}
+
+		@Override
+		public int getTileLength() {
+			return facade.getTileLength(world);
+		}
+
+		@Override
+		public Optional<int[]> getVisibleWindow() {
+			return Optional.of(facade.getVisibleWindow(world));
+		}
+
+		@Override
+		public Optional<int[][]> getTilesIn(int left, int bottom, int right, int top) {
+			return Optional.of(facade.getTilePositionsIn(world, left, bottom, right, top));
+		}
+
+		@Override
+		public Optional<TileType> getGeologicalFeature(int bottomLeftX, int bottomLeftY) {
+			return Optional.of(TileType.fromValue(facade.getGeologicalFeature(world, bottomLeftX, bottomLeftY)));
+		}
+
+		@Override
+		public Optional<int[]> getBottomLeftPixelOfTile(int tileX, int tileY) {
+			return Optional.of(facade.getBottomLeftPixelOfTile(world, tileX, tileY));
+		}
+
+		@Override
+		public Optional<Boolean> isGameOver() {
+			return Optional.of(facade.isGameOver(world));
+		}
+
+		@Override
+		public Optional<Boolean> didPlayerWin() {
+			return Optional.of(facade.didPlayerWin(world));
+		}
+	}
+
+	private class LiveAlienInfoProvider implements AlienInfoProvider2<Mazub> {
+
+		@Override
+		public Mazub getAlien() {
+			return alien;
+		}
+
+		@Override
+		public Optional<int[]> getAlienXY() {
+			return Optional.of(facade.getLocation(alien));
+		}
+
+		@Override
+		public Optional<int[]> getAlienSize() {
+			return Optional.of(facade.getSize(alien));
+		}
+
+		@Override
+		public Optional<Sprite> getPlayerSprite() {
+			return Optional.of(facade.getCurrentSprite(alien));
+		}
+
+		@Override
+		public Optional<double[]> getAlienVelocity() {
+			return Optional.of(facade.getVelocity(alien));
+		}
+
+		@Override
+		public Optional<double[]> getAlienAcceleration() {
+			return Optional.of(facade.getAcceleration(alien));
+		}
+
+		@Override
+		public Optional<Integer> getAlienHealth() {
+			return Optional.of(facade.getNbHitPoints(alien));
+		}
+
+		@Override
+		public Optional<Boolean> isImmune() {
+			return Optional.of(facade.isImmune(alien));
+		}
+	}
+
+	private class LiveObjectInfoProvider implements ObjectInfoProvider {
+
+		@Override
+		public Collection<Slime> getSlimes() {
+			return facade.getSlimes(world);
+		}
+
+		@Override
+		public Collection<Shark> getSharks() {
+			return facade.getSharks(world);
+		}
+
+		@Override
+		public Collection<Plant> getPlants() {
+			return facade.getPlants(world);
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Plant plant) {
+			return Optional.of(facade.getLocation(plant));
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Shark shark) {
+			return Optional.of(facade.getLocation(shark));
+		}
+
+		@Override
+		public Optional<int[]> getLocation(Slime slime) {
+			return Optional.of(facade.getLocation(slime));
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Plant plant) {
+			return Optional.of((ImageSprite) facade.getCurrentSprite(plant));
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Shark shark) {
+			return Optional.of((ImageSprite) facade.getCurrentSprite(shark));
+		}
+
+		@Override
+		public Optional<ImageSprite> getCurrentSprite(Slime slime) {
+			return Optional.of((ImageSprite) facade.getCurrentSprite(slime));
+		}
+
+		@Override
+		public Optional<School> getSchool(Slime slime) {
+			return Optional.ofNullable(facade.getSchool(slime));
+		}
+
+		@Override
+		public Optional<Particles> getParticles() {
+			return Optional.ofNullable(facade.getParticles(world)).map(Particles::of);
+		}
+
+		@Override
+		public Optional<String> getDescription(Object object) {
+			return Optional.ofNullable(object).map(Object::toString);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package jumpingalien.part2.tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import ogp.framework.util.GUIUtils;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GUIUtilsTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Before
+	public void setUp() throws Exception {
+	}
+
+	@After
+	public void tearDown() throws Exception {
+	}
+
+
+
+	@Test
+	public void shiftHue_likePerPixelShift() {
+		Random random = new Random(21);
+		for (int i = 0; i < 100; i++) {
+			int type = (i % 2 == 0) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_4BYTE_ABGR;
+			BufferedImage image = randomImage(random, type);
+			BufferedImage expected = copy(image);
+			int amount = random.nextInt(11) - 5;
+
+			GUIUtils.shiftHue(image, amount);
+			shiftHuePerPixel(expected, amount);
+
+			for (int x = 0; x < image.getWidth(); x++) {
+				for (int y = 0; y < image.getHeight(); y++) {
+					assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns an image of the given type with a random size, filled with colors from a small
+	 * palette, like a sprite, and with some arbitrary colors in between.
+	 */
+	private static BufferedImage randomImage(Random random, int type) {
+		BufferedImage image = new BufferedImage(1 + random.nextInt(40), 1 + random.nextInt(40), type);
+		int[] palette = new int[1 + random.nextInt(8)];
+		for (int i = 0; i < palette.length; i++) {
+			palette[i] = random.nextInt();
+		}
+		for (int x = 0; x < image.getWidth(); x++) {
+			for (int y = 0; y < image.getHeight(); y++) {
+				int argb = (random.nextInt(4) == 0) ? random.nextInt() : palette[random.nextInt(palette.length)];
+				image.setRGB(x, y, argb);
+			}
+		}
+		return image;
+	}
+
+	private static BufferedImage copy(BufferedImage image) {
+		BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+		for (int x = 0; x < image.getWidth(); x++) {
+			for (int y = 0; y < image.getHeight(); y++) {
+				result.setRGB(x, y, image.getRGB(x, y));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The hue shift as the framework originally did it, converting every pixel on its own.
+	 */
+	private static void shiftHuePerPixel(BufferedImage img, int amount) {
+		float[] hsb = new float[3];
+		for (int x = 0; x < img.getWidth(); x++) {
+			for (int y = 0; y < img.getHeight(); y++) {
+				Color color = new Color(img.getRGB(x, y), true);
+				Color.RGBtoHSB(color.getRed(), color.getGreen(),
+						color.getBlue(), hsb);
+				hsb[0] = (hsb[0] + (7F / 10F * amount)) % 1.0F;
+				img.setRGB(x, y, Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]));
+				img.getAlphaRaster().setPixel(x, y,
+						new int[] { color.getAlpha() });
+			}
+		}
+	}
+}
@@ -1,15 +1,23 @@
 package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
+
+import java.util.Random;
+
 import jumpingalien.common.sprites.JumpingAlienSprites;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
+import jumpingalien.model.gameobject.Buzam;
 import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Plant;
+import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.gameobject.Slime;
 import jumpingalien.model.reactions.PlantMazubCollisionDamager;
+import jumpingalien.model.world.CollisionMode;
 import jumpingalien.model.world.Tile;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
@@ -28,7 +36,7 @@ public class GameObjectTest {
 	
 	private final double testAccuracy = 1e-7;
 	
-	private final Vector<Double> testStartPosition = Utilities.pixelsVectorToMeters(new Vector<>(70, 69));
+	private final DoubleVec testStartPosition = Utilities.pixelsVectorToMeters(new IntVec(70, 69));
 	private final double testVxInit = 1.0;
 	private final double testVxMax = 3.0;
 	private final double testStartDirection = 1.0;
@@ -49,14 +57,14 @@ public class GameObjectTest {
 	@Before
 	public void setUp() throws Exception {
 		world = TestUtilities.world();
-		world.setTileType(new Vector<>(0, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(1, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(2, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(3, 0), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 1), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 2), TileType.GROUND);
-		world.setTileType(new Vector<>(0, 3), TileType.GROUND);
-		mazub = new Mazub(new Vector<>(testStartPosition.x, testStartPosition.y), sprites, testVxInit, testVxMax, testStartDirection);
+		world.setTileType(new IntVec(0, 0), TileType.GROUND);
+		world.setTileType(new IntVec(1, 0), TileType.GROUND);
+		world.setTileType(new IntVec(2, 0), TileType.GROUND);
+		world.setTileType(new IntVec(3, 0), TileType.GROUND);
+		world.setTileType(new IntVec(0, 1), TileType.GROUND);
+		world.setTileType(new IntVec(0, 2), TileType.GROUND);
+		world.setTileType(new IntVec(0, 3), TileType.GROUND);
+		mazub = new Mazub(new DoubleVec(testStartPosition.x, testStartPosition.y), sprites, testVxInit, testVxMax, testStartDirection);
 		world.setMazub(mazub);
 	}
 
@@ -69,13 +77,13 @@ public class GameObjectTest {
 	@Test
 	public void constructor_passableForPlant() {
 		Sprite[] plantSprites = new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT};
-		Plant plant = new Plant(new Vector<>(0.0, 0.0), plantSprites);
+		Plant plant = new Plant(new DoubleVec(0.0, 0.0), plantSprites);
 		assertTrue(plant.isPassable());
 	}
 	
 	@Test(expected=IllegalArgumentException.class)
 	public void contructor_invalidPosition(){
-		new Mazub(new Vector<>(-1.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, testVxInit, testVxMax, 1);
+		new Mazub(new DoubleVec(-1.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, testVxInit, testVxMax, 1);
 	}
 	
 	
@@ -154,7 +162,7 @@ public class GameObjectTest {
 		assertFalse(mazub.isPassable());
 		
 		Sprite[] plantSprites = new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT};
-		Plant plant = new Plant(new Vector<>(0.0, 0.0), plantSprites);
+		Plant plant = new Plant(new DoubleVec(0.0, 0.0), plantSprites);
 		assertTrue(plant.isPassable());
 	}
 	
@@ -306,7 +314,7 @@ public class GameObjectTest {
 	
 	@Test
 	public void setPositionInMeters() {
-		Vector<Double> testPos = Utilities.pixelsVectorToMeters(new Vector<>(71, 70));
+		DoubleVec testPos = Utilities.pixelsVectorToMeters(new IntVec(71, 70));
 		mazub.setPositionInMeters(testPos);
 		assertEquals(testPos, mazub.getPositionInMeters());
 	}
@@ -318,7 +326,7 @@ public class GameObjectTest {
 	
 	@Test(expected = IllegalArgumentException.class)
 	public void setPositionInMeters_invalidPosition() {
-		Vector<Double> testPos = new Vector<>(-10.0, 20.0);
+		DoubleVec testPos = new DoubleVec(-10.0, 20.0);
 		mazub.setPositionInMeters(testPos);
 	}
 	
@@ -326,34 +334,34 @@ public class GameObjectTest {
 	
 	@Test
 	public void isValidPosition_valid() {
-		assertTrue(mazub.isValidPosition(new Vector<Double>(0.0, 0.0)));
+		assertTrue(mazub.isValidPosition(new DoubleVec(0.0, 0.0)));
 	}
 	
 	@Test
 	public void isValidPosition_xTooSmall() {
-		assertFalse(mazub.isValidPosition(new Vector<Double>(-3.0, 0.0)));
+		assertFalse(mazub.isValidPosition(new DoubleVec(-3.0, 0.0)));
 	}
 	
 	@Test
 	public void isValidPosition_yTooSmall() {
-		assertFalse(mazub.isValidPosition(new Vector<Double>(0.0, -3.0)));
+		assertFalse(mazub.isValidPosition(new DoubleVec(0.0, -3.0)));
 	}
 	
 	@Test
 	public void isValidPosition_xTooBig() {
-		assertFalse(mazub.isValidPosition(new Vector<Double>(world.getSizeInMeters().x + 1.0, 0.0)));
+		assertFalse(mazub.isValidPosition(new DoubleVec(world.getSizeInMeters().x + 1.0, 0.0)));
 	}
 	
 	@Test
 	public void isValidPosition_yTooBig() {
-		assertFalse(mazub.isValidPosition(new Vector<Double>(0.0, world.getSizeInMeters().y + 1.0)));
+		assertFalse(mazub.isValidPosition(new DoubleVec(0.0, world.getSizeInMeters().y + 1.0)));
 	}
 	
 	
 	
 	@Test
 	public void getTopRightPixel() {
-		assertEquals(Vector.add(mazub.getPositionInPixels(), mazub.getSizeInPixels()), mazub.getTopRightPixel());
+		assertEquals(mazub.getPositionInPixels().add(mazub.getSizeInPixels()), mazub.getTopRightPixel());
 	}
 	
 	
@@ -388,35 +396,35 @@ public class GameObjectTest {
 	
 	@Test
 	public void onGround_rightWallOnGround() {
-		world.setTileType(new Vector<>(3, 1), TileType.GROUND);
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(210 - mazub.getSizeInPixels().x, 69)));
+		world.setTileType(new IntVec(3, 1), TileType.GROUND);
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(210 - mazub.getSizeInPixels().x, 69)));
 		assertTrue(mazub.onGround());
 		
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(210 - mazub.getSizeInPixels().x + 1, 69)));
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(210 - mazub.getSizeInPixels().x + 1, 69)));
 		assertTrue(mazub.onGround());
 	}
 	
 	@Test
 	public void onGround_rightWallNotOnGround() {
-		world.setTileType(new Vector<>(3, 1), TileType.GROUND);
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(210 - mazub.getSizeInPixels().x, 70)));
+		world.setTileType(new IntVec(3, 1), TileType.GROUND);
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(210 - mazub.getSizeInPixels().x, 70)));
 		assertFalse(mazub.onGround());
 	}
 	
 	@Test
 	public void onGround_notOnGround() {
-		mazub.setPositionInMeters(Vector.add(mazub.getPositionInMeters(),
-				new Vector<>(Constants.metersPerPixel, Constants.metersPerPixel)));
+		mazub.setPositionInMeters(mazub.getPositionInMeters().add(
+				new DoubleVec(Constants.metersPerPixel, Constants.metersPerPixel)));
 		assertFalse(mazub.onGround());
 	}
 	
 	@Test
 	public void onGround_topWallNotOnGround() {
-		world.setTileType(new Vector<>(2, 3), TileType.GROUND);
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(140, 210 - mazub.getSizeInPixels().y)));
+		world.setTileType(new IntVec(2, 3), TileType.GROUND);
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(140, 210 - mazub.getSizeInPixels().y)));
 		assertFalse(mazub.onGround());
 		
-		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new Vector<>(140, 210 - mazub.getSizeInPixels().y + 1)));
+		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(140, 210 - mazub.getSizeInPixels().y + 1)));
 		assertFalse(mazub.onGround());
 	}
 	
@@ -427,6 +435,69 @@ public class GameObjectTest {
 		assertTrue(mazub.collidesWithGameObjectClass(Shark.class));
 	}
 	
+	@Test
+	public void collidesWithGameObjectClass_subclass() {
+		assertTrue(mazub.collidesWithGameObjectClass(Buzam.class));
+	}
+	
+	@Test
+	public void collidesWithGameObjectClass_doesNotCollide() {
+		Plant plant = new Plant(new DoubleVec(0.0, 0.0), new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT});
+		assertFalse(plant.collidesWithGameObjectClass(Mazub.class));
+		assertFalse(mazub.collidesWithGameObjectClass(GameObject.class));
+	}
+	
+	@Test
+	public void collidesWithGameObject() {
+		Plant plant = new Plant(new DoubleVec(0, 0), new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT});
+		assertTrue(mazub.collidesWithGameObject(plant));
+		assertFalse(plant.collidesWithGameObject(mazub));
+	}
+	
+	
+	
+	@Test
+	public void inContactWithTileOfType() {
+		assertTrue(mazub.inContactWithTileOfType(TileType.GROUND));
+		assertFalse(mazub.inContactWithTileOfType(TileType.WATER));
+		
+		world.setTileType(new IntVec(1, 1), TileType.WATER);
+		assertTrue(mazub.inContactWithTileOfType(TileType.WATER));
+	}
+	
+	@Test
+	public void inContactWithTileOfType_afterAdvanceTime() {
+		world.setTileType(new IntVec(1, 1), TileType.WATER);
+		world.setTileType(new IntVec(1, 2), TileType.WATER);
+		mazub.startJump();
+		world.advanceTime(Constants.maxTimeInterval);
+		
+		assertTrue(mazub.inContactWithTileOfType(TileType.WATER));
+		assertFalse(mazub.onGround());
+	}
+	
+	@Test
+	public void inContactWithTileOfType_likeOverlapsTileOfType() {
+		Random random = new Random(5);
+		TileType[] types = TileType.values();
+		for (int x = 0; x < 20; x++) {
+			for (int y = 0; y < 12; y++) {
+				world.setTileType(new IntVec(x, y), types[random.nextInt(types.length)]);
+			}
+		}
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(70, 70)));
+		world.addGameObject(shark);
+		
+		for (int i = 0; i < 200; i++) {
+			shark.setPositionInMeters(Utilities.pixelsVectorToMeters(
+					new IntVec(random.nextInt(70 * 19), random.nextInt(70 * 11))));
+			for (TileType type : types) {
+				assertEquals(world.overlapsTileOfType(type, shark.getPixelX(), shark.getPixelY(),
+						shark.getPixelWidth(), shark.getPixelHeight()), shark.inContactWithTileOfType(type));
+			}
+		}
+	}
+	
 	
 	
 	@Test
@@ -443,21 +514,21 @@ public class GameObjectTest {
 	
 	@Test
 	public void getSpeed() {
-		assertEquals(new Vector<>(0.0, 0.0), mazub.getSpeed());
+		assertEquals(new DoubleVec(0.0, 0.0), mazub.getSpeed());
 	}
 	
 	
 	
 	@Test
 	public void getAcceleration() {
-		assertEquals(new Vector<>(0.0, 0.0), mazub.getAcceleration());
+		assertEquals(new DoubleVec(0.0, 0.0), mazub.getAcceleration());
 	}
 	
 	
 	
 	@Test
 	public void setAcceleration() {
-		Vector<Double> testAcc = new Vector<>(10.0, -9.81);
+		DoubleVec testAcc = new DoubleVec(10.0, -9.81);
 		mazub.setAcceleration(testAcc);
 		assertEquals(testAcc, mazub.getAcceleration());
 	}
@@ -494,7 +565,7 @@ public class GameObjectTest {
 	@Test
 	public void getSizeInPixels() {
 		Sprite sprite = mazub.getCurrentSprite();
-		assertEquals(new Vector<>(sprite.getWidth(), sprite.getHeight()), mazub.getSizeInPixels());
+		assertEquals(new IntVec(sprite.getWidth(), sprite.getHeight()), mazub.getSizeInPixels());
 	}
 	
 	
@@ -502,7 +573,7 @@ public class GameObjectTest {
 	@Test
 	public void getSizeInMeters() {
 		Sprite sprite = mazub.getCurrentSprite();
-		assertEquals(Utilities.pixelsVectorToMeters(new Vector<>(sprite.getWidth(), sprite.getHeight())),
+		assertEquals(Utilities.pixelsVectorToMeters(new IntVec(sprite.getWidth(), sprite.getHeight())),
 				mazub.getSizeInMeters());
 	}
 	
@@ -554,4 +625,73 @@ public class GameObjectTest {
 		assertFalse(mazub.doesOverlapWith(tile));
 	}
 
+	
+	
+	
+	@Test
+	public void advanceTime_continuousLandsLikePixelStepping() {
+		IntVec[] positions = new IntVec[2];
+		for (CollisionMode mode : CollisionMode.values()) {
+			setUpMazubFalling(mode);
+			for (int i = 0; i < 10; i++) {
+				world.advanceTime(Constants.maxTimeInterval);
+			}
+			assertTrue(mazub.onGround());
+			assertEquals(0.0, mazub.getSpeedY(), testAccuracy);
+			positions[mode.ordinal()] = mazub.getPositionInPixels();
+		}
+		assertEquals(positions[0], positions[1]);
+	}
+	
+	@Test
+	public void advanceTime_continuousStopsAtWallLikePixelStepping() {
+		IntVec[] positions = new IntVec[2];
+		for (CollisionMode mode : CollisionMode.values()) {
+			setUpMazubFalling(mode);
+			mazub.startRun(-1);
+			for (int i = 0; i < 10; i++) {
+				world.advanceTime(Constants.maxTimeInterval);
+			}
+			assertEquals(0.0, mazub.getSpeedX(), testAccuracy);
+			positions[mode.ordinal()] = mazub.getPositionInPixels();
+		}
+		assertEquals(positions[0], positions[1]);
+	}
+	
+	@Test
+	public void advanceTime_continuousWalksOverGroundLikePixelStepping() {
+		double[][] positions = new double[2][];
+		for (CollisionMode mode : CollisionMode.values()) {
+			world = new World(70, 200, 4, 1024, 751, 199, 3);
+			for (int x = 0; x < 200; x++) {
+				world.setTileType(new IntVec(x, 0), TileType.GROUND);
+			}
+			world.setCollisionMode(mode);
+			world.setMazub(TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70, 70))));
+			Slime slime = TestUtilities.slime(Utilities.pixelsVectorToMeters(new IntVec(7000, 70)), new School());
+			world.addGameObject(slime);
+			slime.setRandomSeed(3);
+			
+			// The slime keeps being pulled into the ground while it walks over the tile seams.
+			positions[mode.ordinal()] = new double[10];
+			for (int i = 0; i < 10; i++) {
+				world.advanceTime(Constants.maxTimeInterval);
+				positions[mode.ordinal()][i] = slime.getPositionXInMeters();
+				assertEquals(69, slime.getPixelY());
+			}
+		}
+		assertArrayEquals(positions[0], positions[1], 0.01);
+	}
+	
+	private void setUpMazubFalling(CollisionMode mode) {
+		world = TestUtilities.world();
+		for (int x = 0; x < 4; x++) {
+			world.setTileType(new IntVec(x, 0), TileType.GROUND);
+		}
+		world.setTileType(new IntVec(0, 1), TileType.GROUND);
+		world.setCollisionMode(mode);
+		mazub = new Mazub(Utilities.pixelsVectorToMeters(new IntVec(200, 300)), sprites, testVxInit, testVxMax, testStartDirection);
+		world.setMazub(mazub);
+	}
+
 }
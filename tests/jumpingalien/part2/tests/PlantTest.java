@@ -2,7 +2,7 @@ package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
 import jumpingalien.model.Constants;
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.world.World;
@@ -20,7 +20,7 @@ public class PlantTest {
 
 	private Plant plant;
 	private Sprite[] sprites;
-	private Vector<Double> startPos;
+	private DoubleVec startPos;
 	private World world;
 
 	@BeforeClass
@@ -33,7 +33,7 @@ public class PlantTest {
 
 	@Before
 	public void setUp() throws Exception {
-		startPos = new Vector<>(10.0, 1.0);
+		startPos = new DoubleVec(10.0, 1.0);
 		sprites = new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT};
 		plant = new Plant(startPos, sprites);
 		world = TestUtilities.world();
@@ -80,7 +80,7 @@ public class PlantTest {
 	
 	@Test
 	public void getEaten_ok() {
-		Mazub mazub = TestUtilities.mazub(Vector.add(startPos, new Vector<>(0.0, 27*0.01)));
+		Mazub mazub = TestUtilities.mazub(startPos.add(new DoubleVec(0.0, 27*0.01)));
 		world.setMazub(mazub);
 		
 		assertTrue(plant.isAlive());
@@ -113,7 +113,7 @@ public class PlantTest {
 	
 	@Test
 	public void getEaten_mazubAlmostFull() {
-		Mazub mazub = TestUtilities.mazub(Vector.add(startPos, new Vector<>(0.0, 27*0.01)));
+		Mazub mazub = TestUtilities.mazub(startPos.add(new DoubleVec(0.0, 27*0.01)));
 		world.setMazub(mazub);
 		mazub.setHealth(Constants.mazubMaxHealth - Constants.mazubPlantHealthGain + 1);
 		
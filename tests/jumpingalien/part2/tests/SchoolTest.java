@@ -5,7 +5,7 @@ import static org.junit.Assert.*;
 import java.util.HashSet;
 import java.util.Set;
 
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Slime;
 import jumpingalien.tests.util.TestUtilities;
@@ -35,7 +35,7 @@ public class SchoolTest {
 	@Before
 	public void setUp() throws Exception {
 		school = new School();
-		slime = TestUtilities.slime(new Vector<>(0.0, 0.0), school);
+		slime = TestUtilities.slime(new DoubleVec(0.0, 0.0), school);
 	}
 
 	@After
@@ -101,12 +101,12 @@ public class SchoolTest {
 	public void switchSchoolsOfSlimeTo_ok(){
 		int amount1 = 5;
 		for (int i = 0; i < amount1; ++i){
-			TestUtilities.slime(new Vector<>(0.0, 0.0), school);
+			TestUtilities.slime(new DoubleVec(0.0, 0.0), school);
 		}
 		School school2 = new School();
 		int amount2 = 7;
 		for (int i = 0; i < amount2; ++i){
-			TestUtilities.slime(new Vector<>(0.0, 0.0), school2);
+			TestUtilities.slime(new DoubleVec(0.0, 0.0), school2);
 		}
 		school.addSlime(slime);
 		School.switchSchoolsOfSlimeTo(slime, school2);
@@ -150,8 +150,8 @@ public class SchoolTest {
 		school.takeDamageCausedBy(slime);
 		assertEquals(slime.getHealth(), 100);
 		
-		Slime slime2 = TestUtilities.slime(new Vector<>(0.0, 0.0), school);
-		Slime slime3 = TestUtilities.slime(new Vector<>(0.0, 0.0), school);
+		Slime slime2 = TestUtilities.slime(new DoubleVec(0.0, 0.0), school);
+		Slime slime3 = TestUtilities.slime(new DoubleVec(0.0, 0.0), school);
 		
 		school.takeDamageCausedBy(slime);
 		assertEquals(slime.getHealth(), 100);
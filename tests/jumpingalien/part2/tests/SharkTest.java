@@ -1,16 +1,28 @@
 package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import jumpingalien.common.sprites.SpriteRepository;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
+import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
 import jumpingalien.model.gameobject.Slime;
+import jumpingalien.model.world.CollisionMode;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
 import jumpingalien.tests.util.TestUtilities;
+import jumpingalien.util.Sprite;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -22,7 +34,7 @@ public class SharkTest {
 
 	private Shark shark;
 	private World world;
-	private Vector<Double> startPos;
+	private DoubleVec startPos;
 	private Mazub mazub;
 	@BeforeClass
 	public static void setUpBeforeClass() throws Exception {
@@ -36,15 +48,15 @@ public class SharkTest {
 	public void setUp() throws Exception {
 		world = TestUtilities.world();
 		
-		world.setTileType(new Vector<Integer>(0, 0), TileType.GROUND);
-		world.setTileType(new Vector<Integer>(0, 1), TileType.GROUND);
-		world.setTileType(new Vector<Integer>(1, 0), TileType.GROUND);
-		world.setTileType(new Vector<Integer>(2, 0), TileType.GROUND);
-		world.setTileType(new Vector<Integer>(2, 1), TileType.GROUND);
-		world.setTileType(new Vector<Integer>(1, 1), TileType.WATER);
-		startPos = Utilities.pixelsVectorToMeters(new Vector<>(world.getTileSize(), world.getTileSize()));
+		world.setTileType(new IntVec(0, 0), TileType.GROUND);
+		world.setTileType(new IntVec(0, 1), TileType.GROUND);
+		world.setTileType(new IntVec(1, 0), TileType.GROUND);
+		world.setTileType(new IntVec(2, 0), TileType.GROUND);
+		world.setTileType(new IntVec(2, 1), TileType.GROUND);
+		world.setTileType(new IntVec(1, 1), TileType.WATER);
+		startPos = Utilities.pixelsVectorToMeters(new IntVec(world.getTileSize(), world.getTileSize()));
 		shark = TestUtilities.shark(startPos);
-		mazub = TestUtilities.mazub(Vector.add(startPos, shark.getSizeInMeters()));
+		mazub = TestUtilities.mazub(startPos.add(shark.getSizeInMeters()));
 		world.setMazub(mazub);
 
 		world.addGameObject(shark);
@@ -63,19 +75,40 @@ public class SharkTest {
 	
 	
 	
+	@Test
+	public void onRemove_sharedGoreSprites() {
+		Shark other = TestUtilities.shark(startPos.add(new DoubleVec(1.0, 1.0)));
+		world.addGameObject(other);
+		int nbGameObjects = world.getGameObjects().size();
+		shark.onRemove();
+		other.onRemove();
+		
+		Set<Sprite> sprites = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < world.getParticles().getNbParticles(); i++) {
+			sprites.add(world.getParticles().getSprite(i));
+		}
+		assertEquals(2 * (5 + Settings.sharkNumberOfBloodParticles), world.getParticles().getNbParticles());
+		assertEquals(nbGameObjects, world.getGameObjects().size());
+		assertTrue(sprites.size() <= shark.getGoreSpriteFileNames().length);
+		for (String fileName : shark.getGoreSpriteFileNames()) {
+			assertTrue(fileName.startsWith("levels/gore/blood/")
+					|| SpriteRepository.getInstance().isLoaded(fileName));
+		}
+	}
+	
 	@Test
 	public void setSpeed_ok() {
-		shark.setSpeed(new Vector<>(0.0, 0.0));
+		shark.setSpeed(new DoubleVec(0.0, 0.0));
 		assertEquals(0.0, shark.getSpeed().x, 1e-7);
 		assertEquals(0.0, shark.getSpeed().y, 1e-7);
 	}
 
 	@Test
 	public void setSpeed_clipped() {
-		shark.setSpeed(new Vector<>(Constants.sharkMaxHorizontalSpeed + 1, 0.0));
+		shark.setSpeed(new DoubleVec(Constants.sharkMaxHorizontalSpeed + 1, 0.0));
 		assertEquals(Constants.sharkMaxHorizontalSpeed, shark.getSpeed().x, 1e-7);
 
-		shark.setSpeed(new Vector<>(-Constants.sharkMaxHorizontalSpeed - 1, 0.0));
+		shark.setSpeed(new DoubleVec(-Constants.sharkMaxHorizontalSpeed - 1, 0.0));
 		assertEquals(-Constants.sharkMaxHorizontalSpeed, shark.getSpeed().x, 1e-7);
 	}
 	
@@ -83,7 +116,7 @@ public class SharkTest {
 	
 	@Test
 	public void airDamage() {
-		world.setTileType(new Vector<Integer>(1, 1), TileType.AIR);
+		world.setTileType(new IntVec(1, 1), TileType.AIR);
 		
 		world.advanceTime(0.1);
 		
@@ -98,7 +131,7 @@ public class SharkTest {
 	
 	@Test
 	public void magmaDamage() {
-		world.setTileType(new Vector<Integer>(1, 1), TileType.MAGMA);
+		world.setTileType(new IntVec(1, 1), TileType.MAGMA);
 		
 		world.advanceTime(1e-5);
 		
@@ -110,7 +143,7 @@ public class SharkTest {
 
 	@Test
 	public void mazubDamage() {
-		mazub.setPositionInMeters(new Vector<>(70 * 0.01, 70 * 0.01 + shark.getSizeInMeters().y - 0.01));
+		mazub.setPositionInMeters(new DoubleVec(70 * 0.01, 70 * 0.01 + shark.getSizeInMeters().y - 0.01));
 		world.advanceTime(Constants.maxTimeInterval);
 		
 		assertEquals(Constants.sharkBeginHealth + Constants.sharkEnemyDamage, shark.getHealth());
@@ -126,7 +159,7 @@ public class SharkTest {
 	@Test
 	public void slimeDamage() {
 		School school = new School();
-		Slime slime = TestUtilities.slime(new Vector<>(70 * 0.01, 70 * 0.01), school);
+		Slime slime = TestUtilities.slime(new DoubleVec(70 * 0.01, 70 * 0.01), school);
 		world.addGameObject(slime);
 		world.advanceTime(Constants.maxTimeInterval);
 		
@@ -138,4 +171,59 @@ public class SharkTest {
 		
 		assertEquals(Constants.sharkBeginHealth + 2 * Constants.sharkEnemyDamage, shark.getHealth());
 	}
+	
+	@Test
+	public void advanceTime_continuousChangesDirectionLikePixelStepping() {
+		List<double[]> pixelStepping = this.getMovementPeriods(this.advanceSwimmingShark(CollisionMode.PIXEL_STEPPING));
+		List<double[]> continuous = this.getMovementPeriods(this.advanceSwimmingShark(CollisionMode.CONTINUOUS));
+		assertTrue(pixelStepping.size() > 4);
+		assertEquals(pixelStepping.size(), continuous.size());
+		for (int i = 0; i < pixelStepping.size(); i++) {
+			// The periods may start one pixel step apart.
+			assertEquals(pixelStepping.get(i)[0], continuous.get(i)[0], 0.02);
+			assertEquals(pixelStepping.get(i)[1], continuous.get(i)[1], 0.0);
+		}
+	}
+	
+	/**
+	 * Returns the start time and direction of every movement period after the first
+	 * in the given states of a shark. A new period starts without horizontal speed,
+	 * so its speed drops in the time interval it starts in.
+	 */
+	private List<double[]> getMovementPeriods(double[][] states) {
+		List<double[]> periods = new ArrayList<>();
+		for (int i = 1; i < states.length; i++) {
+			double speed = Math.abs(states[i][2]);
+			if (speed < Math.abs(states[i-1][2])) {
+				double startTime = (i + 1) * Constants.maxTimeInterval - speed / Constants.sharkHorizontalAcceleration;
+				periods.add(new double[] { startTime, states[i][0] });
+			}
+		}
+		return periods;
+	}
+	
+	/**
+	 * Lets a shark swim in a world filled with water in the given collision mode, and returns
+	 * its facing, horizontal position and horizontal speed after every time interval.
+	 */
+	private double[][] advanceSwimmingShark(CollisionMode mode) {
+		World waterWorld = new World(70, 200, 60, 1024, 751, 199, 59);
+		for (int x = 0; x < 200; x++) {
+			for (int y = 0; y < 60; y++) {
+				waterWorld.setTileType(new IntVec(x, y), (x < 4 && y == 0) ? TileType.GROUND : TileType.WATER);
+			}
+		}
+		waterWorld.setCollisionMode(mode);
+		waterWorld.setMazub(TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70, 70))));
+		Shark swimmingShark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(7000, 2100)));
+		waterWorld.addGameObject(swimmingShark);
+		swimmingShark.setRandomSeed(3);
+		
+		double[][] states = new double[100][];
+		for (int i = 0; i < states.length; i++) {
+			waterWorld.advanceTime(Constants.maxTimeInterval);
+			states[i] = new double[] { swimmingShark.getFacing(), swimmingShark.getPositionXInMeters(), swimmingShark.getSpeedX() };
+		}
+		return states;
+	}
 }
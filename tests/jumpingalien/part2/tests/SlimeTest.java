@@ -2,7 +2,7 @@ package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
 import jumpingalien.model.Constants;
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Slime;
 import jumpingalien.part2.internal.Resources;
@@ -21,7 +21,7 @@ public class SlimeTest {
 	School school;
 	Slime slime;
 	Sprite[] sprites;
-	Vector<Double> position;
+	DoubleVec position;
 	
 	
 	@BeforeClass
@@ -36,7 +36,7 @@ public class SlimeTest {
 	public void setUp() throws Exception {
 		school = new School();
 		sprites = new Sprite[] {Resources.SLIME_SPRITE_LEFT, Resources.SLIME_SPRITE_RIGHT};
-		position = new Vector<>(0.0, 0.0);
+		position = new DoubleVec(0.0, 0.0);
 		slime = TestUtilities.slime(position, school);
 	}
 
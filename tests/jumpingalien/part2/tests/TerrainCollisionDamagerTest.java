@@ -0,0 +1,106 @@
+package jumpingalien.part2.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import jumpingalien.model.IntVec;
+import jumpingalien.model.Utilities;
+import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.reactions.TerrainCollisionDamager;
+import jumpingalien.model.reactions.TerrainCollisionDamager.TerrainDamageInfo;
+import jumpingalien.model.world.Tile;
+import jumpingalien.model.world.TileType;
+import jumpingalien.model.world.World;
+import jumpingalien.tests.util.TestUtilities;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TerrainCollisionDamagerTest {
+
+	// Binary fractions, so the timers add up exactly.
+	private final double interval = 0.25;
+	private final double delay = 0.5;
+	private final int damage = -1;
+
+	private World world;
+	private Shark shark;
+	private Tile water;
+	private TerrainCollisionDamager damager;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		world = TestUtilities.world();
+		world.setTileType(new IntVec(1, 1), TileType.WATER);
+		water = world.getTile(1, 1);
+		shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(70, 70)));
+		world.addGameObject(shark);
+
+		Collection<TerrainDamageInfo> infos = new ArrayList<>();
+		infos.add(new TerrainDamageInfo(TileType.WATER, damage, delay));
+		damager = new TerrainCollisionDamager(shark, interval, infos);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	@Test
+	public void getTimeUntilNextEvent_noContact() {
+		assertEquals(Double.POSITIVE_INFINITY, damager.getTimeUntilNextEvent(), 0.0);
+	}
+
+	@Test
+	public void getTimeUntilNextEvent_beforeDelay() {
+		damager.advanceTime(0.125);
+		assertEquals(0.375, damager.getTimeUntilNextEvent(), 0.0);
+
+		damager.advanceTime(0.25);
+		assertEquals(0.125, damager.getTimeUntilNextEvent(), 0.0);
+		assertFalse(this.reactToWater());
+
+		damager.advanceTime(0.125);
+		assertEquals(Double.POSITIVE_INFINITY, damager.getTimeUntilNextEvent(), 0.0);
+		assertTrue(this.reactToWater());
+	}
+
+	@Test
+	public void getTimeUntilNextEvent_afterDelay() {
+		damager.advanceTime(delay);
+		assertTrue(this.reactToWater());
+
+		// The delay has passed, so the next damage follows one interval later.
+		assertEquals(interval, damager.getTimeUntilNextEvent(), 0.0);
+
+		damager.advanceTime(0.125);
+		assertEquals(0.125, damager.getTimeUntilNextEvent(), 0.0);
+		assertFalse(this.reactToWater());
+
+		damager.advanceTime(0.125);
+		assertEquals(Double.POSITIVE_INFINITY, damager.getTimeUntilNextEvent(), 0.0);
+		assertTrue(this.reactToWater());
+	}
+
+	/**
+	 * Lets the damager react to the water tile and returns whether the shark took damage.
+	 */
+	private boolean reactToWater() {
+		int health = shark.getHealth();
+		damager.reactTo(water);
+		world.getCommandQueue().execute();
+		return shark.getHealth() != health;
+	}
+}
@@ -1,8 +1,8 @@
 package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.world.Tile;
 import jumpingalien.model.world.TileType;
 
@@ -15,7 +15,7 @@ import org.junit.Test;
 public class TileTest {
 	
 	
-	private Vector<Integer> position;
+	private IntVec position;
 	private int size;
 	private TileType type;
 	private Tile tile;
@@ -31,7 +31,7 @@ public class TileTest {
 
 	@Before
 	public void setUp() throws Exception {
-		position = new Vector<Integer>(1, 5);
+		position = new IntVec(1, 5);
 		size = 70;
 		type = TileType.MAGMA;
 		tile = new Tile(position, size, type);
@@ -46,17 +46,17 @@ public class TileTest {
 	
 	@Test(expected = IllegalArgumentException.class)
 	public void constructor_wrongPosition_negativeX() {
-		new Tile(new Vector<Integer>(-1, 5), 70, TileType.MAGMA);
+		new Tile(new IntVec(-1, 5), 70, TileType.MAGMA);
 	}
 	
 	@Test(expected = IllegalArgumentException.class)
 	public void constructor_wrongPosition_negativeY() {
-		new Tile(new Vector<Integer>(1, -5), 70, TileType.MAGMA);
+		new Tile(new IntVec(1, -5), 70, TileType.MAGMA);
 	}
 	
 	@Test(expected = IllegalArgumentException.class)
 	public void constructor_wrongSize_negativeXAndY() {
-		new Tile(new Vector<Integer>(-1, -5), 70, TileType.MAGMA);
+		new Tile(new IntVec(-1, -5), 70, TileType.MAGMA);
 	}
 	
 	
@@ -70,7 +70,7 @@ public class TileTest {
 	
 	@Test
 	public void getPositionInPixels() {
-		assertEquals(Vector.scale(position, size), tile.getPositionInPixels());
+		assertEquals(position.scale(size), tile.getPositionInPixels());
 	}
 	
 	
@@ -85,14 +85,14 @@ public class TileTest {
 	
 	@Test
 	public void getBoundingBoxPositionInPixels() {
-		assertEquals(Vector.scale(position, size), tile.getPositionInPixels());
+		assertEquals(position.scale(size), tile.getPositionInPixels());
 	}
 	
 	
 	
 	@Test
 	public void getTopRightPixel() {
-		assertEquals(Vector.add(tile.getPositionInPixels(), tile.getSizeInPixels()),
+		assertEquals(tile.getPositionInPixels().add(tile.getSizeInPixels()),
 				tile.getTopRightPixel());
 	}
 	
@@ -107,7 +107,7 @@ public class TileTest {
 	
 	@Test
 	public void getSizeVectorInPixels() {
-		assertEquals(new Vector<>(size, size), tile.getSizeInPixels());
+		assertEquals(new IntVec(size, size), tile.getSizeInPixels());
 	}
 	
 	
@@ -130,5 +130,20 @@ public class TileTest {
 	public void isPassable() {
 		assertEquals(type.isPassable(), tile.isPassable());
 	}
+	
+	
+	
+	@Test
+	public void equals() {
+		assertEquals(new Tile(new IntVec(1, 5), 70, TileType.MAGMA), tile);
+		assertNotEquals(new Tile(new IntVec(1, 5), 70, TileType.WATER), tile);
+		assertNotEquals(new Tile(new IntVec(1, 5), 60, TileType.MAGMA), tile);
+		assertNotEquals(new Tile(new IntVec(5, 1), 70, TileType.MAGMA), tile);
+	}
+	
+	@Test
+	public void hashCode_equalTiles() {
+		assertEquals(new Tile(new IntVec(1, 5), 70, TileType.MAGMA).hashCode(), tile.hashCode());
+	}
 
 }
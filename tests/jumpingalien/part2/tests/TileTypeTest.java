@@ -73,6 +73,21 @@ public class TileTypeTest {
 	
 	
 	
+	@Test
+	public void getMask() {
+		assertEquals(1, TileType.AIR.getMask());
+		assertEquals(8, TileType.MAGMA.getMask());
+	}
+	
+	@Test
+	public void maskOf() {
+		assertEquals(0, TileType.maskOf());
+		assertEquals(TileType.GROUND.getMask() | TileType.WATER.getMask(),
+				TileType.maskOf(TileType.GROUND, TileType.WATER));
+	}
+	
+	
+	
 	@Test
 	public void isPassable() {
 		TileType type = TileType.AIR;
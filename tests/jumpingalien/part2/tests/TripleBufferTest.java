@@ -0,0 +1,126 @@
+package jumpingalien.part2.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import ogp.framework.util.TripleBuffer;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TripleBufferTest {
+
+	private TripleBuffer<long[]> buffer;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		buffer = new TripleBuffer<>(() -> new long[2]);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+	}
+
+
+
+	@Test
+	public void acquireLatest_nothingPublished() {
+		assertFalse(buffer.acquireLatest());
+
+		this.write(1);
+		buffer.publish();
+		assertTrue(buffer.acquireLatest());
+		assertFalse(buffer.acquireLatest());
+		assertEquals(1, buffer.getFrontBuffer()[0]);
+	}
+
+	@Test
+	public void acquireLatest_latestPublished() {
+		this.write(1);
+		buffer.publish();
+		this.write(2);
+		buffer.publish();
+		assertTrue(buffer.acquireLatest());
+		assertEquals(2, buffer.getFrontBuffer()[0]);
+
+		this.write(3);
+		buffer.publish();
+		assertTrue(buffer.acquireLatest());
+		assertEquals(3, buffer.getFrontBuffer()[0]);
+	}
+
+	@Test
+	public void acquireLatest_unpublishedNotRead() {
+		this.write(1);
+		buffer.publish();
+		this.write(2);
+		assertTrue(buffer.acquireLatest());
+		assertEquals(1, buffer.getFrontBuffer()[0]);
+		assertFalse(buffer.acquireLatest());
+		assertEquals(1, buffer.getFrontBuffer()[0]);
+	}
+
+	@Test
+	public void getBackBuffer_neverFrontBuffer() {
+		Random random = new Random(25);
+		long value = 0;
+		long front = buffer.getFrontBuffer()[0];
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(buffer.getBackBuffer() == buffer.getFrontBuffer());
+			if (random.nextBoolean()) {
+				this.write(++value);
+				buffer.publish();
+			} else if (buffer.acquireLatest()) {
+				front = buffer.getFrontBuffer()[0];
+			}
+			// The writer scribbles in its buffer, which must never show up in the front buffer.
+			buffer.getBackBuffer()[0] = -1;
+			assertEquals(front, buffer.getFrontBuffer()[0]);
+		}
+	}
+
+	@Test
+	public void acquireLatest_concurrentWriter() throws InterruptedException {
+		final long nbFrames = 100000;
+		Thread writer = new Thread(() -> {
+			for (long value = 1; value <= nbFrames; value++) {
+				this.write(value);
+				buffer.publish();
+			}
+		});
+		writer.start();
+
+		long last = 0;
+		while (last < nbFrames) {
+			if (buffer.acquireLatest()) {
+				long[] front = buffer.getFrontBuffer();
+				assertEquals(front[0], front[1]);
+				assertTrue(front[0] > last);
+				last = front[0];
+			}
+			Thread.yield();
+		}
+		writer.join();
+	}
+
+	/**
+	 * Fills the back buffer with the given value.
+	 */
+	private void write(long value) {
+		long[] back = buffer.getBackBuffer();
+		back[0] = value;
+		back[1] = value;
+	}
+}
@@ -2,7 +2,8 @@ package jumpingalien.part2.tests;
 
 import static org.junit.Assert.*;
 
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -15,8 +16,8 @@ public class VectorTest {
 	
 	private int intX = -23, intY = 45;
 	private double doubleX = -23.5, doubleY = 45.3;
-	private Vector<Integer> intVector = new Vector<>(intX, intY);
-	private Vector<Double> doubleVector = new Vector<>(doubleX, doubleY);
+	private IntVec intVector = new IntVec(intX, intY);
+	private DoubleVec doubleVector = new DoubleVec(doubleX, doubleY);
 	
 	private double testEps = 1e-7;
 	
@@ -41,8 +42,8 @@ public class VectorTest {
 	
 	@Test
 	public void constructor() {
-		assertEquals(intX, (int)intVector.x);
-		assertEquals(intY, (int)intVector.y);
+		assertEquals(intX, intVector.x);
+		assertEquals(intY, intVector.y);
 		assertEquals(doubleX, doubleVector.x, testEps);
 		assertEquals(doubleY, doubleVector.y, testEps);
 	}
@@ -53,7 +54,7 @@ public class VectorTest {
 	public void setX() {
 		int newIntX = 80;
 		intVector = intVector.setX(newIntX);
-		assertEquals(newIntX, (int)intVector.x);
+		assertEquals(newIntX, intVector.x);
 		
 		double newDoubleX = 80.234;
 		doubleVector = doubleVector.setX(newDoubleX);
@@ -66,7 +67,7 @@ public class VectorTest {
 	public void addX() {
 		int addIntX = 80;
 		intVector = intVector.addX(addIntX);
-		assertEquals(intX + addIntX, (int)intVector.x);
+		assertEquals(intX + addIntX, intVector.x);
 		
 		double addDoubleX = 80.234;
 		doubleVector = doubleVector.addX(addDoubleX);
@@ -79,7 +80,7 @@ public class VectorTest {
 	public void setY() {
 		int newIntY = 80;
 		intVector = intVector.setY(newIntY);
-		assertEquals(newIntY, (int)intVector.y);
+		assertEquals(newIntY, intVector.y);
 		
 		double newDoubleY = 80.234;
 		doubleVector = doubleVector.setY(newDoubleY);
@@ -92,7 +93,7 @@ public class VectorTest {
 	public void addY() {
 		int addIntY = 80;
 		intVector = intVector.addY(addIntY);
-		assertEquals(intY + addIntY, (int)intVector.y);
+		assertEquals(intY + addIntY, intVector.y);
 		
 		double addDoubleY = 80.234;
 		doubleVector = doubleVector.addY(addDoubleY);
@@ -105,15 +106,15 @@ public class VectorTest {
 	public void add() {
 		int addIntX = 40;
 		int addIntY = -67;
-		Vector<Integer> addIntVector = new Vector<>(addIntX, addIntY);
-		intVector = Vector.add(intVector, addIntVector);
-		assertEquals(intX + addIntX, (int)intVector.x);
-		assertEquals(intY + addIntY, (int)intVector.y);
+		IntVec addIntVector = new IntVec(addIntX, addIntY);
+		intVector = intVector.add(addIntVector);
+		assertEquals(intX + addIntX, intVector.x);
+		assertEquals(intY + addIntY, intVector.y);
 		
 		double addDoubeX = 40.451;
 		double addDoubleY = -67.9803;
-		Vector<Double> addDoubleVector = new Vector<>(addDoubeX, addDoubleY);
-		doubleVector = Vector.add(doubleVector, addDoubleVector);
+		DoubleVec addDoubleVector = new DoubleVec(addDoubeX, addDoubleY);
+		doubleVector = doubleVector.add(addDoubleVector);
 		assertEquals(doubleX + addDoubeX, doubleVector.x, testEps);
 		assertEquals(doubleY + addDoubleY, doubleVector.y, testEps);
 	}
@@ -123,12 +124,12 @@ public class VectorTest {
 	@Test
 	public void scale() {
 		int scaleInt = 3;
-		intVector = Vector.scale(intVector, scaleInt);
-		assertEquals(intX * scaleInt, (int)intVector.x);
-		assertEquals(intY * scaleInt, (int)intVector.y);
+		intVector = intVector.scale(scaleInt);
+		assertEquals(intX * scaleInt, intVector.x);
+		assertEquals(intY * scaleInt, intVector.y);
 		
 		double scaleDouble = 3;
-		doubleVector = Vector.scale(doubleVector, scaleDouble);
+		doubleVector = doubleVector.scale(scaleDouble);
 		assertEquals(doubleX * scaleDouble, doubleVector.x, testEps);
 		assertEquals(doubleY * scaleDouble, doubleVector.y, testEps);
 	}
@@ -140,6 +141,12 @@ public class VectorTest {
 		assertEquals(intVector, intVector);
 		assertEquals(doubleVector, doubleVector);
 		assertNotEquals(intVector, doubleVector);
+		assertEquals(new IntVec(intX, intY), intVector);
+		assertEquals(new IntVec(intX, intY).hashCode(), intVector.hashCode());
+		assertEquals(new DoubleVec(doubleX, doubleY), doubleVector);
+		assertEquals(new DoubleVec(doubleX, doubleY).hashCode(), doubleVector.hashCode());
+		assertNotEquals(intVector.addX(1), intVector);
+		assertNotEquals(doubleVector.addY(0.1), doubleVector);
 	}
 	
 	
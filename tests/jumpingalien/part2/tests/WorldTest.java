@@ -4,20 +4,34 @@ import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import jumpingalien.common.sprites.JumpingAlienSprites;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.Collidable;
+import jumpingalien.model.IntVec;
+import jumpingalien.model.Settings;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.gameobject.Mazub;
+import jumpingalien.model.gameobject.Plant;
+import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.gameobject.Slime;
+import jumpingalien.model.world.CollisionMode;
 import jumpingalien.model.world.Tile;
+import jumpingalien.model.world.TileGridView;
 import jumpingalien.model.world.TileType;
 import jumpingalien.model.world.World;
+import jumpingalien.part2.facade.Facade;
+import jumpingalien.part2.internal.Resources;
+import jumpingalien.part3.programs.IProgramFactory.Direction;
 import jumpingalien.tests.util.TestUtilities;
 import jumpingalien.util.ModelException;
+import jumpingalien.util.Sprite;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -51,9 +65,9 @@ public class WorldTest {
 	@Test
 	public void constructor_ok(){
 		assertEquals(world.getTileSize(), 70);
-		assertEquals(world.getNumberOfTiles(), new Vector<>(20, 12));
-		assertEquals(world.getTargetTilePosition(), new Vector<>(19, 11));
-		assertEquals(TileType.AIR, world.getTileTypeOfTile(new Vector<>(12, 8)));
+		assertEquals(world.getNumberOfTiles(), new IntVec(20, 12));
+		assertEquals(world.getTargetTilePosition(), new IntVec(19, 11));
+		assertEquals(TileType.AIR, world.getTileTypeOfTile(new IntVec(12, 8)));
 	}
 	
 	@Test(expected=IllegalArgumentException.class)
@@ -94,21 +108,21 @@ public class WorldTest {
 	
 	@Test
 	public void getNumberOfTiles() {
-		assertEquals(new Vector<>(20, 12), world.getNumberOfTiles());
+		assertEquals(new IntVec(20, 12), world.getNumberOfTiles());
 	}
 	
 	
 	
 	@Test
 	public void getSizeInPixels(){
-		assertEquals(world.getSizeInPixels(), new Vector<>(70*20, 70*12));
+		assertEquals(world.getSizeInPixels(), new IntVec(70*20, 70*12));
 	}
 	
 	
 	
 	@Test
 	public void getSizeInMeters(){
-		assertEquals(world.getSizeInMeters(), new Vector<Double>(70 * 20 * Constants.metersPerPixel,
+		assertEquals(world.getSizeInMeters(), new DoubleVec(70 * 20 * Constants.metersPerPixel,
 				70 * 12 * Constants.metersPerPixel));
 	}
 	
@@ -116,73 +130,73 @@ public class WorldTest {
 	
 	@Test
 	public void pixelInWorld_inside(){
-		assertTrue(world.pixelInWorld(new Vector<>(20, 20)));
-		assertTrue(world.pixelInWorld(new Vector<>(0, 0)));
-		assertTrue(world.pixelInWorld(new Vector<>(0, 20)));
-		assertTrue(world.pixelInWorld(new Vector<>(20, 0)));
-		assertTrue(world.pixelInWorld(new Vector<>(70 * 20 - 1, 20)));
-		assertTrue(world.pixelInWorld(new Vector<>(20, 70 * 12 - 1)));
-		assertTrue(world.pixelInWorld(new Vector<>(70 * 20 - 1, 70 * 12 - 1)));
+		assertTrue(world.pixelInWorld(new IntVec(20, 20)));
+		assertTrue(world.pixelInWorld(new IntVec(0, 0)));
+		assertTrue(world.pixelInWorld(new IntVec(0, 20)));
+		assertTrue(world.pixelInWorld(new IntVec(20, 0)));
+		assertTrue(world.pixelInWorld(new IntVec(70 * 20 - 1, 20)));
+		assertTrue(world.pixelInWorld(new IntVec(20, 70 * 12 - 1)));
+		assertTrue(world.pixelInWorld(new IntVec(70 * 20 - 1, 70 * 12 - 1)));
 	}
 	
 	@Test
 	public void pixelInWorld_outside(){
-		assertFalse(world.pixelInWorld(new Vector<>(-1, -1)));
-		assertFalse(world.pixelInWorld(new Vector<>(-1, 20)));
-		assertFalse(world.pixelInWorld(new Vector<>(20, -1)));
-		assertFalse(world.pixelInWorld(new Vector<>(70 * 20, 20)));
-		assertFalse(world.pixelInWorld(new Vector<>(20, 70 * 12)));
-		assertFalse(world.pixelInWorld(new Vector<>(70 * 20, 70 * 12)));
+		assertFalse(world.pixelInWorld(new IntVec(-1, -1)));
+		assertFalse(world.pixelInWorld(new IntVec(-1, 20)));
+		assertFalse(world.pixelInWorld(new IntVec(20, -1)));
+		assertFalse(world.pixelInWorld(new IntVec(70 * 20, 20)));
+		assertFalse(world.pixelInWorld(new IntVec(20, 70 * 12)));
+		assertFalse(world.pixelInWorld(new IntVec(70 * 20, 70 * 12)));
 	}
 	
 	
 	
 	@Test
 	public void tilePositionInWorld_inside(){
-		assertTrue(world.tilePositionInWorld(new Vector<>(0, 0)));
-		assertTrue(world.tilePositionInWorld(new Vector<>(0, 5)));
-		assertTrue(world.tilePositionInWorld(new Vector<>(5, 0)));
-		assertTrue(world.tilePositionInWorld(new Vector<>(20 - 1, 5)));
-		assertTrue(world.tilePositionInWorld(new Vector<>(5, 12 - 1)));
-		assertTrue(world.tilePositionInWorld(new Vector<>(20 - 1, 12 - 1)));
+		assertTrue(world.tilePositionInWorld(new IntVec(0, 0)));
+		assertTrue(world.tilePositionInWorld(new IntVec(0, 5)));
+		assertTrue(world.tilePositionInWorld(new IntVec(5, 0)));
+		assertTrue(world.tilePositionInWorld(new IntVec(20 - 1, 5)));
+		assertTrue(world.tilePositionInWorld(new IntVec(5, 12 - 1)));
+		assertTrue(world.tilePositionInWorld(new IntVec(20 - 1, 12 - 1)));
 	}
 
 	@Test
 	public void tilePositionInWorld_outside(){
-		assertFalse(world.tilePositionInWorld(new Vector<>(-1, -1)));
-		assertFalse(world.tilePositionInWorld(new Vector<>(-1, 5)));
-		assertFalse(world.tilePositionInWorld(new Vector<>(5, -1)));
-		assertFalse(world.tilePositionInWorld(new Vector<>(20, 5)));
-		assertFalse(world.tilePositionInWorld(new Vector<>(5, 12)));
-		assertFalse(world.tilePositionInWorld(new Vector<>(20, 12)));
+		assertFalse(world.tilePositionInWorld(new IntVec(-1, -1)));
+		assertFalse(world.tilePositionInWorld(new IntVec(-1, 5)));
+		assertFalse(world.tilePositionInWorld(new IntVec(5, -1)));
+		assertFalse(world.tilePositionInWorld(new IntVec(20, 5)));
+		assertFalse(world.tilePositionInWorld(new IntVec(5, 12)));
+		assertFalse(world.tilePositionInWorld(new IntVec(20, 12)));
 	}
 	
 	
 	
 	@Test
 	public void getBottomLeftPixelOfTile(){
-		Vector<Integer> p = world.getBottomLeftPixelOfTile(new Vector<>(0, 0));
-		assertEquals(p, new Vector<>(0, 0));
+		IntVec p = world.getBottomLeftPixelOfTile(new IntVec(0, 0));
+		assertEquals(p, new IntVec(0, 0));
 
-		p = world.getBottomLeftPixelOfTile(new Vector<>(5, 5));
-		assertEquals(p, new Vector<>(5*70, 5*70));
+		p = world.getBottomLeftPixelOfTile(new IntVec(5, 5));
+		assertEquals(p, new IntVec(5*70, 5*70));
 	}
 	
 	
 	
 	@Test
 	public void getTileContainingPixel(){
-		Vector<Integer> tile = world.getTileContainingPixel(new Vector<>(0, 0));
-		assertEquals(tile, new Vector<>(0, 0));
+		IntVec tile = world.getTileContainingPixel(new IntVec(0, 0));
+		assertEquals(tile, new IntVec(0, 0));
 
-		tile = world.getTileContainingPixel(new Vector<>(70 * 20 - 1, 70 * 12 - 1));
-		assertEquals(tile, new Vector<>(19, 11));
+		tile = world.getTileContainingPixel(new IntVec(70 * 20 - 1, 70 * 12 - 1));
+		assertEquals(tile, new IntVec(19, 11));
 
-		tile = world.getTileContainingPixel(new Vector<>(70 * 18 + 35, 70 * 10 + 35));
-		assertEquals(tile, new Vector<>(18, 10));
+		tile = world.getTileContainingPixel(new IntVec(70 * 18 + 35, 70 * 10 + 35));
+		assertEquals(tile, new IntVec(18, 10));
 
-		tile = world.getTileContainingPixel(new Vector<>(70 * 18 - 35, 70 * 10 - 35));
-		assertEquals(tile, new Vector<>(17, 9));
+		tile = world.getTileContainingPixel(new IntVec(70 * 18 - 35, 70 * 10 - 35));
+		assertEquals(tile, new IntVec(17, 9));
 	}
 	
 	
@@ -190,23 +204,23 @@ public class WorldTest {
 	@Test
 	public void getTilePositionsInRectangle(){
 		//Small rectangle
-		ArrayList<Vector<Integer>> tiles = world.getTilePositionsInRectangle(new Vector<>(0, 0), new Vector<>(69, 69));
+		ArrayList<IntVec> tiles = world.getTilePositionsInRectangle(new IntVec(0, 0), new IntVec(69, 69));
 		assertEquals(tiles.size(), 1);
-		assertEquals(tiles.get(0), new Vector<>(0, 0));
+		assertEquals(tiles.get(0), new IntVec(0, 0));
 		
 		
 		//Whole world rectangle
-		tiles = world.getTilePositionsInRectangle(new Vector<>(0, 0), new Vector<>(70 * 20 - 1, 70 * 12 - 1));
-		ArrayList<Vector<Integer>> correct =  new ArrayList<>();
+		tiles = world.getTilePositionsInRectangle(new IntVec(0, 0), new IntVec(70 * 20 - 1, 70 * 12 - 1));
+		ArrayList<IntVec> correct =  new ArrayList<>();
 		for (int i = 0; i < 20; ++i){
 			for (int j = 0; j < 12; ++j){
-				correct.add(new Vector<>(i, j));
+				correct.add(new IntVec(i, j));
 			}
 		}
 		assertEquals(tiles.size(), correct.size());
-		for (Vector<Integer> correctTile : correct){
+		for (IntVec correctTile : correct){
 			boolean found = false;
-			for (Vector<Integer> tile: tiles){
+			for (IntVec tile: tiles){
 				if (tile.equals(correctTile)){
 					found = true;
 				}
@@ -215,14 +229,14 @@ public class WorldTest {
 		}
 		
 		//Middle rectangle
-		tiles = world.getTilePositionsInRectangle(new Vector<>(50, 50), new Vector<>(60, 80));
+		tiles = world.getTilePositionsInRectangle(new IntVec(50, 50), new IntVec(60, 80));
 		correct =  new ArrayList<>();
-		correct.add(new Vector<>(0, 0));
-		correct.add(new Vector<>(0, 1));
+		correct.add(new IntVec(0, 0));
+		correct.add(new IntVec(0, 1));
 		assertEquals(tiles.size(), correct.size());
-		for (Vector<Integer> correctTile : correct){
+		for (IntVec correctTile : correct){
 			boolean found = false;
-			for (Vector<Integer> tile: tiles){
+			for (IntVec tile: tiles){
 				if (tile.equals(correctTile)){
 					found = true;
 				}
@@ -235,7 +249,7 @@ public class WorldTest {
 	
 	@Test
 	public void getVisibleWindow_bottomLeftEdge(){
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		int[] window = world.getVisibleWindow();
 		assertEquals(window[0], 0);
@@ -246,7 +260,7 @@ public class WorldTest {
 
 	@Test
 	public void getVisibleWindow_topRightEdge(){
-		Mazub mazub = new Mazub(new Vector<>(70 * 20 * Constants.metersPerPixel, 70 * 12 * Constants.metersPerPixel), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(70 * 20 * Constants.metersPerPixel, 70 * 12 * Constants.metersPerPixel), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		int[] window = world.getVisibleWindow();
 		assertEquals(window[0], 70 * 20 - 1024 - 1);
@@ -257,7 +271,7 @@ public class WorldTest {
 
 	@Test
 	public void getVisibleWindow_middle(){
-		Mazub mazub = new Mazub(new Vector<>(70 * 10 * Constants.metersPerPixel, 70 * 6 * Constants.metersPerPixel), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(70 * 10 * Constants.metersPerPixel, 70 * 6 * Constants.metersPerPixel), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		int[] window = world.getVisibleWindow();
 		assertTrue(mazub.getPositionInPixels().x - window[0] > 200);
@@ -270,14 +284,14 @@ public class WorldTest {
 	
 	@Test
 	public void getTargetTilePosition() {
-		assertEquals(new Vector<>(19, 11), world.getTargetTilePosition());
+		assertEquals(new IntVec(19, 11), world.getTargetTilePosition());
 	}
 	
 	
 	
 	@Test
 	public void isGameOver(){
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		
 		mazub.setHealth(0);
@@ -290,7 +304,7 @@ public class WorldTest {
 	
 	@Test
 	public void isGameOver_MazubUnderMap() {
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		
 		assertFalse(world.isGameOver());
@@ -305,8 +319,8 @@ public class WorldTest {
 	
 	@Test
 	public void didPlayerWin(){
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		assertTrue(world.didPlayerWin());
@@ -314,12 +328,12 @@ public class WorldTest {
 	
 	@Test
 	public void didPlayerWin_player_already_dead() {
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0),
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0),
 				JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		mazub.setHealth(0);
 		mazub.setPositionInMeters(Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize())));
+				world.getTargetTilePosition().scale(world.getTileSize())));
 		assertFalse(world.didPlayerWin());
 	}
 	
@@ -337,57 +351,163 @@ public class WorldTest {
 			}
 		}
 	}
+
+	@Test
+	public void getTileTypes_copy() {
+		world.getTileTypes()[3][4] = TileType.MAGMA;
+		assertEquals(TileType.AIR, world.getTileTypeOfTile(new IntVec(3, 4)));
+	}
+
+	@Test
+	public void getTileGrid() {
+		TileGridView grid = world.getTileGrid();
+		assertEquals(20, grid.getWidth());
+		assertEquals(12, grid.getHeight());
+		assertTrue(grid.contains(19, 11));
+		assertFalse(grid.contains(20, 0));
+		assertFalse(grid.contains(0, -1));
+
+		world.setTileType(new IntVec(19, 11), TileType.WATER);
+		world.setTileType(new IntVec(3, 0), TileType.MAGMA);
+		assertEquals(TileType.WATER, grid.getTileType(19, 11));
+		assertEquals(TileType.MAGMA, grid.getTileType(3, 0));
+		assertEquals(TileType.AIR, grid.getTileType(0, 3));
+	}
+	
+	@Test
+	public void getTileGrid_facadeGeologicalFeature() {
+		world.setTileType(new IntVec(19, 11), TileType.WATER);
+		world.setTileType(new IntVec(3, 0), TileType.MAGMA);
+		Facade facade = new Facade();
+		assertEquals(TileType.WATER.getNumber(), facade.getGeologicalFeature(world, 70 * 19, 70 * 11));
+		assertEquals(TileType.MAGMA.getNumber(), facade.getGeologicalFeature(world, 70 * 3, 0));
+		assertEquals(TileType.AIR.getNumber(), facade.getGeologicalFeature(world, 0, 70 * 3));
+	}
+	
+	@Test(expected=ModelException.class)
+	public void getTileGrid_facadeGeologicalFeatureNotBottomLeft() {
+		new Facade().getGeologicalFeature(world, 35, 0);
+	}
+	
+	@Test(expected=ModelException.class)
+	public void getTileGrid_facadeGeologicalFeatureOutside() {
+		new Facade().getGeologicalFeature(world, 70 * 20, 0);
+	}
 	
 	
 	
 	@Test
 	public void getTileTypeOfPixel() {
-		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new Vector<>(0, 0)));
-		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new Vector<>(345, 276)));
-		world.setTileType(new Vector<>(1, 1), TileType.MAGMA);
-		assertEquals(TileType.MAGMA, world.getTileTypeOfPixel(new Vector<>(70, 70)));
-		assertEquals(TileType.MAGMA, world.getTileTypeOfPixel(new Vector<>(139, 139)));
-		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new Vector<>(140, 140)));
+		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new IntVec(0, 0)));
+		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new IntVec(345, 276)));
+		world.setTileType(new IntVec(1, 1), TileType.MAGMA);
+		assertEquals(TileType.MAGMA, world.getTileTypeOfPixel(new IntVec(70, 70)));
+		assertEquals(TileType.MAGMA, world.getTileTypeOfPixel(new IntVec(139, 139)));
+		assertEquals(TileType.AIR, world.getTileTypeOfPixel(new IntVec(140, 140)));
 	}
 	
 	@Test(expected = ModelException.class)
 	public void getTileTypeOfPixel_pixelNotInWorld() {
-		world.getTileTypeOfPixel(new Vector<>(-10, 80));
+		world.getTileTypeOfPixel(new IntVec(-10, 80));
 	}
 	
 	
 	
 	@Test
 	public void getTileTypeOfTile() {
-		assertEquals(TileType.AIR, world.getTileTypeOfTile(new Vector<>(2, 5)));
-		world.setTileType(new Vector<>(2, 8), TileType.MAGMA);
-		assertEquals(TileType.AIR, world.getTileTypeOfTile(new Vector<>(2, 5)));
-		assertEquals(TileType.MAGMA, world.getTileTypeOfTile(new Vector<>(2, 8)));
+		assertEquals(TileType.AIR, world.getTileTypeOfTile(new IntVec(2, 5)));
+		world.setTileType(new IntVec(2, 8), TileType.MAGMA);
+		assertEquals(TileType.AIR, world.getTileTypeOfTile(new IntVec(2, 5)));
+		assertEquals(TileType.MAGMA, world.getTileTypeOfTile(new IntVec(2, 8)));
 	}
 	
 	@Test(expected = ModelException.class)
 	public void getTileTypeOfTile_tileNotInWorld() {
-		world.getTileTypeOfTile(new Vector<>(-1, 8));
+		world.getTileTypeOfTile(new IntVec(-1, 8));
+	}
+	
+	
+	
+	@Test
+	public void getTileGrid_countTilesOfType() {
+		TileGridView grid = world.getTileGrid();
+		assertEquals(20 * 12, grid.countTilesOfType(TileType.AIR, 0, 0, 19, 11));
+		assertEquals(0, grid.countTilesOfType(TileType.WATER, 0, 0, 19, 11));
+		
+		world.setTileType(new IntVec(4, 3), TileType.WATER);
+		world.setTileType(new IntVec(6, 5), TileType.WATER);
+		assertEquals(2, grid.countTilesOfType(TileType.WATER, 4, 3, 6, 5));
+		assertEquals(1, grid.countTilesOfType(TileType.WATER, 5, 4, 6, 5));
+		assertEquals(0, grid.countTilesOfType(TileType.WATER, 5, 4, 5, 11));
+		assertEquals(2, grid.countTilesOfType(TileType.WATER, -10, -10, 100, 100));
+		assertEquals(20 * 12 - 2, grid.countTilesOfType(TileType.AIR, 0, 0, 19, 11));
+		assertEquals(0, grid.countTilesOfType(TileType.WATER, 6, 5, 4, 3));
+	}
+	
+	@Test
+	public void overlapsTileOfType() {
+		world.setTileType(new IntVec(2, 1), TileType.MAGMA);
+		assertTrue(world.overlapsTileOfType(TileType.MAGMA, 139, 69, 2, 2));
+		assertTrue(world.overlapsTileOfType(TileType.MAGMA, 140, 70, 70, 70));
+		assertFalse(world.overlapsTileOfType(TileType.MAGMA, 70, 70, 70, 70));
+		assertFalse(world.overlapsTileOfType(TileType.MAGMA, 140, 140, 70, 70));
 	}
 	
 	
 	
 	@Test
 	public void setTileType(){
-		world.setTileType(new Vector<>(0, 0), TileType.GROUND);
-		assertEquals(world.getTileTypeOfTile(new Vector<>(0, 0)), TileType.GROUND);
+		world.setTileType(new IntVec(0, 0), TileType.GROUND);
+		assertEquals(world.getTileTypeOfTile(new IntVec(0, 0)), TileType.GROUND);
+	}
+	
+	@Test
+	public void getTile_sameInstance() {
+		Tile tile = world.getTile(3, 2);
+		assertSame(tile, world.getTile(3, 2));
+		assertEquals(new Tile(new IntVec(3, 2), 70, TileType.AIR), tile);
+	}
+	
+	@Test
+	public void getTile_invalidatedBySetTileType() {
+		Tile tile = world.getTile(3, 2);
+		world.setTileType(new IntVec(3, 2), TileType.WATER);
+		assertFalse(tile == world.getTile(3, 2));
+		assertEquals(TileType.WATER, world.getTile(3, 2).getType());
+	}
+	
+	@Test
+	public void getTileAtPixel() {
+		assertSame(world.getTile(1, 2), world.getTileAtPixel(new IntVec(75, 160)));
+	}
+	
+	@Test(expected=ModelException.class)
+	public void getTileAtPixel_pixelNotInWorld() {
+		world.getTileAtPixel(new IntVec(-1, 0));
+	}
+	
+	@Test
+	public void getTiles() {
+		Set<Tile> tiles = world.getTiles();
+		assertEquals(20 * 12, tiles.size());
+		assertEquals(20 * 12, new HashSet<>(tiles).size());
+		assertTrue(tiles.contains(new Tile(new IntVec(19, 11), 70, TileType.AIR)));
+		
+		world.setTileType(new IntVec(19, 11), TileType.MAGMA);
+		assertFalse(tiles.contains(new Tile(new IntVec(19, 11), 70, TileType.AIR)));
+		assertTrue(tiles.contains(new Tile(new IntVec(19, 11), 70, TileType.MAGMA)));
 	}
 	
 	
 	
 	@Test
 	public void containsGameObject() {
-		Shark shark = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark);
 		assertTrue(world.containsGameObject(shark));
 		
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.addGameObject(mazub);
 		assertTrue(world.containsGameObject(mazub));
@@ -409,14 +529,14 @@ public class WorldTest {
 	
 	@Test
 	public void removeGameObject(){
-		Shark shark = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark);
 		assertTrue(world.containsGameObject(shark));
 		world.removeGameObject(shark);
 		assertFalse(world.containsGameObject(shark));
 		
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		world.removeGameObject(mazub);
@@ -427,12 +547,12 @@ public class WorldTest {
 	
 	@Test
 	public void addGameObject(){
-		Shark shark = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark);
 		assertTrue(world.containsGameObject(shark));
 		
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.addGameObject(mazub);
 		assertTrue(world.containsGameObject(mazub));
@@ -443,8 +563,8 @@ public class WorldTest {
 	
 	@Test
 	public void getMazub() {
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		assertEquals(mazub, world.getMazub());
@@ -454,7 +574,7 @@ public class WorldTest {
 	
 	@Test
 	public void setMazub(){
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		assertEquals(world.getMazub(), mazub);
 	}
@@ -468,7 +588,7 @@ public class WorldTest {
 	
 	@Test
 	public void canHaveAsMazub_ok(){
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		assertTrue(world.canHaveAsMazub(mazub));
 	}
 	
@@ -482,18 +602,116 @@ public class WorldTest {
 	@Test
 	public void hasProperMazub(){
 		assertFalse(world.hasProperMazub());
-		Mazub mazub = new Mazub(new Vector<>(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		Mazub mazub = new Mazub(new DoubleVec(0.0, 0.0), JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		assertTrue(world.hasProperMazub());
 	}
 	
 	
 	
+	@Test
+	public void collectGameObjects() {
+		Shark shark1 = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(100, 200)));
+		Shark shark2 = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(700, 200)));
+		Slime slime = TestUtilities.slime(Utilities.pixelsVectorToMeters(new IntVec(300, 500)), new School());
+		world.addGameObject(shark1);
+		world.addGameObject(shark2);
+		world.addGameObject(slime);
+		
+		List<GameObject> objects = new ArrayList<>();
+		world.collectGameObjects(cls -> cls == Shark.class,
+				Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, objects);
+		assertEquals(new HashSet<>(objects), new HashSet<>(world.getGameObjectsWithClass(Shark.class)));
+		
+		objects.clear();
+		world.collectGameObjects(cls -> true, 100, 0, 300, Integer.MAX_VALUE, objects);
+		assertEquals(2, objects.size());
+		assertTrue(objects.contains(shark1) && objects.contains(slime));
+		
+		world.removeGameObject(shark1);
+		objects.clear();
+		world.collectGameObjects(cls -> cls == Shark.class,
+				Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, objects);
+		assertEquals(1, objects.size());
+		assertTrue(objects.contains(shark2));
+	}
+	
+	
+	
+	@Test
+	public void collectTiles() {
+		world.setTileType(new IntVec(2, 3), TileType.WATER);
+		world.setTileType(new IntVec(4, 3), TileType.WATER);
+		world.setTileType(new IntVec(2, 6), TileType.WATER);
+		
+		List<Tile> tiles = new ArrayList<>();
+		world.collectTiles(type -> type == TileType.WATER, 0, 0, 280, 210, tiles);
+		assertEquals(2, tiles.size());
+		assertTrue(tiles.get(0) == world.getTile(2, 3) && tiles.get(1) == world.getTile(4, 3));
+		
+		tiles.clear();
+		world.collectTiles(type -> true, 71, -100, 140, 69, tiles);
+		assertEquals(1, tiles.size());
+		assertTrue(tiles.get(0) == world.getTile(2, 0));
+	}
+	
+	
+	
+	@Test
+	public void searchObject() {
+		Random random = new Random(3);
+		for (int i = 0; i < 40; i++) {
+			world.setTileType(new IntVec(random.nextInt(20), random.nextInt(12)), TileType.GROUND);
+		}
+		List<GameObject> objects = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(
+					new IntVec(random.nextInt(1300), random.nextInt(760))));
+			objects.add(shark);
+			world.addGameObject(shark);
+		}
+		
+		for (GameObject object : objects) {
+			for (Direction direction : Direction.values()) {
+				assertEquals(searchObjectInStrip(object, direction), world.searchObject(object, direction));
+			}
+		}
+	}
+	
+	/**
+	 * Returns the collidable nearest to the given object of all collidables in the strip
+	 * in the given direction.
+	 */
+	private Collidable searchObjectInStrip(GameObject object, Direction direction) {
+		IntVec position = object.getPositionInPixels();
+		IntVec size = object.getSizeInPixels();
+		IntVec topRight = object.getTopRightPixel();
+		IntVec bottomLeft = (direction == Direction.LEFT) ? new IntVec(0, position.y)
+				: (direction == Direction.RIGHT) ? new IntVec(topRight.x, position.y)
+				: (direction == Direction.UP) ? new IntVec(position.x, topRight.y)
+				: new IntVec(position.x, 0);
+		IntVec stripSize = (direction == Direction.LEFT) ? new IntVec(position.x, size.y)
+				: (direction == Direction.RIGHT) ? new IntVec(world.getWidthInPixels() - topRight.x, size.y)
+				: (direction == Direction.UP) ? new IntVec(size.x, world.getHeightInPixels() - topRight.y)
+				: new IntVec(size.x, position.y);
+		
+		Collidable nearest = null;
+		for (Collidable collidable : world.getCollidablesInRectangle(bottomLeft, stripSize)) {
+			if (nearest == null || !(Utilities.distanceBetween(nearest.getCenterInPixels(), object.getCenterInPixels())
+					< Utilities.distanceBetween(collidable.getCenterInPixels(), object.getCenterInPixels()))) {
+				nearest = collidable;
+			}
+		}
+		return nearest;
+	}
+	
+	
+	
 	@Test
 	public void getGameObjectWithClass(){
 		HashSet<Shark> sharks = new HashSet<>();
 		for (int i = 0; i < 3; ++i){
-			Shark shark = TestUtilities.shark(new Vector<>(0.0, 0.0));
+			Shark shark = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 			sharks.add(shark);
 			world.addGameObject(shark);
 		}
@@ -506,8 +724,8 @@ public class WorldTest {
 		
 		assertEquals(0, world.getGameObjectsWithClass(Mazub.class).size());
 		
-		Vector<Double> position = Utilities.pixelsVectorToMeters(
-				Vector.scale(world.getTargetTilePosition(), world.getTileSize()));
+		DoubleVec position = Utilities.pixelsVectorToMeters(
+				world.getTargetTilePosition().scale(world.getTileSize()));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		
@@ -520,63 +738,63 @@ public class WorldTest {
 	
 //	@Test
 //	public void objectsOverlap_overlap_obvious(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark2 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark2);
 //		assertTrue(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_overlap_closex(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(shark1.getSize().x * Constants.metersPerPixel - 1, 0.0));
+//		Shark shark2 = Utilities.shark(new DoubleVec(shark1.getSize().x * Constants.metersPerPixel - 1, 0.0));
 //		world.addGameObject(shark2);
 //		assertTrue(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_noOverlap_closex(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(shark1.getSize().x * Constants.metersPerPixel, 0.0));
+//		Shark shark2 = Utilities.shark(new DoubleVec(shark1.getSize().x * Constants.metersPerPixel, 0.0));
 //		world.addGameObject(shark2);
 //		assertFalse(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_overlap_closey(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(0.0, shark1.getSize().y * Constants.metersPerPixel - 1));
+//		Shark shark2 = Utilities.shark(new DoubleVec(0.0, shark1.getSize().y * Constants.metersPerPixel - 1));
 //		world.addGameObject(shark2);
 //		assertTrue(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_noOverlap_closey(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(0.0, shark1.getSize().y * Constants.metersPerPixel));
+//		Shark shark2 = Utilities.shark(new DoubleVec(0.0, shark1.getSize().y * Constants.metersPerPixel));
 //		world.addGameObject(shark2);
 //		assertFalse(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_overlap_topRightCorner(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(shark1.getSize().x * Constants.metersPerPixel - 1, shark1.getSize().y * Constants.metersPerPixel - 1));
+//		Shark shark2 = Utilities.shark(new DoubleVec(shark1.getSize().x * Constants.metersPerPixel - 1, shark1.getSize().y * Constants.metersPerPixel - 1));
 //		world.addGameObject(shark2);
 //		assertTrue(world.objectsOverlap(shark1, shark2));
 //	}
 //
 //	@Test
 //	public void objectsOverlap_noOverlap_topTightCorner(){
-//		Shark shark1 = Utilities.shark(new Vector<>(0.0, 0.0));
+//		Shark shark1 = Utilities.shark(new DoubleVec(0.0, 0.0));
 //		world.addGameObject(shark1);
-//		Shark shark2 = Utilities.shark(new Vector<>(shark1.getSize().x * Constants.metersPerPixel, shark1.getSize().y * Constants.metersPerPixel));
+//		Shark shark2 = Utilities.shark(new DoubleVec(shark1.getSize().x * Constants.metersPerPixel, shark1.getSize().y * Constants.metersPerPixel));
 //		world.addGameObject(shark2);
 //		assertFalse(world.objectsOverlap(shark1, shark2));
 //	}
@@ -585,9 +803,9 @@ public class WorldTest {
 	
 	@Test
 	public void getObjectsCollidingWithObject_some(){
-		Shark shark1 = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark1 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark1);
-		Shark shark2 = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark2 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark2);
 		Set<GameObject> coll = world.getObjectsCollidingWithObject(shark1);
 		assertEquals(coll.size(), 1);
@@ -596,26 +814,61 @@ public class WorldTest {
 
 	@Test
 	public void getObjectsCollidingWithObject_none(){
-		Shark shark1 = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark1 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		world.addGameObject(shark1);
-		Shark shark2 = TestUtilities.shark(new Vector<>(shark1.getSizeInPixels().x * Constants.metersPerPixel, 0.0));
+		Shark shark2 = TestUtilities.shark(new DoubleVec(shark1.getSizeInPixels().x * Constants.metersPerPixel, 0.0));
 		world.addGameObject(shark2);
 		Set<GameObject> coll = world.getObjectsCollidingWithObject(shark1);
 		assertEquals(coll.size(), 0);
 	}
-	
+
+	@Test
+	public void getObjectsCollidingWithObject_afterMove(){
+		Shark shark1 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
+		world.addGameObject(shark1);
+		Shark shark2 = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(700, 350)));
+		world.addGameObject(shark2);
+		assertEquals(world.getObjectsCollidingWithObject(shark1).size(), 0);
+
+		shark2.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(10, 10)));
+		Set<GameObject> coll = world.getObjectsCollidingWithObject(shark1);
+		assertEquals(coll.size(), 1);
+		assertTrue(coll.contains(shark2));
+
+		shark2.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(1300, 700)));
+		assertEquals(world.getObjectsCollidingWithObject(shark1).size(), 0);
+	}
+
+	@Test
+	public void getObjectsCollidingWithObject_removed(){
+		Shark shark1 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
+		world.addGameObject(shark1);
+		Shark shark2 = TestUtilities.shark(new DoubleVec(0.0, 0.0));
+		world.addGameObject(shark2);
+		shark2.removeFromWorld();
+		assertEquals(world.getObjectsCollidingWithObject(shark1).size(), 0);
+	}
+
+	@Test
+	public void getCollidablesInRectangle_objectSpanningCells(){
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(60, 60)));
+		world.addGameObject(shark);
+		assertTrue(world.getCollidablesInRectangle(new IntVec(75, 75), new IntVec(5, 5)).contains(shark));
+		assertFalse(world.getCollidablesInRectangle(new IntVec(700, 75), new IntVec(5, 5)).contains(shark));
+	}
+
 	
 	
 	@Test
 	public void getTilesCollidingWithObject_center(){
-		Shark shark = TestUtilities.shark(new Vector<>(0.0, 0.0));
+		Shark shark = TestUtilities.shark(new DoubleVec(0.0, 0.0));
 		Set<Tile> tiles = world.getTilesCollidingWithObject(shark);
 		assertEquals(tiles.size(), 1);
 	}
 
 	@Test
 	public void getTilesCollidingWithObject_cornerOfTiles(){
-		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new Vector<>(50, 50)));
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
 		int toX = 2;
 		int toY = 2;
 		
@@ -627,15 +880,310 @@ public class WorldTest {
 		}
 	}
 	
+	@Test
+	public void collectTilesCollidingWithObject_appends(){
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
+		List<Tile> tiles = new ArrayList<>();
+		tiles.add(world.getTile(10, 10));
+		
+		world.collectTilesCollidingWithObject(shark, tiles);
+		assertEquals(5, tiles.size());
+		assertSame(world.getTile(10, 10), tiles.get(0));
+		assertEquals(world.getTilesCollidingWithObject(shark), new HashSet<>(tiles.subList(1, 5)));
+		
+		world.collectTilesCollidingWithObject(null, tiles);
+		assertEquals(5, tiles.size());
+	}
+	
+	@Test
+	public void collectObjectsCollidingWithObject_appends(){
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
+		Shark other = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(60, 50)));
+		world.addGameObject(shark);
+		world.addGameObject(other);
+		List<GameObject> objects = new ArrayList<>();
+		objects.add(shark);
+		
+		world.collectObjectsCollidingWithObject(shark, objects);
+		assertEquals(2, objects.size());
+		assertSame(shark, objects.get(0));
+		assertSame(other, objects.get(1));
+		assertEquals(world.getObjectsCollidingWithObject(shark), new HashSet<>(objects.subList(1, 2)));
+		
+		world.collectObjectsCollidingWithObject(null, objects);
+		assertEquals(2, objects.size());
+	}
+	
+	@Test
+	public void collectObjectsCollidingWithObject_orderAdded(){
+		Shark first = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
+		Shark second = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(60, 50)));
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(55, 50)));
+		world.addGameObject(first);
+		world.addGameObject(second);
+		world.addGameObject(shark);
+		first.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(300, 50)));
+		first.setPositionInMeters(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
+		List<GameObject> objects = new ArrayList<>();
+		
+		world.collectObjectsCollidingWithObject(shark, objects);
+		assertEquals(2, objects.size());
+		assertSame(first, objects.get(0));
+		assertSame(second, objects.get(1));
+	}
+	
+	@Test
+	public void getCollidables_reflectsChanges(){
+		Set<? extends Collidable> collidables = world.getCollidables();
+		assertEquals(20 * 12, collidables.size());
+		assertTrue(collidables.contains(world.getTile(3, 4)));
+		
+		Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 50)));
+		world.addGameObject(shark);
+		assertEquals(20 * 12 + 1, collidables.size());
+		assertTrue(collidables.contains(shark));
+		
+		int count = 0;
+		for (Collidable collidable : collidables) {
+			assertTrue(collidables.contains(collidable));
+			count++;
+		}
+		assertEquals(collidables.size(), count);
+	}
+	
 	
 	
 	@Test
 	public void advanceTime() {
-		Vector<Double> position = Utilities.pixelsVectorToMeters(new Vector<>(70, 140));
+		DoubleVec position = Utilities.pixelsVectorToMeters(new IntVec(70, 140));
 		Mazub mazub = new Mazub(position, JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
 		world.setMazub(mazub);
 		world.advanceTime(Constants.maxTimeInterval);
 		assertNotEquals(position, mazub.getPositionInMeters());
 	}
+	
+	@Test
+	public void advanceTime_allObjectsReachEndOfInterval() {
+		Mazub mazub = new Mazub(Utilities.pixelsVectorToMeters(new IntVec(70, 140)),
+				JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1);
+		world.setMazub(mazub);
+		Plant plant = new Plant(Utilities.pixelsVectorToMeters(new IntVec(700, 140)),
+				new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT});
+		world.addGameObject(plant);
+		
+		world.advanceTime(Constants.maxTimeInterval);
+		
+		assertEquals(120, mazub.getPixelY());
+		assertEquals(10, Math.abs(plant.getPixelX() - 700));
+		assertEquals(140, plant.getPixelY());
+	}
+
+	@Test
+	public void advanceTime_idleObjectSteppedOnce() {
+		for (int x = 0; x < 20; x++) {
+			world.setTileType(new IntVec(x, 1), TileType.GROUND);
+		}
+		final int[] mazubSteps = {0};
+		Mazub mazub = new Mazub(Utilities.pixelsVectorToMeters(new IntVec(70, 139)),
+				JumpingAlienSprites.ALIEN_SPRITESET, 1, 2, 1) {
+			@Override
+			public double advanceStep(double maxStep) {
+				mazubSteps[0]++;
+				return super.advanceStep(maxStep);
+			}
+		};
+		world.setMazub(mazub);
+		final int[] plantSteps = {0};
+		Plant plant = new Plant(Utilities.pixelsVectorToMeters(new IntVec(700, 140)),
+				new Sprite[] {Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT}) {
+			@Override
+			public double advanceStep(double maxStep) {
+				plantSteps[0]++;
+				return super.advanceStep(maxStep);
+			}
+		};
+		world.addGameObject(plant);
+		
+		for (CollisionMode mode : CollisionMode.values()) {
+			world.setCollisionMode(mode);
+			mazubSteps[0] = 0;
+			plantSteps[0] = 0;
+			world.advanceTime(0.1);
+			
+			assertEquals(1, mazubSteps[0]);
+			if (mode == CollisionMode.PIXEL_STEPPING) {
+				assertTrue(plantSteps[0] >= 5);
+			}
+		}
+		assertEquals(139, mazub.getPixelY());
+	}
+
+	
+	
+	
+	@Test
+	public void getCollisionMode_default() {
+		assertEquals(CollisionMode.CONTINUOUS, world.getCollisionMode());
+	}
+	
+	@Test
+	public void setCollisionMode() {
+		world.setCollisionMode(CollisionMode.PIXEL_STEPPING);
+		assertEquals(CollisionMode.PIXEL_STEPPING, world.getCollisionMode());
+	}
+	
+	@Test(expected=NullPointerException.class)
+	public void setCollisionMode_null() {
+		world.setCollisionMode(null);
+	}
+	
+	
+	
+	
+	@Test
+	public void isParallelStepping_default() {
+		assertFalse(world.isParallelStepping());
+	}
+	
+	@Test
+	public void setParallelStepping() {
+		world.setParallelStepping(true);
+		assertTrue(world.isParallelStepping());
+	}
+	
+	@Test
+	public void advanceTime_parallelLikeSequential() {
+		List<GameObject> sequentialObjects = new ArrayList<>();
+		World sequentialWorld = setUpPocketWorld(sequentialObjects);
+		List<GameObject> parallelObjects = new ArrayList<>();
+		World parallelWorld = setUpPocketWorld(parallelObjects);
+		parallelWorld.setParallelStepping(true);
+		
+		for (int i = 0; i < 50; i++) {
+			sequentialWorld.advanceTime(0.15);
+			parallelWorld.advanceTime(0.15);
+			assertSameObjects(sequentialObjects, parallelObjects);
+		}
+	}
+	
+	@Test
+	public void advanceTime_parallelLikeSequentialWhenCrowded() {
+		List<GameObject> sequentialObjects = new ArrayList<>();
+		World sequentialWorld = setUpCrowdedWorld(sequentialObjects);
+		List<GameObject> parallelObjects = new ArrayList<>();
+		World parallelWorld = setUpCrowdedWorld(parallelObjects);
+		parallelWorld.setParallelStepping(true);
+		
+		for (int i = 0; i < 100; i++) {
+			sequentialWorld.advanceTime(0.15);
+			parallelWorld.advanceTime(0.15);
+			assertSameObjects(sequentialObjects, parallelObjects);
+			assertEquals(sequentialWorld.getGameObjects().size(), parallelWorld.getGameObjects().size());
+		}
+	}
+	
+	private void assertSameObjects(List<GameObject> expectedObjects, List<GameObject> actualObjects) {
+		for (int i = 0; i < expectedObjects.size(); i++) {
+			GameObject expected = expectedObjects.get(i);
+			GameObject actual = actualObjects.get(i);
+			assertEquals(expected.getPositionXInMeters(), actual.getPositionXInMeters(), 0.0);
+			assertEquals(expected.getPositionYInMeters(), actual.getPositionYInMeters(), 0.0);
+			assertEquals(expected.getSpeedX(), actual.getSpeedX(), 0.0);
+			assertEquals(expected.getSpeedY(), actual.getSpeedY(), 0.0);
+			assertEquals(expected.getHealth(), actual.getHealth());
+		}
+	}
+	
+	@Test
+	public void advanceTime_particles() {
+		for (int x = 0; x < 20; x++) {
+			world.setTileType(new IntVec(x, 0), TileType.GROUND);
+		}
+		world.setMazub(TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70 * 19, 70))));
+		Random random = new Random(5);
+		for (int i = 0; i < 50; i++) {
+			world.getParticles().spawn(Utilities.pixelsVectorToMeters(new IntVec(700, 300)), Resources.SHARK_SPRITE_LEFT, random);
+		}
+		
+		for (int i = 0; i < 20; i++) {
+			world.advanceTime(0.15);
+		}
+		assertEquals(50, world.getParticles().getNbParticles());
+		assertEquals(1, world.getGameObjects().size());
+		for (int i = 0; i < world.getParticles().getNbParticles(); i++) {
+			assertEquals(70, world.getParticles().getPixelY(i));
+			assertTrue(world.getParticles().getPixelX(i) > 300 && world.getParticles().getPixelX(i) < 1100);
+		}
+		
+		for (int i = 0; i < 50; i++) {
+			world.advanceTime(0.15);
+		}
+		assertEquals(0, world.getParticles().getNbParticles());
+		
+		for (int i = 0; i < Settings.maxNumberOfParticles + 10; i++) {
+			world.getParticles().spawn(new DoubleVec(1.0, 1.0), Resources.SHARK_SPRITE_LEFT, random);
+		}
+		assertEquals(Settings.maxNumberOfParticles, world.getParticles().getNbParticles());
+	}
+	
+	/**
+	 * Creates a seeded world with a row of water pockets, each holding a shark
+	 * with a slime next to it, and adds Mazub and all game objects to the given list.
+	 */
+	private World setUpPocketWorld(List<GameObject> objects) {
+		World pocketWorld = new World(70, 20, 12, 1024, 751, 19, 11);
+		for (int x = 0; x < 20; x++) {
+			pocketWorld.setTileType(new IntVec(x, 0), TileType.GROUND);
+		}
+		
+		Mazub mazub = TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70 * 19, 70)));
+		pocketWorld.setMazub(mazub);
+		objects.add(mazub);
+		
+		School school = new School();
+		for (int x = 0; x < 16; x += 4) {
+			pocketWorld.setTileType(new IntVec(x, 1), TileType.GROUND);
+			pocketWorld.setTileType(new IntVec(x + 1, 1), TileType.WATER);
+			pocketWorld.setTileType(new IntVec(x + 1, 2), TileType.WATER);
+			
+			Shark shark = TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(70 * (x + 1), 70)));
+			pocketWorld.addGameObject(shark);
+			objects.add(shark);
+			Slime slime = TestUtilities.slime(Utilities.pixelsVectorToMeters(new IntVec(70 * (x + 2) + 5, 70)),
+					(x < 8) ? school : new School());
+			pocketWorld.addGameObject(slime);
+			objects.add(slime);
+		}
+		
+		pocketWorld.setRandomSeed(42);
+		return pocketWorld;
+	}
+	
+	private World setUpCrowdedWorld(List<GameObject> objects) {
+		World crowdedWorld = new World(70, 20, 12, 1024, 751, 19, 11);
+		for (int x = 0; x < 20; x++) {
+			crowdedWorld.setTileType(new IntVec(x, 0), TileType.GROUND);
+			for (int y = 1; y < 4; y++) {
+				crowdedWorld.setTileType(new IntVec(x, y), (x % 5 == 0) ? TileType.GROUND : TileType.WATER);
+			}
+		}
+		
+		Mazub mazub = TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70 * 19, 350)));
+		crowdedWorld.setMazub(mazub);
+		objects.add(mazub);
+		
+		Random random = new Random(7);
+		School[] schools = {new School(), new School(), new School()};
+		for (int i = 0; i < 24; i++) {
+			IntVec pixel = new IntVec(70 + random.nextInt(70 * 17), 70 + random.nextInt(120));
+			GameObject object = (i % 2 == 0) ? TestUtilities.shark(Utilities.pixelsVectorToMeters(pixel))
+					: TestUtilities.slime(Utilities.pixelsVectorToMeters(pixel), schools[i % 3]);
+			crowdedWorld.addGameObject(object);
+			objects.add(object);
+		}
+		
+		crowdedWorld.setRandomSeed(42);
+		return crowdedWorld;
+	}
 
-}
\ No newline at end of file
+}
@@ -3,8 +3,9 @@ package jumpingalien.part3.tests;
 import static org.junit.Assert.*;
 import jumpingalien.common.sprites.JumpingAlienSprites;
 import jumpingalien.model.Constants;
+import jumpingalien.model.DoubleVec;
+import jumpingalien.model.IntVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.Buzam;
 import jumpingalien.util.Sprite;
 
@@ -16,7 +17,7 @@ import org.junit.Test;
 
 public class BuzamTest {
 	
-	private final Vector<Double> testStartPosition = Utilities.pixelsVectorToMeters(new Vector<>(70, 69));
+	private final DoubleVec testStartPosition = Utilities.pixelsVectorToMeters(new IntVec(70, 69));
 	private final double testVxInit = 1.0;
 	private final double testVxMax = 3.0;
 	private final double testStartDirection = 1.0;
@@ -4,11 +4,12 @@ import static org.junit.Assert.*;
 
 import java.util.HashMap;
 
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.Utilities;
-import jumpingalien.model.Vector;
 import jumpingalien.model.gameobject.GameObject;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.program.ProgramFactory;
+import jumpingalien.model.program.exception.JumpingAlienLanguageRuntimeException;
 import jumpingalien.model.program.expression.*;
 import jumpingalien.model.program.statement.*;
 import jumpingalien.part3.programs.SourceLocation;
@@ -135,6 +136,30 @@ public class ExpressionTest {
 	}
 	
 	
+	@Test
+	public void Comparison_ok() {
+		assertTrue(this.runExpression(pf.createLessThan(new Value<Double>(1.0), new Value<Double>(2.0), sl)));
+		assertFalse(this.runExpression(pf.createLessThan(new Value<Double>(2.0), new Value<Double>(2.0), sl)));
+		assertTrue(this.runExpression(pf.createLessThanOrEqualTo(new Value<Double>(2.0), new Value<Double>(2.0), sl)));
+		assertTrue(this.runExpression(pf.createGreaterThan(new Value<Double>(3.0), new Value<Double>(2.0), sl)));
+		assertFalse(this.runExpression(pf.createGreaterThanOrEqualTo(new Value<Double>(1.0), new Value<Double>(2.0), sl)));
+	}
+	
+	
+	@Test
+	public void And_shortCircuits() {
+		Expression<Boolean> notABoolean = new Value<Boolean>(null);
+		assertFalse(this.runExpression(pf.createAnd(new Value<Boolean>(false), notABoolean, sl)));
+		assertTrue(this.runExpression(pf.createOr(new Value<Boolean>(true), notABoolean, sl)));
+	}
+	
+	
+	@Test(expected = JumpingAlienLanguageRuntimeException.class)
+	public void evaluateDouble_notADouble() {
+		this.runExpression(pf.createAddition(new Value<Double>(1.0), new Value<Double>(null), sl));
+	}
+	
+	
 	@Test
 	public void equalsNull() {
 		assertTrue(this.runExpression(pf.createEquals(new Value<GameObject>(null), new Value<GameObject>(null), sl)));
@@ -143,6 +168,6 @@ public class ExpressionTest {
 	
 	@Test
 	public void NotEqualsNull() {
-		assertTrue(this.runExpression(pf.createNotEquals(new Value<GameObject>(null), new Value<GameObject>(TestUtilities.shark(new Vector<>(0.0, 0.0))), sl)));
+		assertTrue(this.runExpression(pf.createNotEquals(new Value<GameObject>(null), new Value<GameObject>(TestUtilities.shark(new DoubleVec(0.0, 0.0))), sl)));
 	}
 }
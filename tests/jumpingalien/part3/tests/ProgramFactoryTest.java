@@ -1,8 +1,32 @@
 package jumpingalien.part3.tests;
 
 import static org.junit.Assert.*;
-import jumpingalien.model.gameobject.GameObject;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import jumpingalien.model.IntVec;
+import jumpingalien.model.Utilities;
+import jumpingalien.model.gameobject.Plant;
+import jumpingalien.model.gameobject.School;
+import jumpingalien.model.gameobject.Shark;
+import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.program.ProgramFactory;
+import jumpingalien.model.program.cache.ProgramCache;
+import jumpingalien.model.program.expression.Expression;
+import jumpingalien.model.program.exception.JumpingAlienLanguageParseException;
+import jumpingalien.model.program.statement.Statement;
+import jumpingalien.model.world.CollisionMode;
+import jumpingalien.model.world.TileType;
+import jumpingalien.model.world.World;
+import jumpingalien.part3.programs.IProgramFactory;
+import jumpingalien.part2.internal.Resources;
+import jumpingalien.part3.facade.Facade;
+import jumpingalien.tests.util.TestUtilities;
+import jumpingalien.util.Sprite;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -30,5 +54,276 @@ public class ProgramFactoryTest {
 	@After
 	public void tearDown() throws Exception {
 	}
-
+	
+	
+	@Test
+	public void createProgram_resolvesVariables() {
+		Map<String, Object> globals = new HashMap<>();
+		globals.put("x", factory.getDoubleType());
+		globals.put("y", factory.getDoubleType());
+		Statement main = factory.createAssignment("y", factory.getDoubleType(),
+				factory.createAddition(factory.createReadVariable("x", factory.getDoubleType(), null),
+						factory.createDoubleConstant(2.0, null), null), null);
+		
+		LanguageProgram program = factory.createProgram(main, globals);
+		program.advanceTime(0.1);
+		
+		assertEquals(2.0, (Double) program.getGlobalVariables().get("y"), 1e-7);
+		assertEquals(0.0, (Double) program.getGlobalVariables().get("x"), 1e-7);
+	}
+	
+	@Test(expected = JumpingAlienLanguageParseException.class)
+	public void createProgram_undefinedIdentifier() {
+		Map<String, Object> globals = new HashMap<>();
+		globals.put("x", factory.getDoubleType());
+		Statement main = factory.createAssignment("x", factory.getDoubleType(),
+				factory.createReadVariable("z", null, null), null);
+		
+		factory.createProgram(main, globals);
+	}
+	
+	@Test
+	public void parse_undefinedIdentifier() {
+		assertTrue(new Facade().parse("double x; x := 1.0;").isSuccess());
+		assertFalse(new Facade().parse("double x; y := 1.0;").isSuccess());
+		assertFalse(new Facade().parse("double x; x := y;").isSuccess());
+		assertFalse(new Facade().parse("foreach (any, o) do skip; done").isSuccess());
+	}
+	
+	
+	private static final String compiledProgramSource =
+			"double n; double sum; double t; bool flag; "
+			+ "n := 0.0; sum := 0.0; flag := false; "
+			+ "while true do "
+			+ "  n := n + 1.0; "
+			+ "  if (n < 5.0 && ! flag) || n >= 40.0 then sum := sum + sqrt(n) * 2.0; else sum := sum - n / 3.0; fi "
+			+ "  if n <= 10.0 then wait(0.0105); fi "
+			+ "  t := 0.0; "
+			+ "  while t < 100.0 do "
+			+ "    t := t + 1.0; "
+			+ "    if t > 3.0 then break; fi "
+			+ "  done "
+			+ "  flag := ! flag; "
+			+ "  if n >= 50.0 then break; fi "
+			+ "done "
+			+ "sum := sum * 10.0;";
+	
+	private static LanguageProgram parse(boolean compiled, String source) {
+		return (LanguageProgram) new Facade(compiled).parse(source).getResult();
+	}
+	
+	@Test
+	public void createProgram_compiled() {
+		assertTrue(new ProgramFactory(true).isCompilingPrograms());
+		assertTrue(parse(true, compiledProgramSource).isCompiled());
+		assertFalse(parse(false, compiledProgramSource).isCompiled());
+		assertTrue(parse(true, compiledProgramSource).isWellFormed());
+		assertFalse(parse(true, "double x; break;").isWellFormed());
+	}
+	
+	@Test
+	public void createProgram_compiledMatchesInterpreted() {
+		LanguageProgram interpreted = parse(false, compiledProgramSource);
+		LanguageProgram compiled = parse(true, compiledProgramSource);
+		double[] timeSteps = { 0.0005, 0.002, 0.0137, 0.001, 0.05, 0.0031 };
+		for (int i = 0; i < 300; i++) {
+			double dt = timeSteps[i % timeSteps.length];
+			interpreted.advanceTime(dt);
+			compiled.advanceTime(dt);
+			assertEquals(interpreted.getGlobalVariables(), compiled.getGlobalVariables());
+		}
+		assertEquals(50.0, (Double) compiled.getGlobalVariables().get("n"), 1e-7);
+	}
+	
+	@Test
+	public void newInstance_ownState() {
+		for (boolean compiled : new boolean[] { false, true }) {
+			LanguageProgram program = parse(compiled, "double n; while true do n := n + 1.0; wait(0.1); done");
+			LanguageProgram instance = program.newInstance();
+			assertTrue(instance.getMainStatement() == program.getMainStatement());
+			assertEquals(compiled, instance.isCompiled());
+			
+			program.advanceTime(0.25);
+			assertEquals(3.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+			assertEquals(0.0, (Double) instance.getGlobalVariables().get("n"), 1e-7);
+			
+			instance.advanceTime(0.05);
+			assertEquals(1.0, (Double) instance.getGlobalVariables().get("n"), 1e-7);
+			assertEquals(3.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+			assertEquals(0.0, (Double) program.newInstance().getGlobalVariables().get("n"), 1e-7);
+		}
+	}
+	
+	@Test
+	public void advanceTime_blockedInWait() {
+		// Compiled programs walk all their statements on every call.
+		LanguageProgram program = parse(false, compiledProgramSource);
+		LanguageProgram reference = parse(true, compiledProgramSource);
+		double[] timeSteps = { 0.0003, 0.0004, 0.002, 0.0007, 0.0051, 0.0002 };
+		for (int i = 0; i < 3000; i++) {
+			double dt = timeSteps[i % timeSteps.length];
+			program.advanceTime(dt);
+			reference.advanceTime(dt);
+			assertEquals(reference.getGlobalVariables(), program.getGlobalVariables());
+		}
+		assertEquals(50.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+		
+		program = parse(false, "double n; while true do n := n + 1.0; wait(0.1); done");
+		program.advanceTime(0.03);
+		program.advanceTime(0.06);
+		assertEquals(1.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+		program.advanceTime(0.02);
+		assertEquals(2.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+	}
+	
+	@Test
+	public void advanceTime_blockedInWaitKeepsWorldCadence() {
+		String source = "double n; double y; "
+				+ "while true do "
+				+ "  start_run right; wait(0.37); y := gety self; stop_run right; "
+				+ "  start_run left; wait(0.2103); stop_run left; "
+				+ "  n := n + 1.0; start_jump; wait(0.05); stop_jump; "
+				+ "done";
+		for (CollisionMode mode : CollisionMode.values()) {
+			// Compiled programs walk all their statements on every step, like programs used to.
+			LanguageProgram program = parse(false, source);
+			Shark shark = this.addSwimmingShark(program, mode);
+			LanguageProgram reference = parse(true, source);
+			Shark referenceShark = this.addSwimmingShark(reference, mode);
+			
+			for (int i = 0; i < 100; i++) {
+				shark.getWorld().advanceTime(0.15);
+				referenceShark.getWorld().advanceTime(0.15);
+				for (String name : new String[] { "n", "y" }) {
+					assertEquals(reference.getGlobalVariables().get(name), program.getGlobalVariables().get(name));
+				}
+				assertEquals(referenceShark.getPositionXInMeters(), shark.getPositionXInMeters(), 0.0);
+				assertEquals(referenceShark.getPositionYInMeters(), shark.getPositionYInMeters(), 0.0);
+			}
+			assertTrue((Double) program.getGlobalVariables().get("n") > 10.0);
+		}
+	}
+	
+	private Shark addSwimmingShark(LanguageProgram program, CollisionMode mode) {
+		World world = new World(70, 20, 12, 1024, 751, 19, 11);
+		world.setCollisionMode(mode);
+		for (int x = 0; x < 20; x++) {
+			world.setTileType(new IntVec(x, 0), TileType.GROUND);
+			for (int y = 1; y < 6; y++) {
+				world.setTileType(new IntVec(x, y), TileType.WATER);
+			}
+		}
+		world.setMazub(TestUtilities.mazub(Utilities.pixelsVectorToMeters(new IntVec(70 * 19, 420))));
+		Shark shark = new Shark(Utilities.pixelsVectorToMeters(new IntVec(700, 70)),
+				new Sprite[] { Resources.SHARK_SPRITE_LEFT, Resources.SHARK_SPRITE_RIGHT }, program);
+		shark.setRandomSeed(3);
+		world.addGameObject(shark);
+		return shark;
+	}
+	
+	@Test
+	public void forEach_selectObjects() {
+		String source = "double n; double m; double t; double s; double f; object o; "
+				+ "foreach (any, o) where (isshark o || isslime o) && getx o >= getx self do n := n + 1.0; done "
+				+ "foreach (terrain, o) where iswater o && getx o < 350.0 do m := m + 1.0; done "
+				+ "foreach (any, o) where ispassable o && isterrain o && gety o >= 700.0 && ! ismagma o do t := t + 1.0; done "
+				+ "foreach (any, o) where (isshark o || isslime o) sort getx o descending do s := s * 1000.0 + getx o / 10.0; done "
+				+ "foreach (shark, o) sort getx o ascending do f := getx o; break; done";
+		for (boolean compiled : new boolean[] { false, true }) {
+			World world = new World(70, 20, 12, 1024, 751, 19, 11);
+			world.setTileType(new IntVec(3, 2), TileType.WATER);
+			world.setTileType(new IntVec(5, 1), TileType.WATER);
+			world.setTileType(new IntVec(12, 10), TileType.MAGMA);
+			
+			LanguageProgram program = parse(compiled, source);
+			world.addGameObject(new Shark(Utilities.pixelsVectorToMeters(new IntVec(100, 400)),
+					new Sprite[] { Resources.SHARK_SPRITE_LEFT, Resources.SHARK_SPRITE_RIGHT }, program));
+			world.addGameObject(TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(50, 400))));
+			world.addGameObject(TestUtilities.shark(Utilities.pixelsVectorToMeters(new IntVec(300, 400))));
+			world.addGameObject(TestUtilities.slime(Utilities.pixelsVectorToMeters(new IntVec(600, 400)), new School()));
+			world.addGameObject(new Plant(Utilities.pixelsVectorToMeters(new IntVec(900, 400)),
+					new Sprite[] { Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT }));
+			
+			program.advanceTime(1.0);
+			assertEquals(3.0, (Double) program.getGlobalVariables().get("n"), 1e-7);
+			assertEquals(1.0, (Double) program.getGlobalVariables().get("m"), 1e-7);
+			assertEquals(39.0, (Double) program.getGlobalVariables().get("t"), 1e-7);
+			assertEquals(60030010005.0, (Double) program.getGlobalVariables().get("s"), 1e-7);
+			assertEquals(50.0, (Double) program.getGlobalVariables().get("f"), 1e-7);
+		}
+	}
+	
+	@Test
+	public void parse_programCache() throws Exception {
+		Path directory = Files.createTempDirectory("programs");
+		try {
+			ProgramCache cache = new ProgramCache(directory);
+			Facade facade = new Facade(false, cache);
+			
+			LanguageProgram parsed = (LanguageProgram) facade.parse(compiledProgramSource).getResult();
+			assertTrue(Files.isRegularFile(cache.getEntry(compiledProgramSource)));
+			LanguageProgram cached = (LanguageProgram) facade.parse(compiledProgramSource).getResult();
+			assertFalse(cached.getMainStatement() == parsed.getMainStatement());
+			for (int i = 0; i < 100; i++) {
+				parsed.advanceTime(0.0137);
+				cached.advanceTime(0.0137);
+				assertEquals(parsed.getGlobalVariables(), cached.getGlobalVariables());
+			}
+			
+			// An entry is used without parsing the program, so it's found by the text alone.
+			String invalidSource = "this isn't a program";
+			Files.copy(cache.getEntry(compiledProgramSource), cache.getEntry(invalidSource));
+			assertTrue(facade.parse(invalidSource).isSuccess());
+			
+			// Entries that can't be read are removed and the program is parsed again.
+			Files.write(cache.getEntry(compiledProgramSource), new byte[] { 1, 2, 3 });
+			assertTrue(facade.parse(compiledProgramSource).isSuccess());
+			assertTrue(Files.size(cache.getEntry(compiledProgramSource)) > 3);
+			
+			assertFalse(facade.parse("double x; y := 1.0;").isSuccess());
+			assertFalse(Files.exists(cache.getEntry("double x; y := 1.0;")));
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+	
+	@Test
+	public void parse_programCacheIgnoresObjectMethods() throws Exception {
+		Path directory = Files.createTempDirectory("programs");
+		try {
+			ProgramCache cache = new ProgramCache(directory);
+			ProgramCache.Recording recording = cache.record(new ProgramFactory());
+			IProgramFactory<Expression<?>, Statement, Object, LanguageProgram> proxy = recording.getFactory();
+			
+			// Calls to the methods of Object aren't stored, so they mustn't shift the stored results.
+			Map<String, Object> globals = new HashMap<>();
+			globals.put("x", proxy.getDoubleType());
+			proxy.toString();
+			globals.put("y", proxy.getDoubleType());
+			proxy.hashCode();
+			Expression<?> x = proxy.createReadVariable("x", proxy.getDoubleType(), null);
+			assertFalse(proxy.equals(x));
+			Statement main = proxy.createAssignment("y", proxy.getDoubleType(),
+					proxy.createAddition(x, proxy.createDoubleConstant(2.0, null), null), null);
+			proxy.createProgram(main, globals);
+			assertTrue(cache.store("y := x + 2.0", recording));
+			
+			LanguageProgram program = cache.load("y := x + 2.0", new ProgramFactory()).get();
+			program.advanceTime(0.1);
+			assertEquals(2.0, (Double) program.getGlobalVariables().get("y"), 1e-7);
+			assertEquals(0.0, (Double) program.getGlobalVariables().get("x"), 1e-7);
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
 }
@@ -13,7 +13,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.Plant;
 import jumpingalien.model.program.LanguageProgram;
 import jumpingalien.model.program.statement.*;
@@ -126,11 +126,11 @@ public class StatementTest {
 		LanguageProgram p = createProgram(seq);
 
 		p.advanceTime(0.1);
-		assertFalse(seq.isFinished());
+		assertFalse(seq.isFinished(p.getCallStack()));
 		assertFalse((Boolean)globals.get("done"));
 
 		p.advanceTime(Statement.defaultTime);
-		assertTrue(seq.isFinished());
+		assertTrue(seq.isFinished(p.getCallStack()));
 		assertTrue((Boolean)globals.get("done"));
 	}
 	
@@ -145,7 +145,7 @@ public class StatementTest {
 		LanguageProgram p = createProgram(w);
 
 		p.advanceTime(2*Statement.defaultTime);
-		assertTrue(w.isFinished());
+		assertTrue(w.isFinished(p.getCallStack()));
 		
 		p.advanceTime(Statement.defaultTime * 1.1);
 		assertTrue((Boolean)globals.get("result"));
@@ -161,26 +161,54 @@ public class StatementTest {
 		ForEachLoop fel = new ForEachLoop(Kind.ANY, "o", new Value<Boolean>(true), new Value<Double>(0.0), SortDirection.ASCENDING, new Sequence(statements));
 		LanguageProgram p = createProgram(fel);
 
-		Plant plant = new Plant(new Vector<>(0.0, 0.0), new Sprite[]{Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT}, p);
+		Plant plant = new Plant(new DoubleVec(0.0, 0.0), new Sprite[]{Resources.PLANT_SPRITE_LEFT, Resources.PLANT_SPRITE_RIGHT}, p);
 		plant.setWorld(this.world);
 		
 
 		p.advanceTime(2*Statement.defaultTime);
-		assertTrue(fel.isFinished());
+		assertTrue(fel.isFinished(p.getCallStack()));
 		
 		p.advanceTime(Statement.defaultTime * 1.1);
 		assertTrue((Boolean)globals.get("result"));
 	}
 	
+	@Test
+	public void Break_nestedInIfOk() {
+		globals.put("result", true);
+		List<Statement> statements = new ArrayList<>();
+		statements.add(new If(new Value<Boolean>(true), new Break(), null));
+		statements.add(new Assignment("result", new Value<Boolean>(false)));
+		WhileLoop w = new WhileLoop(new Value<Boolean>(true), new Sequence(statements));
+		LanguageProgram p = createProgram(w);
+
+		p.advanceTime(2*Statement.defaultTime);
+		assertTrue(w.isFinished(p.getCallStack()));
+		
+		p.advanceTime(Statement.defaultTime * 1.1);
+		assertTrue((Boolean)globals.get("result"));
+	}
+	
+	
+	@Test
+	public void getParent_ok() {
+		Break b = new Break();
+		If i = new If(new Value<Boolean>(true), b, null);
+		WhileLoop w = new WhileLoop(new Value<Boolean>(true), i);
+		
+		assertEquals(i, b.getParent());
+		assertEquals(w, i.getParent());
+		assertNull(w.getParent());
+	}
+	
 	@Test
 	public void Wait_ok() {
 		Wait w = new Wait(new Value<Double>(0.1));
 		LanguageProgram p = createProgram(w);
 		
 		p.advanceTime(0.09);
-		assertFalse(w.isFinished());
+		assertFalse(w.isFinished(p.getCallStack()));
 		p.advanceTime(0.02);
-		assertTrue(w.isFinished());
+		assertTrue(w.isFinished(p.getCallStack()));
 	}
 	
 	
@@ -197,12 +225,12 @@ public class StatementTest {
 		
 		p.advanceTime(0.1);
 		p.advanceTime(Statement.defaultTime);
-		assertFalse(w.isFinished());
+		assertFalse(w.isFinished(p.getCallStack()));
 		assertTrue((Boolean)globals.get("result"));
 		assertTrue((Boolean)globals.get("cond"));
 		
 		p.advanceTime(0.1);
-		assertTrue(w.isFinished());
+		assertTrue(w.isFinished(p.getCallStack()));
 		assertFalse((Boolean)globals.get("cond"));
 		assertFalse((Boolean)globals.get("result"));
 	}
@@ -218,10 +246,10 @@ public class StatementTest {
 		
 		p.advanceTime(Statement.defaultTime * 2);
 		assertEquals(1.0, (Double)globals.get("i"), 1e-7);
-		assertFalse(w.isFinished());
+		assertFalse(w.isFinished(p.getCallStack()));
 
 		p.advanceTime(Statement.defaultTime * 2);
 		assertEquals(2.0, (Double)globals.get("i"), 1e-7);
-		assertFalse(w.isFinished());
+		assertFalse(w.isFinished(p.getCallStack()));
 	}
 }
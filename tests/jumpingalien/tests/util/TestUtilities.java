@@ -1,6 +1,6 @@
 package jumpingalien.tests.util;
 
-import jumpingalien.model.Vector;
+import jumpingalien.model.DoubleVec;
 import jumpingalien.model.gameobject.Mazub;
 import jumpingalien.model.gameobject.School;
 import jumpingalien.model.gameobject.Shark;
@@ -23,7 +23,7 @@ public class TestUtilities {
 	 * @param school The school of the slime
 	 * @return A slime with pos as it's position and school as it's school.
 	 */
-	public static Slime slime(Vector<Double> pos, School school){
+	public static Slime slime(DoubleVec pos, School school){
 		Sprite[] sprites = new Sprite[] {Resources.SLIME_SPRITE_LEFT, Resources.SLIME_SPRITE_RIGHT};
 		return new Slime(pos, sprites, school);
 	}
@@ -38,7 +38,7 @@ public class TestUtilities {
 	 * 			| shark.getPositionInMeters() == pos
 	 *			| shark.getCurrentSprite() == Resources.SHARK_SPRITE_LEFT 
 	 */
-	public static Shark shark(Vector<Double> pos){
+	public static Shark shark(DoubleVec pos){
 		Sprite[] sprites = new Sprite[] {Resources.SHARK_SPRITE_LEFT, Resources.SHARK_SPRITE_RIGHT};
 		return new Shark(pos, sprites);
 	}
@@ -62,7 +62,7 @@ public class TestUtilities {
 	 * @return A Mazub.
 	 * 			| new Mazub(pos, Resources.ALIEN_SPRITESET, 1, 3, 1)
 	 */
-	public static Mazub mazub(Vector<Double> pos) {
+	public static Mazub mazub(DoubleVec pos) {
 		return new Mazub(pos, Resources.ALIEN_SPRITESET, 1, 3, 1);
 	}
 }